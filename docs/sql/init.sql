@@ -79,6 +79,7 @@ CREATE TABLE `store` (
     `min_advance_hours` INT NOT NULL DEFAULT 2 COMMENT '最小提前预定时间(小时)',
     `max_advance_days` INT NOT NULL DEFAULT 30 COMMENT '最大提前预定天数',
     `service_fee` INT NOT NULL DEFAULT 0 COMMENT '车行手续费(分)',
+    `time_zone` VARCHAR(50) NOT NULL DEFAULT 'Asia/Shanghai' COMMENT '门店所在时区(IANA时区ID)',
     `created_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     `created_by` BIGINT COMMENT '创建人',
@@ -88,7 +89,8 @@ CREATE TABLE `store` (
     KEY `idx_tenant_id` (`tenant_id`),
     KEY `idx_city` (`city`),
     KEY `idx_audit_status` (`audit_status`),
-    KEY `idx_online_status` (`online_status`)
+    KEY `idx_online_status` (`online_status`),
+    KEY `idx_tenant_created_id` (`tenant_id`, `deleted`, `created_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='门店表';
 
 -- 门店联系人表
@@ -182,7 +184,8 @@ CREATE TABLE `car_model` (
     UNIQUE KEY `uk_brand_series_model_year` (`brand`, `series`, `model`, `year`),
     KEY `idx_brand` (`brand`),
     KEY `idx_drive_type` (`drive_type`),
-    KEY `idx_category` (`category`)
+    KEY `idx_category` (`category`),
+    KEY `idx_updated_time` (`updated_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='车型库表';
 
 -- 车辆表
@@ -214,5 +217,17 @@ CREATE TABLE `vehicle` (
     KEY `idx_car_model_id` (`car_model_id`),
     KEY `idx_audit_status` (`audit_status`),
     KEY `idx_online_status` (`online_status`),
-    KEY `idx_vehicle_status` (`vehicle_status`)
+    KEY `idx_vehicle_status` (`vehicle_status`),
+    KEY `idx_tenant_created_id` (`tenant_id`, `deleted`, `created_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='车辆表';
+
+-- 车辆状态计数表
+CREATE TABLE `vehicle_status_counter` (
+    `tenant_id` BIGINT NOT NULL COMMENT '租户ID',
+    `dimension` VARCHAR(20) NOT NULL COMMENT '统计维度:VEHICLE_STATUS-车辆状态,AUDIT_STATUS-审核状态,ONLINE_STATUS-上架状态',
+    `status` TINYINT NOT NULL COMMENT '状态值',
+    `vehicle_count` INT NOT NULL DEFAULT 0 COMMENT '车辆数',
+    `updated_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`tenant_id`, `dimension`, `status`),
+    KEY `idx_dimension_status` (`dimension`, `status`, `vehicle_count`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='车辆状态计数表';
@@ -82,8 +82,8 @@ CREATE TABLE `car_model_product` (
     `violation_deposit` INT NOT NULL DEFAULT 0 COMMENT '违章押金(分)',
     `weekday_price` INT NOT NULL COMMENT '周中价格(分)',
     `weekend_price` INT NOT NULL COMMENT '周末价格(分)',
-    `weekday_definition` VARCHAR(50) NOT NULL DEFAULT '1,2,3,4,5' COMMENT '周中定义',
-    `weekend_definition` VARCHAR(50) NOT NULL DEFAULT '6,7' COMMENT '周末定义',
+    `weekday_definition` VARCHAR(500) NOT NULL DEFAULT '1,2,3,4,5' COMMENT '周中定义(星期及调休日期)',
+    `weekend_definition` VARCHAR(500) NOT NULL DEFAULT '6,7' COMMENT '周末定义(星期及节假日日期)',
     `tags` VARCHAR(200) COMMENT '车型标签(JSON格式)',
     `vas_template_id` BIGINT COMMENT '增值服务模板ID',
     `vas_template_id_vip` bigint not null default 0 comment '优享保障模板ID',
@@ -317,6 +317,8 @@ CREATE INDEX `idx_tenant_store_status` ON `store` (`tenant_id`, `audit_status`,
 CREATE INDEX `idx_tenant_vehicle_status` ON `vehicle` (`tenant_id`, `audit_status`, `online_status`);
 CREATE INDEX `idx_tenant_order_status` ON `rental_order` (`tenant_id`, `order_status`, `create_time`);
 CREATE INDEX `idx_order_time_range` ON `rental_order` (`start_time`, `end_time`);
+CREATE INDEX `idx_product_time_range` ON `rental_order` (`product_id`, `start_time`, `end_time`);
+CREATE INDEX `idx_tenant_create_id` ON `rental_order` (`tenant_id`, `deleted`, `create_time`, `id`);
 
 -- ===================================================================
 -- 数据库视图
@@ -27,6 +27,12 @@ public interface BaseDataClient {
     @GetMapping("/api/feign/vehicles/store/{storeId}")
     ApiResponse<List<VehicleResponse>> getVehiclesByStore(
             @PathVariable("storeId") Long storeId);
+    
+    /**
+     * 根据车辆ID批量获取可出租的车辆：已审核、已上架，且车辆状态为空闲或租出
+     */
+    @GetMapping("/api/feign/vehicles/rentable")
+    ApiResponse<List<VehicleResponse>> getRentableVehiclesByIds(@RequestParam("ids") List<Long> ids);
 
     @GetMapping("/api/feign/car-models/batch/{ids}")
     ApiResponse<List<CarModelResponse>> getCarModelsByIds(
@@ -41,6 +47,12 @@ public interface BaseDataClient {
             @RequestParam("latitude") Double latitude,
             @RequestParam("distance") Double distance);
     
+    /**
+     * 根据门店ID批量获取已审核且上架的门店
+     */
+    @GetMapping("/api/feign/stores/batch")
+    ApiResponse<List<StoreResponse>> getOnlineStoresByIds(@RequestParam("ids") List<Long> ids);
+    
     /**
      * 根据门店ID获取门店详情
      */
@@ -53,6 +65,16 @@ public interface BaseDataClient {
     @GetMapping("/api/feign/service-areas/store/{storeId}")
     ApiResponse<List<ServiceAreaResponse>> getServiceAreasByStore(
             @PathVariable("storeId") Long storeId);
+    
+    /**
+     * 获取电子围栏外接矩形与指定矩形相交的服务范围列表
+     */
+    @GetMapping("/api/feign/service-areas/intersecting")
+    ApiResponse<List<ServiceAreaResponse>> getServiceAreasIntersecting(
+            @RequestParam("minLongitude") Double minLongitude,
+            @RequestParam("minLatitude") Double minLatitude,
+            @RequestParam("maxLongitude") Double maxLongitude,
+            @RequestParam("maxLatitude") Double maxLatitude);
             
     /**
      * 统计各状态车辆数量
@@ -50,6 +50,9 @@ public class StoreResponse {
     @Schema(description = "车行手续费(分)")
     private Integer serviceFee;
 
+    @Schema(description = "门店所在时区(IANA时区ID)，为空时按定价服务默认时区")
+    private String timeZone;
+
     @Schema(description = "门店审核状态")
     private Integer auditStatus;
 
@@ -2,10 +2,16 @@ package com.rental.api.order;
 
 import com.rental.saas.common.response.ApiResponse;
 import com.rental.api.order.request.CreateOrderRequest;
+import com.rental.api.order.response.BookingResponse;
 import com.rental.api.order.response.OrderResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 订单服务Feign客户端
  * 
@@ -88,4 +94,18 @@ public interface OrderClient {
      */
     @GetMapping("/orders/revenue/today")
     ApiResponse<Double> sumTodayRevenueByTenantId(@RequestHeader("X-Tenant-Id") Long tenantId);
+    
+    /**
+     * 批量获取多个商品在日期范围内的有效订单占用，按商品ID分组
+     * 
+     * @param productIds 商品ID列表
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 商品ID -> 占用列表
+     */
+    @GetMapping("/feign/orders/bookings")
+    ApiResponse<Map<Long, List<BookingResponse>>> getBookingsByProducts(
+        @RequestParam("ids") List<Long> productIds,
+        @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.rental.api.order.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 订单占用响应DTO
+ * 订单占用商品的一辆车，占用日期为 [startDate, endDate)
+ * 
+ * @author Rental SaaS Team
+ */
+@Data
+@Schema(description = "订单占用响应")
+public class BookingResponse {
+
+    @Schema(description = "订单ID")
+    private Long orderId;
+
+    @Schema(description = "商品ID")
+    private Long productId;
+
+    @Schema(description = "占用开始日期")
+    private LocalDate startDate;
+
+    @Schema(description = "占用结束日期(不含)")
+    private LocalDate endDate;
+}
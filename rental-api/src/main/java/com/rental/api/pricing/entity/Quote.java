@@ -3,6 +3,7 @@ package com.rental.api.pricing.entity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 报价实体类
@@ -35,7 +36,7 @@ public class Quote {
     @Schema(description = "门店名称")
     private String storeName;
     
-    @Schema(description = "日租金")
+    @Schema(description = "日租金(租期内日均)")
     private BigDecimal dailyRate;
     
     @Schema(description = "取车服务费")
@@ -62,6 +63,15 @@ public class Quote {
     @Schema(description = "违章押金")
     private BigDecimal violationDeposit;
     
+    @Schema(description = "租期天数")
+    private Integer rentalDays;
+    
+    @Schema(description = "租期总租金")
+    private BigDecimal rentalPrice;
+    
+    @Schema(description = "租期内每日租金，从取车日期开始")
+    private List<BigDecimal> dailyPrices;
+    
 //    @Schema(description = "创建时间")
 //    private LocalDateTime createdAt;
 }
\ No newline at end of file
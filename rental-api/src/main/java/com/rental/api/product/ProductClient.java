@@ -4,13 +4,17 @@ import com.rental.api.product.response.CarModelProductResponse;
 import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
 import com.rental.api.product.response.CancellationRuleTemplateResponse;
 import com.rental.api.product.response.ServicePolicyTemplateResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
 import com.rental.saas.common.response.ApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 商品服务Feign客户端
@@ -27,6 +31,29 @@ public interface ProductClient {
     ApiResponse<List<CarModelProductResponse>> getProductsByStore(
             @PathVariable("storeId") Long storeId);
     
+    /**
+     * 批量获取多个门店的商品列表，按门店ID分组
+     */
+    @GetMapping("/api/feign/car-model-products/stores")
+    ApiResponse<Map<Long, List<CarModelProductResponse>>> getProductsByStores(
+            @RequestParam("ids") List<Long> storeIds);
+    
+    /**
+     * 批量获取多个商品在日期范围内的特殊定价，按商品ID分组
+     */
+    @GetMapping("/api/feign/special-pricings/products")
+    ApiResponse<Map<Long, List<SpecialPricingResponse>>> getSpecialPricingsByProducts(
+            @RequestParam("ids") List<Long> productIds,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+    
+    /**
+     * 批量获取多个商品关联的车辆ID，按商品ID分组
+     */
+    @GetMapping("/api/feign/product-vehicles/products")
+    ApiResponse<Map<Long, List<Long>>> getVehicleIdsByProducts(
+            @RequestParam("ids") List<Long> productIds);
+    
     /**
      * 根据门店ID和车型ID获取商品
      */
@@ -40,6 +40,12 @@ public class CarModelProductResponse {
     @Schema(description = "周末价格(分)")
     private Integer weekendPrice;
     
+    @Schema(description = "周中定义(ISO星期几，逗号分隔)", example = "1,2,3,4,5")
+    private String weekdayDefinition;
+    
+    @Schema(description = "周末定义(ISO星期几，逗号分隔)", example = "6,7")
+    private String weekendDefinition;
+    
     @Schema(description = "增值服务模板ID")
     private Long vasTemplateId;
     
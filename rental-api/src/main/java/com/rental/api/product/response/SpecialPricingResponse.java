@@ -0,0 +1,23 @@
+package com.rental.api.product.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 特殊定价响应DTO
+ */
+@Data
+@Schema(description = "特殊定价响应")
+public class SpecialPricingResponse {
+    
+    @Schema(description = "商品ID")
+    private Long productId;
+    
+    @Schema(description = "定价日期")
+    private LocalDate priceDate;
+    
+    @Schema(description = "价格(分)")
+    private Integer price;
+}
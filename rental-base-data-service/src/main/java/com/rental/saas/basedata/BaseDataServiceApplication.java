@@ -5,6 +5,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 基础数据服务启动类
@@ -14,6 +15,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @SpringBootApplication(scanBasePackages = {"com.rental.saas.common", "com.rental.api", "com.rental.saas.basedata"})
 @EnableDiscoveryClient
 @MapperScan("com.rental.saas.basedata.mapper")
+@EnableScheduling
 public class BaseDataServiceApplication {
 
     public static void main(String[] args) {
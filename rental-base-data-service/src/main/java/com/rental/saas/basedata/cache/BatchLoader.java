@@ -0,0 +1,140 @@
+package com.rental.saas.basedata.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 批量加载器
+ * 并发请求的键进入同一个等待队列，由其中一个请求线程取出队列中所有键合并为一次批量查询，
+ * 其余线程等待结果；同一个键正在加载时后来的请求直接复用加载结果，不会重复查询。
+ *
+ * @author Rental SaaS Team
+ */
+public class BatchLoader<K, V> {
+
+    /**
+     * 批量查询，返回存在的键及其值，不存在的键不出现在结果中
+     */
+    private final Function<Collection<K>, Map<K, V>> loader;
+
+    /**
+     * 单次查询的最大键数
+     */
+    private final int maxBatchSize;
+
+    private final Map<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+
+    private final Queue<K> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    public BatchLoader(Function<Collection<K>, Map<K, V>> loader, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize必须大于0");
+        }
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 加载一组键
+     * @param keys 键
+     * @return 存在的键及其值
+     */
+    public Map<K, V> loadAll(Collection<K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            futures.computeIfAbsent(key, k -> pending.computeIfAbsent(k, this::enqueue));
+        }
+        drain();
+
+        Map<K, V> result = new HashMap<>();
+        try {
+            futures.forEach((key, future) -> {
+                V value = future.join();
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 等待中的键数量
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private CompletableFuture<V> enqueue(K key) {
+        queue.add(key);
+        return new CompletableFuture<>();
+    }
+
+    /**
+     * 没有其他线程在加载时由当前线程加载队列中的全部键。
+     * 释放加载标记后再检查一次队列：其他线程只有在本线程持有标记期间入队才会放弃加载，这些键在这里被取走。
+     */
+    private void drain() {
+        do {
+            if (!loading.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                List<K> batch;
+                while (!(batch = pollBatch()).isEmpty()) {
+                    loadBatch(batch);
+                }
+            } finally {
+                loading.set(false);
+            }
+        } while (!queue.isEmpty());
+    }
+
+    private List<K> pollBatch() {
+        List<K> batch = new ArrayList<>();
+        K key;
+        while (batch.size() < maxBatchSize && (key = queue.poll()) != null) {
+            batch.add(key);
+        }
+        return batch;
+    }
+
+    private void loadBatch(List<K> batch) {
+        Map<K, V> values;
+        try {
+            values = loader.apply(batch);
+        } catch (Throwable e) {
+            for (K key : batch) {
+                CompletableFuture<V> future = pending.remove(key);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+        for (K key : batch) {
+            CompletableFuture<V> future = pending.remove(key);
+            if (future != null) {
+                future.complete(values.get(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.rental.saas.basedata.cache;
+
+import com.rental.saas.basedata.entity.CarModel;
+import com.rental.saas.basedata.geo.TransactionCallbacks;
+import com.rental.saas.basedata.mapper.CarModelMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 车型内存缓存
+ * 启动后全量加载未删除的车型，之后定时按更新时间(变更版本)增量刷新，用于同步其他实例的变更；
+ * 本实例的车型修改和删除在事务提交后重新加载对应条目。未命中的车型通过批量加载器合并为一次IN查询。
+ * 缓存的变更同步到车型分面索引，用于品牌车系查询和自动补全。
+ * 返回的车型实体为缓存共享对象，调用方不能修改。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+public class CarModelCache {
+
+    private final CarModelMapper carModelMapper;
+
+    private final BatchLoader<Long, CarModel> batchLoader;
+
+    private final Map<Long, CarModel> entries = new ConcurrentHashMap<>();
+
+    private final CarModelFacetIndex facetIndex = new CarModelFacetIndex();
+
+    /**
+     * 失效次数，查询期间发生失效时不写入查询结果，避免旧数据覆盖
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 缓存和分面索引的写入锁，保证失效检查和写入的原子性
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * 刷新锁，定时刷新和首次使用时的同步加载不并发执行
+     */
+    private final Object refreshLock = new Object();
+
+    /**
+     * 增量刷新时向前重叠的秒数，覆盖实例间时钟偏差和提交晚于更新时间的事务
+     */
+    @Value("${app.car-model-cache.version-overlap-seconds:60}")
+    private long versionOverlapSeconds;
+
+    /**
+     * 已同步的最大更新时间，为空时下次刷新全量加载
+     */
+    private volatile LocalDateTime version;
+
+    public CarModelCache(CarModelMapper carModelMapper,
+                         @Value("${app.car-model-cache.batch-size:500}") int batchSize) {
+        this.carModelMapper = carModelMapper;
+        this.batchLoader = new BatchLoader<>(this::loadFromDatabase, batchSize);
+    }
+
+    /**
+     * 获取车型
+     * @param id 车型ID
+     * @return 车型，不存在或已删除时返回null
+     */
+    public CarModel get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        CarModel carModel = entries.get(id);
+        if (carModel != null) {
+            return carModel;
+        }
+        return batchLoader.loadAll(List.of(id)).get(id);
+    }
+
+    /**
+     * 批量获取车型
+     * @param ids 车型ID
+     * @return 车型ID -> 车型，不存在或已删除的车型不在结果中
+     */
+    public Map<Long, CarModel> getAll(Collection<Long> ids) {
+        Map<Long, CarModel> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            CarModel carModel = entries.get(id);
+            if (carModel != null) {
+                result.put(id, carModel);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(batchLoader.loadAll(missing));
+        }
+        return result;
+    }
+
+    /**
+     * 获取车型分面索引，首次全量加载完成前尝试同步加载一次
+     * @return 分面索引，加载失败时为null
+     */
+    public CarModelFacetIndex facetIndex() {
+        if (!facetIndex.isReady()) {
+            refresh();
+        }
+        return facetIndex.isReady() ? facetIndex : null;
+    }
+
+    /**
+     * 车型新增、修改或删除后调用：在当前事务提交后重新加载该车型，无事务时立即加载
+     */
+    public void invalidate(Long id) {
+        TransactionCallbacks.afterCommit(() -> reload(id));
+    }
+
+    /**
+     * 按变更版本刷新缓存，启动时全量加载一次，之后定时增量刷新
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.car-model-cache.refresh-interval-ms:30000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            long start = System.currentTimeMillis();
+            try {
+                long generation = invalidations.get();
+                LocalDateTime current = version;
+                List<CarModel> changed = current == null
+                        ? carModelMapper.selectList(null)
+                        : carModelMapper.findChangedSince(current.minusSeconds(versionOverlapSeconds));
+
+                synchronized (writeLock) {
+                    if (invalidations.get() != generation) {
+                        // 刷新期间本实例有车型变更，结果可能早于变更，下次刷新重新读取
+                        return;
+                    }
+                    if (current == null) {
+                        changed.forEach(carModel -> entries.put(carModel.getId(), carModel));
+                        facetIndex.replaceAll(changed);
+                    } else {
+                        applyAll(changed);
+                    }
+                }
+
+                LocalDateTime maxVersion = current;
+                for (CarModel carModel : changed) {
+                    LocalDateTime updatedTime = carModel.getUpdatedTime();
+                    if (updatedTime != null && (maxVersion == null || updatedTime.isAfter(maxVersion))) {
+                        maxVersion = updatedTime;
+                    }
+                }
+                version = maxVersion != null ? maxVersion : LocalDateTime.now();
+                if (current == null) {
+                    log.info("车型缓存加载完成, 车型数: {}, 耗时: {}ms", entries.size(), System.currentTimeMillis() - start);
+                } else if (!changed.isEmpty()) {
+                    log.debug("车型缓存增量刷新, 变更数: {}, 耗时: {}ms", changed.size(), System.currentTimeMillis() - start);
+                }
+            } catch (Exception e) {
+                log.error("车型缓存刷新失败", e);
+            }
+        }
+    }
+
+    /**
+     * 重新加载单个车型，先增加失效次数使进行中的查询结果作废
+     */
+    private void reload(Long id) {
+        invalidations.incrementAndGet();
+        CarModel carModel;
+        try {
+            carModel = carModelMapper.selectById(id);
+        } catch (Exception e) {
+            log.warn("重新加载车型失败，等待定时刷新, id={}", id, e);
+            synchronized (writeLock) {
+                entries.remove(id);
+            }
+            return;
+        }
+        synchronized (writeLock) {
+            if (carModel != null) {
+                applyAll(List.of(carModel));
+            } else {
+                entries.remove(id);
+                facetIndex.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 写入或移除一批车型，分面索引整批只替换一次快照，调用方持有写入锁
+     */
+    private void applyAll(Collection<CarModel> carModels) {
+        for (CarModel carModel : carModels) {
+            if (Integer.valueOf(1).equals(carModel.getDeleted())) {
+                entries.remove(carModel.getId());
+            } else {
+                entries.put(carModel.getId(), carModel);
+            }
+        }
+        facetIndex.putAll(carModels);
+    }
+
+    /**
+     * 批量加载器的查询：一次IN查询未命中的车型并写入缓存
+     */
+    private Map<Long, CarModel> loadFromDatabase(Collection<Long> ids) {
+        long generation = invalidations.get();
+        List<CarModel> carModels = carModelMapper.selectBatchIds(ids);
+        Map<Long, CarModel> result = new HashMap<>();
+        for (CarModel carModel : carModels) {
+            result.put(carModel.getId(), carModel);
+        }
+        synchronized (writeLock) {
+            if (invalidations.get() == generation) {
+                applyAll(carModels);
+            }
+        }
+        log.debug("车型缓存未命中, 查询车型数: {}, 命中数据库: {}", ids.size(), result.size());
+        return result;
+    }
+}
@@ -0,0 +1,489 @@
+package com.rental.saas.basedata.cache;
+
+import com.rental.saas.basedata.entity.CarModel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 车型分面索引
+ * 车型按 品牌 -> 车系 -> 车型 组织为前缀树，每层节点的子节点按小写名称排序，前缀查询为有序表的范围查询；
+ * 根、品牌、车系节点预先统计座位数、档位、驱动类型、年款的车型数。
+ * 查询读取不可变快照，不加锁；车型变更时只重建受影响品牌的节点，再替换快照，
+ * 批量变更每个受影响品牌只重建一次，快照只替换一次，内容未变的车型不触发重建。
+ * 名称匹配忽略大小写和首尾空格，与数据库的排序规则一致。
+ *
+ * @author Rental SaaS Team
+ */
+public class CarModelFacetIndex {
+
+    private static final Comparator<CarModel> MODEL_ORDER = Comparator
+            .comparing(CarModel::getYear, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(carModel -> key(carModel.getModel()))
+            .thenComparing(CarModel::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * 品牌 -> 车型ID -> 车型，增量更新时用于重建单个品牌
+     */
+    private final Map<String, Map<Long, CarModel>> modelsByBrand = new HashMap<>();
+
+    /**
+     * 车型ID -> 所属品牌
+     */
+    private final Map<Long, String> brandById = new HashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.of(new TreeMap<>());
+
+    private volatile boolean ready = false;
+
+    /**
+     * 索引是否已完成首次全量构建
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全量构建
+     * @param carModels 全部未删除的车型
+     */
+    public synchronized void replaceAll(Collection<CarModel> carModels) {
+        modelsByBrand.clear();
+        brandById.clear();
+        for (CarModel carModel : carModels) {
+            if (isIndexable(carModel)) {
+                add(carModel);
+            }
+        }
+        TreeMap<String, BrandNode> brands = new TreeMap<>();
+        modelsByBrand.forEach((brandKey, models) -> brands.put(brandKey, BrandNode.build(models.values())));
+        snapshot = Snapshot.of(brands);
+        ready = true;
+    }
+
+    /**
+     * 新增或更新车型，已删除的车型从索引移除
+     */
+    public synchronized void put(CarModel carModel) {
+        putAll(List.of(carModel));
+    }
+
+    /**
+     * 批量新增或更新车型，已删除的车型从索引移除
+     * @param carModels 变更的车型，同一车型出现多次时以最后一次为准
+     */
+    public synchronized void putAll(Collection<CarModel> carModels) {
+        Set<String> affected = new LinkedHashSet<>();
+        for (CarModel carModel : carModels) {
+            update(carModel, affected);
+        }
+        rebuild(affected);
+    }
+
+    /**
+     * 移除车型
+     */
+    public synchronized void remove(Long id) {
+        String oldBrand = removeFromBrand(id);
+        if (oldBrand != null) {
+            rebuild(Set.of(oldBrand));
+        }
+    }
+
+    /**
+     * 品牌前缀查询
+     * @param prefix 前缀，为空时返回全部品牌
+     * @param limit 最多返回数量
+     * @return 品牌名称，按名称排序
+     */
+    public List<String> brands(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        for (BrandNode brand : prefix(snapshot.brands, key(prefix)).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(brand.name);
+        }
+        return result;
+    }
+
+    /**
+     * 品牌下的车系前缀查询
+     * @param brand 品牌
+     * @param prefix 前缀，为空时返回品牌下全部车系
+     * @param limit 最多返回数量
+     * @return 车系名称，按名称排序
+     */
+    public List<String> series(String brand, String prefix, int limit) {
+        BrandNode brandNode = snapshot.brands.get(key(brand));
+        if (brandNode == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (SeriesNode series : prefix(brandNode.series, key(prefix)).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(series.name);
+        }
+        return result;
+    }
+
+    /**
+     * 多条件查询车型，品牌和车系为精确匹配
+     * @return 车型，按品牌、车系、年款倒序排序
+     */
+    public List<CarModel> search(String brand, String series, Integer seatCount, Integer transmission,
+                                 Integer driveType, Integer startYear, Integer endYear) {
+        List<CarModel> result = new ArrayList<>();
+        for (SeriesNode seriesNode : seriesNodes(snapshot, brand, series)) {
+            for (CarModel carModel : seriesNode.models) {
+                if ((seatCount == null || seatCount.equals(carModel.getSeatCount()))
+                        && (transmission == null || transmission.equals(carModel.getTransmission()))
+                        && (driveType == null || driveType.equals(carModel.getDriveType()))
+                        && (startYear == null || (carModel.getYear() != null && carModel.getYear() >= startYear))
+                        && (endYear == null || (carModel.getYear() != null && carModel.getYear() <= endYear))) {
+                    result.add(carModel);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 分面统计
+     * @param brand 品牌，可为空
+     * @param series 车系，可为空
+     * @return 品牌、车系范围内的分面统计，只指定车系时合并各品牌的同名车系
+     */
+    public Facets facets(String brand, String series) {
+        Snapshot current = snapshot;
+        if (!hasText(series)) {
+            if (!hasText(brand)) {
+                return current.facets;
+            }
+            BrandNode brandNode = current.brands.get(key(brand));
+            return brandNode != null ? brandNode.facets : Facets.EMPTY;
+        }
+        List<SeriesNode> nodes = seriesNodes(current, brand, series);
+        if (nodes.size() == 1) {
+            return nodes.get(0).facets;
+        }
+        return Facets.merge(nodes.stream().map(SeriesNode::facets).toList());
+    }
+
+    /**
+     * 自动补全
+     * 关键词依次匹配品牌、车系、车型名称前缀；以空格分隔且第一个词为品牌全称时，其余部分匹配该品牌下的车系和车型名称前缀。
+     * @param keyword 关键词
+     * @param limit 最多返回数量
+     * @return 补全建议，品牌在前，其次车系、车型
+     */
+    public List<Suggestion> suggest(String keyword, int limit) {
+        String text = key(keyword);
+        if (text.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<Suggestion> result = new ArrayList<>();
+        int space = text.indexOf(' ');
+        BrandNode brand = space < 0 ? null : current.brands.get(text.substring(0, space));
+        if (brand == null) {
+            for (BrandNode brandNode : prefix(current.brands, text).values()) {
+                if (!addSuggestion(result, limit, Suggestion.of(brandNode))) {
+                    return result;
+                }
+            }
+            for (List<SeriesNode> nodes : prefix(current.seriesIndex, text).values()) {
+                for (SeriesNode series : nodes) {
+                    if (!addSuggestion(result, limit, Suggestion.of(series))) {
+                        return result;
+                    }
+                }
+            }
+            addModelSuggestions(result, limit, prefix(current.modelIndex, text));
+            return result;
+        }
+
+        String rest = text.substring(space + 1).trim().replaceAll("\\s+", " ");
+        for (SeriesNode series : prefix(brand.series, rest).values()) {
+            if (!addSuggestion(result, limit, Suggestion.of(series))) {
+                return result;
+            }
+        }
+        addModelSuggestions(result, limit, prefix(brand.modelIndex, rest));
+        return result;
+    }
+
+    private static void addModelSuggestions(List<Suggestion> result, int limit,
+                                            SortedMap<String, List<CarModel>> models) {
+        for (List<CarModel> carModels : models.values()) {
+            for (CarModel carModel : carModels) {
+                if (!addSuggestion(result, limit, Suggestion.of(carModel))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean addSuggestion(List<Suggestion> result, int limit, Suggestion suggestion) {
+        if (result.size() >= limit) {
+            return false;
+        }
+        result.add(suggestion);
+        return result.size() < limit;
+    }
+
+    private static List<SeriesNode> seriesNodes(Snapshot current, String brand, String series) {
+        List<SeriesNode> nodes = new ArrayList<>();
+        if (hasText(brand)) {
+            BrandNode brandNode = current.brands.get(key(brand));
+            if (brandNode == null) {
+                return nodes;
+            }
+            if (hasText(series)) {
+                SeriesNode seriesNode = brandNode.series.get(key(series));
+                if (seriesNode != null) {
+                    nodes.add(seriesNode);
+                }
+            } else {
+                nodes.addAll(brandNode.series.values());
+            }
+        } else if (hasText(series)) {
+            nodes.addAll(current.seriesIndex.getOrDefault(key(series), List.of()));
+        } else {
+            for (BrandNode brandNode : current.brands.values()) {
+                nodes.addAll(brandNode.series.values());
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * 更新车型所在品牌的车型集合，记录需要重建的品牌
+     */
+    private void update(CarModel carModel, Set<String> affected) {
+        Long id = carModel.getId();
+        if (id == null) {
+            return;
+        }
+        String oldBrand = brandById.get(id);
+        if (oldBrand != null && carModel.equals(modelsByBrand.get(oldBrand).get(id))) {
+            return;
+        }
+        if (oldBrand != null) {
+            removeFromBrand(id);
+            affected.add(oldBrand);
+        }
+        if (isIndexable(carModel)) {
+            affected.add(add(carModel));
+        }
+    }
+
+    private String add(CarModel carModel) {
+        String brandKey = key(carModel.getBrand());
+        modelsByBrand.computeIfAbsent(brandKey, k -> new HashMap<>()).put(carModel.getId(), carModel);
+        brandById.put(carModel.getId(), brandKey);
+        return brandKey;
+    }
+
+    private String removeFromBrand(Long id) {
+        String brandKey = brandById.remove(id);
+        if (brandKey != null) {
+            Map<Long, CarModel> models = modelsByBrand.get(brandKey);
+            models.remove(id);
+            if (models.isEmpty()) {
+                modelsByBrand.remove(brandKey);
+            }
+        }
+        return brandKey;
+    }
+
+    /**
+     * 重建受影响的品牌节点并替换快照
+     */
+    private void rebuild(Set<String> affected) {
+        if (affected.isEmpty()) {
+            return;
+        }
+        TreeMap<String, BrandNode> brands = new TreeMap<>(snapshot.brands);
+        for (String brandKey : affected) {
+            Map<Long, CarModel> models = modelsByBrand.get(brandKey);
+            if (models == null) {
+                brands.remove(brandKey);
+            } else {
+                brands.put(brandKey, BrandNode.build(models.values()));
+            }
+        }
+        snapshot = Snapshot.of(brands);
+    }
+
+    private static boolean isIndexable(CarModel carModel) {
+        return carModel.getId() != null
+                && !Integer.valueOf(1).equals(carModel.getDeleted())
+                && hasText(carModel.getBrand())
+                && hasText(carModel.getSeries());
+    }
+
+    private static <V> SortedMap<String, V> prefix(NavigableMap<String, V> map, String prefix) {
+        if (prefix.isEmpty()) {
+            return map;
+        }
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * 分面统计，值 -> 车型数，按值排序
+     */
+    public record Facets(int total,
+                         SortedMap<Integer, Integer> seatCounts,
+                         SortedMap<Integer, Integer> transmissions,
+                         SortedMap<Integer, Integer> driveTypes,
+                         SortedMap<Integer, Integer> years) {
+
+        static final Facets EMPTY = build(List.of());
+
+        static Facets build(Collection<CarModel> carModels) {
+            return new Facets(carModels.size(),
+                    count(carModels, CarModel::getSeatCount),
+                    count(carModels, CarModel::getTransmission),
+                    count(carModels, CarModel::getDriveType),
+                    count(carModels, CarModel::getYear));
+        }
+
+        static Facets merge(Collection<Facets> parts) {
+            int total = 0;
+            TreeMap<Integer, Integer> seatCounts = new TreeMap<>();
+            TreeMap<Integer, Integer> transmissions = new TreeMap<>();
+            TreeMap<Integer, Integer> driveTypes = new TreeMap<>();
+            TreeMap<Integer, Integer> years = new TreeMap<>();
+            for (Facets part : parts) {
+                total += part.total;
+                part.seatCounts.forEach((value, count) -> seatCounts.merge(value, count, Integer::sum));
+                part.transmissions.forEach((value, count) -> transmissions.merge(value, count, Integer::sum));
+                part.driveTypes.forEach((value, count) -> driveTypes.merge(value, count, Integer::sum));
+                part.years.forEach((value, count) -> years.merge(value, count, Integer::sum));
+            }
+            return new Facets(total, Collections.unmodifiableSortedMap(seatCounts),
+                    Collections.unmodifiableSortedMap(transmissions),
+                    Collections.unmodifiableSortedMap(driveTypes),
+                    Collections.unmodifiableSortedMap(years));
+        }
+
+        private static SortedMap<Integer, Integer> count(Collection<CarModel> carModels,
+                                                         Function<CarModel, Integer> getter) {
+            TreeMap<Integer, Integer> counts = new TreeMap<>();
+            for (CarModel carModel : carModels) {
+                Integer value = getter.apply(carModel);
+                if (value != null) {
+                    counts.merge(value, 1, Integer::sum);
+                }
+            }
+            return Collections.unmodifiableSortedMap(counts);
+        }
+    }
+
+    /**
+     * 补全建议
+     * @param type 类型：BRAND-品牌，SERIES-车系，MODEL-车型
+     * @param count 品牌、车系下的车型数，车型为1
+     */
+    public record Suggestion(String type, String brand, String series, String model, Long carModelId, int count) {
+
+        static Suggestion of(BrandNode brand) {
+            return new Suggestion("BRAND", brand.name, null, null, null, brand.facets.total);
+        }
+
+        static Suggestion of(SeriesNode series) {
+            return new Suggestion("SERIES", series.brand, series.name, null, null, series.facets.total);
+        }
+
+        static Suggestion of(CarModel carModel) {
+            return new Suggestion("MODEL", carModel.getBrand(), carModel.getSeries(), carModel.getModel(),
+                    carModel.getId(), 1);
+        }
+    }
+
+    /**
+     * 品牌节点
+     * @param series 车系(小写) -> 车系节点
+     * @param modelIndex 车型名称(小写) -> 车型，用于品牌内的车型名称前缀查询
+     */
+    private record BrandNode(String name, TreeMap<String, SeriesNode> series,
+                             TreeMap<String, List<CarModel>> modelIndex, Facets facets) {
+
+        static BrandNode build(Collection<CarModel> carModels) {
+            Map<String, List<CarModel>> bySeries = new HashMap<>();
+            TreeMap<String, List<CarModel>> modelIndex = new TreeMap<>();
+            for (CarModel carModel : carModels) {
+                bySeries.computeIfAbsent(key(carModel.getSeries()), k -> new ArrayList<>()).add(carModel);
+                modelIndex.computeIfAbsent(key(carModel.getModel()), k -> new ArrayList<>()).add(carModel);
+            }
+            modelIndex.values().forEach(models -> models.sort(MODEL_ORDER));
+            TreeMap<String, SeriesNode> series = new TreeMap<>();
+            bySeries.forEach((seriesKey, models) -> series.put(seriesKey, SeriesNode.build(models)));
+            String name = series.firstEntry().getValue().brand;
+            return new BrandNode(name, series, modelIndex, Facets.build(carModels));
+        }
+    }
+
+    /**
+     * 车系节点
+     * @param models 车系下的车型，按年款倒序
+     */
+    private record SeriesNode(String brand, String name, List<CarModel> models, Facets facets) {
+
+        static SeriesNode build(List<CarModel> carModels) {
+            List<CarModel> models = new ArrayList<>(carModels);
+            models.sort(MODEL_ORDER);
+            CarModel first = models.get(0);
+            return new SeriesNode(first.getBrand().trim(), first.getSeries().trim(), List.copyOf(models),
+                    Facets.build(models));
+        }
+    }
+
+    /**
+     * 不可变的索引快照，变更时整体替换
+     * @param seriesIndex 车系(小写) -> 各品牌的同名车系节点
+     * @param modelIndex 车型名称(小写) -> 车型
+     */
+    private record Snapshot(TreeMap<String, BrandNode> brands,
+                            TreeMap<String, List<SeriesNode>> seriesIndex,
+                            TreeMap<String, List<CarModel>> modelIndex,
+                            Facets facets) {
+
+        static Snapshot of(TreeMap<String, BrandNode> brands) {
+            TreeMap<String, List<SeriesNode>> seriesIndex = new TreeMap<>();
+            TreeMap<String, List<CarModel>> modelIndex = new TreeMap<>();
+            List<Facets> facets = new ArrayList<>(brands.size());
+            for (BrandNode brand : brands.values()) {
+                brand.series.forEach((seriesKey, series) ->
+                        seriesIndex.computeIfAbsent(seriesKey, k -> new ArrayList<>()).add(series));
+                brand.modelIndex.forEach((modelKey, models) ->
+                        modelIndex.computeIfAbsent(modelKey, k -> new ArrayList<>()).addAll(models));
+                facets.add(brand.facets);
+            }
+            return new Snapshot(brands, seriesIndex, modelIndex, Facets.merge(facets));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.rental.saas.basedata.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.rental.saas.basedata.dto.request.CarModelCreateRequest;
+import com.rental.saas.basedata.dto.response.CarModelFacetResponse;
+import com.rental.saas.basedata.dto.response.CarModelSuggestionResponse;
 import com.rental.api.basedata.response.CarModelResponse;
 import com.rental.saas.basedata.service.CarModelService;
 import com.rental.saas.common.annotation.OperationLog;
@@ -16,6 +18,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
@@ -168,6 +171,24 @@ public class CarModelController {
         return ApiResponse.success("查询成功", carModels);
     }
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "车型自动补全", description = "按品牌、车系、车型名称前缀补全，可用空格分隔品牌和车系")
+    public ApiResponse<List<CarModelSuggestionResponse>> autocomplete(
+            @Parameter(description = "关键词") @RequestParam String keyword,
+            @Parameter(description = "最多返回数量") @RequestParam(defaultValue = "10") @Min(1) @Max(50) Integer limit) {
+        List<CarModelSuggestionResponse> suggestions = carModelService.autocomplete(keyword, limit);
+        return ApiResponse.success("查询成功", suggestions);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "车型分面统计", description = "统计品牌、车系范围内各座位数、档位、驱动类型、年款的车型数")
+    public ApiResponse<CarModelFacetResponse> getFacets(
+            @Parameter(description = "品牌") @RequestParam(required = false) String brand,
+            @Parameter(description = "车系") @RequestParam(required = false) String series) {
+        CarModelFacetResponse facets = carModelService.getFacets(brand, series);
+        return ApiResponse.success("查询成功", facets);
+    }
+
     @GetMapping("/check")
     @Operation(summary = "检查车型是否存在", description = "检查指定车型是否已存在")
     public ApiResponse<Boolean> checkCarModelExists(
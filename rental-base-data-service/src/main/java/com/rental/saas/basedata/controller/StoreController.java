@@ -81,8 +81,15 @@ public class StoreController {
             @Parameter(description = "城市") @RequestParam(required = false) String city,
             @Parameter(description = "审核状态") @RequestParam(required = false) Integer auditStatus,
             @Parameter(description = "上架状态") @RequestParam(required = false) Integer onlineStatus,
+            @Parameter(description = "游标，传入时按游标分页并忽略当前页，第一页传空字符串") @RequestParam(required = false) String cursor,
+            @Parameter(description = "游标分页时是否返回总数") @RequestParam(defaultValue = "false") Boolean withTotal,
             @RequestHeader("X-Tenant-Id") Long tenantId) {
         
+        if (cursor != null) {
+            PageResponse<StoreResponse> pageResponse = storeService.getStoreListByCursor(cursor, size, city,
+                    auditStatus, onlineStatus, withTotal, tenantId);
+            return ApiResponse.success("查询成功", pageResponse);
+        }
         Page<StoreResponse> page = storeService.getStoreList(current, size, city, auditStatus, onlineStatus, tenantId);
         PageResponse<StoreResponse> pageResponse = PageResponse.of(
                 current, size, page.getTotal(), page.getRecords());
@@ -3,7 +3,9 @@ package com.rental.saas.basedata.controller;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
 import com.rental.saas.basedata.dto.request.VehicleUpdateRequest;
+import com.rental.saas.basedata.dto.response.VehicleImportResponse;
 import com.rental.api.basedata.response.VehicleResponse;
+import com.rental.saas.basedata.service.VehicleImportService;
 import com.rental.saas.basedata.service.VehicleService;
 import com.rental.saas.common.annotation.OperationLog;
 import com.rental.saas.common.response.ApiResponse;
@@ -13,12 +15,15 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +42,8 @@ public class VehicleController {
 
     private final VehicleService vehicleService;
 
+    private final VehicleImportService vehicleImportService;
+
     @PostMapping
     @Operation(summary = "创建车辆", description = "创建新的车辆")
     @OperationLog(type = "车辆管理", description = "创建车辆")
@@ -46,6 +53,18 @@ public class VehicleController {
         return ApiResponse.success("车辆创建成功", vehicleId);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "批量导入车辆",
+            description = "请求体为CSV(首行为列名，UTF-8编码)或车辆对象JSON数组，字段与创建车辆相同；"
+                    + "逐行校验，按批次查重和写入，返回每个失败行的原因")
+    @OperationLog(type = "车辆管理", description = "批量导入车辆")
+    public ApiResponse<VehicleImportResponse> importVehicles(HttpServletRequest request,
+                                                             @RequestHeader("X-Tenant-Id") Long tenantId) throws IOException {
+        VehicleImportResponse result = vehicleImportService.importVehicles(
+                request.getInputStream(), request.getContentType(), tenantId);
+        return ApiResponse.success("导入完成", result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "更新车辆", description = "更新车辆信息")
     @OperationLog(type = "车辆管理", description = "更新车辆")
@@ -83,8 +102,15 @@ public class VehicleController {
             @Parameter(description = "车辆状态") @RequestParam(required = false) Integer vehicleStatus,
             @Parameter(description = "审核状态") @RequestParam(required = false) Integer auditStatus,
             @Parameter(description = "上架状态") @RequestParam(required = false) Integer onlineStatus,
+            @Parameter(description = "游标，传入时按游标分页并忽略当前页，第一页传空字符串") @RequestParam(required = false) String cursor,
+            @Parameter(description = "游标分页时是否返回总数") @RequestParam(defaultValue = "false") Boolean withTotal,
             @RequestHeader("X-Tenant-Id") Long tenantId) {
         
+        if (cursor != null) {
+            PageResponse<VehicleResponse> pageResponse = vehicleService.getVehicleListByCursor(cursor, size,
+                    storeId, carModelId, vehicleStatus, auditStatus, onlineStatus, withTotal, tenantId);
+            return ApiResponse.success("查询成功", pageResponse);
+        }
         Page<VehicleResponse> page = vehicleService.getVehicleList(
                 current, size, storeId, carModelId, vehicleStatus, auditStatus, onlineStatus, tenantId);
         PageResponse<VehicleResponse> pageResponse = PageResponse.of(
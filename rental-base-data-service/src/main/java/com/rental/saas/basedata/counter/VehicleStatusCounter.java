@@ -0,0 +1,77 @@
+package com.rental.saas.basedata.counter;
+
+import com.rental.saas.basedata.entity.Vehicle;
+import com.rental.saas.basedata.entity.VehicleStatusCount;
+import com.rental.saas.basedata.mapper.VehicleStatusCountMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 车辆状态计数
+ * 按租户和状态物化车辆数，车辆新增、删除和状态变化时在同一事务中增减计数，
+ * 看板直接读取计数行，不再对车辆表执行GROUP BY。计数偏差由定时对账修正。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VehicleStatusCounter {
+
+    private final VehicleStatusCountMapper vehicleStatusCountMapper;
+
+    /**
+     * 记录单辆车的变化，需在修改车辆的事务中调用
+     * @param before 变化前的状态快照，新增车辆时为null
+     * @param after 变化后的车辆，删除车辆时为null
+     */
+    public void record(VehicleStatusDelta.Snapshot before, Vehicle after) {
+        apply(new VehicleStatusDelta().add(before, VehicleStatusDelta.Snapshot.of(after)));
+    }
+
+    /**
+     * 记录一批新增车辆，需在写入车辆的事务中调用
+     */
+    public void recordCreated(Collection<Vehicle> vehicles) {
+        VehicleStatusDelta delta = new VehicleStatusDelta();
+        vehicles.forEach(vehicle -> delta.add(null, VehicleStatusDelta.Snapshot.of(vehicle)));
+        apply(delta);
+    }
+
+    /**
+     * 租户某个维度的车辆数
+     * @return 状态值 -> 车辆数，不含数量为0的状态
+     */
+    public Map<String, Integer> tenantCounts(Long tenantId, VehicleStatusDimension dimension) {
+        return toStatusCount(vehicleStatusCountMapper.findByTenantId(tenantId, dimension.name()));
+    }
+
+    /**
+     * 全部租户某个维度的车辆数
+     * @return 状态值 -> 车辆数，不含数量为0的状态
+     */
+    public Map<String, Integer> totalCounts(VehicleStatusDimension dimension) {
+        return toStatusCount(vehicleStatusCountMapper.sumByDimension(dimension.name()));
+    }
+
+    private void apply(VehicleStatusDelta delta) {
+        delta.changes().forEach((key, change) -> vehicleStatusCountMapper.increment(
+                key.tenantId(), key.dimension().name(), key.status(), change));
+    }
+
+    private static Map<String, Integer> toStatusCount(List<VehicleStatusCount> counts) {
+        Map<String, Integer> statusCount = new HashMap<>();
+        for (VehicleStatusCount count : counts) {
+            if (count.getStatus() != null && count.getVehicleCount() != null && count.getVehicleCount() > 0) {
+                statusCount.put(count.getStatus().toString(), count.getVehicleCount());
+            }
+        }
+        return statusCount;
+    }
+}
@@ -0,0 +1,99 @@
+package com.rental.saas.basedata.counter;
+
+import com.rental.saas.basedata.entity.VehicleStatusCount;
+import com.rental.saas.basedata.mapper.VehicleStatusCountMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 车辆状态计数对账
+ * 定时按租户从车辆表重新统计，修正计数行的偏差(如绕过服务直接修改数据库)。
+ * 每个租户在单独事务中先锁定计数行再统计车辆表：已提交的车辆变更都已计入统计结果，
+ * 未提交的变更在对账提交后才能更新计数，因此修正不会覆盖并发事务的增减。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VehicleStatusCounterReconciler {
+
+    private final VehicleStatusCountMapper vehicleStatusCountMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 对账全部租户，首次在启动一个周期后执行(计数表由迁移脚本初始化)
+     */
+    @Scheduled(initialDelayString = "${app.vehicle-status-counter.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${app.vehicle-status-counter.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        List<Long> tenantIds;
+        try {
+            tenantIds = vehicleStatusCountMapper.findTenantIds();
+        } catch (Exception e) {
+            log.error("车辆状态计数对账失败，查询租户失败", e);
+            return;
+        }
+        int corrected = 0;
+        for (Long tenantId : tenantIds) {
+            try {
+                corrected += reconcileTenant(tenantId);
+            } catch (Exception e) {
+                log.error("车辆状态计数对账失败，租户ID: {}", tenantId, e);
+            }
+        }
+        log.info("车辆状态计数对账完成，租户数: {}, 修正计数行: {}, 耗时: {}ms",
+                tenantIds.size(), corrected, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 对账单个租户
+     * @return 修正的计数行数
+     */
+    public int reconcileTenant(Long tenantId) {
+        Integer corrected = transactionTemplate.execute(status -> {
+            Map<VehicleStatusDelta.Key, Integer> stored = toMap(vehicleStatusCountMapper.lockByTenantId(tenantId));
+            Map<VehicleStatusDelta.Key, Integer> actual = toMap(vehicleStatusCountMapper.countVehiclesByTenantId(tenantId));
+
+            Set<VehicleStatusDelta.Key> keys = new HashSet<>(stored.keySet());
+            keys.addAll(actual.keySet());
+            int count = 0;
+            for (VehicleStatusDelta.Key key : keys) {
+                int storedCount = stored.getOrDefault(key, 0);
+                int actualCount = actual.getOrDefault(key, 0);
+                if (storedCount != actualCount) {
+                    log.warn("车辆状态计数偏差，租户ID: {}, 维度: {}, 状态: {}, 计数: {}, 实际: {}",
+                            tenantId, key.dimension(), key.status(), storedCount, actualCount);
+                    vehicleStatusCountMapper.setCount(tenantId, key.dimension().name(), key.status(), actualCount);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return Objects.requireNonNullElse(corrected, 0);
+    }
+
+    private static Map<VehicleStatusDelta.Key, Integer> toMap(List<VehicleStatusCount> counts) {
+        Map<VehicleStatusDelta.Key, Integer> map = new HashMap<>();
+        for (VehicleStatusCount count : counts) {
+            if (count.getStatus() == null || count.getVehicleCount() == null) {
+                continue;
+            }
+            VehicleStatusDelta.Key key = new VehicleStatusDelta.Key(count.getTenantId(),
+                    VehicleStatusDimension.valueOf(count.getDimension()), count.getStatus());
+            map.merge(key, count.getVehicleCount(), Integer::sum);
+        }
+        return map;
+    }
+}
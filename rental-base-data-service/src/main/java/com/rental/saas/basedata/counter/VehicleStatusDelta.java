@@ -0,0 +1,104 @@
+package com.rental.saas.basedata.counter;
+
+import com.rental.saas.basedata.entity.Vehicle;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 车辆状态计数的变化量
+ * 汇总一次操作中车辆新增、删除和状态变化对各计数行的增减，相互抵消的变化不写入。
+ * 计数行按租户、维度、状态值排序，所有事务以相同顺序更新计数行，避免死锁。
+ *
+ * @author Rental SaaS Team
+ */
+public class VehicleStatusDelta {
+
+    /**
+     * 计数行
+     * @param tenantId 租户ID
+     * @param dimension 统计维度
+     * @param status 状态值
+     */
+    public record Key(Long tenantId, VehicleStatusDimension dimension, Integer status) {
+    }
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::tenantId)
+            .thenComparing(Key::dimension)
+            .thenComparing(Key::status);
+
+    private final Map<Key, Integer> deltas = new TreeMap<>(ORDER);
+
+    /**
+     * 记录一辆车的状态变化
+     * @param before 变化前的状态，新增车辆时为null
+     * @param after 变化后的状态，删除车辆时为null
+     * @return 当前对象
+     */
+    public VehicleStatusDelta add(Snapshot before, Snapshot after) {
+        for (VehicleStatusDimension dimension : VehicleStatusDimension.values()) {
+            if (before != null) {
+                add(before.tenantId(), dimension, before.statusOf(dimension), -1);
+            }
+            if (after != null) {
+                add(after.tenantId(), dimension, after.statusOf(dimension), 1);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 不为0的变化量，按更新顺序排列
+     */
+    public Map<Key, Integer> changes() {
+        Map<Key, Integer> changes = new TreeMap<>(ORDER);
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                changes.put(key, delta);
+            }
+        });
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes().isEmpty();
+    }
+
+    private void add(Long tenantId, VehicleStatusDimension dimension, Integer status, int delta) {
+        if (tenantId == null || status == null) {
+            return;
+        }
+        deltas.merge(new Key(tenantId, dimension, status), delta, Integer::sum);
+    }
+
+    /**
+     * 车辆计数相关状态的快照，需在修改车辆实体之前获取
+     * @param tenantId 租户ID
+     * @param vehicleStatus 车辆状态
+     * @param auditStatus 审核状态
+     * @param onlineStatus 上架状态
+     */
+    public record Snapshot(Long tenantId, Integer vehicleStatus, Integer auditStatus, Integer onlineStatus) {
+
+        /**
+         * 获取车辆当前状态的快照
+         * @return 快照，车辆为空时返回null
+         */
+        public static Snapshot of(Vehicle vehicle) {
+            if (vehicle == null) {
+                return null;
+            }
+            return new Snapshot(vehicle.getTenantId(), vehicle.getVehicleStatus(),
+                    vehicle.getAuditStatus(), vehicle.getOnlineStatus());
+        }
+
+        public Integer statusOf(VehicleStatusDimension dimension) {
+            return switch (dimension) {
+                case VEHICLE_STATUS -> vehicleStatus;
+                case AUDIT_STATUS -> auditStatus;
+                case ONLINE_STATUS -> onlineStatus;
+            };
+        }
+    }
+}
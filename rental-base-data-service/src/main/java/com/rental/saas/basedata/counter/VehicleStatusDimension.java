@@ -0,0 +1,24 @@
+package com.rental.saas.basedata.counter;
+
+/**
+ * 车辆状态计数的统计维度
+ *
+ * @author Rental SaaS Team
+ */
+public enum VehicleStatusDimension {
+
+    /**
+     * 车辆状态:1-空闲,2-租出,3-维修,4-报废
+     */
+    VEHICLE_STATUS,
+
+    /**
+     * 审核状态:0-待审核,1-审核通过,2-审核拒绝
+     */
+    AUDIT_STATUS,
+
+    /**
+     * 上架状态:0-下架,1-上架
+     */
+    ONLINE_STATUS
+}
@@ -0,0 +1,46 @@
+package com.rental.saas.basedata.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 车型分面统计DTO
+ * 
+ * @author Rental SaaS Team
+ */
+@Data
+@Schema(description = "车型分面统计")
+public class CarModelFacetResponse {
+
+    /**
+     * 车型总数
+     */
+    @Schema(description = "车型总数", example = "120")
+    private Integer total;
+
+    /**
+     * 座位数 -> 车型数
+     */
+    @Schema(description = "座位数 -> 车型数")
+    private Map<Integer, Integer> seatCounts;
+
+    /**
+     * 档位类型 -> 车型数
+     */
+    @Schema(description = "档位类型 -> 车型数")
+    private Map<Integer, Integer> transmissions;
+
+    /**
+     * 驱动类型 -> 车型数
+     */
+    @Schema(description = "驱动类型 -> 车型数")
+    private Map<Integer, Integer> driveTypes;
+
+    /**
+     * 年款 -> 车型数
+     */
+    @Schema(description = "年款 -> 车型数")
+    private Map<Integer, Integer> years;
+}
@@ -0,0 +1,50 @@
+package com.rental.saas.basedata.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 车型自动补全建议DTO
+ * 
+ * @author Rental SaaS Team
+ */
+@Data
+@Schema(description = "车型自动补全建议")
+public class CarModelSuggestionResponse {
+
+    /**
+     * 建议类型：BRAND-品牌，SERIES-车系，MODEL-车型
+     */
+    @Schema(description = "建议类型：BRAND-品牌，SERIES-车系，MODEL-车型", example = "SERIES")
+    private String type;
+
+    /**
+     * 品牌
+     */
+    @Schema(description = "品牌", example = "奔驰")
+    private String brand;
+
+    /**
+     * 车系，品牌建议为空
+     */
+    @Schema(description = "车系", example = "C级")
+    private String series;
+
+    /**
+     * 车型，仅车型建议有值
+     */
+    @Schema(description = "车型", example = "C 260 L 豪华型")
+    private String model;
+
+    /**
+     * 车型ID，仅车型建议有值
+     */
+    @Schema(description = "车型ID", example = "1")
+    private Long carModelId;
+
+    /**
+     * 品牌或车系下的车型数，车型建议为1
+     */
+    @Schema(description = "车型数", example = "3")
+    private Integer count;
+}
@@ -0,0 +1,71 @@
+package com.rental.saas.basedata.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 车辆批量导入结果DTO
+ * 
+ * @author Rental SaaS Team
+ */
+@Data
+@Schema(description = "车辆批量导入结果")
+public class VehicleImportResponse {
+
+    /**
+     * 已处理的行数
+     */
+    @Schema(description = "已处理的行数", example = "5000")
+    private int totalRows;
+
+    /**
+     * 导入成功的行数
+     */
+    @Schema(description = "导入成功的行数", example = "4990")
+    private int successCount;
+
+    /**
+     * 导入失败的行数
+     */
+    @Schema(description = "导入失败的行数", example = "10")
+    private int failureCount;
+
+    /**
+     * 失败行，超过上限时只返回前面的部分
+     */
+    @Schema(description = "失败行")
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 失败行是否超过上限未全部返回
+     */
+    @Schema(description = "失败行是否未全部返回", example = "false")
+    private boolean errorsTruncated;
+
+    /**
+     * 导入提前结束的原因，如文件格式损坏或超过行数上限，之后的行未处理；正常结束时为空
+     */
+    @Schema(description = "导入提前结束的原因")
+    private String abortReason;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "失败行")
+    public static class RowError {
+
+        @Schema(description = "行号，从1开始，不含CSV列名行和空行", example = "12")
+        private int row;
+
+        @Schema(description = "车牌号", example = "京A12345")
+        private String licensePlate;
+
+        @Schema(description = "失败原因", example = "车牌号重复")
+        private String message;
+    }
+}
@@ -127,6 +127,14 @@ public class Store extends TenantBaseEntity {
     @Schema(description = "车行手续费", example = "1000")
     private Integer serviceFee;
 
+    /**
+     * 门店所在时区(IANA时区ID)，营业时间和预定时间按该时区解释
+     */
+    @TableField("time_zone")
+    @Size(max = 50, message = "时区长度不能超过50个字符")
+    @Schema(description = "门店所在时区", example = "Asia/Shanghai")
+    private String timeZone;
+
     /**
      * 审核备注
      */
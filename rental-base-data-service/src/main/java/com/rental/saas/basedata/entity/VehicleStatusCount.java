@@ -0,0 +1,33 @@
+package com.rental.saas.basedata.entity;
+
+import lombok.Data;
+
+/**
+ * 车辆状态计数
+ * 按租户、统计维度和状态值物化的未删除车辆数，对应 vehicle_status_counter 表的一行
+ * 
+ * @author Rental SaaS Team
+ */
+@Data
+public class VehicleStatusCount {
+
+    /**
+     * 租户ID
+     */
+    private Long tenantId;
+
+    /**
+     * 统计维度:VEHICLE_STATUS-车辆状态,AUDIT_STATUS-审核状态,ONLINE_STATUS-上架状态
+     */
+    private String dimension;
+
+    /**
+     * 状态值
+     */
+    private Integer status;
+
+    /**
+     * 车辆数
+     */
+    private Integer vehicleCount;
+}
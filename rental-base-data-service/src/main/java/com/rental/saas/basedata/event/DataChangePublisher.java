@@ -0,0 +1,54 @@
+package com.rental.saas.basedata.event;
+
+import com.rental.saas.basedata.geo.TransactionCallbacks;
+import com.rental.saas.common.constant.CommonConstant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据变更通知发布者
+ * 门店、服务范围和车辆变更在事务提交后通过Redis发布，定价服务据此失效搜索候选缓存和商品库存索引。
+ * 通知只是尽力而为，发布失败时依赖订阅方缓存的过期时间兜底。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataChangePublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 门店发生变更
+     */
+    public void publishStoreChanged(Long storeId) {
+        publish(CommonConstant.DATA_CHANGE_STORE, storeId);
+    }
+
+    /**
+     * 服务范围发生变更
+     */
+    public void publishServiceAreaChanged(Long areaId) {
+        publish(CommonConstant.DATA_CHANGE_SERVICE_AREA, areaId);
+    }
+
+    /**
+     * 车辆审核、上下架或车辆状态发生变更
+     */
+    public void publishVehicleChanged(Long vehicleId) {
+        publish(CommonConstant.DATA_CHANGE_VEHICLE, vehicleId);
+    }
+
+    private void publish(String type, Long id) {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                stringRedisTemplate.convertAndSend(CommonConstant.CHANNEL_DATA_CHANGE, type + ":" + id);
+            } catch (Exception e) {
+                log.warn("发布数据变更通知失败, type={}, id={}", type, id, e);
+            }
+        });
+    }
+}
@@ -46,6 +46,12 @@ public class BaseDataController{
         return ApiResponse.success("查询成功", vehicles);
     }
 
+    @GetMapping("/api/feign/vehicles/rentable")
+    public ApiResponse<List<VehicleResponse>> getRentableVehiclesByIds(@RequestParam("ids") List<Long> ids) {
+        List<VehicleResponse> vehicles = vehicleService.getRentableVehiclesByIds(ids);
+        return ApiResponse.success("查询成功", vehicles);
+    }
+
     @GetMapping("/api/feign/car-models/batch/{ids}")
     public ApiResponse<List<CarModelResponse>> getCarModelsByIds(@PathVariable("ids") String ids) {
         List<CarModelResponse> carModels = carModelService.getCarModelsByIds(ids);
@@ -63,6 +69,12 @@ public class BaseDataController{
         return ApiResponse.success("查询成功", stores);
     }
     
+    @GetMapping("/api/feign/stores/batch")
+    public ApiResponse<List<StoreResponse>> getOnlineStoresByIds(@RequestParam("ids") List<Long> ids) {
+        List<StoreResponse> stores = storeService.getOnlineStoresByIds(ids);
+        return ApiResponse.success("查询成功", stores);
+    }
+    
     @GetMapping("/api/feign/stores/{id}")
     public ApiResponse<StoreResponse> getStoreById(@PathVariable("id") Long id) {
         Store store = storeService.getById(id);
@@ -83,6 +95,7 @@ public class BaseDataController{
         response.setMinAdvanceHours(store.getMinAdvanceHours());
         response.setMaxAdvanceDays(store.getMaxAdvanceDays());
         response.setServiceFee(store.getServiceFee());
+        response.setTimeZone(store.getTimeZone());
         
         return ApiResponse.success("查询成功", response);
     }
@@ -90,22 +103,24 @@ public class BaseDataController{
     @GetMapping("/api/feign/service-areas/store/{storeId}")
     public ApiResponse<List<ServiceAreaResponse>> getServiceAreasByStore(@PathVariable("storeId") Long storeId) {
         List<ServiceArea> serviceAreas = serviceAreaService.listByStoreId(storeId, null);
-        List<ServiceAreaResponse> areaResponses = serviceAreas.stream().map(area -> {
-            ServiceAreaResponse response = new ServiceAreaResponse();
-            // 手动复制属性
-            response.setId(area.getId());
-            response.setStoreId(area.getStoreId());
-            response.setAreaName(area.getAreaName());
-            response.setAreaType(area.getAreaType());
-            response.setFenceCoordinates(area.getFenceCoordinates());
-            response.setAdvanceHours(area.getAdvanceHours());
-            response.setServiceStartTime(area.getServiceStartTime());
-            response.setServiceEndTime(area.getServiceEndTime());
-            response.setDoorToDoorDelivery(area.getDoorToDoorDelivery());
-            response.setDeliveryFee(area.getDeliveryFee());
-            response.setFreePickupToStore(area.getFreePickupToStore());
-            return response;
-        }).collect(Collectors.toList());
+        List<ServiceAreaResponse> areaResponses = serviceAreas.stream()
+                .map(this::convertToServiceAreaResponse)
+                .collect(Collectors.toList());
+        
+        return ApiResponse.success("查询成功", areaResponses);
+    }
+    
+    @GetMapping("/api/feign/service-areas/intersecting")
+    public ApiResponse<List<ServiceAreaResponse>> getServiceAreasIntersecting(
+            @RequestParam("minLongitude") Double minLongitude,
+            @RequestParam("minLatitude") Double minLatitude,
+            @RequestParam("maxLongitude") Double maxLongitude,
+            @RequestParam("maxLatitude") Double maxLatitude) {
+        // 查询电子围栏外接矩形与该矩形相交的服务范围
+        List<ServiceAreaResponse> areaResponses = serviceAreaService.listIntersectingAreas(
+                        minLongitude, minLatitude, maxLongitude, maxLatitude).stream()
+                .map(this::convertToServiceAreaResponse)
+                .collect(Collectors.toList());
         
         return ApiResponse.success("查询成功", areaResponses);
     }
@@ -140,4 +155,20 @@ public class BaseDataController{
         return ApiResponse.success(storeCount);
     }
 
+    private ServiceAreaResponse convertToServiceAreaResponse(ServiceArea area) {
+        ServiceAreaResponse response = new ServiceAreaResponse();
+        // 手动复制属性
+        response.setId(area.getId());
+        response.setStoreId(area.getStoreId());
+        response.setAreaName(area.getAreaName());
+        response.setAreaType(area.getAreaType());
+        response.setFenceCoordinates(area.getFenceCoordinates());
+        response.setAdvanceHours(area.getAdvanceHours());
+        response.setServiceStartTime(area.getServiceStartTime());
+        response.setServiceEndTime(area.getServiceEndTime());
+        response.setDoorToDoorDelivery(area.getDoorToDoorDelivery());
+        response.setDeliveryFee(area.getDeliveryFee());
+        response.setFreePickupToStore(area.getFreePickupToStore());
+        return response;
+    }
 }
\ No newline at end of file
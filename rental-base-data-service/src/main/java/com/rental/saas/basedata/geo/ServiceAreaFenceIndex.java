@@ -0,0 +1,231 @@
+package com.rental.saas.basedata.geo;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.rental.saas.basedata.entity.ServiceArea;
+import com.rental.saas.basedata.mapper.ServiceAreaMapper;
+import com.rental.saas.common.geo.FencePolygon;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务范围电子围栏索引
+ * 围栏坐标解析为预编译多边形后按外接矩形登记到经纬度网格，查询矩形只取覆盖网格内的围栏做外接矩形相交判断。
+ * 外接矩形跨越网格过多的超大围栏单独存放，每次查询都逐个做外接矩形相交判断。
+ * 启动后异步全量构建并定时全量刷新，本实例的服务范围变更在事务提交后增量更新，
+ * 全量重建期间的增量变更在切换到新索引时重放。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+public class ServiceAreaFenceIndex {
+
+    /**
+     * 网格边长(度)
+     */
+    private static final double CELL_DEGREES = 0.05;
+
+    /**
+     * 单个围栏最多登记的网格数，超过则作为超大围栏处理
+     */
+    private static final int MAX_CELLS_PER_FENCE = 400;
+
+    private final ServiceAreaMapper serviceAreaMapper;
+
+    private volatile Grid grid = new Grid();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 全量重建期间的增量变更：服务范围ID -> 变更后的服务范围，删除时为null；未在重建时为null，由this锁保护
+     */
+    private Map<Long, ServiceArea> pendingChanges;
+
+    public ServiceAreaFenceIndex(ServiceAreaMapper serviceAreaMapper) {
+        this.serviceAreaMapper = serviceAreaMapper;
+    }
+
+    /**
+     * 索引是否已完成首次构建
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全量重建索引，启动时执行一次，之后定时执行
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.fence-index.refresh-interval-ms:60000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pendingChanges = new HashMap<>();
+        }
+        try {
+            LambdaQueryWrapper<ServiceArea> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(ServiceArea::getDeleted, 0)
+                    .isNotNull(ServiceArea::getFenceCoordinates);
+            List<ServiceArea> areas = serviceAreaMapper.selectList(queryWrapper);
+
+            Grid newGrid = new Grid();
+            for (ServiceArea area : areas) {
+                newGrid.put(area);
+            }
+            synchronized (this) {
+                pendingChanges.forEach((areaId, area) -> applyTo(newGrid, areaId, area));
+                grid = newGrid;
+            }
+            ready = true;
+            log.info("电子围栏索引构建完成, 围栏数: {}, 耗时: {}ms", newGrid.entries.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("电子围栏索引构建失败", e);
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    /**
+     * 服务范围发生变更后调用：在当前事务提交后重新加载该围栏
+     */
+    public void onServiceAreaChanged(Long areaId) {
+        TransactionCallbacks.afterCommit(() -> reload(areaId));
+    }
+
+    /**
+     * 查询外接矩形与指定矩形相交的服务范围，矩形内任意一点的覆盖围栏都在结果中
+     * @param minLongitude 最小经度
+     * @param minLatitude 最小纬度
+     * @param maxLongitude 最大经度
+     * @param maxLatitude 最大纬度
+     * @return 服务范围列表
+     */
+    public List<ServiceArea> findIntersecting(double minLongitude, double minLatitude,
+                                              double maxLongitude, double maxLatitude) {
+        Grid current = grid;
+        Set<Long> candidateIds = new LinkedHashSet<>();
+        for (int latIdx = latIndex(minLatitude); latIdx <= latIndex(maxLatitude); latIdx++) {
+            for (int lonIdx = lonIndex(minLongitude); lonIdx <= lonIndex(maxLongitude); lonIdx++) {
+                Set<Long> ids = current.cells.get(cellKey(latIdx, lonIdx));
+                if (ids != null) {
+                    candidateIds.addAll(ids);
+                }
+            }
+        }
+        candidateIds.addAll(current.largeAreas);
+
+        List<ServiceArea> result = new ArrayList<>();
+        for (Long id : candidateIds) {
+            Entry entry = current.entries.get(id);
+            if (entry != null && entry.polygon.intersects(minLongitude, minLatitude, maxLongitude, maxLatitude)) {
+                result.add(entry.area);
+            }
+        }
+        return result;
+    }
+
+    private void reload(Long areaId) {
+        try {
+            ServiceArea area = serviceAreaMapper.selectById(areaId);
+            synchronized (this) {
+                if (pendingChanges != null) {
+                    pendingChanges.put(areaId, area);
+                }
+                applyTo(grid, areaId, area);
+            }
+        } catch (Exception e) {
+            log.error("电子围栏索引更新失败, areaId={}", areaId, e);
+        }
+    }
+
+    private static void applyTo(Grid target, Long areaId, ServiceArea area) {
+        if (area == null || Integer.valueOf(1).equals(area.getDeleted())) {
+            target.remove(areaId);
+        } else {
+            target.put(area);
+        }
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((Math.max(-90.0, Math.min(90.0, latitude)) + 90.0) / CELL_DEGREES);
+    }
+
+    private static int lonIndex(double longitude) {
+        return (int) Math.floor((Math.max(-180.0, Math.min(180.0, longitude)) + 180.0) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    /**
+     * 网格索引数据，全量重建时整体替换
+     */
+    private static final class Grid {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        private final Set<Long> largeAreas = ConcurrentHashMap.newKeySet();
+
+        void put(ServiceArea area) {
+            remove(area.getId());
+            FencePolygon polygon = FencePolygon.parse(area.getFenceCoordinates());
+            if (polygon == null) {
+                return;
+            }
+
+            int minLatIdx = latIndex(polygon.getMinLatitude());
+            int maxLatIdx = latIndex(polygon.getMaxLatitude());
+            int minLonIdx = lonIndex(polygon.getMinLongitude());
+            int maxLonIdx = lonIndex(polygon.getMaxLongitude());
+            long cellCount = (long) (maxLatIdx - minLatIdx + 1) * (maxLonIdx - minLonIdx + 1);
+
+            List<Long> cellKeys = new ArrayList<>();
+            if (cellCount <= MAX_CELLS_PER_FENCE) {
+                for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                    for (int lonIdx = minLonIdx; lonIdx <= maxLonIdx; lonIdx++) {
+                        cellKeys.add(cellKey(latIdx, lonIdx));
+                    }
+                }
+            }
+
+            entries.put(area.getId(), new Entry(area, polygon, cellKeys));
+            if (cellKeys.isEmpty()) {
+                largeAreas.add(area.getId());
+            } else {
+                for (Long cell : cellKeys) {
+                    cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(area.getId());
+                }
+            }
+        }
+
+        void remove(Long areaId) {
+            Entry old = entries.remove(areaId);
+            if (old == null) {
+                return;
+            }
+            largeAreas.remove(areaId);
+            for (Long cell : old.cellKeys) {
+                Set<Long> ids = cells.get(cell);
+                if (ids != null) {
+                    ids.remove(areaId);
+                }
+            }
+        }
+    }
+
+    private record Entry(ServiceArea area, FencePolygon polygon, List<Long> cellKeys) {
+    }
+}
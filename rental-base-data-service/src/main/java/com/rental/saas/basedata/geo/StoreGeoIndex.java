@@ -0,0 +1,250 @@
+package com.rental.saas.basedata.geo;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.rental.saas.basedata.entity.Store;
+import com.rental.saas.basedata.mapper.StoreMapper;
+import com.rental.saas.common.geo.GeoUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 门店地理位置内存索引
+ * 将已审核且上架的门店按经纬度网格分桶，半径查询只计算覆盖范围内网格中的门店距离。
+ * 启动后异步全量构建并定时全量刷新（用于同步其他实例的变更），本实例的门店变更在事务提交后增量更新。
+ * 全量重建期间的增量变更会同时记录下来，切换到新索引时重放，不会被重建前读取的旧数据覆盖。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+public class StoreGeoIndex {
+
+    /**
+     * 每纬度对应的公里数
+     */
+    private static final double KM_PER_DEGREE = 111.32;
+
+    /**
+     * 网格边长(度)，约5.5公里，5公里半径查询通常只覆盖3x3个网格
+     */
+    private static final double CELL_DEGREES = 0.05;
+
+    private final StoreMapper storeMapper;
+
+    private volatile Grid grid = new Grid();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 全量重建期间的增量变更：门店ID -> 变更后的门店，移除时为null；未在重建时为null，由this锁保护
+     */
+    private Map<Long, Store> pendingChanges;
+
+    public StoreGeoIndex(StoreMapper storeMapper) {
+        this.storeMapper = storeMapper;
+    }
+
+    /**
+     * 索引是否已完成首次构建
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全量重建索引，启动时执行一次，之后定时执行
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.store-index.refresh-interval-ms:60000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pendingChanges = new HashMap<>();
+        }
+        try {
+            LambdaQueryWrapper<Store> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(Store::getAuditStatus, 1)
+                    .eq(Store::getOnlineStatus, 1)
+                    .eq(Store::getDeleted, 0);
+            List<Store> stores = storeMapper.selectList(queryWrapper);
+
+            Grid newGrid = new Grid();
+            for (Store store : stores) {
+                newGrid.put(store);
+            }
+            synchronized (this) {
+                pendingChanges.forEach((storeId, store) -> applyTo(newGrid, storeId, store));
+                grid = newGrid;
+            }
+            ready = true;
+            log.info("门店地理索引构建完成, 门店数: {}, 耗时: {}ms", newGrid.entries.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("门店地理索引构建失败", e);
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    /**
+     * 门店发生变更后调用：在当前事务提交后更新索引，无事务时立即更新
+     */
+    public void onStoreChanged(Store store) {
+        TransactionCallbacks.afterCommit(() -> apply(store));
+    }
+
+    /**
+     * 门店删除后调用：在当前事务提交后从索引移除
+     */
+    public void onStoreRemoved(Long storeId) {
+        TransactionCallbacks.afterCommit(() -> remove(storeId));
+    }
+
+    /**
+     * 根据ID获取索引中的门店
+     * @param storeId 门店ID
+     * @return 门店，不在索引中(未上架或未审核)时返回null
+     */
+    public Store getStore(Long storeId) {
+        Entry entry = grid.entries.get(storeId);
+        return entry != null ? entry.store : null;
+    }
+
+    /**
+     * 查询指定半径内的门店，按距离由近到远排序
+     * @param longitude 经度
+     * @param latitude 纬度
+     * @param radiusKm 半径(公里)
+     * @return 门店列表
+     */
+    public List<Store> findInRange(double longitude, double latitude, double radiusKm) {
+        Grid current = grid;
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cosLat > 1e-6 ? radiusKm / (KM_PER_DEGREE * cosLat) : 180.0;
+
+        int minLatIdx = latIndex(latitude - latDelta);
+        int maxLatIdx = latIndex(latitude + latDelta);
+        int minLonIdx = lonIndex(longitude - lonDelta);
+        int maxLonIdx = lonIndex(longitude + lonDelta);
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (int lonIdx = minLonIdx; lonIdx <= maxLonIdx; lonIdx++) {
+                Set<Long> ids = current.cells.get(cellKey(latIdx, lonIdx));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Entry entry = current.entries.get(id);
+                    if (entry == null) {
+                        continue;
+                    }
+                    double distance = GeoUtil.distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        candidates.add(new Candidate(entry.store, distance));
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::distance));
+        List<Store> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            result.add(candidate.store);
+        }
+        return result;
+    }
+
+    private synchronized void apply(Store store) {
+        update(store.getId(), store);
+    }
+
+    private synchronized void remove(Long storeId) {
+        update(storeId, null);
+    }
+
+    private void update(Long storeId, Store store) {
+        if (pendingChanges != null) {
+            pendingChanges.put(storeId, store);
+        }
+        applyTo(grid, storeId, store);
+    }
+
+    private static void applyTo(Grid target, Long storeId, Store store) {
+        if (store != null && isIndexable(store)) {
+            target.put(store);
+        } else {
+            target.remove(storeId);
+        }
+    }
+
+    private static boolean isIndexable(Store store) {
+        return store.getId() != null
+                && Integer.valueOf(1).equals(store.getAuditStatus())
+                && Integer.valueOf(1).equals(store.getOnlineStatus())
+                && !Integer.valueOf(1).equals(store.getDeleted())
+                && store.getLongitude() != null
+                && store.getLatitude() != null;
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((Math.max(-90.0, Math.min(90.0, latitude)) + 90.0) / CELL_DEGREES);
+    }
+
+    private static int lonIndex(double longitude) {
+        return (int) Math.floor((Math.max(-180.0, Math.min(180.0, longitude)) + 180.0) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    /**
+     * 网格索引数据，全量重建时整体替换
+     */
+    private static final class Grid {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        void put(Store store) {
+            if (!isIndexable(store)) {
+                return;
+            }
+            remove(store.getId());
+            double longitude = store.getLongitude().doubleValue();
+            double latitude = store.getLatitude().doubleValue();
+            long cell = cellKey(latIndex(latitude), lonIndex(longitude));
+            entries.put(store.getId(), new Entry(store, longitude, latitude, cell));
+            cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(store.getId());
+        }
+
+        void remove(Long storeId) {
+            Entry old = entries.remove(storeId);
+            if (old != null) {
+                Set<Long> ids = cells.get(old.cell);
+                if (ids != null) {
+                    ids.remove(storeId);
+                }
+            }
+        }
+    }
+
+    private record Entry(Store store, double longitude, double latitude, long cell) {
+    }
+
+    private record Candidate(Store store, double distance) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.rental.saas.basedata.imports;
+
+import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * CSV车辆导入读取器
+ * 文件为UTF-8编码(可带BOM)，首行为列名，列名可以是字段名或中文名，顺序不限，未知列忽略；
+ * 字段值可用双引号包裹，引号内的双引号写两次。全部为空的行跳过。
+ *
+ * @author Rental SaaS Team
+ */
+public class CsvVehicleImportReader implements VehicleImportReader {
+
+    /**
+     * 列名(字段名小写或中文名) -> 列
+     */
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        column("storeId", "门店ID", true, Long::valueOf, VehicleCreateRequest::setStoreId);
+        column("licensePlate", "车牌号", true, Function.identity(), VehicleCreateRequest::setLicensePlate);
+        column("carModelId", "车型ID", true, Long::valueOf, VehicleCreateRequest::setCarModelId);
+        column("licenseType", "牌照类型", true, Integer::valueOf, VehicleCreateRequest::setLicenseType);
+        column("registerDate", "注册日期", true, LocalDate::parse, VehicleCreateRequest::setRegisterDate);
+        column("vin", "车架号", true, Function.identity(), VehicleCreateRequest::setVin);
+        column("engineNo", "发动机号", true, Function.identity(), VehicleCreateRequest::setEngineNo);
+        column("usageNature", "使用性质", true, Integer::valueOf, VehicleCreateRequest::setUsageNature);
+        column("mileage", "总里程", false, Integer::valueOf, VehicleCreateRequest::setMileage);
+    }
+
+    private final Reader reader;
+
+    /**
+     * 列下标 -> 字段，未知列为null
+     */
+    private final Column[] columns;
+
+    private final StringBuilder value = new StringBuilder();
+
+    private int rowNumber;
+
+    private boolean ended;
+
+    public CsvVehicleImportReader(InputStream input) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV文件为空");
+        }
+        this.columns = new Column[header.size()];
+        Map<String, Column> missing = new LinkedHashMap<>();
+        COLUMNS.values().stream().filter(Column::required).forEach(column -> missing.put(column.name(), column));
+        for (int i = 0; i < header.size(); i++) {
+            Column column = COLUMNS.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            columns[i] = column;
+            if (column != null) {
+                missing.remove(column.name());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV文件缺少列: " + String.join(", ", missing.keySet()));
+        }
+    }
+
+    @Override
+    public VehicleImportRow next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.stream().allMatch(String::isBlank));
+
+        rowNumber++;
+        VehicleCreateRequest request = new VehicleCreateRequest();
+        for (int i = 0; i < values.size() && i < columns.length; i++) {
+            Column column = columns[i];
+            String text = values.get(i).trim();
+            if (column == null || text.isEmpty()) {
+                continue;
+            }
+            try {
+                column.apply(request, text);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return VehicleImportRow.failed(rowNumber, column.label() + "格式错误: " + text);
+            }
+        }
+        return VehicleImportRow.of(rowNumber, request);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 读取一条记录，引号内可以包含逗号和换行
+     * @return 各列的值，文件结束时返回null
+     */
+    private List<String> readRecord() throws IOException {
+        if (ended) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        value.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        value.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                values.add(value.toString());
+                return values;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+        }
+        ended = true;
+        if (!any) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static <T> void column(String name, String label, boolean required, Function<String, T> parser,
+                                   BiConsumer<VehicleCreateRequest, T> setter) {
+        Column column = new Column(name, label, required,
+                (request, text) -> setter.accept(request, parser.apply(text)));
+        COLUMNS.put(name.toLowerCase(Locale.ROOT), column);
+        COLUMNS.put(label.toLowerCase(Locale.ROOT), column);
+    }
+
+    private record Column(String name, String label, boolean required,
+                          BiConsumer<VehicleCreateRequest, String> setter) {
+
+        void apply(VehicleCreateRequest request, String text) {
+            setter.accept(request, text);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.rental.saas.basedata.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JSON车辆导入读取器
+ * 文件为车辆对象数组，字段与 {@link VehicleCreateRequest} 相同；按数组元素逐个解析，
+ * 单个元素字段类型错误时只记该行失败，JSON语法错误时无法继续读取
+ *
+ * @author Rental SaaS Team
+ */
+public class JsonVehicleImportReader implements VehicleImportReader {
+
+    private final JsonParser parser;
+
+    private final ObjectMapper objectMapper;
+
+    private int rowNumber;
+
+    public JsonVehicleImportReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(input);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IllegalArgumentException("JSON文件应为车辆对象数组");
+        }
+    }
+
+    @Override
+    public VehicleImportRow next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        rowNumber++;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return VehicleImportRow.failed(rowNumber, "应为车辆对象");
+        }
+        JsonNode node = objectMapper.readTree(parser);
+        try {
+            return VehicleImportRow.of(rowNumber, objectMapper.treeToValue(node, VehicleCreateRequest.class));
+        } catch (JsonProcessingException e) {
+            return VehicleImportRow.failed(rowNumber, "字段格式错误: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
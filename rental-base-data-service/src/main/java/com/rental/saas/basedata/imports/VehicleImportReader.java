@@ -0,0 +1,37 @@
+package com.rental.saas.basedata.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 车辆批量导入文件的逐行读取器
+ * 边读边解析，不把整个文件读入内存
+ *
+ * @author Rental SaaS Team
+ */
+public interface VehicleImportReader extends Closeable {
+
+    /**
+     * 读取下一行
+     * @return 车辆行，文件结束时返回null
+     * @throws IOException 读取失败或文件结构损坏，之后的行无法继续读取
+     */
+    VehicleImportRow next() throws IOException;
+
+    /**
+     * 按内容类型打开读取器：JSON为车辆对象数组，其他按CSV读取
+     * @param contentType 请求的内容类型
+     * @param input 文件内容
+     * @param objectMapper JSON反序列化使用的ObjectMapper
+     * @throws IllegalArgumentException 文件为空、JSON不是数组或CSV缺少必填列
+     */
+    static VehicleImportReader open(String contentType, InputStream input, ObjectMapper objectMapper) throws IOException {
+        if (contentType != null && contentType.toLowerCase().contains("json")) {
+            return new JsonVehicleImportReader(input, objectMapper);
+        }
+        return new CsvVehicleImportReader(input);
+    }
+}
@@ -0,0 +1,22 @@
+package com.rental.saas.basedata.imports;
+
+import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
+
+/**
+ * 批量导入文件中的一行车辆
+ *
+ * @param rowNumber 行号，从1开始，不含CSV列名行和空行
+ * @param request 解析出的车辆，解析失败时为null
+ * @param error 解析错误，解析成功时为null
+ * @author Rental SaaS Team
+ */
+public record VehicleImportRow(int rowNumber, VehicleCreateRequest request, String error) {
+
+    static VehicleImportRow of(int rowNumber, VehicleCreateRequest request) {
+        return new VehicleImportRow(rowNumber, request, null);
+    }
+
+    static VehicleImportRow failed(int rowNumber, String error) {
+        return new VehicleImportRow(rowNumber, null, error);
+    }
+}
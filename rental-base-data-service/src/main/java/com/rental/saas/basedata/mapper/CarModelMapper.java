@@ -5,6 +5,7 @@ import com.rental.saas.basedata.entity.CarModel;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -79,4 +80,9 @@ public interface CarModelMapper extends BaseMapper<CarModel> {
                             @Param("model") String model,
                             @Param("year") Integer year,
                             @Param("excludeId") Long excludeId);
+
+    /**
+     * 查询指定时间之后变更的车型，包含已删除的车型
+     */
+    List<CarModel> findChangedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
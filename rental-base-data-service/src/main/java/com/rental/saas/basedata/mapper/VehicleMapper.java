@@ -5,6 +5,7 @@ import com.rental.saas.basedata.entity.Vehicle;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -70,4 +71,10 @@ public interface VehicleMapper extends BaseMapper<Vehicle> {
      * 检查车架号是否重复
      */
     int checkVinExists(@Param("vin") String vin, @Param("excludeId") Long excludeId);
+
+    /**
+     * 批量查询车牌号或车架号已存在的车辆，只返回车牌号和车架号
+     */
+    List<Vehicle> findByLicensePlatesOrVins(@Param("licensePlates") Collection<String> licensePlates,
+                                            @Param("vins") Collection<String> vins);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.rental.saas.basedata.mapper;
+
+import com.rental.saas.basedata.entity.VehicleStatusCount;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 车辆状态计数数据访问层
+ * 
+ * @author Rental SaaS Team
+ */
+@Mapper
+public interface VehicleStatusCountMapper {
+
+    /**
+     * 累加计数，计数行不存在时插入
+     */
+    int increment(@Param("tenantId") Long tenantId, @Param("dimension") String dimension,
+                  @Param("status") Integer status, @Param("delta") int delta);
+
+    /**
+     * 设置计数，计数行不存在时插入
+     */
+    int setCount(@Param("tenantId") Long tenantId, @Param("dimension") String dimension,
+                 @Param("status") Integer status, @Param("vehicleCount") int vehicleCount);
+
+    /**
+     * 查询租户某个维度的计数
+     */
+    List<VehicleStatusCount> findByTenantId(@Param("tenantId") Long tenantId, @Param("dimension") String dimension);
+
+    /**
+     * 汇总全部租户某个维度的计数
+     */
+    List<VehicleStatusCount> sumByDimension(@Param("dimension") String dimension);
+
+    /**
+     * 查询并锁定租户的全部计数行，阻塞对该租户计数的并发更新
+     */
+    List<VehicleStatusCount> lockByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * 从车辆表统计租户各维度的实际车辆数
+     */
+    List<VehicleStatusCount> countVehiclesByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * 有车辆或有计数行的租户ID
+     */
+    List<Long> findTenantIds();
+}
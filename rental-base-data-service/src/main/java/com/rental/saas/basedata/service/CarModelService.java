@@ -2,6 +2,8 @@ package com.rental.saas.basedata.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.rental.saas.basedata.dto.request.CarModelCreateRequest;
+import com.rental.saas.basedata.dto.response.CarModelFacetResponse;
+import com.rental.saas.basedata.dto.response.CarModelSuggestionResponse;
 import com.rental.api.basedata.response.CarModelResponse;
 
 import java.util.List;
@@ -94,6 +96,16 @@ public interface CarModelService {
                                                     Integer transmission, Integer driveType,
                                                     Integer startYear, Integer endYear);
 
+    /**
+     * 车型自动补全，匹配品牌、车系、车型名称前缀
+     */
+    List<CarModelSuggestionResponse> autocomplete(String keyword, int limit);
+
+    /**
+     * 品牌、车系范围内按座位数、档位、驱动类型、年款的车型数统计
+     */
+    CarModelFacetResponse getFacets(String brand, String series);
+
     /**
      * 检查车型是否重复
      */
@@ -21,6 +21,17 @@ public interface ServiceAreaService extends IService<ServiceArea> {
      */
     List<ServiceArea> listByStoreId(Long storeId, Long tenantId);
 
+    /**
+     * 查询电子围栏外接矩形与指定矩形相交的服务范围
+     * @param minLongitude 最小经度
+     * @param minLatitude 最小纬度
+     * @param maxLongitude 最大经度
+     * @param maxLatitude 最大纬度
+     * @return 服务范围列表
+     */
+    List<ServiceArea> listIntersectingAreas(double minLongitude, double minLatitude,
+                                            double maxLongitude, double maxLatitude);
+
     /**
      * 分页查询服务范围
      * @param page 分页对象
@@ -6,7 +6,9 @@ import com.rental.api.basedata.response.StoreResponse;
 import com.rental.saas.basedata.dto.request.StoreCreateRequest;
 import com.rental.saas.basedata.dto.request.StoreUpdateRequest;
 import com.rental.saas.basedata.entity.Store;
+import com.rental.saas.common.response.PageResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +45,14 @@ public interface StoreService {
     Page<StoreResponse> getStoreList(int current, int size, String city, Integer auditStatus, 
                                      Integer onlineStatus, Long tenantId);
 
+    /**
+     * 游标分页查询门店列表，按创建时间和ID倒序
+     * @param cursor 上一页返回的游标，第一页为空
+     * @param withTotal 是否返回总数(缓存的统计结果)
+     */
+    PageResponse<StoreResponse> getStoreListByCursor(String cursor, int size, String city, Integer auditStatus,
+                                                     Integer onlineStatus, boolean withTotal, Long tenantId);
+
     /**
      * 查询租户所有门店
      */
@@ -63,6 +73,11 @@ public interface StoreService {
      */
     List<StoreResponse> getStoresInRange(Double longitude, Double latitude, Double radius);
 
+    /**
+     * 根据ID批量查询已审核且上架的门店
+     */
+    List<StoreResponse> getOnlineStoresByIds(Collection<Long> ids);
+
     /**
      * 门店上架
      */
@@ -0,0 +1,23 @@
+package com.rental.saas.basedata.service;
+
+import com.rental.saas.basedata.dto.response.VehicleImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * 车辆批量导入服务接口
+ * 
+ * @author Rental SaaS Team
+ */
+public interface VehicleImportService {
+
+    /**
+     * 批量导入车辆
+     * 逐行读取并校验，按批次查重并批量写入，每批单独提交；校验失败的行不写入，其他行继续导入
+     * @param input 文件内容，CSV(首行为列名)或JSON数组
+     * @param contentType 内容类型，包含json时按JSON读取，否则按CSV读取
+     * @param tenantId 租户ID
+     * @return 导入结果及每个失败行的原因
+     */
+    VehicleImportResponse importVehicles(InputStream input, String contentType, Long tenantId);
+}
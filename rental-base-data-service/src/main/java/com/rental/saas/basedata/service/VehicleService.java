@@ -6,7 +6,9 @@ import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
 import com.rental.saas.basedata.dto.request.VehicleUpdateRequest;
 import com.rental.api.basedata.response.VehicleResponse;
 import com.rental.saas.basedata.entity.Vehicle;
+import com.rental.saas.common.response.PageResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +46,15 @@ public interface VehicleService {
                                          Integer vehicleStatus, Integer auditStatus,
                                          Integer onlineStatus, Long tenantId);
 
+    /**
+     * 游标分页查询车辆列表，按创建时间和ID倒序
+     * @param cursor 上一页返回的游标，第一页为空
+     * @param withTotal 是否返回总数(缓存的统计结果)
+     */
+    PageResponse<VehicleResponse> getVehicleListByCursor(String cursor, int size, Long storeId, Long carModelId,
+                                                         Integer vehicleStatus, Integer auditStatus,
+                                                         Integer onlineStatus, boolean withTotal, Long tenantId);
+
     /**
      * 查询门店车辆列表
      */
@@ -54,6 +65,11 @@ public interface VehicleService {
      */
     List<VehicleResponse> getAvailableVehicles(Long tenantId, Long storeId);
 
+    /**
+     * 根据车辆ID批量查询可出租的车辆：已审核、已上架，且车辆状态为空闲或租出
+     */
+    List<VehicleResponse> getRentableVehiclesByIds(Collection<Long> ids);
+
     /**
      * 根据车型查询车辆
      */
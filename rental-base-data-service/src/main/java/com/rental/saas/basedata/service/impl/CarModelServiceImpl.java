@@ -3,7 +3,11 @@ package com.rental.saas.basedata.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.rental.saas.basedata.dto.request.CarModelCreateRequest;
+import com.rental.saas.basedata.dto.response.CarModelFacetResponse;
+import com.rental.saas.basedata.dto.response.CarModelSuggestionResponse;
 import com.rental.api.basedata.response.CarModelResponse;
+import com.rental.saas.basedata.cache.CarModelCache;
+import com.rental.saas.basedata.cache.CarModelFacetIndex;
 import com.rental.saas.basedata.entity.CarModel;
 import com.rental.saas.basedata.mapper.CarModelMapper;
 import com.rental.saas.basedata.service.CarModelService;
@@ -21,6 +25,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +40,7 @@ import java.util.stream.Collectors;
 public class CarModelServiceImpl implements CarModelService {
 
     private final CarModelMapper carModelMapper;
+    private final CarModelCache carModelCache;
 
     @Override
     @Transactional
@@ -55,6 +62,7 @@ public class CarModelServiceImpl implements CarModelService {
 
         // 保存车型
         carModelMapper.insert(carModel);
+        carModelCache.invalidate(carModel.getId());
 
         log.info("车型创建成功，ID: {}", carModel.getId());
         return carModel.getId();
@@ -79,6 +87,7 @@ public class CarModelServiceImpl implements CarModelService {
         carModel.setUpdatedTime(LocalDateTime.now());
 
         carModelMapper.updateById(carModel);
+        carModelCache.invalidate(id);
         log.info("车型信息更新成功");
     }
 
@@ -95,12 +104,16 @@ public class CarModelServiceImpl implements CarModelService {
 
         // 逻辑删除车型
         carModelMapper.deleteById(id);
+        carModelCache.invalidate(id);
         log.info("车型删除成功");
     }
 
     @Override
     public CarModelResponse getCarModelById(Long id) {
-        CarModel carModel = getCarModelEntity(id);
+        CarModel carModel = carModelCache.get(id);
+        if (carModel == null) {
+            throw new BusinessException(ResponseCode.CAR_MODEL_NOT_FOUND);
+        }
         return convertToResponse(carModel);
     }
 
@@ -110,10 +123,11 @@ public class CarModelServiceImpl implements CarModelService {
         if (allids.length == 0) {
             return new ArrayList<>();
         }
-        LambdaQueryWrapper<CarModel> wrapper = new LambdaQueryWrapper<>();
-        wrapper.in(CarModel::getId, Arrays.stream(allids).map(Long::parseLong).toList())
-                .eq(CarModel::getDeleted, 0);
-        return carModelMapper.selectList(wrapper).stream()
+        List<Long> idList = Arrays.stream(allids).map(Long::parseLong).distinct().toList();
+        Map<Long, CarModel> carModels = carModelCache.getAll(idList);
+        return idList.stream()
+                .map(carModels::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToResponse)
                 .toList();
     }
@@ -150,87 +164,86 @@ public class CarModelServiceImpl implements CarModelService {
 
     @Override
     public List<CarModelResponse> getAllCarModels() {
-        LambdaQueryWrapper<CarModel> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(CarModel::getDeleted, 0)
-               .orderByAsc(CarModel::getBrand)
-               .orderByAsc(CarModel::getSeries)
-               .orderByDesc(CarModel::getYear);
-
-        List<CarModel> carModels = carModelMapper.selectList(wrapper);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(null, null, null, null, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsByBrand(String brand) {
-        List<CarModel> carModels = carModelMapper.findByBrand(brand);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(brand, null, null, null, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsBySeries(String series) {
-        List<CarModel> carModels = carModelMapper.findBySeries(series);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(null, series, null, null, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsByBrandAndSeries(String brand, String series) {
-        List<CarModel> carModels = carModelMapper.findByBrandAndSeries(brand, series);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(brand, series, null, null, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsBySeatCount(Integer seatCount) {
-        List<CarModel> carModels = carModelMapper.findBySeatCount(seatCount);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(null, null, seatCount, null, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsByTransmission(Integer transmission) {
-        List<CarModel> carModels = carModelMapper.findByTransmission(transmission);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(null, null, null, transmission, null, null, null);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsByDriveType(Integer driveType) {
-        List<CarModel> carModels = carModelMapper.findByDriveType(driveType);
-        return carModels.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findByConditions(null, null, null, null, driveType, null, null);
     }
 
     @Override
     public List<String> getAllBrands() {
-        return carModelMapper.findAllBrands();
+        CarModelFacetIndex index = carModelCache.facetIndex();
+        return index != null ? index.brands(null, Integer.MAX_VALUE) : carModelMapper.findAllBrands();
     }
 
     @Override
     public List<String> getSeriesByBrand(String brand) {
-        return carModelMapper.findSeriesByBrand(brand);
+        CarModelFacetIndex index = carModelCache.facetIndex();
+        return index != null ? index.series(brand, null, Integer.MAX_VALUE) : carModelMapper.findSeriesByBrand(brand);
     }
 
     @Override
     public List<CarModelResponse> getCarModelsByConditions(String brand, String series, Integer seatCount,
                                                            Integer transmission, Integer driveType,
                                                            Integer startYear, Integer endYear) {
-        List<CarModel> carModels = carModelMapper.findByConditions(
-                brand, series, seatCount, transmission, driveType, startYear, endYear);
-        return carModels.stream()
-                .map(this::convertToResponse)
+        return findByConditions(brand, series, seatCount, transmission, driveType, startYear, endYear);
+    }
+
+    @Override
+    public List<CarModelSuggestionResponse> autocomplete(String keyword, int limit) {
+        return requireFacetIndex().suggest(keyword, limit).stream()
+                .map(suggestion -> {
+                    CarModelSuggestionResponse response = new CarModelSuggestionResponse();
+                    response.setType(suggestion.type());
+                    response.setBrand(suggestion.brand());
+                    response.setSeries(suggestion.series());
+                    response.setModel(suggestion.model());
+                    response.setCarModelId(suggestion.carModelId());
+                    response.setCount(suggestion.count());
+                    return response;
+                })
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CarModelFacetResponse getFacets(String brand, String series) {
+        CarModelFacetIndex.Facets facets = requireFacetIndex().facets(brand, series);
+        CarModelFacetResponse response = new CarModelFacetResponse();
+        response.setTotal(facets.total());
+        response.setSeatCounts(facets.seatCounts());
+        response.setTransmissions(facets.transmissions());
+        response.setDriveTypes(facets.driveTypes());
+        response.setYears(facets.years());
+        return response;
+    }
+
     @Override
     public boolean checkCarModelExists(String brand, String series, String model, Integer year, Long excludeId) {
         int count = carModelMapper.checkCarModelExists(brand, series, model, year, excludeId);
@@ -262,7 +275,30 @@ public class CarModelServiceImpl implements CarModelService {
     }
 
     /**
-     * 获取车型实体
+     * 多条件查询车型，分面索引未加载时查询数据库
+     */
+    private List<CarModelResponse> findByConditions(String brand, String series, Integer seatCount,
+                                                    Integer transmission, Integer driveType,
+                                                    Integer startYear, Integer endYear) {
+        CarModelFacetIndex index = carModelCache.facetIndex();
+        List<CarModel> carModels = index != null
+                ? index.search(brand, series, seatCount, transmission, driveType, startYear, endYear)
+                : carModelMapper.findByConditions(brand, series, seatCount, transmission, driveType, startYear, endYear);
+        return carModels.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private CarModelFacetIndex requireFacetIndex() {
+        CarModelFacetIndex index = carModelCache.facetIndex();
+        if (index == null) {
+            throw new BusinessException(ResponseCode.SERVICE_UNAVAILABLE, "车型索引加载中，请稍后重试");
+        }
+        return index;
+    }
+
+    /**
+     * 获取车型实体，从数据库读取，用于修改和删除
      */
     private CarModel getCarModelEntity(Long id) {
         CarModel carModel = carModelMapper.selectById(id);
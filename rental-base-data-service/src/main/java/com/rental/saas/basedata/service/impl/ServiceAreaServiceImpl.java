@@ -4,14 +4,19 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.basedata.entity.ServiceArea;
+import com.rental.saas.basedata.event.DataChangePublisher;
+import com.rental.saas.basedata.geo.ServiceAreaFenceIndex;
 import com.rental.saas.basedata.mapper.ServiceAreaMapper;
 import com.rental.saas.basedata.service.ServiceAreaService;
 import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.geo.FencePolygon;
 import com.rental.saas.common.response.ResponseCode;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 服务范围服务实现类
@@ -19,8 +24,12 @@ import java.util.List;
  * @author Rental SaaS Team
  */
 @Service
+@RequiredArgsConstructor
 public class ServiceAreaServiceImpl extends ServiceImpl<ServiceAreaMapper, ServiceArea> implements ServiceAreaService {
 
+    private final ServiceAreaFenceIndex serviceAreaFenceIndex;
+    private final DataChangePublisher dataChangePublisher;
+
     @Override
     public List<ServiceArea> listByStoreId(Long storeId, Long tenantId) {
         LambdaQueryWrapper<ServiceArea> queryWrapper = new LambdaQueryWrapper<>();
@@ -30,6 +39,25 @@ public class ServiceAreaServiceImpl extends ServiceImpl<ServiceAreaMapper, Servi
         return list(queryWrapper);
     }
 
+    @Override
+    public List<ServiceArea> listIntersectingAreas(double minLongitude, double minLatitude,
+                                                   double maxLongitude, double maxLatitude) {
+        if (serviceAreaFenceIndex.isReady()) {
+            return serviceAreaFenceIndex.findIntersecting(minLongitude, minLatitude, maxLongitude, maxLatitude);
+        }
+        
+        // 围栏索引构建完成前逐个解析围栏判断
+        LambdaQueryWrapper<ServiceArea> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(ServiceArea::getDeleted, 0)
+                .isNotNull(ServiceArea::getFenceCoordinates);
+        return list(queryWrapper).stream()
+                .filter(area -> {
+                    FencePolygon polygon = FencePolygon.parse(area.getFenceCoordinates());
+                    return polygon != null && polygon.intersects(minLongitude, minLatitude, maxLongitude, maxLatitude);
+                })
+                .collect(Collectors.toList());
+    }
+
     @Override
     public IPage<ServiceArea> pageServiceAreas(IPage<ServiceArea> page, Long storeId, Integer areaType, Long tenantId) {
         LambdaQueryWrapper<ServiceArea> queryWrapper = new LambdaQueryWrapper<>();
@@ -50,7 +78,12 @@ public class ServiceAreaServiceImpl extends ServiceImpl<ServiceAreaMapper, Servi
         serviceArea.setTenantId(tenantId);
         serviceArea.setCreatedTime(LocalDateTime.now());
         serviceArea.setUpdatedTime(LocalDateTime.now());
-        return save(serviceArea);
+        boolean saved = save(serviceArea);
+        if (saved) {
+            serviceAreaFenceIndex.onServiceAreaChanged(serviceArea.getId());
+            dataChangePublisher.publishServiceAreaChanged(serviceArea.getId());
+        }
+        return saved;
     }
 
     @Override
@@ -63,7 +96,12 @@ public class ServiceAreaServiceImpl extends ServiceImpl<ServiceAreaMapper, Servi
         
         serviceArea.setTenantId(tenantId);
         serviceArea.setUpdatedTime(LocalDateTime.now());
-        return updateById(serviceArea);
+        boolean updated = updateById(serviceArea);
+        if (updated) {
+            serviceAreaFenceIndex.onServiceAreaChanged(serviceArea.getId());
+            dataChangePublisher.publishServiceAreaChanged(serviceArea.getId());
+        }
+        return updated;
     }
 
     @Override
@@ -78,7 +116,12 @@ public class ServiceAreaServiceImpl extends ServiceImpl<ServiceAreaMapper, Servi
         serviceArea.setId(id);
         serviceArea.setDeleted(1);
         serviceArea.setUpdatedTime(LocalDateTime.now());
-        return updateById(serviceArea);
+        boolean deleted = updateById(serviceArea);
+        if (deleted) {
+            serviceAreaFenceIndex.onServiceAreaChanged(id);
+            dataChangePublisher.publishServiceAreaChanged(id);
+        }
+        return deleted;
     }
     
     @Override
@@ -8,10 +8,16 @@ import com.rental.api.basedata.response.StoreResponse;
 import com.rental.saas.basedata.dto.request.StoreCreateRequest;
 import com.rental.saas.basedata.dto.request.StoreUpdateRequest;
 import com.rental.saas.basedata.entity.Store;
+import com.rental.saas.basedata.event.DataChangePublisher;
+import com.rental.saas.basedata.geo.StoreGeoIndex;
 import com.rental.saas.basedata.mapper.StoreMapper;
 import com.rental.saas.basedata.service.StoreService;
 import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.CursorPagination;
+import com.rental.saas.common.response.PageCursor;
+import com.rental.saas.common.response.PageResponse;
 import com.rental.saas.common.response.ResponseCode;
+import com.rental.saas.common.utils.TotalCountCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -19,10 +25,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +45,13 @@ import java.util.stream.Collectors;
 public class StoreServiceImpl implements StoreService {
 
     private final StoreMapper storeMapper;
+    private final StoreGeoIndex storeGeoIndex;
+    private final DataChangePublisher dataChangePublisher;
+
+    /**
+     * 游标分页的总数缓存，同一查询条件1分钟内只统计一次
+     */
+    private final TotalCountCache totalCountCache = new TotalCountCache(Duration.ofMinutes(1), 10000);
 
     @Override
     @Transactional
@@ -58,6 +74,8 @@ public class StoreServiceImpl implements StoreService {
 
         // 保存门店
         storeMapper.insert(store);
+        storeGeoIndex.onStoreChanged(store);
+        dataChangePublisher.publishStoreChanged(store.getId());
 
         log.info("门店创建成功，ID: {}", store.getId());
         return store.getId();
@@ -111,6 +129,8 @@ public class StoreServiceImpl implements StoreService {
         store.setUpdatedTime(LocalDateTime.now());
 
         storeMapper.updateById(store);
+        storeGeoIndex.onStoreChanged(store);
+        dataChangePublisher.publishStoreChanged(store.getId());
         log.info("门店信息更新成功");
     }
 
@@ -127,6 +147,8 @@ public class StoreServiceImpl implements StoreService {
 
         // 逻辑删除门店
         storeMapper.deleteById(id);
+        storeGeoIndex.onStoreRemoved(id);
+        dataChangePublisher.publishStoreChanged(id);
         log.info("门店删除成功");
     }
 
@@ -141,13 +163,8 @@ public class StoreServiceImpl implements StoreService {
                                             Integer onlineStatus, Long tenantId) {
         log.info("分页查询门店列表，当前页: {}, 页大小: {}, 租户ID: {}", current, size, tenantId);
 
-        LambdaQueryWrapper<Store> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Store::getTenantId, tenantId)
-               .eq(Store::getDeleted, 0)
-               .like(StringUtils.hasText(city), Store::getCity, city)
-               .eq(auditStatus != null, Store::getAuditStatus, auditStatus)
-               .eq(onlineStatus != null, Store::getOnlineStatus, onlineStatus)
-               .orderByDesc(Store::getCreatedTime);
+        LambdaQueryWrapper<Store> wrapper = listWrapper(city, auditStatus, onlineStatus, tenantId);
+        wrapper.orderByDesc(Store::getCreatedTime);
 
         Page<Store> page = new Page<>(current, size);
         Page<Store> result = storeMapper.selectPage(page, wrapper);
@@ -162,6 +179,27 @@ public class StoreServiceImpl implements StoreService {
         return responsePage;
     }
 
+    @Override
+    public PageResponse<StoreResponse> getStoreListByCursor(String cursor, int size, String city, Integer auditStatus,
+                                                            Integer onlineStatus, boolean withTotal, Long tenantId) {
+        log.info("游标分页查询门店列表，页大小: {}, 租户ID: {}", size, tenantId);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        LambdaQueryWrapper<Store> wrapper = listWrapper(city, auditStatus, onlineStatus, tenantId);
+        CursorPagination.apply(wrapper, Store::getCreatedTime, Store::getId, pageCursor, size);
+        List<Store> stores = storeMapper.selectList(wrapper);
+
+        Long total = null;
+        if (withTotal) {
+            String key = tenantId + ":" + city + ":" + auditStatus + ":" + onlineStatus;
+            total = totalCountCache.get(key, () -> storeMapper.selectCount(
+                    listWrapper(city, auditStatus, onlineStatus, tenantId)));
+        }
+        return CursorPagination.toResponse(stores, size,
+                store -> new PageCursor(store.getCreatedTime(), store.getId()),
+                this::convertToResponse, pageCursor == null, total);
+    }
+
     @Override
     public List<StoreResponse> getAllStores(Long tenantId) {
         List<Store> stores = storeMapper.findByTenantId(tenantId);
@@ -188,7 +226,35 @@ public class StoreServiceImpl implements StoreService {
 
     @Override
     public List<StoreResponse> getStoresInRange(Double longitude, Double latitude, Double radius) {
-        List<Store> stores = storeMapper.findStoresInRange(longitude, latitude, radius);
+        // 内存索引构建完成前回退到SQL查询
+        List<Store> stores = storeGeoIndex.isReady()
+                ? storeGeoIndex.findInRange(longitude, latitude, radius)
+                : storeMapper.findStoresInRange(longitude, latitude, radius);
+        return stores.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StoreResponse> getOnlineStoresByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Store> stores;
+        if (storeGeoIndex.isReady()) {
+            stores = ids.stream()
+                    .map(storeGeoIndex::getStore)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            LambdaQueryWrapper<Store> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.in(Store::getId, ids)
+                    .eq(Store::getAuditStatus, 1)
+                    .eq(Store::getOnlineStatus, 1)
+                    .eq(Store::getDeleted, 0);
+            stores = storeMapper.selectList(queryWrapper);
+        }
         return stores.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -209,6 +275,8 @@ public class StoreServiceImpl implements StoreService {
         store.setOnlineStatus(1);
         store.setUpdatedTime(LocalDateTime.now());
         storeMapper.updateById(store);
+        storeGeoIndex.onStoreChanged(store);
+        dataChangePublisher.publishStoreChanged(store.getId());
         
         log.info("门店上架成功");
     }
@@ -222,6 +290,8 @@ public class StoreServiceImpl implements StoreService {
         store.setOnlineStatus(0);
         store.setUpdatedTime(LocalDateTime.now());
         storeMapper.updateById(store);
+        storeGeoIndex.onStoreChanged(store);
+        dataChangePublisher.publishStoreChanged(store.getId());
         
         log.info("门店下架成功");
     }
@@ -239,6 +309,8 @@ public class StoreServiceImpl implements StoreService {
         store.setAuditStatus(auditStatus);
         store.setUpdatedTime(LocalDateTime.now());
         storeMapper.updateById(store);
+        storeGeoIndex.onStoreChanged(store);
+        dataChangePublisher.publishStoreChanged(store.getId());
         
         log.info("门店审核完成");
     }
@@ -344,7 +416,12 @@ public class StoreServiceImpl implements StoreService {
         store.setAuditRemark(reason);
         store.setUpdatedTime(LocalDateTime.now());
         
-        return storeMapper.updateById(store) > 0;
+        boolean updated = storeMapper.updateById(store) > 0;
+        if (updated) {
+            storeGeoIndex.onStoreChanged(store);
+            dataChangePublisher.publishStoreChanged(store.getId());
+        }
+        return updated;
     }
     
     /**
@@ -363,6 +440,19 @@ public class StoreServiceImpl implements StoreService {
         return store;
     }
     
+    /**
+     * 门店列表的筛选条件
+     */
+    private LambdaQueryWrapper<Store> listWrapper(String city, Integer auditStatus, Integer onlineStatus, Long tenantId) {
+        LambdaQueryWrapper<Store> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Store::getTenantId, tenantId)
+               .eq(Store::getDeleted, 0)
+               .like(StringUtils.hasText(city), Store::getCity, city)
+               .eq(auditStatus != null, Store::getAuditStatus, auditStatus)
+               .eq(onlineStatus != null, Store::getOnlineStatus, onlineStatus);
+        return wrapper;
+    }
+
     /**
      * 转换为响应对象
      */
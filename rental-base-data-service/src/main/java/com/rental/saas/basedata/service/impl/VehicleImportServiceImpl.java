@@ -0,0 +1,270 @@
+package com.rental.saas.basedata.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rental.saas.basedata.counter.VehicleStatusCounter;
+import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
+import com.rental.saas.basedata.dto.response.VehicleImportResponse;
+import com.rental.saas.basedata.entity.CarModel;
+import com.rental.saas.basedata.entity.Store;
+import com.rental.saas.basedata.entity.Vehicle;
+import com.rental.saas.basedata.imports.VehicleImportReader;
+import com.rental.saas.basedata.imports.VehicleImportRow;
+import com.rental.saas.basedata.mapper.CarModelMapper;
+import com.rental.saas.basedata.mapper.StoreMapper;
+import com.rental.saas.basedata.mapper.VehicleMapper;
+import com.rental.saas.basedata.service.VehicleImportService;
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ResponseCode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 车辆批量导入服务实现类
+ * 门店和车型在导入开始时各查询一次，之后按内存集合校验；车牌号和车架号在文件内用集合查重，
+ * 与数据库的查重每批只查询一次；通过校验的行按批次用JDBC批量写入，每批单独提交，
+ * 车辆状态计数按批次汇总后在同一事务中更新。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Service
+public class VehicleImportServiceImpl implements VehicleImportService {
+
+    private final VehicleMapper vehicleMapper;
+    private final StoreMapper storeMapper;
+    private final CarModelMapper carModelMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final VehicleStatusCounter vehicleStatusCounter;
+
+    /**
+     * 每批查重和写入的行数
+     */
+    @Value("${app.vehicle-import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 单次导入的最大行数
+     */
+    @Value("${app.vehicle-import.max-rows:20000}")
+    private int maxRows;
+
+    /**
+     * 返回的失败行数上限
+     */
+    @Value("${app.vehicle-import.max-errors:1000}")
+    private int maxErrors;
+
+    public VehicleImportServiceImpl(VehicleMapper vehicleMapper,
+                                    StoreMapper storeMapper,
+                                    CarModelMapper carModelMapper,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    TransactionTemplate transactionTemplate,
+                                    VehicleStatusCounter vehicleStatusCounter) {
+        this.vehicleMapper = vehicleMapper;
+        this.storeMapper = storeMapper;
+        this.carModelMapper = carModelMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.vehicleStatusCounter = vehicleStatusCounter;
+    }
+
+    @Override
+    public VehicleImportResponse importVehicles(InputStream input, String contentType, Long tenantId) {
+        log.info("批量导入车辆，租户ID: {}, 内容类型: {}", tenantId, contentType);
+        VehicleImportReader reader;
+        try {
+            reader = VehicleImportReader.open(contentType, input, objectMapper);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResponseCode.PARAMETER_FORMAT_ERROR, e.getMessage());
+        } catch (IOException e) {
+            log.warn("读取导入文件失败，租户ID: {}", tenantId, e);
+            throw new BusinessException(ResponseCode.PARAMETER_FORMAT_ERROR, "读取导入文件失败");
+        }
+
+        Set<Long> storeIds = loadStoreIds(tenantId);
+        Set<Long> carModelIds = loadCarModelIds();
+        Set<String> licensePlates = new HashSet<>();
+        Set<String> vins = new HashSet<>();
+        VehicleImportResponse response = new VehicleImportResponse();
+        List<VehicleImportRow> batch = new ArrayList<>(batchSize);
+        try (reader) {
+            VehicleImportRow row;
+            while ((row = reader.next()) != null) {
+                if (response.getTotalRows() >= maxRows) {
+                    response.setAbortReason("超过单次导入上限" + maxRows + "行，之后的行未处理");
+                    break;
+                }
+                response.setTotalRows(response.getTotalRows() + 1);
+                String error = validate(row, storeIds, carModelIds, licensePlates, vins);
+                if (error != null) {
+                    addError(response, row, error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    importBatch(batch, tenantId, response);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("导入文件解析中断，租户ID: {}, 已处理行数: {}", tenantId, response.getTotalRows(), e);
+            response.setAbortReason("文件格式错误，第" + response.getTotalRows() + "行之后的内容未处理");
+        }
+        importBatch(batch, tenantId, response);
+
+        log.info("批量导入车辆完成，租户ID: {}, 总行数: {}, 成功: {}, 失败: {}", tenantId,
+                response.getTotalRows(), response.getSuccessCount(), response.getFailureCount());
+        return response;
+    }
+
+    /**
+     * 校验单行，不查询数据库
+     * @return 失败原因，通过时返回null
+     */
+    private String validate(VehicleImportRow row, Set<Long> storeIds, Set<Long> carModelIds,
+                            Set<String> licensePlates, Set<String> vins) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        VehicleCreateRequest request = row.request();
+        Set<ConstraintViolation<VehicleCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("；"));
+        }
+        if (!storeIds.contains(request.getStoreId())) {
+            return ResponseCode.STORE_NOT_FOUND.getMessage();
+        }
+        if (!carModelIds.contains(request.getCarModelId())) {
+            return ResponseCode.CAR_MODEL_NOT_FOUND.getMessage();
+        }
+        if (licensePlates.contains(request.getLicensePlate())) {
+            return "车牌号在文件中重复";
+        }
+        if (vins.contains(request.getVin())) {
+            return "车架号在文件中重复";
+        }
+        licensePlates.add(request.getLicensePlate());
+        vins.add(request.getVin());
+        return null;
+    }
+
+    /**
+     * 一次查询批次内已存在的车牌号和车架号，其余行批量写入
+     */
+    private void importBatch(List<VehicleImportRow> rows, Long tenantId, VehicleImportResponse response) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> batchPlates = rows.stream().map(row -> row.request().getLicensePlate()).collect(Collectors.toSet());
+        Set<String> batchVins = rows.stream().map(row -> row.request().getVin()).collect(Collectors.toSet());
+        Set<String> existingPlates = new HashSet<>();
+        Set<String> existingVins = new HashSet<>();
+        for (Vehicle vehicle : vehicleMapper.findByLicensePlatesOrVins(batchPlates, batchVins)) {
+            existingPlates.add(vehicle.getLicensePlate());
+            existingVins.add(vehicle.getVin());
+        }
+
+        List<VehicleImportRow> accepted = new ArrayList<>(rows.size());
+        List<Vehicle> vehicles = new ArrayList<>(rows.size());
+        for (VehicleImportRow row : rows) {
+            if (existingPlates.contains(row.request().getLicensePlate())) {
+                addError(response, row, ResponseCode.LICENSE_PLATE_DUPLICATE.getMessage());
+            } else if (existingVins.contains(row.request().getVin())) {
+                addError(response, row, ResponseCode.VIN_DUPLICATE.getMessage());
+            } else {
+                accepted.add(row);
+                vehicles.add(toVehicle(row.request(), tenantId));
+            }
+        }
+        if (vehicles.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Db.saveBatch(vehicles, vehicles.size());
+                vehicleStatusCounter.recordCreated(vehicles);
+            });
+            response.setSuccessCount(response.getSuccessCount() + vehicles.size());
+        } catch (DuplicateKeyException e) {
+            // 查重之后其他请求写入了相同的车牌号或车架号，逐行写入找出冲突的行
+            log.warn("批量写入车辆时车牌号或车架号冲突，改为逐行写入，租户ID: {}", tenantId);
+            for (int i = 0; i < vehicles.size(); i++) {
+                Vehicle vehicle = vehicles.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        vehicleMapper.insert(vehicle);
+                        vehicleStatusCounter.recordCreated(List.of(vehicle));
+                    });
+                    response.setSuccessCount(response.getSuccessCount() + 1);
+                } catch (DuplicateKeyException duplicate) {
+                    addError(response, accepted.get(i), "车牌号或车架号已存在");
+                }
+            }
+        }
+    }
+
+    private Vehicle toVehicle(VehicleCreateRequest request, Long tenantId) {
+        Vehicle vehicle = new Vehicle();
+        BeanUtils.copyProperties(request, vehicle);
+        vehicle.setTenantId(tenantId);
+        vehicle.setAuditStatus(0); // 待审核
+        vehicle.setOnlineStatus(0); // 下架状态
+        vehicle.setVehicleStatus(1); // 空闲状态
+        vehicle.setCreatedTime(LocalDateTime.now());
+        vehicle.setUpdatedTime(LocalDateTime.now());
+        return vehicle;
+    }
+
+    private void addError(VehicleImportResponse response, VehicleImportRow row, String message) {
+        response.setFailureCount(response.getFailureCount() + 1);
+        if (response.getErrors().size() >= maxErrors) {
+            response.setErrorsTruncated(true);
+            return;
+        }
+        String licensePlate = row.request() != null ? row.request().getLicensePlate() : null;
+        response.getErrors().add(new VehicleImportResponse.RowError(row.rowNumber(), licensePlate, message));
+    }
+
+    /**
+     * 当前租户的门店ID
+     */
+    private Set<Long> loadStoreIds(Long tenantId) {
+        LambdaQueryWrapper<Store> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Store::getId)
+               .eq(Store::getTenantId, tenantId)
+               .eq(Store::getDeleted, 0);
+        return toIds(storeMapper.selectObjs(wrapper));
+    }
+
+    private Set<Long> loadCarModelIds() {
+        LambdaQueryWrapper<CarModel> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(CarModel::getId);
+        return toIds(carModelMapper.selectObjs(wrapper));
+    }
+
+    private static Set<Long> toIds(List<Object> ids) {
+        return ids.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toSet());
+    }
+}
@@ -1,21 +1,28 @@
 package com.rental.saas.basedata.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.rental.api.basedata.response.CarModelResponse;
+import com.rental.saas.basedata.cache.CarModelCache;
+import com.rental.saas.basedata.counter.VehicleStatusCounter;
+import com.rental.saas.basedata.counter.VehicleStatusDelta;
+import com.rental.saas.basedata.counter.VehicleStatusDimension;
 import com.rental.saas.basedata.dto.request.VehicleCreateRequest;
 import com.rental.saas.basedata.dto.request.VehicleUpdateRequest;
 import com.rental.api.basedata.response.VehicleResponse;
 import com.rental.saas.basedata.entity.CarModel;
 import com.rental.saas.basedata.entity.Store;
 import com.rental.saas.basedata.entity.Vehicle;
-import com.rental.saas.basedata.mapper.CarModelMapper;
+import com.rental.saas.basedata.event.DataChangePublisher;
 import com.rental.saas.basedata.mapper.StoreMapper;
 import com.rental.saas.basedata.mapper.VehicleMapper;
 import com.rental.saas.basedata.service.VehicleService;
 import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.CursorPagination;
+import com.rental.saas.common.response.PageCursor;
+import com.rental.saas.common.response.PageResponse;
 import com.rental.saas.common.response.ResponseCode;
+import com.rental.saas.common.utils.TotalCountCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -23,8 +30,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -41,7 +49,14 @@ public class VehicleServiceImpl implements VehicleService {
 
     private final VehicleMapper vehicleMapper;
     private final StoreMapper storeMapper;
-    private final CarModelMapper carModelMapper;
+    private final CarModelCache carModelCache;
+    private final DataChangePublisher dataChangePublisher;
+    private final VehicleStatusCounter vehicleStatusCounter;
+
+    /**
+     * 游标分页的总数缓存，同一查询条件1分钟内只统计一次
+     */
+    private final TotalCountCache totalCountCache = new TotalCountCache(Duration.ofMinutes(1), 10000);
 
     @Override
     @Transactional
@@ -76,6 +91,7 @@ public class VehicleServiceImpl implements VehicleService {
 
         // 保存车辆
         vehicleMapper.insert(vehicle);
+        vehicleStatusCounter.record(null, vehicle);
 
         log.info("车辆创建成功，ID: {}", vehicle.getId());
         return vehicle.getId();
@@ -86,8 +102,9 @@ public class VehicleServiceImpl implements VehicleService {
     public void updateVehicle(Long id, VehicleUpdateRequest request, Long tenantId) {
         log.info("更新车辆信息，ID: {}, 租户ID: {}", id, tenantId);
 
-        // 查询车辆
-        Vehicle vehicle = getVehicleEntity(id, tenantId);
+        // 查询并锁定车辆
+        Vehicle vehicle = lockVehicleEntity(id, tenantId);
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
 
         // 验证门店
         if (request.getStoreId() != null) {
@@ -132,6 +149,8 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setUpdatedTime(LocalDateTime.now());
 
         vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         log.info("车辆信息更新成功");
     }
 
@@ -140,8 +159,8 @@ public class VehicleServiceImpl implements VehicleService {
     public void deleteVehicle(Long id, Long tenantId) {
         log.info("删除车辆，ID: {}, 租户ID: {}", id, tenantId);
 
-        // 查询车辆
-        Vehicle vehicle = getVehicleEntity(id, tenantId);
+        // 查询并锁定车辆
+        Vehicle vehicle = lockVehicleEntity(id, tenantId);
 
         // 检查车辆状态
         if (vehicle.getVehicleStatus() == 2) {
@@ -150,6 +169,8 @@ public class VehicleServiceImpl implements VehicleService {
 
         // 逻辑删除车辆
         vehicleMapper.deleteById(id);
+        vehicleStatusCounter.record(VehicleStatusDelta.Snapshot.of(vehicle), null);
+        dataChangePublisher.publishVehicleChanged(id);
         log.info("车辆删除成功");
     }
 
@@ -165,15 +186,9 @@ public class VehicleServiceImpl implements VehicleService {
                                                 Integer onlineStatus, Long tenantId) {
         log.info("分页查询车辆列表，当前页: {}, 页大小: {}, 租户ID: {}", current, size, tenantId);
 
-        LambdaQueryWrapper<Vehicle> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Vehicle::getTenantId, tenantId)
-               .eq(Vehicle::getDeleted, 0)
-               .eq(storeId != null, Vehicle::getStoreId, storeId)
-               .eq(carModelId != null, Vehicle::getCarModelId, carModelId)
-               .eq(vehicleStatus != null, Vehicle::getVehicleStatus, vehicleStatus)
-               .eq(auditStatus != null, Vehicle::getAuditStatus, auditStatus)
-               .eq(onlineStatus != null, Vehicle::getOnlineStatus, onlineStatus)
-               .orderByDesc(Vehicle::getCreatedTime);
+        LambdaQueryWrapper<Vehicle> wrapper = listWrapper(storeId, carModelId, vehicleStatus, auditStatus,
+                onlineStatus, tenantId);
+        wrapper.orderByDesc(Vehicle::getCreatedTime);
 
         Page<Vehicle> page = new Page<>(current, size);
         Page<Vehicle> result = vehicleMapper.selectPage(page, wrapper);
@@ -188,6 +203,30 @@ public class VehicleServiceImpl implements VehicleService {
         return responsePage;
     }
 
+    @Override
+    public PageResponse<VehicleResponse> getVehicleListByCursor(String cursor, int size, Long storeId, Long carModelId,
+                                                                Integer vehicleStatus, Integer auditStatus,
+                                                                Integer onlineStatus, boolean withTotal, Long tenantId) {
+        log.info("游标分页查询车辆列表，页大小: {}, 租户ID: {}", size, tenantId);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        LambdaQueryWrapper<Vehicle> wrapper = listWrapper(storeId, carModelId, vehicleStatus, auditStatus,
+                onlineStatus, tenantId);
+        CursorPagination.apply(wrapper, Vehicle::getCreatedTime, Vehicle::getId, pageCursor, size);
+        List<Vehicle> vehicles = vehicleMapper.selectList(wrapper);
+
+        Long total = null;
+        if (withTotal) {
+            String key = tenantId + ":" + storeId + ":" + carModelId + ":" + vehicleStatus + ":"
+                    + auditStatus + ":" + onlineStatus;
+            total = totalCountCache.get(key, () -> vehicleMapper.selectCount(
+                    listWrapper(storeId, carModelId, vehicleStatus, auditStatus, onlineStatus, tenantId)));
+        }
+        return CursorPagination.toResponse(vehicles, size,
+                vehicle -> new PageCursor(vehicle.getCreatedTime(), vehicle.getId()),
+                this::convertToResponse, pageCursor == null, total);
+    }
+
     @Override
     public List<VehicleResponse> getVehiclesByStore(Long storeId, Long tenantId) {
         List<Vehicle> vehicles = vehicleMapper.findByStoreId(storeId);
@@ -205,6 +244,30 @@ public class VehicleServiceImpl implements VehicleService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<VehicleResponse> getRentableVehiclesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        LambdaQueryWrapper<Vehicle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Vehicle::getId, Vehicle::getStoreId, Vehicle::getCarModelId,
+                        Vehicle::getAuditStatus, Vehicle::getOnlineStatus, Vehicle::getVehicleStatus)
+               .in(Vehicle::getId, ids)
+               .eq(Vehicle::getAuditStatus, 1)
+               .eq(Vehicle::getOnlineStatus, 1)
+               .in(Vehicle::getVehicleStatus, 1, 2)
+               .eq(Vehicle::getDeleted, 0);
+        // 只返回状态字段，不逐条查询门店和车型
+        return vehicleMapper.selectList(wrapper).stream()
+                .map(vehicle -> {
+                    VehicleResponse response = new VehicleResponse();
+                    BeanUtils.copyProperties(vehicle, response);
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<VehicleResponse> getVehiclesByCarModel(Long carModelId) {
         List<Vehicle> vehicles = vehicleMapper.findByCarModelId(carModelId);
@@ -227,16 +290,19 @@ public class VehicleServiceImpl implements VehicleService {
     public void onlineVehicle(Long id, Long tenantId) {
         log.info("车辆上架，ID: {}", id);
         
-        Vehicle vehicle = getVehicleEntity(id, tenantId);
+        Vehicle vehicle = lockVehicleEntity(id, tenantId);
         
         // 检查审核状态
         if (vehicle.getAuditStatus() != 1) {
             throw new BusinessException(ResponseCode.VEHICLE_NOT_AVAILABLE);
         }
         
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
         vehicle.setOnlineStatus(1);
         vehicle.setUpdatedTime(LocalDateTime.now());
         vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         
         log.info("车辆上架成功");
     }
@@ -246,10 +312,13 @@ public class VehicleServiceImpl implements VehicleService {
     public void offlineVehicle(Long id, Long tenantId) {
         log.info("车辆下架，ID: {}", id);
         
-        Vehicle vehicle = getVehicleEntity(id, tenantId);
+        Vehicle vehicle = lockVehicleEntity(id, tenantId);
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
         vehicle.setOnlineStatus(0);
         vehicle.setUpdatedTime(LocalDateTime.now());
         vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         
         log.info("车辆下架成功");
     }
@@ -259,14 +328,17 @@ public class VehicleServiceImpl implements VehicleService {
     public void auditVehicle(Long id, Integer auditStatus, String auditRemark, Long auditorId) {
         log.info("车辆审核，ID: {}, 审核状态: {}", id, auditStatus);
         
-        Vehicle vehicle = vehicleMapper.selectById(id);
+        Vehicle vehicle = selectForUpdate(id, null);
         if (vehicle == null) {
             throw new BusinessException(ResponseCode.VEHICLE_NOT_FOUND);
         }
         
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
         vehicle.setAuditStatus(auditStatus);
         vehicle.setUpdatedTime(LocalDateTime.now());
         vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         
         log.info("车辆审核完成");
     }
@@ -276,10 +348,13 @@ public class VehicleServiceImpl implements VehicleService {
     public void updateVehicleStatus(Long id, Integer vehicleStatus, Long tenantId) {
         log.info("更新车辆状态，ID: {}, 状态: {}", id, vehicleStatus);
         
-        Vehicle vehicle = getVehicleEntity(id, tenantId);
+        Vehicle vehicle = lockVehicleEntity(id, tenantId);
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
         vehicle.setVehicleStatus(vehicleStatus);
         vehicle.setUpdatedTime(LocalDateTime.now());
         vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         
         log.info("车辆状态更新成功");
     }
@@ -309,57 +384,17 @@ public class VehicleServiceImpl implements VehicleService {
 
     @Override
     public Map<String, Integer> countVehiclesByStatus(Long tenantId) {
-        QueryWrapper<Vehicle> queryWrapper = new QueryWrapper<>();
-        queryWrapper.select("vehicle_status", "COUNT(*) as count");
-        queryWrapper.eq("tenant_id", tenantId);
-        queryWrapper.eq("deleted", 0);
-        queryWrapper.groupBy("vehicle_status");
-        
-        List<Map<String, Object>> result = vehicleMapper.selectMaps(queryWrapper);
-        Map<String, Integer> statusCount = new HashMap<>();
-        
-        for (Map<String, Object> row : result) {
-            Object statusObj = row.get("vehicle_status");
-            Object countObj = row.get("count");
-            
-            if (statusObj != null && countObj != null) {
-                Integer status = ((Number) statusObj).intValue();
-                Integer count = ((Number) countObj).intValue();
-                statusCount.put(status.toString(), count);
-            }
-        }
-        
-        return statusCount;
+        return vehicleStatusCounter.tenantCounts(tenantId, VehicleStatusDimension.VEHICLE_STATUS);
     }
     
     @Override
     public int countPendingVehicles() {
-        LambdaQueryWrapper<Vehicle> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Vehicle::getAuditStatus, 0); // 0表示待审核
-        return Math.toIntExact(vehicleMapper.selectCount(queryWrapper));
+        return vehicleStatusCounter.totalCounts(VehicleStatusDimension.AUDIT_STATUS).getOrDefault("0", 0); // 0表示待审核
     }
     
     @Override
     public Map<String, Integer> countVehiclesByAuditStatus() {
-        QueryWrapper<Vehicle> queryWrapper = new QueryWrapper<>();
-        queryWrapper.select("audit_status as status", "COUNT(*) as count");
-        queryWrapper.groupBy("audit_status");
-        
-        List<Map<String, Object>> result = vehicleMapper.selectMaps(queryWrapper);
-        Map<String, Integer> statusCount = new HashMap<>();
-        
-        for (Map<String, Object> row : result) {
-            Object statusObj = row.get("status");
-            Object countObj = row.get("count");
-            
-            if (statusObj != null && countObj != null) {
-                Integer status = ((Number) statusObj).intValue();
-                Integer count = ((Number) countObj).intValue();
-                statusCount.put(status.toString(), count);
-            }
-        }
-        
-        return statusCount;
+        return vehicleStatusCounter.totalCounts(VehicleStatusDimension.AUDIT_STATUS);
     }
 
     @Override
@@ -393,12 +428,27 @@ public class VehicleServiceImpl implements VehicleService {
         }
     }
 
+    /**
+     * 车辆列表的筛选条件
+     */
+    private LambdaQueryWrapper<Vehicle> listWrapper(Long storeId, Long carModelId, Integer vehicleStatus,
+                                                    Integer auditStatus, Integer onlineStatus, Long tenantId) {
+        LambdaQueryWrapper<Vehicle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Vehicle::getTenantId, tenantId)
+               .eq(Vehicle::getDeleted, 0)
+               .eq(storeId != null, Vehicle::getStoreId, storeId)
+               .eq(carModelId != null, Vehicle::getCarModelId, carModelId)
+               .eq(vehicleStatus != null, Vehicle::getVehicleStatus, vehicleStatus)
+               .eq(auditStatus != null, Vehicle::getAuditStatus, auditStatus)
+               .eq(onlineStatus != null, Vehicle::getOnlineStatus, onlineStatus);
+        return wrapper;
+    }
+
     /**
      * 验证车型存在
      */
     private void validateCarModelExists(Long carModelId) {
-        CarModel carModel = carModelMapper.selectById(carModelId);
-        if (carModel == null) {
+        if (carModelCache.get(carModelId) == null) {
             throw new BusinessException(ResponseCode.CAR_MODEL_NOT_FOUND);
         }
     }
@@ -419,6 +469,30 @@ public class VehicleServiceImpl implements VehicleService {
         return vehicle;
     }
 
+    /**
+     * 获取并锁定车辆实体，状态变更前使用，保证并发变更时状态计数按实际的变更前状态增减
+     */
+    private Vehicle lockVehicleEntity(Long id, Long tenantId) {
+        Vehicle vehicle = selectForUpdate(id, tenantId);
+        if (vehicle == null) {
+            throw new BusinessException(ResponseCode.VEHICLE_NOT_FOUND);
+        }
+        return vehicle;
+    }
+
+    /**
+     * 查询车辆并加行锁直到事务结束
+     * @param tenantId 租户ID，为空时不校验租户
+     */
+    private Vehicle selectForUpdate(Long id, Long tenantId) {
+        LambdaQueryWrapper<Vehicle> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Vehicle::getId, id)
+               .eq(tenantId != null, Vehicle::getTenantId, tenantId)
+               .eq(Vehicle::getDeleted, 0)
+               .last("FOR UPDATE");
+        return vehicleMapper.selectOne(wrapper);
+    }
+
     /**
      * 转换为响应对象
      */
@@ -456,7 +530,7 @@ public class VehicleServiceImpl implements VehicleService {
      * 设置车型信息
      */
     private void setCarModelInfo(VehicleResponse response, Long carModelId) {
-        CarModel carModel = carModelMapper.selectById(carModelId);
+        CarModel carModel = carModelCache.get(carModelId);
         if (carModel != null) {
             CarModelResponse carModelInfo = new CarModelResponse();
             carModelInfo.setBrand(carModel.getBrand());
@@ -579,8 +653,8 @@ public class VehicleServiceImpl implements VehicleService {
     @Transactional(rollbackFor = Exception.class)
     @Override
     public boolean auditVehicle(Long id, String status, String reason) {
-        // 查询车辆
-        Vehicle vehicle = vehicleMapper.selectById(id);
+        // 查询并锁定车辆
+        Vehicle vehicle = selectForUpdate(id, null);
         if (vehicle == null) {
             log.warn("车辆不存在: id={}", id);
             return false;
@@ -601,6 +675,7 @@ public class VehicleServiceImpl implements VehicleService {
         }
 
         // 更新车辆审核状态
+        VehicleStatusDelta.Snapshot before = VehicleStatusDelta.Snapshot.of(vehicle);
         vehicle.setAuditStatus(statusValue);
         vehicle.setAuditRemark(reason);
         vehicle.setAuditTime(java.time.LocalDateTime.now());
@@ -608,6 +683,8 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setAuditorId(0L);
 
         int result = vehicleMapper.updateById(vehicle);
+        vehicleStatusCounter.record(before, vehicle);
+        dataChangePublisher.publishVehicleChanged(id);
         return result > 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- 添加门店时区字段，营业时间和预定时间按门店所在时区解释
+ALTER TABLE `store`
+ADD COLUMN `time_zone` VARCHAR(50) NOT NULL DEFAULT 'Asia/Shanghai' COMMENT '门店所在时区(IANA时区ID)' AFTER `service_fee`;
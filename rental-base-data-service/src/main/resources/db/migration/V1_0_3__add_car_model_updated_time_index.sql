@@ -0,0 +1,3 @@
+-- 车型缓存按更新时间增量刷新，更新时间作为变更版本(逻辑删除也会由ON UPDATE刷新更新时间)
+ALTER TABLE `car_model`
+ADD KEY `idx_updated_time` (`updated_time`);
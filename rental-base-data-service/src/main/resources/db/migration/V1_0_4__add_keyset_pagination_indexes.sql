@@ -0,0 +1,6 @@
+-- 车辆、门店列表游标分页按 (created_time, id) 倒序，复合索引使翻页只扫描当前页记录
+ALTER TABLE `vehicle`
+ADD KEY `idx_tenant_created_id` (`tenant_id`, `deleted`, `created_time`, `id`);
+
+ALTER TABLE `store`
+ADD KEY `idx_tenant_created_id` (`tenant_id`, `deleted`, `created_time`, `id`);
@@ -0,0 +1,18 @@
+-- 车辆状态计数表：按租户物化各状态的未删除车辆数，车辆状态变更时在同一事务中增减，看板直接读取
+CREATE TABLE `vehicle_status_counter` (
+  `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+  `dimension` varchar(20) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '统计维度:VEHICLE_STATUS-车辆状态,AUDIT_STATUS-审核状态,ONLINE_STATUS-上架状态',
+  `status` tinyint(4) NOT NULL COMMENT '状态值',
+  `vehicle_count` int(11) NOT NULL DEFAULT '0' COMMENT '车辆数',
+  `updated_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`tenant_id`, `dimension`, `status`),
+  KEY `idx_dimension_status` (`dimension`, `status`, `vehicle_count`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='车辆状态计数表';
+
+-- 按现有车辆初始化计数
+INSERT INTO `vehicle_status_counter` (`tenant_id`, `dimension`, `status`, `vehicle_count`)
+SELECT `tenant_id`, 'VEHICLE_STATUS', `vehicle_status`, COUNT(*) FROM `vehicle` WHERE `deleted` = 0 GROUP BY `tenant_id`, `vehicle_status`
+UNION ALL
+SELECT `tenant_id`, 'AUDIT_STATUS', `audit_status`, COUNT(*) FROM `vehicle` WHERE `deleted` = 0 GROUP BY `tenant_id`, `audit_status`
+UNION ALL
+SELECT `tenant_id`, 'ONLINE_STATUS', `online_status`, COUNT(*) FROM `vehicle` WHERE `deleted` = 0 GROUP BY `tenant_id`, `online_status`;
@@ -0,0 +1,108 @@
+package com.rental.saas.basedata.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+
+    @Test
+    public void testLoadAll() {
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            calls.add(new ArrayList<>(ids));
+            return evenOnly(ids);
+        }, 2);
+
+        Map<Long, String> result = loader.loadAll(List.of(1L, 2L, 3L, 4L, 2L));
+        assertEquals(Map.of(2L, "v2", 4L, "v4"), result);
+        // 超过单批上限时拆成多次查询，重复的键只查询一次
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L)), calls);
+        assertEquals(0, loader.pendingCount());
+    }
+
+    @Test
+    public void testLoaderFailure() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            throw new IllegalStateException("数据库不可用");
+        }, 10);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader.loadAll(List.of(1L)));
+        assertEquals("数据库不可用", e.getMessage());
+        assertEquals(0, loader.pendingCount());
+    }
+
+    @Test
+    public void testConcurrentLookupsCoalesced() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            calls.add(new ArrayList<>(ids));
+            if (calls.size() == 1) {
+                firstStarted.countDown();
+                await(releaseFirst);
+            }
+            return evenOnly(ids);
+        }, 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        try {
+            Future<Map<Long, String>> first = executor.submit(() -> loader.loadAll(List.of(0L)));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            // 第一次查询进行中时到达的请求排队，之后合并为一次查询
+            List<Future<Map<Long, String>>> others = new ArrayList<>();
+            for (long i = 1; i <= 8; i++) {
+                long id = i;
+                others.add(executor.submit(() -> loader.loadAll(List.of(id, 0L))));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (loader.pendingCount() < 9 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            releaseFirst.countDown();
+
+            assertEquals(Map.of(0L, "v0"), first.get(5, TimeUnit.SECONDS));
+            for (int i = 0; i < others.size(); i++) {
+                Map<Long, String> result = others.get(i).get(5, TimeUnit.SECONDS);
+                long id = i + 1;
+                assertEquals(id % 2 == 0 ? Map.of(0L, "v0", id, "v" + id) : Map.of(0L, "v0"), result);
+            }
+            assertEquals(2, calls.size());
+            assertEquals(8, calls.get(1).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Long, String> evenOnly(Collection<Long> ids) {
+        Map<Long, String> values = new HashMap<>();
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                values.put(id, "v" + id);
+            }
+        }
+        return values;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.rental.saas.basedata.cache;
+
+import com.rental.saas.basedata.entity.CarModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarModelFacetIndexTest {
+
+    @Test
+    public void testBrandAndSeriesPrefix() {
+        CarModelFacetIndex index = index();
+        assertEquals(List.of("BMW", "奔驰", "宝马"), index.brands(null, 10));
+        assertEquals(List.of("BMW"), index.brands("b", 10));
+        assertEquals(List.of("奔驰"), index.brands("奔", 10));
+        assertEquals(List.of("C级", "E级"), index.series("奔驰", null, 10));
+        assertEquals(List.of("C级"), index.series(" 奔驰 ", "c", 10));
+        assertEquals(List.of(), index.series("大众", null, 10));
+    }
+
+    @Test
+    public void testSearch() {
+        CarModelFacetIndex index = index();
+        // 品牌、车系精确匹配，同车系按年款倒序
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("奔驰", null, null, null, null, null, null)));
+        assertEquals(List.of(2L, 1L), ids(index.search("奔驰", "c级", null, null, null, null, null)));
+        assertEquals(List.of(5L), ids(index.search(null, null, 7, null, null, null, null)));
+        assertEquals(List.of(2L, 3L), ids(index.search(null, null, null, null, null, 2024, 2024)));
+        assertEquals(List.of(4L), ids(index.search(null, null, null, null, 2, null, null)));
+    }
+
+    @Test
+    public void testFacets() {
+        CarModelFacetIndex index = index();
+        CarModelFacetIndex.Facets all = index.facets(null, null);
+        assertEquals(5, all.total());
+        assertEquals(Map.of(5, 4, 7, 1), all.seatCounts());
+        assertEquals(Map.of(1, 4, 2, 1), all.driveTypes());
+
+        CarModelFacetIndex.Facets series = index.facets("奔驰", "C级");
+        assertEquals(2, series.total());
+        assertEquals(Map.of(2023, 1, 2024, 1), series.years());
+        assertEquals(0, index.facets("大众", null).total());
+    }
+
+    @Test
+    public void testSuggest() {
+        CarModelFacetIndex index = index();
+        List<CarModelFacetIndex.Suggestion> suggestions = index.suggest("c", 10);
+        assertEquals("SERIES", suggestions.get(0).type());
+        assertEquals("C级", suggestions.get(0).series());
+        assertEquals(2, suggestions.get(0).count());
+        assertEquals(List.of(2L, 1L), suggestions.subList(1, 3).stream()
+                .map(CarModelFacetIndex.Suggestion::carModelId).toList());
+
+        // 品牌后接空格时在品牌内补全
+        List<CarModelFacetIndex.Suggestion> inBrand = index.suggest("宝马  i", 10);
+        assertEquals(List.of("SERIES", "MODEL"), inBrand.stream().map(CarModelFacetIndex.Suggestion::type).toList());
+        assertEquals(4L, inBrand.get(1).carModelId());
+        assertEquals(List.of(), index.suggest("宝马 x", 10));
+
+        assertEquals(1, index.suggest("c", 1).size());
+        assertEquals(List.of(), index.suggest(" ", 10));
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        CarModelFacetIndex index = index();
+        // 改品牌：旧品牌下移除，新品牌下出现
+        index.put(carModel(4L, "奔驰", "EQE", "EQE 500", 2024, 5, 2));
+        assertEquals(List.of("BMW", "奔驰"), index.brands(null, 10));
+        assertEquals(List.of("C级", "EQE", "E级"), index.series("奔驰", null, 10));
+        assertEquals(5, index.facets(null, null).total());
+
+        CarModel deleted = carModel(1L, "奔驰", "C级", "C 260 L", 2023, 5, 1);
+        deleted.setDeleted(1);
+        index.put(deleted);
+        assertEquals(List.of(2L), ids(index.search("奔驰", "C级", null, null, null, null, null)));
+
+        index.remove(2L);
+        assertEquals(List.of("EQE", "E级"), index.series("奔驰", null, 10));
+        assertEquals(3, index.facets(null, null).total());
+    }
+
+    @Test
+    public void testBatchUpdate() {
+        CarModelFacetIndex index = index();
+        CarModelFacetIndex.Facets before = index.facets(null, null);
+        // 内容未变化的车型不替换快照
+        index.putAll(List.of(carModel(1L, "奔驰", "C级", "C 260 L", 2023, 5, 1)));
+        assertSame(before, index.facets(null, null));
+
+        CarModel deleted = carModel(3L, "奔驰", "E级", "E 300 L", 2024, 5, 1);
+        deleted.setDeleted(1);
+        index.putAll(List.of(
+                carModel(4L, "奔驰", "EQE", "EQE 500", 2024, 5, 2),
+                deleted,
+                carModel(6L, "宝马", "X5", "X5 xDrive30Li", 2024, 5, 1),
+                carModel(6L, "宝马", "X3", "X3 xDrive25i", 2024, 5, 1)));
+        assertEquals(List.of("C级", "EQE"), index.series("奔驰", null, 10));
+        assertEquals(List.of("X3"), index.series("宝马", null, 10));
+        assertEquals(5, index.facets(null, null).total());
+        assertEquals(List.of(6L), ids(index.search("宝马", null, null, null, null, null, null)));
+    }
+
+    private static CarModelFacetIndex index() {
+        CarModelFacetIndex index = new CarModelFacetIndex();
+        assertFalse(index.isReady());
+        index.replaceAll(List.of(
+                carModel(1L, "奔驰", "C级", "C 260 L", 2023, 5, 1),
+                carModel(2L, "奔驰", "C级", "C 200 L", 2024, 5, 1),
+                carModel(3L, "奔驰", "E级", "E 300 L", 2024, 5, 1),
+                carModel(4L, "宝马", "i3", "i3 eDrive35L", 2022, 5, 2),
+                carModel(5L, "BMW", "X7", "X7 xDrive40i", 2023, 7, 1)));
+        assertTrue(index.isReady());
+        return index;
+    }
+
+    private static CarModel carModel(Long id, String brand, String series, String model, int year,
+                                     int seatCount, int driveType) {
+        CarModel carModel = new CarModel();
+        carModel.setId(id);
+        carModel.setBrand(brand);
+        carModel.setSeries(series);
+        carModel.setModel(model);
+        carModel.setYear(year);
+        carModel.setSeatCount(seatCount);
+        carModel.setTransmission(1);
+        carModel.setDriveType(driveType);
+        carModel.setDeleted(0);
+        return carModel;
+    }
+
+    private static List<Long> ids(List<CarModel> carModels) {
+        return carModels.stream().map(CarModel::getId).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.rental.saas.basedata.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleStatusDeltaTest {
+
+    @Test
+    public void testCreateAndDelete() {
+        VehicleStatusDelta.Snapshot vehicle = new VehicleStatusDelta.Snapshot(1L, 1, 0, 0);
+        Map<VehicleStatusDelta.Key, Integer> created = new VehicleStatusDelta().add(null, vehicle).changes();
+        assertEquals(Map.of(
+                key(1L, VehicleStatusDimension.VEHICLE_STATUS, 1), 1,
+                key(1L, VehicleStatusDimension.AUDIT_STATUS, 0), 1,
+                key(1L, VehicleStatusDimension.ONLINE_STATUS, 0), 1), created);
+
+        Map<VehicleStatusDelta.Key, Integer> deleted = new VehicleStatusDelta().add(vehicle, null).changes();
+        assertEquals(3, deleted.size());
+        assertTrue(deleted.values().stream().allMatch(delta -> delta == -1));
+    }
+
+    @Test
+    public void testStatusChange() {
+        // 只有变化的维度产生增减，未变化的维度相互抵消
+        VehicleStatusDelta delta = new VehicleStatusDelta().add(
+                new VehicleStatusDelta.Snapshot(1L, 1, 1, 0),
+                new VehicleStatusDelta.Snapshot(1L, 1, 1, 1));
+        assertEquals(Map.of(
+                key(1L, VehicleStatusDimension.ONLINE_STATUS, 0), -1,
+                key(1L, VehicleStatusDimension.ONLINE_STATUS, 1), 1), delta.changes());
+
+        VehicleStatusDelta.Snapshot same = new VehicleStatusDelta.Snapshot(1L, 2, 1, 1);
+        assertTrue(new VehicleStatusDelta().add(same, same).isEmpty());
+    }
+
+    @Test
+    public void testBatchOrdered() {
+        VehicleStatusDelta delta = new VehicleStatusDelta();
+        delta.add(null, new VehicleStatusDelta.Snapshot(2L, 1, 0, 0));
+        delta.add(null, new VehicleStatusDelta.Snapshot(1L, 1, 0, null));
+        delta.add(null, new VehicleStatusDelta.Snapshot(1L, 1, 0, null));
+
+        // 按租户、维度、状态值排序，空状态不计数
+        assertEquals(List.of(
+                key(1L, VehicleStatusDimension.VEHICLE_STATUS, 1),
+                key(1L, VehicleStatusDimension.AUDIT_STATUS, 0),
+                key(2L, VehicleStatusDimension.VEHICLE_STATUS, 1),
+                key(2L, VehicleStatusDimension.AUDIT_STATUS, 0),
+                key(2L, VehicleStatusDimension.ONLINE_STATUS, 0)), List.copyOf(delta.changes().keySet()));
+        assertEquals(2, delta.changes().get(key(1L, VehicleStatusDimension.AUDIT_STATUS, 0)));
+    }
+
+    private static VehicleStatusDelta.Key key(Long tenantId, VehicleStatusDimension dimension, Integer status) {
+        return new VehicleStatusDelta.Key(tenantId, dimension, status);
+    }
+}
@@ -0,0 +1,112 @@
+package com.rental.saas.basedata.geo;
+
+import com.rental.saas.basedata.entity.ServiceArea;
+import com.rental.saas.basedata.mapper.ServiceAreaMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceAreaFenceIndexTest {
+
+    /**
+     * 数据库中的服务范围，selectById 从这里读取
+     */
+    private final Map<Long, ServiceArea> database = new HashMap<>();
+
+    /**
+     * 全量查询返回前执行，模拟重建期间发生的变更
+     */
+    private Runnable onSelectList = () -> {
+    };
+
+    @Test
+    public void testFindIntersecting() {
+        ServiceAreaFenceIndex index = new ServiceAreaFenceIndex(mapper(List.of()));
+        // 北京东城的普通围栏，以及覆盖华北大部分地区、按超大围栏存放的围栏
+        save(area(1L, "[[116.30,39.85],[116.50,39.85],[116.50,40.00],[116.30,40.00]]"));
+        save(area(2L, "[[113.00,36.00],[120.00,36.00],[120.00,42.00],[113.00,42.00]]"));
+        index.onServiceAreaChanged(1L);
+        index.onServiceAreaChanged(2L);
+
+        assertEquals(List.of(1L, 2L), ids(index.findIntersecting(116.40, 39.90, 116.41, 39.91)));
+        assertEquals(List.of(2L), ids(index.findIntersecting(117.20, 39.10, 117.21, 39.11)));
+        assertTrue(index.findIntersecting(121.40, 31.20, 121.50, 31.30).isEmpty());
+    }
+
+    @Test
+    public void testIncrementalUpdateAndDelete() {
+        ServiceAreaFenceIndex index = new ServiceAreaFenceIndex(mapper(List.of()));
+        save(area(1L, "[[116.30,39.85],[116.50,39.85],[116.50,40.00],[116.30,40.00]]"));
+        index.onServiceAreaChanged(1L);
+        assertEquals(1, index.findIntersecting(116.40, 39.90, 116.41, 39.91).size());
+
+        // 围栏移到上海
+        save(area(1L, "[[121.40,31.15],[121.55,31.15],[121.55,31.30],[121.40,31.30]]"));
+        index.onServiceAreaChanged(1L);
+        assertTrue(index.findIntersecting(116.40, 39.90, 116.41, 39.91).isEmpty());
+        assertEquals(1, index.findIntersecting(121.47, 31.23, 121.48, 31.24).size());
+
+        // 逻辑删除
+        ServiceArea deleted = area(1L, "[[121.40,31.15],[121.55,31.15],[121.55,31.30],[121.40,31.30]]");
+        deleted.setDeleted(1);
+        save(deleted);
+        index.onServiceAreaChanged(1L);
+        assertTrue(index.findIntersecting(121.47, 31.23, 121.48, 31.24).isEmpty());
+    }
+
+    @Test
+    public void testChangesDuringRebuildReplayed() {
+        ServiceAreaFenceIndex[] holder = new ServiceAreaFenceIndex[1];
+        // 全量查询读到旧数据：围栏1在北京、围栏2在上海；查询返回前围栏1迁到广州、围栏2被物理删除
+        ServiceAreaMapper serviceAreaMapper = mapper(List.of(
+                area(1L, "[[116.30,39.85],[116.50,39.85],[116.50,40.00],[116.30,40.00]]"),
+                area(2L, "[[121.40,31.15],[121.55,31.15],[121.55,31.30],[121.40,31.30]]")));
+        ServiceAreaFenceIndex rebuilding = new ServiceAreaFenceIndex(serviceAreaMapper);
+        holder[0] = rebuilding;
+        onSelectList = () -> {
+            save(area(1L, "[[113.20,23.05],[113.40,23.05],[113.40,23.20],[113.20,23.20]]"));
+            holder[0].onServiceAreaChanged(1L);
+            holder[0].onServiceAreaChanged(2L);
+        };
+
+        rebuilding.rebuild();
+
+        assertTrue(rebuilding.isReady());
+        assertTrue(rebuilding.findIntersecting(116.40, 39.90, 116.41, 39.91).isEmpty());
+        assertTrue(rebuilding.findIntersecting(121.47, 31.23, 121.48, 31.24).isEmpty());
+        assertEquals(List.of(1L), ids(rebuilding.findIntersecting(113.30, 23.10, 113.31, 23.11)));
+    }
+
+    private ServiceAreaMapper mapper(List<ServiceArea> fullLoad) {
+        return (ServiceAreaMapper) Proxy.newProxyInstance(ServiceAreaMapper.class.getClassLoader(),
+                new Class<?>[]{ServiceAreaMapper.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "selectList" -> {
+                        onSelectList.run();
+                        yield fullLoad;
+                    }
+                    case "selectById" -> database.get((Long) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private void save(ServiceArea area) {
+        database.put(area.getId(), area);
+    }
+
+    private static List<Long> ids(List<ServiceArea> areas) {
+        return areas.stream().map(ServiceArea::getId).sorted().toList();
+    }
+
+    private static ServiceArea area(Long id, String fenceCoordinates) {
+        ServiceArea area = new ServiceArea();
+        area.setId(id);
+        area.setFenceCoordinates(fenceCoordinates);
+        area.setDeleted(0);
+        return area;
+    }
+}
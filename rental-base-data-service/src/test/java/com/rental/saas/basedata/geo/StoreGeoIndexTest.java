@@ -0,0 +1,79 @@
+package com.rental.saas.basedata.geo;
+
+import com.rental.saas.basedata.entity.Store;
+import com.rental.saas.basedata.mapper.StoreMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreGeoIndexTest {
+
+    private final StoreGeoIndex index = new StoreGeoIndex(null);
+
+    @Test
+    public void testFindInRangeSortedByDistance() {
+        index.onStoreChanged(store(1L, 116.4800, 39.9200, 1));
+        index.onStoreChanged(store(2L, 116.4100, 39.9050, 1));
+        index.onStoreChanged(store(3L, 116.7000, 40.1000, 1)); // 约28公里外
+
+        List<Store> stores = index.findInRange(116.4074, 39.9042, 10.0);
+
+        assertEquals(2, stores.size());
+        assertEquals(2L, stores.get(0).getId());
+        assertEquals(1L, stores.get(1).getId());
+    }
+
+    @Test
+    public void testOfflineStoreRemovedFromIndex() {
+        index.onStoreChanged(store(1L, 116.4100, 39.9050, 1));
+        assertEquals(1, index.findInRange(116.4074, 39.9042, 5.0).size());
+
+        index.onStoreChanged(store(1L, 116.4100, 39.9050, 0));
+        assertTrue(index.findInRange(116.4074, 39.9042, 5.0).isEmpty());
+    }
+
+    @Test
+    public void testMovedStoreReindexed() {
+        index.onStoreChanged(store(1L, 116.4100, 39.9050, 1));
+        index.onStoreChanged(store(1L, 121.4737, 31.2304, 1));
+
+        assertTrue(index.findInRange(116.4074, 39.9042, 5.0).isEmpty());
+        assertEquals(1, index.findInRange(121.4737, 31.2304, 5.0).size());
+    }
+
+    @Test
+    public void testChangesDuringRebuildReplayed() {
+        StoreGeoIndex[] holder = new StoreGeoIndex[1];
+        // 全量查询读到旧数据：门店1在北京、门店2在线；查询返回前门店1迁到上海、门店2下线
+        StoreMapper storeMapper = (StoreMapper) Proxy.newProxyInstance(StoreMapper.class.getClassLoader(),
+                new Class<?>[]{StoreMapper.class}, (proxy, method, args) -> {
+                    holder[0].onStoreChanged(store(1L, 121.4737, 31.2304, 1));
+                    holder[0].onStoreRemoved(2L);
+                    return List.of(store(1L, 116.4100, 39.9050, 1), store(2L, 116.4800, 39.9200, 1));
+                });
+        StoreGeoIndex rebuilding = new StoreGeoIndex(storeMapper);
+        holder[0] = rebuilding;
+
+        rebuilding.rebuild();
+
+        assertTrue(rebuilding.isReady());
+        assertTrue(rebuilding.findInRange(116.4074, 39.9042, 10.0).isEmpty());
+        assertEquals(1, rebuilding.findInRange(121.4737, 31.2304, 5.0).size());
+        assertNull(rebuilding.getStore(2L));
+    }
+
+    private static Store store(Long id, double longitude, double latitude, int onlineStatus) {
+        Store store = new Store();
+        store.setId(id);
+        store.setLongitude(BigDecimal.valueOf(longitude));
+        store.setLatitude(BigDecimal.valueOf(latitude));
+        store.setAuditStatus(1);
+        store.setOnlineStatus(onlineStatus);
+        store.setDeleted(0);
+        return store;
+    }
+}
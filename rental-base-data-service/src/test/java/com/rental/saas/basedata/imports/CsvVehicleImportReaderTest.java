@@ -0,0 +1,75 @@
+package com.rental.saas.basedata.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvVehicleImportReaderTest {
+
+    private static final String HEADER = "storeId,licensePlate,carModelId,licenseType,registerDate,vin,engineNo,usageNature,mileage\n";
+
+    @Test
+    public void testReadRows() throws IOException {
+        CsvVehicleImportReader reader = reader(HEADER
+                + "1,京A12345,2,1,2023-01-01,LSGBB54E4ES123456,ABC123,1,5000\r\n"
+                + "\n"
+                + "3,京B54321,4,2,2022-06-30,LSGBB54E4ES654321,\"EN,\"\"01\"\"\",2,\n");
+
+        VehicleImportRow first = reader.next();
+        assertEquals(1, first.rowNumber());
+        assertNull(first.error());
+        assertEquals(1L, first.request().getStoreId());
+        assertEquals("京A12345", first.request().getLicensePlate());
+        assertEquals(LocalDate.of(2023, 1, 1), first.request().getRegisterDate());
+        assertEquals(5000, first.request().getMileage());
+
+        // 空行跳过，引号内的逗号和双写的引号
+        VehicleImportRow second = reader.next();
+        assertEquals(2, second.rowNumber());
+        assertEquals("EN,\"01\"", second.request().getEngineNo());
+        assertNull(second.request().getMileage());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testChineseHeaderWithBom() throws IOException {
+        CsvVehicleImportReader reader = reader("\uFEFF车牌号,门店ID,车型ID,牌照类型,注册日期,车架号,发动机号,使用性质,备注\n"
+                + "京A12345,1,2,1,2023-01-01,LSGBB54E4ES123456,ABC123,1,忽略");
+
+        VehicleImportRow row = reader.next();
+        assertEquals("京A12345", row.request().getLicensePlate());
+        assertEquals(1L, row.request().getStoreId());
+        assertEquals(1, row.request().getUsageNature());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testInvalidValue() throws IOException {
+        CsvVehicleImportReader reader = reader(HEADER
+                + "x,京A12345,2,1,2023-01-01,LSGBB54E4ES123456,ABC123,1,0\n"
+                + "1,京A12345,2,1,2023/01/01,LSGBB54E4ES123456,ABC123,1,0\n");
+
+        VehicleImportRow first = reader.next();
+        assertNull(first.request());
+        assertEquals("门店ID格式错误: x", first.error());
+        assertEquals("注册日期格式错误: 2023/01/01", reader.next().error());
+    }
+
+    @Test
+    public void testMissingColumns() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reader("storeId,licensePlate,carModelId\n1,京A12345,2\n"));
+        assertEquals("CSV文件缺少列: licenseType, registerDate, vin, engineNo, usageNature", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> reader(""));
+    }
+
+    private static CsvVehicleImportReader reader(String content) throws IOException {
+        return new CsvVehicleImportReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.pricing.entity.Quote;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试数据生成，使用固定随机种子保证每次运行数据一致
+ */
+public final class BenchmarkData {
+
+    private static final String[] MODEL_NAMES = {"大众朗逸", "丰田卡罗拉", "本田雅阁", "日产轩逸", "别克英朗", "特斯拉Model 3"};
+
+    private static final String[] PRODUCT_SUFFIXES = {"经济型", "舒适型", "豪华型", "新能源"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成报价列表
+     * @param count 数量
+     * @param seed 随机种子
+     * @return 报价列表
+     */
+    public static List<Quote> quotes(int count, long seed) {
+        Random random = new Random(seed);
+        List<Quote> quotes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            quotes.add(quote(random, i));
+        }
+        return quotes;
+    }
+
+    private static Quote quote(Random random, int index) {
+        String modelName = MODEL_NAMES[random.nextInt(MODEL_NAMES.length)];
+        BigDecimal dailyRate = BigDecimal.valueOf(15000 + random.nextInt(50000), 2);
+        BigDecimal pickupFee = random.nextBoolean() ? BigDecimal.valueOf(2000 + random.nextInt(3000), 2) : BigDecimal.ZERO;
+        BigDecimal returnFee = pickupFee.signum() > 0 ? BigDecimal.valueOf(2000 + random.nextInt(3000), 2) : BigDecimal.ZERO;
+        BigDecimal storeFee = BigDecimal.valueOf(1000 + random.nextInt(2000), 2);
+        BigDecimal baseProtectionPrice = new BigDecimal("30.00");
+
+        Quote quote = new Quote();
+        quote.setId(Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+        quote.setTenantId(1L + random.nextInt(200));
+        quote.setProductId(10_000L + index);
+        quote.setProductName(modelName + PRODUCT_SUFFIXES[random.nextInt(PRODUCT_SUFFIXES.length)]);
+        quote.setModelId(1L + random.nextInt(500));
+        quote.setModelName(modelName);
+        quote.setStoreId(1_000L + random.nextInt(5_000));
+        quote.setStoreName("北京朝阳区第" + (1 + random.nextInt(99)) + "门店");
+        quote.setDailyRate(dailyRate);
+        quote.setPickupFee(pickupFee);
+        quote.setReturnFee(returnFee);
+        quote.setStoreFee(storeFee);
+        quote.setBaseProtectionPrice(baseProtectionPrice);
+        quote.setTotalPrice(dailyRate.add(pickupFee).add(returnFee).add(storeFee).add(baseProtectionPrice));
+        quote.setDeliveryType(pickupFee.signum() > 0 ? "上门取送车" : "到店取还");
+        quote.setDamageDeposit(BigDecimal.valueOf(200000 + random.nextInt(300000), 2));
+        quote.setViolationDeposit(BigDecimal.valueOf(100000 + random.nextInt(100000), 2));
+        return quote;
+    }
+}
@@ -0,0 +1,214 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.basedata.BaseDataClient;
+import com.rental.api.basedata.response.ServiceAreaResponse;
+import com.rental.api.basedata.response.StoreResponse;
+import com.rental.api.basedata.response.VehicleResponse;
+import com.rental.api.order.OrderClient;
+import com.rental.api.order.response.BookingResponse;
+import com.rental.api.product.ProductClient;
+import com.rental.api.product.response.CancellationRuleTemplateResponse;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.ServicePolicyTemplateResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
+import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
+import com.rental.saas.common.geo.GeoUtil;
+import com.rental.saas.common.response.ApiResponse;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 基础数据服务、商品服务和订单服务的内存实现
+ * 只实现报价搜索和报价详情用到的方法，调用其他方法时抛出 {@link UnsupportedOperationException}。
+ * 返回的对象与数据集共享，与 Feign 反序列化得到的新对象不同，不计入序列化开销。
+ * 每个商品关联 {@value #VEHICLES_PER_PRODUCT} 辆可出租车辆，每 {@value #SOLD_OUT_EVERY} 个商品中有一个在
+ * 第2至4天被订单占满，其余商品第1至3天占用一辆。
+ */
+public final class FakeClients {
+
+    static final int VEHICLES_PER_PRODUCT = 3;
+
+    static final int SOLD_OUT_EVERY = 10;
+
+    private FakeClients() {
+    }
+
+    public static BaseDataClient baseDataClient(SearchDataSet data) {
+        return proxy(BaseDataClient.class, (method, args) -> switch (method) {
+            case "getNearbyStores" -> ApiResponse.success(nearbyStores(data,
+                    (Double) args[0], (Double) args[1], (Double) args[2]));
+            case "getServiceAreasIntersecting" -> ApiResponse.success(intersectingAreas(data,
+                    (Double) args[0], (Double) args[1], (Double) args[2], (Double) args[3]));
+            case "getOnlineStoresByIds" -> ApiResponse.success(((List<?>) args[0]).stream()
+                    .map(id -> data.stores().get((Long) id))
+                    .filter(Objects::nonNull)
+                    .toList());
+            case "getRentableVehiclesByIds" -> ApiResponse.success(((List<?>) args[0]).stream()
+                    .map(id -> {
+                        VehicleResponse vehicle = new VehicleResponse();
+                        vehicle.setId((Long) id);
+                        vehicle.setAuditStatus(1);
+                        vehicle.setOnlineStatus(1);
+                        vehicle.setVehicleStatus(1);
+                        return vehicle;
+                    })
+                    .toList());
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static ProductClient productClient(SearchDataSet data) {
+        return proxy(ProductClient.class, (method, args) -> switch (method) {
+            case "getProductsByStores" -> ApiResponse.success(productsByStores(data, (List<?>) args[0]));
+            case "getSpecialPricingsByProducts" -> ApiResponse.success(specialPricings(data,
+                    (List<?>) args[0], (LocalDate) args[1], (LocalDate) args[2]));
+            case "getProductByStoreAndModel" -> ApiResponse.success(data.productsByStore()
+                    .getOrDefault((Long) args[0], List.of()).stream()
+                    .filter(product -> product.getCarModelId().equals(args[1]))
+                    .findFirst()
+                    .orElse(null));
+            case "getVehicleIdsByProducts" -> ApiResponse.success(vehicleIds((List<?>) args[0]));
+            case "getValueAddedServiceTemplateById" -> ApiResponse.success(vasTemplate((Long) args[0]));
+            case "getCancellationRuleTemplateById" -> ApiResponse.success(cancellationTemplate((Long) args[0]));
+            case "getServicePolicyTemplateById" -> ApiResponse.success(policyTemplate((Long) args[0]));
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static OrderClient orderClient() {
+        return proxy(OrderClient.class, (method, args) -> switch (method) {
+            case "getBookingsByProducts" -> ApiResponse.success(bookings((List<?>) args[0], (LocalDate) args[1]));
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static List<StoreResponse> nearbyStores(SearchDataSet data, double longitude, double latitude,
+                                                    double distanceKm) {
+        List<StoreResponse> result = new ArrayList<>();
+        for (StoreResponse store : data.stores().values()) {
+            if (GeoUtil.distanceKm(latitude, longitude, store.getLatitude().doubleValue(),
+                    store.getLongitude().doubleValue()) <= distanceKm) {
+                result.add(store);
+            }
+        }
+        return result;
+    }
+
+    private static List<ServiceAreaResponse> intersectingAreas(SearchDataSet data, double minLongitude,
+                                                               double minLatitude, double maxLongitude,
+                                                               double maxLatitude) {
+        List<ServiceAreaResponse> result = new ArrayList<>();
+        for (SearchDataSet.FencedArea fencedArea : data.serviceAreas()) {
+            if (fencedArea.intersects(minLongitude, minLatitude, maxLongitude, maxLatitude)) {
+                result.add(fencedArea.area());
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, List<CarModelProductResponse>> productsByStores(SearchDataSet data, List<?> storeIds) {
+        Map<Long, List<CarModelProductResponse>> result = new HashMap<>();
+        for (Object storeId : storeIds) {
+            List<CarModelProductResponse> products = data.productsByStore().get((Long) storeId);
+            if (products != null) {
+                result.put((Long) storeId, products);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, List<SpecialPricingResponse>> specialPricings(SearchDataSet data, List<?> productIds,
+                                                                          LocalDate startDate, LocalDate endDate) {
+        Map<Long, List<SpecialPricingResponse>> result = new HashMap<>();
+        for (Object productId : productIds) {
+            List<SpecialPricingResponse> pricings = data.specialPricingsByProduct().get((Long) productId);
+            if (pricings != null) {
+                result.put((Long) productId, pricings.stream()
+                        .filter(pricing -> !pricing.getPriceDate().isBefore(startDate)
+                                && !pricing.getPriceDate().isAfter(endDate))
+                        .toList());
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, List<Long>> vehicleIds(List<?> productIds) {
+        Map<Long, List<Long>> result = new HashMap<>();
+        for (Object productId : productIds) {
+            List<Long> vehicleIds = new ArrayList<>(VEHICLES_PER_PRODUCT);
+            for (int i = 0; i < VEHICLES_PER_PRODUCT; i++) {
+                vehicleIds.add((Long) productId * VEHICLES_PER_PRODUCT + i);
+            }
+            result.put((Long) productId, vehicleIds);
+        }
+        return result;
+    }
+
+    private static Map<Long, List<BookingResponse>> bookings(List<?> productIds, LocalDate startDate) {
+        Map<Long, List<BookingResponse>> result = new HashMap<>();
+        for (Object productId : productIds) {
+            boolean soldOut = (Long) productId % SOLD_OUT_EVERY == 0;
+            List<BookingResponse> bookings = new ArrayList<>();
+            for (int i = 0; i < (soldOut ? VEHICLES_PER_PRODUCT : 1); i++) {
+                BookingResponse booking = new BookingResponse();
+                booking.setProductId((Long) productId);
+                booking.setStartDate(startDate.plusDays(soldOut ? 2 : 1));
+                booking.setEndDate(startDate.plusDays(soldOut ? 5 : 4));
+                bookings.add(booking);
+            }
+            result.put((Long) productId, bookings);
+        }
+        return result;
+    }
+
+    private static ValueAddedServiceTemplateResponse vasTemplate(Long id) {
+        ValueAddedServiceTemplateResponse template = new ValueAddedServiceTemplateResponse();
+        template.setId(id);
+        template.setTemplateName("增值服务模板" + id);
+        template.setServiceType(id.intValue() % 3);
+        template.setPrice(3000 + id.intValue() * 100);
+        return template;
+    }
+
+    private static CancellationRuleTemplateResponse cancellationTemplate(Long id) {
+        CancellationRuleTemplateResponse template = new CancellationRuleTemplateResponse();
+        template.setId(id);
+        template.setTemplateName("取消规则模板" + id);
+        template.setWeekdayRule("取车前24小时免费取消");
+        template.setHolidayRule("取车前72小时免费取消");
+        return template;
+    }
+
+    private static ServicePolicyTemplateResponse policyTemplate(Long id) {
+        ServicePolicyTemplateResponse template = new ServicePolicyTemplateResponse();
+        template.setId(id);
+        template.setTemplateName("服务政策模板" + id);
+        template.setMileageLimit("不限里程");
+        return template;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> "Fake" + type.getSimpleName();
+                };
+            }
+            return handler.handle(method.getName(), args);
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,62 @@
+package com.rental.saas.benchmark;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 报价缓存的内存实现
+ * 写入时使用与定价服务相同的值序列化器编码，读取时解码，基准中包含序列化开销但不包含网络往返。
+ * 只支持定价服务用到的 opsForValue().set/get 和 executePipelined，过期时间被忽略。
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, Object> {
+
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+
+    private final ValueOperations<String, Object> valueOperations;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryRedisTemplate(RedisSerializer<Object> serializer) {
+        this.valueOperations = (ValueOperations<String, Object>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(), new Class<?>[]{ValueOperations.class},
+                (self, method, args) -> switch (method.getName()) {
+                    case "set" -> {
+                        values.put((String) args[0], serializer.serialize(args[1]));
+                        yield null;
+                    }
+                    case "get" -> {
+                        byte[] bytes = values.get((String) args[0]);
+                        yield bytes != null ? serializer.deserialize(bytes) : null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 没有连接工厂，跳过校验
+     */
+    @Override
+    public void afterPropertiesSet() {
+    }
+
+    @Override
+    public ValueOperations<String, Object> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public List<Object> executePipelined(SessionCallback<?> session) {
+        session.execute(this);
+        return List.of();
+    }
+
+    public void clear() {
+        values.clear();
+    }
+}
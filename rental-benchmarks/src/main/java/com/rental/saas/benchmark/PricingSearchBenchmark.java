@@ -0,0 +1,156 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.basedata.BaseDataClient;
+import com.rental.api.order.OrderClient;
+import com.rental.api.pricing.dto.QuoteDetailResponse;
+import com.rental.api.product.ProductClient;
+import com.rental.saas.pricing.config.PricingExecutorConfig;
+import com.rental.saas.pricing.config.RedisConfig;
+import com.rental.saas.pricing.detail.ProductTemplateCache;
+import com.rental.saas.pricing.detail.QuoteDetailAssembler;
+import com.rental.saas.pricing.downstream.DownstreamGuard;
+import com.rental.saas.pricing.dto.QuoteRequest;
+import com.rental.saas.pricing.dto.QuoteResponse;
+import com.rental.saas.pricing.id.QuoteIdGenerator;
+import com.rental.saas.pricing.inventory.InventoryIndex;
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import com.rental.saas.pricing.price.PriceCalendarCache;
+import com.rental.saas.pricing.search.SearchCandidateCache;
+import com.rental.saas.pricing.service.PricingService;
+import com.rental.saas.pricing.service.impl.PricingServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报价搜索和报价详情基准
+ * 使用基础数据服务、商品服务和订单服务的内存实现 {@link FakeClients}，报价写入使用 {@link RedisConfig} 二进制序列化器的内存缓存，
+ * 定价服务的Bean与线上相同，配置取默认值。
+ * <ul>
+ *     <li>search：候选集缓存命中，包含位置匹配、门店过滤、价格计算、排序、报价生成和缓存写入</li>
+ *     <li>searchColdCandidates：每次先清空候选集缓存，额外包含门店、服务范围和商品的加载及价格日历预热；
+ *     商品库存不清空，仍从索引读取</li>
+ *     <li>quoteDetail：读取已缓存的报价并组装详情，模板缓存命中</li>
+ * </ul>
+ * 结束时按 pricing.stage 计时器输出各阶段平均耗时，store-filter 为门店过滤、ranking 为价格计算和排序；
+ * 分配速率使用 -prof gc 查看
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingSearchBenchmark {
+
+    /**
+     * 数据集门店数，搜索半径内约占十分之一
+     */
+    @Param({"200", "2000"})
+    private int storeCount;
+
+    @Param({"20"})
+    private int productsPerStore;
+
+    private AnnotationConfigApplicationContext context;
+
+    private PricingService pricingService;
+
+    private SearchCandidateCache searchCandidateCache;
+
+    private InMemoryRedisTemplate redisTemplate;
+
+    private QuoteRequest request;
+
+    private String quoteId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SearchDataSet data = SearchDataSet.generate(storeCount, productsPerStore, 42L);
+        redisTemplate = new InMemoryRedisTemplate(RedisConfig.quoteRedisSerializer("binary"));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(BaseDataClient.class, () -> FakeClients.baseDataClient(data));
+        context.registerBean(ProductClient.class, () -> FakeClients.productClient(data));
+        context.registerBean(OrderClient.class, FakeClients::orderClient);
+        context.registerBean("redisTemplate", InMemoryRedisTemplate.class, () -> redisTemplate);
+        context.register(PricingExecutorConfig.class, PricingMetrics.class, DownstreamGuard.class, QuoteIdGenerator.class,
+                SearchCandidateCache.class, PriceCalendarCache.class, InventoryIndex.class, ProductTemplateCache.class,
+                QuoteDetailAssembler.class, PricingServiceImpl.class);
+        context.refresh();
+        pricingService = context.getBean(PricingService.class);
+        searchCandidateCache = context.getBean(SearchCandidateCache.class);
+
+        request = new QuoteRequest();
+        request.setDate(LocalDate.now().plusDays(3));
+        request.setTime(LocalTime.of(10, 0));
+        request.setReturnDate(request.getDate().plusDays(3));
+        request.setLongitude(SearchDataSet.CENTER_LONGITUDE);
+        request.setLatitude(SearchDataSet.CENTER_LATITUDE);
+
+        QuoteResponse response = pricingService.searchQuotes(request);
+        if (response.getQuotes().isEmpty()) {
+            throw new IllegalStateException("搜索无报价，检查数据集和请求日期");
+        }
+        quoteId = response.getQuotes().get(0).getId();
+        System.out.printf("%n报价数: total=%d, page=%d%n", response.getTotalCount(), response.getQuotes().size());
+    }
+
+    /**
+     * 每轮搜索写入的报价ID都不同，轮次结束时清空内存缓存，并重新写入报价详情读取的报价
+     */
+    @TearDown(Level.Iteration)
+    public void clearQuotes() {
+        redisTemplate.clear();
+        quoteId = pricingService.searchQuotes(request).getQuotes().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        System.out.printf("%n各阶段平均耗时(微秒):%n");
+        registry.find("pricing.stage").timers().stream()
+                .sorted(Comparator.comparing((Timer timer) -> timer.getId().getTag("operation"))
+                        .thenComparing(timer -> timer.getId().getTag("stage")))
+                .forEach(timer -> System.out.printf("  %s/%s[%s]: %.1f (count=%d)%n",
+                        timer.getId().getTag("operation"), timer.getId().getTag("stage"),
+                        timer.getId().getTag("outcome"), timer.mean(TimeUnit.MICROSECONDS), timer.count()));
+        context.close();
+    }
+
+    @Benchmark
+    public QuoteResponse search() {
+        return pricingService.searchQuotes(request);
+    }
+
+    @Benchmark
+    public QuoteResponse searchColdCandidates() {
+        searchCandidateCache.invalidateAll();
+        return pricingService.searchQuotes(request);
+    }
+
+    @Benchmark
+    public QuoteDetailResponse quoteDetail() {
+        return pricingService.getQuoteDetail(quoteId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rental.saas.benchmark;
+
+import com.rental.saas.pricing.id.QuoteIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报价ID生成基准：原UUID去横线与62进制有序ID对比
+ * 多线程共享同一个生成器，结果为所有线程合计的吞吐量；线程数可用 -t 覆盖
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class QuoteIdBenchmark {
+
+    private final QuoteIdGenerator generator = new QuoteIdGenerator(1);
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.pricing.entity.Quote;
+import com.rental.saas.pricing.price.QuotePriceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报价金额计算基准：原BigDecimal逐项换算与按分计算对比
+ * 每次调用计算 {@link #BATCH} 个报价，结果为单个报价的吞吐量；
+ * 单个报价的分配字节数使用 -prof gc 查看(gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuotePricingBenchmark {
+
+    private static final int BATCH = 300;
+
+    /**
+     * 租期天数
+     */
+    @Param({"1", "7"})
+    private int rentalDays;
+
+    private int[][] dailyCents;
+
+    private int[] storeFees;
+
+    private int[] deliveryFees;
+
+    private int[] damageDeposits;
+
+    private int[] violationDeposits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        dailyCents = new int[BATCH][rentalDays];
+        storeFees = new int[BATCH];
+        deliveryFees = new int[BATCH];
+        damageDeposits = new int[BATCH];
+        violationDeposits = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            int weekdayPrice = 15000 + random.nextInt(50000);
+            int weekendPrice = weekdayPrice + random.nextInt(10000);
+            for (int day = 0; day < rentalDays; day++) {
+                dailyCents[i][day] = day % 7 >= 5 ? weekendPrice : weekdayPrice;
+            }
+            storeFees[i] = 1000 + random.nextInt(2000);
+            deliveryFees[i] = random.nextBoolean() ? 2000 + random.nextInt(3000) : 0;
+            damageDeposits[i] = 200000 + random.nextInt(300000);
+            violationDeposits[i] = 100000 + random.nextInt(100000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void bigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            Quote quote = new Quote();
+            calculateWithBigDecimal(quote, dailyCents[i], storeFees[i], deliveryFees[i], deliveryFees[i],
+                    damageDeposits[i], violationDeposits[i]);
+            blackhole.consume(quote);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void longCents(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            Quote quote = new Quote();
+            QuotePriceCalculator.calculate(quote, dailyCents[i], storeFees[i], deliveryFees[i], deliveryFees[i],
+                    damageDeposits[i], violationDeposits[i]);
+            blackhole.consume(quote);
+        }
+    }
+
+    /**
+     * 原实现：每项金额 new BigDecimal(分).divide(new BigDecimal(100))，再用BigDecimal累加
+     */
+    private static void calculateWithBigDecimal(Quote quote, int[] dailyCents, int storeFeeCents, int pickupFeeCents,
+                                                int returnFeeCents, int damageDepositCents, int violationDepositCents) {
+        List<BigDecimal> dailyPrices = new ArrayList<>(dailyCents.length);
+        BigDecimal rentalPrice = BigDecimal.ZERO;
+        for (int cents : dailyCents) {
+            BigDecimal price = new BigDecimal(cents).divide(new BigDecimal(100));
+            dailyPrices.add(price);
+            rentalPrice = rentalPrice.add(price);
+        }
+        quote.setRentalDays(dailyCents.length);
+        quote.setRentalPrice(rentalPrice);
+        quote.setDailyPrices(dailyPrices);
+        quote.setDailyRate(rentalPrice.divide(BigDecimal.valueOf(dailyCents.length), 2, RoundingMode.HALF_UP));
+
+        BigDecimal storeFee = new BigDecimal(storeFeeCents).divide(new BigDecimal(100));
+        BigDecimal baseProtectionPrice = new BigDecimal("30.00");
+        BigDecimal pickupFee = BigDecimal.ZERO;
+        BigDecimal returnFee = BigDecimal.ZERO;
+        if (pickupFeeCents > 0) {
+            pickupFee = new BigDecimal(pickupFeeCents).divide(new BigDecimal(100));
+            returnFee = new BigDecimal(returnFeeCents).divide(new BigDecimal(100));
+        }
+        quote.setStoreFee(storeFee);
+        quote.setBaseProtectionPrice(baseProtectionPrice);
+        quote.setPickupFee(pickupFee);
+        quote.setReturnFee(returnFee);
+        quote.setDamageDeposit(new BigDecimal(damageDepositCents).divide(new BigDecimal(100)));
+        quote.setViolationDeposit(new BigDecimal(violationDepositCents).divide(new BigDecimal(100)));
+        quote.setTotalPrice(rentalPrice.add(pickupFee).add(returnFee).add(storeFee).add(baseProtectionPrice));
+    }
+}
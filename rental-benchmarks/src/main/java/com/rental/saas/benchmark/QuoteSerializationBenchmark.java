@@ -0,0 +1,96 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.pricing.entity.Quote;
+import com.rental.saas.pricing.config.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报价缓存序列化基准：原JSON序列化器与紧凑二进制格式对比
+ * 每次调用编解码 {@link #BATCH} 个报价，结果为单个报价的吞吐量；
+ * 单个报价字节数在初始化时输出，分配速率使用 -prof gc 查看
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteSerializationBenchmark {
+
+    private static final int BATCH = 300;
+
+    private final RedisSerializer<Object> jsonSerializer = new GenericJackson2JsonRedisSerializer();
+
+    private final RedisSerializer<Object> binarySerializer = RedisConfig.quoteRedisSerializer("binary");
+
+    private List<Quote> quotes;
+
+    private byte[][] jsonBytes;
+
+    private byte[][] binaryBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quotes = BenchmarkData.quotes(BATCH, 42L);
+        jsonBytes = new byte[BATCH][];
+        binaryBytes = new byte[BATCH][];
+        long jsonTotal = 0;
+        long binaryTotal = 0;
+        for (int i = 0; i < BATCH; i++) {
+            jsonBytes[i] = jsonSerializer.serialize(quotes.get(i));
+            binaryBytes[i] = binarySerializer.serialize(quotes.get(i));
+            jsonTotal += jsonBytes[i].length;
+            binaryTotal += binaryBytes[i].length;
+        }
+        System.out.printf("%n单个报价平均字节数: json=%d, binary=%d%n", jsonTotal / BATCH, binaryTotal / BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void encodeJson(Blackhole blackhole) {
+        for (Quote quote : quotes) {
+            blackhole.consume(jsonSerializer.serialize(quote));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void encodeBinary(Blackhole blackhole) {
+        for (Quote quote : quotes) {
+            blackhole.consume(binarySerializer.serialize(quote));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void decodeJson(Blackhole blackhole) {
+        for (byte[] bytes : jsonBytes) {
+            blackhole.consume(jsonSerializer.deserialize(bytes));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void decodeBinary(Blackhole blackhole) {
+        for (byte[] bytes : binaryBytes) {
+            blackhole.consume(binarySerializer.deserialize(bytes));
+        }
+    }
+}
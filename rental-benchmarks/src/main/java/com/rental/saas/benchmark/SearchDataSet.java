@@ -0,0 +1,211 @@
+package com.rental.saas.benchmark;
+
+import com.rental.api.basedata.response.ServiceAreaResponse;
+import com.rental.api.basedata.response.StoreResponse;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 报价搜索基准使用的门店、服务范围、商品和特殊定价数据
+ * 门店分布在中心点周围约15公里内，部分门店配置上门取送车的取车/还车电子围栏；
+ * 营业时间、提前预定时间和最大预定天数按比例生成不满足搜索条件的门店，使门店过滤有实际筛除。
+ * 使用固定随机种子，每次运行数据一致。
+ */
+public final class SearchDataSet {
+
+    public static final double CENTER_LONGITUDE = 116.4074;
+
+    public static final double CENTER_LATITUDE = 39.9042;
+
+    /**
+     * 门店相对中心点的最大经纬度偏移，约15公里
+     */
+    private static final double MAX_OFFSET_DEGREES = 0.15;
+
+    /**
+     * 电子围栏(正方形)半边长，约3公里
+     */
+    private static final double FENCE_HALF_SIDE_DEGREES = 0.03;
+
+    private static final String[] MODEL_NAMES = {"大众朗逸", "丰田卡罗拉", "本田雅阁", "日产轩逸", "别克英朗", "特斯拉Model 3"};
+
+    private static final String[] PRODUCT_SUFFIXES = {"经济型", "舒适型", "豪华型", "新能源"};
+
+    private final Map<Long, StoreResponse> stores = new LinkedHashMap<>();
+
+    private final List<FencedArea> serviceAreas = new ArrayList<>();
+
+    private final Map<Long, List<CarModelProductResponse>> productsByStore = new HashMap<>();
+
+    private final Map<Long, List<SpecialPricingResponse>> specialPricingsByProduct = new HashMap<>();
+
+    private SearchDataSet() {
+    }
+
+    /**
+     * 电子围栏及其外接矩形
+     */
+    public record FencedArea(ServiceAreaResponse area, double minLongitude, double minLatitude,
+                             double maxLongitude, double maxLatitude) {
+
+        boolean intersects(double minLon, double minLat, double maxLon, double maxLat) {
+            return minLongitude <= maxLon && maxLongitude >= minLon && minLatitude <= maxLat && maxLatitude >= minLat;
+        }
+    }
+
+    /**
+     * 生成数据
+     * @param storeCount 门店数
+     * @param productsPerStore 每个门店的商品数
+     * @param seed 随机种子
+     * @return 数据集
+     */
+    public static SearchDataSet generate(int storeCount, int productsPerStore, long seed) {
+        Random random = new Random(seed);
+        SearchDataSet data = new SearchDataSet();
+        long productId = 100_000L;
+        long areaId = 1L;
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < storeCount; i++) {
+            StoreResponse store = store(random, 1_000L + i);
+            data.stores.put(store.getId(), store);
+
+            // 约三成门店提供上门取送车，取车和还车围栏都以门店为中心
+            if (random.nextInt(10) < 3) {
+                for (int areaType = 1; areaType <= 2; areaType++) {
+                    data.serviceAreas.add(fencedArea(random, areaId++, store, areaType));
+                }
+            }
+
+            List<CarModelProductResponse> products = new ArrayList<>(productsPerStore);
+            for (int j = 0; j < productsPerStore; j++) {
+                CarModelProductResponse product = product(random, productId++, store);
+                products.add(product);
+                // 约一成商品在未来30天内有特殊定价
+                if (random.nextInt(10) == 0) {
+                    data.specialPricingsByProduct.put(product.getId(), specialPricings(random, product, today));
+                }
+            }
+            data.productsByStore.put(store.getId(), products);
+        }
+        return data;
+    }
+
+    public Map<Long, StoreResponse> stores() {
+        return stores;
+    }
+
+    public List<FencedArea> serviceAreas() {
+        return serviceAreas;
+    }
+
+    public Map<Long, List<CarModelProductResponse>> productsByStore() {
+        return productsByStore;
+    }
+
+    public Map<Long, List<SpecialPricingResponse>> specialPricingsByProduct() {
+        return specialPricingsByProduct;
+    }
+
+    private static StoreResponse store(Random random, long id) {
+        StoreResponse store = new StoreResponse();
+        store.setId(id);
+        store.setTenantId(1L + random.nextInt(200));
+        store.setStoreName("北京第" + id + "门店");
+        store.setCity("北京");
+        store.setLongitude(coordinate(CENTER_LONGITUDE + offset(random)));
+        store.setLatitude(coordinate(CENTER_LATITUDE + offset(random)));
+        // 约一成门店营业时间较短、提前预定时间较长或最大预定天数较短
+        store.setBusinessStartTime(random.nextInt(10) == 0 ? LocalTime.of(11, 0) : LocalTime.of(8, 0));
+        store.setBusinessEndTime(random.nextInt(10) == 0 ? LocalTime.of(18, 0) : LocalTime.of(21, 0));
+        store.setMinAdvanceHours(random.nextInt(10) == 0 ? 96 : 2);
+        store.setMaxAdvanceDays(random.nextInt(10) == 0 ? 1 : 90);
+        store.setServiceFee(1000 + random.nextInt(2000));
+        store.setAuditStatus(1);
+        store.setOnlineStatus(1);
+        return store;
+    }
+
+    private static FencedArea fencedArea(Random random, long id, StoreResponse store, int areaType) {
+        double longitude = store.getLongitude().doubleValue();
+        double latitude = store.getLatitude().doubleValue();
+        double halfSide = FENCE_HALF_SIDE_DEGREES * (0.5 + random.nextDouble());
+        double minLon = longitude - halfSide;
+        double maxLon = longitude + halfSide;
+        double minLat = latitude - halfSide;
+        double maxLat = latitude + halfSide;
+
+        ServiceAreaResponse area = new ServiceAreaResponse();
+        area.setId(id);
+        area.setStoreId(store.getId());
+        area.setAreaName(store.getStoreName() + (areaType == 1 ? "取车区域" : "还车区域"));
+        area.setAreaType(areaType);
+        area.setFenceCoordinates(String.format(Locale.ROOT, "[[%.6f,%.6f],[%.6f,%.6f],[%.6f,%.6f],[%.6f,%.6f]]",
+                minLon, minLat, maxLon, minLat, maxLon, maxLat, minLon, maxLat));
+        area.setAdvanceHours(2);
+        area.setServiceStartTime("08:00");
+        area.setServiceEndTime("21:00");
+        area.setDoorToDoorDelivery(1);
+        area.setDeliveryFee(2000 + random.nextInt(3000));
+        area.setFreePickupToStore(0);
+        return new FencedArea(area, minLon, minLat, maxLon, maxLat);
+    }
+
+    private static CarModelProductResponse product(Random random, long id, StoreResponse store) {
+        String modelName = MODEL_NAMES[random.nextInt(MODEL_NAMES.length)];
+        int weekdayPrice = 15000 + random.nextInt(50000);
+
+        CarModelProductResponse product = new CarModelProductResponse();
+        product.setId(id);
+        product.setStoreId(store.getId());
+        product.setTenantId(store.getTenantId());
+        product.setCarModelId(1L + random.nextInt(500));
+        product.setProductName(modelName + PRODUCT_SUFFIXES[random.nextInt(PRODUCT_SUFFIXES.length)]);
+        product.setDamageDeposit(200000 + random.nextInt(300000));
+        product.setViolationDeposit(100000 + random.nextInt(100000));
+        product.setWeekdayPrice(weekdayPrice);
+        product.setWeekendPrice(weekdayPrice * 6 / 5);
+        boolean fridayWeekend = random.nextInt(5) == 0;
+        product.setWeekdayDefinition(fridayWeekend ? "1,2,3,4" : "1,2,3,4,5");
+        product.setWeekendDefinition(fridayWeekend ? "5,6,7" : "6,7");
+        product.setVasTemplateId(1L + random.nextInt(20));
+        product.setVasTemplateIdVip(21L + random.nextInt(20));
+        product.setCancellationTemplateId(1L + random.nextInt(10));
+        product.setServicePolicyTemplateId(1L + random.nextInt(10));
+        return product;
+    }
+
+    private static List<SpecialPricingResponse> specialPricings(Random random, CarModelProductResponse product,
+                                                                LocalDate today) {
+        List<SpecialPricingResponse> pricings = new ArrayList<>(5);
+        for (int i = 0; i < 5; i++) {
+            SpecialPricingResponse pricing = new SpecialPricingResponse();
+            pricing.setProductId(product.getId());
+            pricing.setPriceDate(today.plusDays(random.nextInt(30)));
+            pricing.setPrice(product.getWeekdayPrice() * (8 + random.nextInt(8)) / 10);
+            pricings.add(pricing);
+        }
+        return pricings;
+    }
+
+    private static double offset(Random random) {
+        return (random.nextDouble() * 2 - 1) * MAX_OFFSET_DEGREES;
+    }
+
+    private static BigDecimal coordinate(double value) {
+        return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+    }
+}
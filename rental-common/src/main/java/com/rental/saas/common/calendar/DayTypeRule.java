@@ -0,0 +1,243 @@
+package com.rental.saas.common.calendar;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * 预编译的周中/周末规则
+ * 商品的周中定义和周末定义解析一次后保存为星期位图和节假日调整表，判断日期类型时只做位运算和数组下标访问。
+ * <p>
+ * 定义为逗号分隔的项，每项可以是：
+ * <ul>
+ *     <li>ISO星期几(1-7)或星期范围，如 "6,7"、"1-5"</li>
+ *     <li>日期或日期范围，如 "2026-10-01"、"2026-10-01~2026-10-07"</li>
+ * </ul>
+ * 周末定义中的星期为周末，日期为按周末计价的节假日；周中定义中的日期为按周中计价的调休工作日。
+ * 周末定义未指定星期时，周中定义指定了星期则其余为周末，否则默认周六、周日为周末。
+ * 保存定义时使用 {@link #compile} 严格校验；计价时使用 {@link #compileLenient}，兼容校验上线前保存的定义。
+ * 构建后不可变，可被多个线程共享。
+ *
+ * @author Rental SaaS Team
+ */
+public final class DayTypeRule {
+
+    /**
+     * 节假日调整覆盖的最大天数
+     */
+    public static final int MAX_OVERRIDE_DAYS = 3 * 366;
+
+    /**
+     * 默认规则：周六、周日为周末，无节假日调整
+     */
+    public static final DayTypeRule DEFAULT = new DayTypeRule(dayMask(6) | dayMask(7), 0L, new byte[0]);
+
+    private static final int ALL_DAYS = 0b1111_1110;
+
+    private static final byte NONE = 0;
+
+    private static final byte WEEKDAY = 1;
+
+    private static final byte WEEKEND = 2;
+
+    /**
+     * 周末位图，第n位表示ISO星期n
+     */
+    private final int weekendMask;
+
+    private final long overrideStartEpochDay;
+
+    /**
+     * 从 overrideStartEpochDay 开始每天的调整：0-无，1-按周中，2-按周末
+     */
+    private final byte[] overrides;
+
+    private DayTypeRule(int weekendMask, long overrideStartEpochDay, byte[] overrides) {
+        this.weekendMask = weekendMask;
+        this.overrideStartEpochDay = overrideStartEpochDay;
+        this.overrides = overrides;
+    }
+
+    /**
+     * 编译周中/周末定义
+     * @param weekdayDefinition 周中定义，可为空
+     * @param weekendDefinition 周末定义，可为空
+     * @return 规则，两者都为空时返回默认规则
+     * @throws IllegalArgumentException 定义格式错误、星期或日期同时出现在两个定义中、节假日调整跨度过大
+     */
+    public static DayTypeRule compile(String weekdayDefinition, String weekendDefinition) {
+        return compile(weekdayDefinition, weekendDefinition, problem -> {
+            throw new IllegalArgumentException(problem);
+        });
+    }
+
+    /**
+     * 宽松编译周中/周末定义，用于计价：跳过格式错误的项，星期或日期同时出现在两个定义中时按周末，
+     * 节假日调整跨度过大时只保留最近的部分
+     * @param weekdayDefinition 周中定义，可为空
+     * @param weekendDefinition 周末定义，可为空
+     * @param onProblem 每个被忽略或修正的问题回调一次
+     * @return 规则
+     */
+    public static DayTypeRule compileLenient(String weekdayDefinition, String weekendDefinition,
+                                             Consumer<String> onProblem) {
+        return compile(weekdayDefinition, weekendDefinition, onProblem);
+    }
+
+    /**
+     * @param onProblem 发现问题时回调，抛出异常时为严格编译，正常返回时按宽松规则继续
+     */
+    private static DayTypeRule compile(String weekdayDefinition, String weekendDefinition,
+                                       Consumer<String> onProblem) {
+        Definition weekday = Definition.parse(weekdayDefinition, "周中定义", onProblem);
+        Definition weekend = Definition.parse(weekendDefinition, "周末定义", onProblem);
+        if ((weekday.dayMask & weekend.dayMask) != 0) {
+            // 周末定义指定了星期时周中的星期不参与计算，重叠的星期按周末
+            onProblem.accept("周中定义和周末定义包含相同的星期");
+        }
+        int weekendMask;
+        if (weekend.dayMask != 0) {
+            weekendMask = weekend.dayMask;
+        } else if (weekday.dayMask != 0) {
+            weekendMask = ALL_DAYS & ~weekday.dayMask;
+        } else {
+            weekendMask = DEFAULT.weekendMask;
+        }
+
+        TreeMap<Long, Byte> dates = new TreeMap<>();
+        weekday.putDates(dates, WEEKDAY);
+        for (long[] range : weekend.dateRanges) {
+            for (long day = range[0]; day <= range[1]; day++) {
+                Byte previous = dates.put(day, WEEKEND);
+                if (previous != null && previous == WEEKDAY) {
+                    onProblem.accept("周中定义和周末定义包含相同的日期: " + LocalDate.ofEpochDay(day));
+                }
+            }
+        }
+        if (dates.isEmpty()) {
+            return weekendMask == DEFAULT.weekendMask ? DEFAULT : new DayTypeRule(weekendMask, 0L, new byte[0]);
+        }
+        if (dates.lastKey() - dates.firstKey() + 1 > MAX_OVERRIDE_DAYS) {
+            onProblem.accept("节假日调整跨度不能超过" + MAX_OVERRIDE_DAYS + "天");
+            dates.headMap(dates.lastKey() - MAX_OVERRIDE_DAYS + 1).clear();
+        }
+        long start = dates.firstKey();
+        long span = dates.lastKey() - start + 1;
+        byte[] overrides = new byte[(int) span];
+        dates.forEach((day, type) -> overrides[(int) (day - start)] = type);
+        return new DayTypeRule(weekendMask, start, overrides);
+    }
+
+    /**
+     * 该日期是否按周末计价
+     * @param epochDay 日期(LocalDate.toEpochDay)
+     */
+    public boolean isWeekend(long epochDay) {
+        long index = epochDay - overrideStartEpochDay;
+        if (index >= 0 && index < overrides.length && overrides[(int) index] != NONE) {
+            return overrides[(int) index] == WEEKEND;
+        }
+        // 1970-01-01 是周四
+        return (weekendMask & dayMask((int) Math.floorMod(epochDay + 3, 7L) + 1)) != 0;
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return isWeekend(date.toEpochDay());
+    }
+
+    private static int dayMask(int isoDayOfWeek) {
+        return 1 << isoDayOfWeek;
+    }
+
+    /**
+     * 解析后的单个定义
+     */
+    private record Definition(int dayMask, List<long[]> dateRanges) {
+
+        private static final Definition EMPTY = new Definition(0, List.of());
+
+        static Definition parse(String definition, String name, Consumer<String> onProblem) {
+            if (definition == null || definition.isBlank()) {
+                return EMPTY;
+            }
+            int mask = 0;
+            List<long[]> ranges = new ArrayList<>();
+            for (String part : definition.split("[,，]")) {
+                String item = part.trim();
+                if (item.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (item.length() <= 3) {
+                        mask |= parseDays(item, name);
+                    } else {
+                        ranges.add(parseDates(item, name));
+                    }
+                } catch (IllegalArgumentException e) {
+                    onProblem.accept(e.getMessage());
+                }
+            }
+            return new Definition(mask, ranges);
+        }
+
+        void putDates(TreeMap<Long, Byte> dates, byte type) {
+            for (long[] range : dateRanges) {
+                for (long day = range[0]; day <= range[1]; day++) {
+                    dates.put(day, type);
+                }
+            }
+        }
+
+        /**
+         * 解析星期或星期范围，如 "6"、"1-5"
+         */
+        private static int parseDays(String item, String name) {
+            int dash = item.indexOf('-');
+            int from = parseDay(dash < 0 ? item : item.substring(0, dash), item, name);
+            int to = dash < 0 ? from : parseDay(item.substring(dash + 1), item, name);
+            if (from > to) {
+                throw new IllegalArgumentException(name + "星期范围无效: " + item);
+            }
+            int mask = 0;
+            for (int day = from; day <= to; day++) {
+                mask |= DayTypeRule.dayMask(day);
+            }
+            return mask;
+        }
+
+        private static int parseDay(String value, String item, String name) {
+            try {
+                int day = Integer.parseInt(value.trim());
+                if (day >= 1 && day <= 7) {
+                    return day;
+                }
+            } catch (NumberFormatException ignored) {
+                // 下面统一报错
+            }
+            throw new IllegalArgumentException(name + "星期应为1-7: " + item);
+        }
+
+        /**
+         * 解析日期或日期范围，如 "2026-10-01"、"2026-10-01~2026-10-07"
+         */
+        private static long[] parseDates(String item, String name) {
+            int tilde = item.indexOf('~');
+            try {
+                LocalDate from = LocalDate.parse(tilde < 0 ? item : item.substring(0, tilde).trim());
+                LocalDate to = tilde < 0 ? from : LocalDate.parse(item.substring(tilde + 1).trim());
+                if (from.isAfter(to)) {
+                    throw new IllegalArgumentException(name + "日期范围无效: " + item);
+                }
+                if (to.toEpochDay() - from.toEpochDay() >= MAX_OVERRIDE_DAYS) {
+                    throw new IllegalArgumentException(name + "日期范围不能超过" + MAX_OVERRIDE_DAYS + "天: " + item);
+                }
+                return new long[]{from.toEpochDay(), to.toEpochDay()};
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException(name + "日期格式应为yyyy-MM-dd: " + item);
+            }
+        }
+    }
+}
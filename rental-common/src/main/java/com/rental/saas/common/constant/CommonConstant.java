@@ -114,6 +114,29 @@ public class CommonConstant {
     public static final String MQ_TAG_PAYMENT_SUCCESS = "payment_success";
     public static final String MQ_TAG_PAYMENT_FAILED = "payment_failed";
 
+    /**
+     * 数据变更通知频道(Redis发布订阅)，消息格式为 "类型:ID"
+     */
+    public static final String CHANNEL_DATA_CHANGE = CACHE_PREFIX + "data-change";
+
+    /**
+     * 数据变更类型
+     */
+    public static final String DATA_CHANGE_STORE = "store";
+    public static final String DATA_CHANGE_SERVICE_AREA = "service-area";
+    public static final String DATA_CHANGE_PRODUCT = "product";
+    public static final String DATA_CHANGE_SPECIAL_PRICING = "special-pricing";
+    public static final String DATA_CHANGE_VAS_TEMPLATE = "vas-template";
+    public static final String DATA_CHANGE_CANCELLATION_TEMPLATE = "cancellation-template";
+    public static final String DATA_CHANGE_POLICY_TEMPLATE = "policy-template";
+    public static final String DATA_CHANGE_VEHICLE = "vehicle";
+    public static final String DATA_CHANGE_PRODUCT_VEHICLE = "product-vehicle";
+
+    /**
+     * 订单占用变更，消息格式为 "booking:商品ID:起始纪元日:结束纪元日(不含):增量:订单ID"
+     */
+    public static final String DATA_CHANGE_BOOKING = "booking";
+
     private CommonConstant() {
         // 防止实例化
     }
@@ -0,0 +1,130 @@
+package com.rental.saas.common.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+/**
+ * 预编译的电子围栏多边形
+ * 坐标解析一次后保存为经纬度数组，并预先计算外接矩形，判断点是否在围栏内时先做矩形过滤再做射线法判断
+ *
+ * @author Rental SaaS Team
+ */
+public final class FencePolygon {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final double[] longitudes;
+    private final double[] latitudes;
+
+    @Getter
+    private final double minLongitude;
+    @Getter
+    private final double maxLongitude;
+    @Getter
+    private final double minLatitude;
+    @Getter
+    private final double maxLatitude;
+
+    private FencePolygon(double[] longitudes, double[] latitudes) {
+        this.longitudes = longitudes;
+        this.latitudes = latitudes;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (int i = 0; i < longitudes.length; i++) {
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+        }
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+    }
+
+    /**
+     * 解析电子围栏坐标
+     * 支持 [[lng,lat],...] 和 [{"lng":..,"lat":..},...] 两种格式
+     * @param fenceCoordinates 电子围栏坐标(JSON格式)
+     * @return 多边形，坐标为空、格式错误或少于3个点时返回null
+     */
+    public static FencePolygon parse(String fenceCoordinates) {
+        if (fenceCoordinates == null || fenceCoordinates.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(fenceCoordinates);
+            if (root == null || !root.isArray() || root.size() < 3) {
+                return null;
+            }
+            int size = root.size();
+            double[] longitudes = new double[size];
+            double[] latitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode point = root.get(i);
+                JsonNode lng;
+                JsonNode lat;
+                if (point.isArray() && point.size() >= 2) {
+                    lng = point.get(0);
+                    lat = point.get(1);
+                } else if (point.isObject()) {
+                    lng = point.has("lng") ? point.get("lng") : point.get("longitude");
+                    lat = point.has("lat") ? point.get("lat") : point.get("latitude");
+                } else {
+                    return null;
+                }
+                if (lng == null || lat == null) {
+                    return null;
+                }
+                longitudes[i] = lng.asDouble(Double.NaN);
+                latitudes[i] = lat.asDouble(Double.NaN);
+                if (Double.isNaN(longitudes[i]) || Double.isNaN(latitudes[i])) {
+                    return null;
+                }
+            }
+            return new FencePolygon(longitudes, latitudes);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 判断围栏外接矩形是否与指定矩形相交
+     * @param minLon 最小经度
+     * @param minLat 最小纬度
+     * @param maxLon 最大经度
+     * @param maxLat 最大纬度
+     * @return 是否相交
+     */
+    public boolean intersects(double minLon, double minLat, double maxLon, double maxLat) {
+        return minLongitude <= maxLon && maxLongitude >= minLon
+                && minLatitude <= maxLat && maxLatitude >= minLat;
+    }
+
+    /**
+     * 判断点是否在围栏内（射线法）
+     * @param longitude 经度
+     * @param latitude 纬度
+     * @return 是否在围栏内
+     */
+    public boolean contains(double longitude, double latitude) {
+        if (longitude < minLongitude || longitude > maxLongitude
+                || latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        boolean inside = false;
+        int n = longitudes.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double yi = latitudes[i];
+            double yj = latitudes[j];
+            if ((yi > latitude) != (yj > latitude)) {
+                double xCross = (longitudes[j] - longitudes[i]) * (latitude - yi) / (yj - yi) + longitudes[i];
+                if (longitude < xCross) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+}
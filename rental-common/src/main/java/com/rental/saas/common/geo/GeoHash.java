@@ -0,0 +1,131 @@
+package com.rental.saas.common.geo;
+
+import java.util.Arrays;
+
+/**
+ * GeoHash编码
+ * 5位精度的网格约为4.9公里 x 4.9公里，可作为按位置聚合的缓存键
+ *
+ * @author Rental SaaS Team
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {
+    }
+
+    /**
+     * 计算坐标所在网格的GeoHash
+     * @param longitude 经度
+     * @param latitude 纬度
+     * @param precision 字符数(1~12)
+     * @return GeoHash
+     */
+    public static String encode(double longitude, double latitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("precision must be between 1 and 12");
+        }
+        double minLon = -180.0, maxLon = 180.0;
+        double minLat = -90.0, maxLat = 90.0;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * 解析GeoHash对应的网格范围
+     * @param hash GeoHash
+     * @return 网格范围
+     */
+    public static Bounds bounds(String hash) {
+        double minLon = -180.0, maxLon = 180.0;
+        double minLat = -90.0, maxLat = 90.0;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("invalid geohash: " + hash);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if ((value & mask) != 0) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if ((value & mask) != 0) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new Bounds(minLon, minLat, maxLon, maxLat);
+    }
+
+    /**
+     * 网格范围
+     */
+    public record Bounds(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+
+        public double centerLongitude() {
+            return (minLongitude + maxLongitude) / 2;
+        }
+
+        public double centerLatitude() {
+            return (minLatitude + maxLatitude) / 2;
+        }
+
+        /**
+         * 网格中心到角点的距离(公里)
+         */
+        public double halfDiagonalKm() {
+            return GeoUtil.distanceKm(centerLatitude(), centerLongitude(), maxLatitude, maxLongitude);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.rental.saas.common.geo;
+
+/**
+ * 地理计算工具类
+ *
+ * @author Rental SaaS Team
+ */
+public final class GeoUtil {
+
+    /**
+     * 地球半径(公里)，与门店范围查询SQL保持一致
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoUtil() {
+    }
+
+    /**
+     * 球面距离(公里)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.rental.saas.common.response;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 游标(键集)分页工具
+ * 按 (created_time, id) 倒序分页，下一页取创建时间早于游标、或创建时间相同且ID小于游标的记录，
+ * 配合 (租户ID, deleted, created_time, id) 复合索引只扫描当前页的记录，不使用OFFSET，也不执行COUNT。
+ * 每页多查询一条用于判断是否有下一页。
+ *
+ * @author Rental SaaS Team
+ */
+public final class CursorPagination {
+
+    /**
+     * 每页最大记录数
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private CursorPagination() {
+    }
+
+    /**
+     * 为查询条件追加游标条件、排序和LIMIT
+     * @param wrapper 已包含筛选条件的查询
+     * @param createdTime 创建时间列
+     * @param id ID列
+     * @param cursor 游标，第一页为null
+     * @param size 每页记录数
+     * @return 传入的查询
+     */
+    public static <T> LambdaQueryWrapper<T> apply(LambdaQueryWrapper<T> wrapper,
+                                                  SFunction<T, LocalDateTime> createdTime,
+                                                  SFunction<T, Long> id,
+                                                  PageCursor cursor, int size) {
+        if (cursor != null) {
+            wrapper.and(w -> w.lt(createdTime, cursor.createdTime())
+                    .or(o -> o.eq(createdTime, cursor.createdTime()).lt(id, cursor.id())));
+        }
+        wrapper.orderByDesc(createdTime)
+               .orderByDesc(id)
+               .last("LIMIT " + (pageSize(size) + 1));
+        return wrapper;
+    }
+
+    /**
+     * 将查询结果转换为游标分页响应
+     * @param rows 按 apply 条件查询到的记录，最多比每页记录数多一条
+     * @param size 每页记录数
+     * @param cursorOf 由记录生成游标
+     * @param converter 记录转换
+     * @param firstPage 是否为第一页
+     * @param total 总记录数，未统计时为null
+     */
+    public static <T, R> PageResponse<R> toResponse(List<T> rows, int size,
+                                                    Function<T, PageCursor> cursorOf,
+                                                    Function<T, R> converter,
+                                                    boolean firstPage, Long total) {
+        int pageSize = pageSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        List<R> records = page.stream().map(converter).collect(Collectors.toList());
+        return PageResponse.ofCursor(pageSize, records, nextCursor, !firstPage, total);
+    }
+
+    /**
+     * 每页记录数，限制在1到最大值之间
+     */
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,53 @@
+package com.rental.saas.common.response;
+
+import com.rental.saas.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页的游标
+ * 记录上一页最后一条记录的创建时间和ID，下一页从 (created_time, id) 小于该值的记录开始，
+ * 编码为URL安全的Base64字符串，对客户端不透明。
+ *
+ * @author Rental SaaS Team
+ * @param createdTime 创建时间
+ * @param id 记录ID
+ */
+public record PageCursor(LocalDateTime createdTime, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String value = createdTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空表示第一页
+     * @return 游标，第一页返回null
+     * @throws BusinessException 游标格式错误
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("缺少分隔符");
+            }
+            return new PageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BusinessException(ResponseCode.PARAMETER_FORMAT_ERROR, "分页游标无效");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.rental.saas.common.response;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -9,7 +10,8 @@ import java.util.List;
 
 /**
  * 分页响应类
- * 用于封装分页查询结果
+ * 用于封装分页查询结果，支持页码分页和游标分页两种模式。
+ * 游标分页时页码为空，通过 nextCursor 获取下一页，总数只在请求统计时返回。
  * 
  * @author Rental SaaS Team
  * @param <T> 数据类型
@@ -62,6 +64,13 @@ public class PageResponse<T> implements Serializable {
     @Schema(description = "数据列表")
     private List<T> records;
 
+    /**
+     * 下一页游标，仅游标分页返回，没有下一页时为空
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "下一页游标，仅游标分页返回", example = "MjAyNC0wMS0wMVQxMjowMHwxMDA")
+    private String nextCursor;
+
     public PageResponse() {
     }
 
@@ -94,6 +103,29 @@ public class PageResponse<T> implements Serializable {
         );
     }
 
+    /**
+     * 创建游标分页响应
+     * @param pageSize 每页大小
+     * @param records 当前页数据
+     * @param nextCursor 下一页游标，没有下一页时为null
+     * @param hasPrevious 是否有上一页
+     * @param total 总记录数，未统计时为null
+     */
+    public static <T> PageResponse<T> ofCursor(Integer pageSize, List<T> records, String nextCursor,
+                                               boolean hasPrevious, Long total) {
+        PageResponse<T> response = new PageResponse<>();
+        response.pageSize = pageSize;
+        response.records = records;
+        response.nextCursor = nextCursor;
+        response.hasNext = nextCursor != null;
+        response.hasPrevious = hasPrevious;
+        if (total != null) {
+            response.total = total;
+            response.pages = (int) Math.ceil((double) total / pageSize);
+        }
+        return response;
+    }
+
     /**
      * 创建空分页响应
      */
@@ -0,0 +1,60 @@
+package com.rental.saas.common.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 分页总数缓存
+ * 游标分页默认不统计总数，客户端需要总数时按查询条件缓存COUNT结果，过期前的总数可能与实际略有偏差。
+ * 条目数超过上限时先清理过期条目，仍超过时全部清空。
+ *
+ * @author Rental SaaS Team
+ */
+public class TotalCountCache {
+
+    private final long ttlMillis;
+
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public TotalCountCache(Duration ttl, int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 获取总数，缓存未命中或过期时执行统计
+     * @param key 查询条件
+     * @param counter 统计总数
+     * @return 总数
+     */
+    public long get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.count;
+        }
+        long count = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(count, now + ttlMillis));
+        return count;
+    }
+
+    /**
+     * 缓存条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.rental.saas.common.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DayTypeRuleTest {
+
+    /**
+     * 2026-10-19 是周一
+     */
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    public void testDefaultWeekend() {
+        DayTypeRule rule = DayTypeRule.compile(null, " ");
+        assertSame(DayTypeRule.DEFAULT, rule);
+        for (int i = -400; i < 400; i++) {
+            LocalDate date = MONDAY.plusDays(i);
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            assertEquals(dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY, rule.isWeekend(date),
+                    date::toString);
+        }
+    }
+
+    @Test
+    public void testWeekendDaysAndRanges() {
+        DayTypeRule rule = DayTypeRule.compile("1-4", "5-7");
+        assertFalse(rule.isWeekend(MONDAY.plusDays(3)));
+        assertTrue(rule.isWeekend(MONDAY.plusDays(4)));
+        assertTrue(rule.isWeekend(MONDAY.plusDays(6)));
+
+        // 只有周中定义时其余为周末
+        DayTypeRule weekdayOnly = DayTypeRule.compile("1,2,3,4,5,6", null);
+        assertFalse(weekdayOnly.isWeekend(MONDAY.plusDays(5)));
+        assertTrue(weekdayOnly.isWeekend(MONDAY.plusDays(6)));
+    }
+
+    @Test
+    public void testHolidayOverrides() {
+        DayTypeRule rule = DayTypeRule.compile("1,2,3,4,5,2026-10-11", "6，7, 2026-10-01~2026-10-07");
+        // 国庆假期中的周四按周末
+        assertTrue(rule.isWeekend(LocalDate.of(2026, 10, 1)));
+        assertTrue(rule.isWeekend(LocalDate.of(2026, 10, 7)));
+        assertFalse(rule.isWeekend(LocalDate.of(2026, 10, 8)));
+        // 调休的周日按周中
+        assertFalse(rule.isWeekend(LocalDate.of(2026, 10, 11)));
+        // 调整范围外按星期
+        assertTrue(rule.isWeekend(LocalDate.of(2026, 9, 27)));
+        assertTrue(rule.isWeekend(LocalDate.of(2026, 10, 18)));
+    }
+
+    @Test
+    public void testInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile("1,2,3,4,5", "5,6,7"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile(null, "6,8"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile(null, "7-6"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile(null, "周六"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile(null, "2026-13-01"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile(null, "2026-10-07~2026-10-01"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile("2026-10-03", "2026-10-01~2026-10-07"));
+        assertThrows(IllegalArgumentException.class, () -> DayTypeRule.compile("2026-01-01", "2030-01-01"));
+
+        // 同一定义内重复的日期不算冲突
+        assertDoesNotThrow(() -> DayTypeRule.compile(null, "2026-10-01,2026-10-01~2026-10-03"));
+    }
+
+    @Test
+    public void testLenientOverlappingLegacyPair() {
+        List<String> problems = new ArrayList<>();
+        DayTypeRule rule = DayTypeRule.compileLenient("1,2,3,4,5", "5,6,7", problems::add);
+        assertEquals(1, problems.size());
+        // 重叠的周五按周末
+        assertFalse(rule.isWeekend(MONDAY.plusDays(3)));
+        assertTrue(rule.isWeekend(MONDAY.plusDays(4)));
+        assertTrue(rule.isWeekend(MONDAY.plusDays(5)));
+
+        DayTypeRule dates = DayTypeRule.compileLenient("2026-10-03", "2026-10-01~2026-10-07", problems::add);
+        assertTrue(dates.isWeekend(LocalDate.of(2026, 10, 3)));
+    }
+
+    @Test
+    public void testLenientSkipsOnlyInvalidItems() {
+        List<String> problems = new ArrayList<>();
+        DayTypeRule rule = DayTypeRule.compileLenient(null, "5,8,周六,7,2026-13-01,2026-10-01", problems::add);
+        assertEquals(3, problems.size());
+        assertTrue(rule.isWeekend(MONDAY.plusDays(4)));
+        assertFalse(rule.isWeekend(MONDAY.plusDays(5)));
+        assertTrue(rule.isWeekend(MONDAY.plusDays(6)));
+        assertTrue(rule.isWeekend(LocalDate.of(2026, 10, 1)));
+
+        // 跨度过大时保留最近的节假日调整，2020-01-04(周六)的调休被丢弃，按星期计算
+        DayTypeRule wide = DayTypeRule.compileLenient("2020-01-04", "2026-10-01", problems::add);
+        assertTrue(wide.isWeekend(LocalDate.of(2026, 10, 1)));
+        assertTrue(wide.isWeekend(LocalDate.of(2020, 1, 4)));
+    }
+}
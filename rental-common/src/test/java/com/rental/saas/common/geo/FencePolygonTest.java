@@ -0,0 +1,50 @@
+package com.rental.saas.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FencePolygonTest {
+
+    @Test
+    public void testContainsWithArrayCoordinates() {
+        FencePolygon polygon = FencePolygon.parse(
+                "[[116.30,39.85],[116.50,39.85],[116.50,40.00],[116.30,40.00]]");
+
+        assertNotNull(polygon);
+        assertTrue(polygon.contains(116.40, 39.90));
+        assertFalse(polygon.contains(116.60, 39.90));
+        assertFalse(polygon.contains(116.40, 40.10));
+    }
+
+    @Test
+    public void testContainsConcavePolygon() {
+        // L形围栏，右上角不在围栏内
+        FencePolygon polygon = FencePolygon.parse(
+                "[{\"lng\":0,\"lat\":0},{\"lng\":2,\"lat\":0},{\"lng\":2,\"lat\":1},"
+                        + "{\"lng\":1,\"lat\":1},{\"lng\":1,\"lat\":2},{\"lng\":0,\"lat\":2}]");
+
+        assertNotNull(polygon);
+        assertTrue(polygon.contains(0.5, 1.5));
+        assertTrue(polygon.contains(1.5, 0.5));
+        assertFalse(polygon.contains(1.5, 1.5));
+    }
+
+    @Test
+    public void testIntersectsBoundingBox() {
+        FencePolygon polygon = FencePolygon.parse(
+                "[[116.30,39.85],[116.50,39.85],[116.50,40.00],[116.30,40.00]]");
+
+        assertNotNull(polygon);
+        assertTrue(polygon.intersects(116.45, 39.95, 116.60, 40.10));
+        assertFalse(polygon.intersects(116.55, 39.95, 116.60, 40.10));
+    }
+
+    @Test
+    public void testParseInvalidCoordinates() {
+        assertNull(FencePolygon.parse(null));
+        assertNull(FencePolygon.parse(""));
+        assertNull(FencePolygon.parse("not json"));
+        assertNull(FencePolygon.parse("[[116.30,39.85],[116.50,39.85]]"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.rental.saas.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoHashTest {
+
+    @Test
+    public void testEncode() {
+        assertEquals("ezs42", GeoHash.encode(-5.6, 42.6, 5));
+        assertEquals("wtw3s", GeoHash.encode(121.48, 31.22, 5));
+    }
+
+    @Test
+    public void testBoundsContainEncodedPoint() {
+        GeoHash.Bounds bounds = GeoHash.bounds(GeoHash.encode(121.48, 31.22, 5));
+
+        assertTrue(bounds.minLongitude() <= 121.48 && 121.48 <= bounds.maxLongitude());
+        assertTrue(bounds.minLatitude() <= 31.22 && 31.22 <= bounds.maxLatitude());
+        assertEquals("wtw3s", GeoHash.encode(bounds.centerLongitude(), bounds.centerLatitude(), 5));
+        // 5位精度网格约4.9公里见方
+        assertTrue(bounds.halfDiagonalKm() < 3.5);
+    }
+
+    @Test
+    public void testInvalidHash() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.bounds("wtw3a"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.rental.saas.common.response;
+
+import com.rental.saas.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPaginationTest {
+
+    @Test
+    public void testCursorRoundTrip() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 1, 12, 0, 30, 123000000), 100L);
+        String encoded = cursor.encode();
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"));
+        assertEquals(cursor, PageCursor.decode(encoded));
+    }
+
+    @Test
+    public void testDecodeInvalid() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+        assertThrows(BusinessException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(BusinessException.class, () -> PageCursor.decode("MjAyNC0wMS0wMVQxMjowMA"));
+    }
+
+    @Test
+    public void testToResponse() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Long> rows = List.of(5L, 4L, 3L);
+
+        // 多查出的一条表示还有下一页，游标指向本页最后一条
+        PageResponse<String> page = CursorPagination.toResponse(rows, 2,
+                id -> new PageCursor(time, id), id -> "v" + id, true, null);
+        assertEquals(List.of("v5", "v4"), page.getRecords());
+        assertTrue(page.getHasNext());
+        assertFalse(page.getHasPrevious());
+        assertEquals(new PageCursor(time, 4L), PageCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotal());
+
+        PageResponse<String> last = CursorPagination.toResponse(List.of(3L), 2,
+                id -> new PageCursor(time, id), id -> "v" + id, false, 3L);
+        assertEquals(List.of("v3"), last.getRecords());
+        assertFalse(last.getHasNext());
+        assertTrue(last.getHasPrevious());
+        assertNull(last.getNextCursor());
+        assertEquals(3L, last.getTotal());
+        assertEquals(2, last.getPages());
+    }
+
+    @Test
+    public void testPageSize() {
+        assertEquals(1, CursorPagination.pageSize(0));
+        assertEquals(20, CursorPagination.pageSize(20));
+        assertEquals(CursorPagination.MAX_PAGE_SIZE, CursorPagination.pageSize(10000));
+    }
+}
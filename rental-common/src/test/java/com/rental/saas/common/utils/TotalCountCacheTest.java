@@ -0,0 +1,39 @@
+package com.rental.saas.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TotalCountCacheTest {
+
+    @Test
+    public void testCachedWithinTtl() {
+        TotalCountCache cache = new TotalCountCache(Duration.ofMinutes(1), 10);
+        AtomicInteger counts = new AtomicInteger();
+        assertEquals(42, cache.get("1:a", () -> counts.incrementAndGet() * 42L));
+        assertEquals(42, cache.get("1:a", () -> counts.incrementAndGet() * 42L));
+        assertEquals(1, counts.get());
+        assertEquals(7, cache.get("1:b", () -> 7L));
+    }
+
+    @Test
+    public void testExpired() throws InterruptedException {
+        TotalCountCache cache = new TotalCountCache(Duration.ofMillis(1), 10);
+        assertEquals(1, cache.get("k", () -> 1L));
+        Thread.sleep(5);
+        assertEquals(2, cache.get("k", () -> 2L));
+    }
+
+    @Test
+    public void testMaxEntries() {
+        TotalCountCache cache = new TotalCountCache(Duration.ofMinutes(1), 3);
+        for (long i = 0; i < 10; i++) {
+            long count = i;
+            cache.get("k" + i, () -> count);
+            assertTrue(cache.size() <= 3);
+        }
+    }
+}
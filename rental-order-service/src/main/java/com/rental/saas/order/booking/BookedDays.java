@@ -0,0 +1,61 @@
+package com.rental.saas.order.booking;
+
+import com.rental.saas.common.enums.OrderStatus;
+import com.rental.saas.order.entity.Order;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 订单占用商品车辆的日期区间 [startDate, endDate)
+ * 按天计算，还车当天不占用，可供下一单取车；取还车在同一天时占用一天。
+ * <ul>
+ *     <li>待支付、待取车：按预定的取还车日期占用</li>
+ *     <li>已取车：提前取车时从实际取车日期开始占用</li>
+ *     <li>已完成：提前还车时在实际还车日期释放</li>
+ *     <li>已取消：不占用</li>
+ * </ul>
+ *
+ * @author Rental SaaS Team
+ */
+public record BookedDays(LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * 计算订单占用的日期区间
+     * @return 订单不占用车辆时返回null
+     */
+    public static BookedDays of(Order order) {
+        OrderStatus status = OrderStatus.getByCode(order.getOrderStatus());
+        if (status == null || status == OrderStatus.CANCELLED
+                || order.getStartTime() == null || order.getEndTime() == null) {
+            return null;
+        }
+        LocalDate startDate = earlier(order.getStartTime(), order.getActualPickupTime());
+        LocalDate endDate = order.getEndTime().toLocalDate();
+        if (status == OrderStatus.COMPLETED && order.getActualReturnTime() != null) {
+            endDate = earlier(order.getEndTime(), order.getActualReturnTime());
+            if (!endDate.isAfter(startDate)) {
+                // 取车当天即还车，车辆已释放
+                return null;
+            }
+        }
+        if (!endDate.isAfter(startDate)) {
+            endDate = startDate.plusDays(1);
+        }
+        return new BookedDays(startDate, endDate);
+    }
+
+    /**
+     * 与 [from, to) 是否有重叠
+     */
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return startDate.isBefore(to) && endDate.isAfter(from);
+    }
+
+    private static LocalDate earlier(LocalDateTime planned, LocalDateTime actual) {
+        if (actual == null || !actual.isBefore(planned)) {
+            return planned.toLocalDate();
+        }
+        return actual.toLocalDate();
+    }
+}
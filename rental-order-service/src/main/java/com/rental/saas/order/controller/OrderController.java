@@ -62,12 +62,20 @@ public class OrderController {
             @Parameter(description = "每页条数") @RequestParam(defaultValue = "10") Integer size,
             @Parameter(description = "订单号") @RequestParam(required = false) String orderNo,
             @Parameter(description = "订单状态") @RequestParam(required = false) Integer status,
+            @Parameter(description = "游标，传入时按游标分页并忽略当前页码，第一页传空字符串") @RequestParam(required = false) String cursor,
+            @Parameter(description = "游标分页时是否返回总数") @RequestParam(defaultValue = "false") Boolean withTotal,
             @RequestHeader("X-Tenant-Id") Long tenantId) {
         
         log.info("获取订单列表: tenantId={}, current={}, size={}, orderNo={}, status={}", 
                 tenantId, current, size, orderNo, status);
         
         try {
+            if (cursor != null) {
+                PageResponse<Order> response = orderService.getOrdersByTenantIdByCursor(
+                        tenantId, cursor, size, orderNo, status, withTotal);
+                log.info("游标获取订单列表成功，本页{}条记录", response.getRecords().size());
+                return ApiResponse.success(response);
+            }
             IPage<Order> page = orderService.getOrdersByTenantId(tenantId, current, size, orderNo, status);
             PageResponse<Order> response = PageResponse.of(page);
             log.info("获取订单列表成功，共{}条记录", page.getTotal());
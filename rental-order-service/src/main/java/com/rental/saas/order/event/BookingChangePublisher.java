@@ -0,0 +1,70 @@
+package com.rental.saas.order.event;
+
+import com.rental.saas.common.constant.CommonConstant;
+import com.rental.saas.order.booking.BookedDays;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * 订单占用变更通知发布者
+ * 订单的占用日期区间变化时，在事务提交后通过Redis发布增量：旧区间减一、新区间加一，
+ * 定价服务据此增量维护商品库存索引，并按订单ID忽略加载时已包含该订单的重复通知。
+ * 通知只是尽力而为，发布失败时依赖订阅方索引的过期时间兜底。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingChangePublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 订单占用发生变更
+     * @param productId 商品ID
+     * @param orderId 订单ID
+     * @param before 变更前的占用区间，不占用时为null
+     * @param after 变更后的占用区间，不占用时为null
+     */
+    public void publishBookingChanged(Long productId, Long orderId, BookedDays before, BookedDays after) {
+        if (productId == null || orderId == null || Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            publish(productId, orderId, before, -1);
+        }
+        if (after != null) {
+            publish(productId, orderId, after, 1);
+        }
+    }
+
+    private void publish(Long productId, Long orderId, BookedDays days, int delta) {
+        String message = CommonConstant.DATA_CHANGE_BOOKING + ":" + productId + ":"
+                + days.startDate().toEpochDay() + ":" + days.endDate().toEpochDay() + ":" + delta + ":" + orderId;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    private void send(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(CommonConstant.CHANNEL_DATA_CHANGE, message);
+        } catch (Exception e) {
+            log.warn("发布订单占用变更通知失败, message={}", message, e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rental.saas.order.feign;
+
+import com.rental.api.order.response.BookingResponse;
+import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.order.booking.BookedDays;
+import com.rental.saas.order.entity.Order;
+import com.rental.saas.order.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class BookingController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @GetMapping("/api/feign/orders/bookings")
+    public ApiResponse<Map<Long, List<BookingResponse>>> getBookingsByProducts(
+            @RequestParam("ids") List<Long> productIds,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // 一次查询所有商品在日期范围内的有效订单，计算占用区间后按商品分组
+        List<Order> orders = orderService.listActiveOrdersByProducts(productIds, startDate, endDate);
+        Map<Long, List<BookingResponse>> responses = new LinkedHashMap<>();
+        for (Order order : orders) {
+            BookedDays days = BookedDays.of(order);
+            if (days == null || !days.overlaps(startDate, endDate)) {
+                continue;
+            }
+            BookingResponse response = new BookingResponse();
+            response.setOrderId(order.getId());
+            response.setProductId(order.getProductId());
+            response.setStartDate(days.startDate());
+            response.setEndDate(days.endDate());
+            responses.computeIfAbsent(order.getProductId(), id -> new ArrayList<>()).add(response);
+        }
+        
+        return ApiResponse.success("查询成功", responses);
+    }
+}
@@ -3,10 +3,15 @@ package com.rental.saas.order.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.rental.saas.common.enums.OrderStatus;
+import com.rental.saas.common.response.PageResponse;
 import com.rental.saas.order.dto.CreateOrderRequest;
 import com.rental.saas.order.entity.Order;
 import com.rental.saas.order.entity.OrderStatusLog;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 订单服务接口
  * 
@@ -44,6 +49,20 @@ public interface OrderService extends IService<Order> {
      */
     IPage<Order> getOrdersByTenantId(Long tenantId, Integer current, Integer size, String orderNo, Integer status);
 
+    /**
+     * 游标分页查询订单列表，按下单时间和ID倒序
+     * 
+     * @param tenantId 租户ID
+     * @param cursor 上一页返回的游标，第一页为空
+     * @param size 每页条数
+     * @param orderNo 订单号（可选）
+     * @param status 订单状态（可选）
+     * @param withTotal 是否返回总数（缓存的统计结果）
+     * @return 订单分页数据
+     */
+    PageResponse<Order> getOrdersByTenantIdByCursor(Long tenantId, String cursor, Integer size, String orderNo,
+                                                    Integer status, boolean withTotal);
+
     /**
      * 根据用户ID分页查询订单列表
      * 
@@ -147,4 +166,14 @@ public interface OrderService extends IService<Order> {
      * @return 今日收入
      */
     double sumTodayRevenueByTenantId(Long tenantId);
+
+    /**
+     * 批量查询多个商品在日期范围内可能占用车辆的订单(未取消)
+     * 
+     * @param productIds 商品ID列表
+     * @param startDate 开始日期
+     * @param endDate 结束日期(不含)
+     * @return 订单列表
+     */
+    List<Order> listActiveOrdersByProducts(Collection<Long> productIds, LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
@@ -11,9 +11,15 @@ import com.rental.api.pricing.dto.QuoteDetailResponse;
 import com.rental.saas.common.enums.OrderStatus;
 import com.rental.saas.common.enums.PickupType;
 import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.CursorPagination;
+import com.rental.saas.common.response.PageCursor;
+import com.rental.saas.common.response.PageResponse;
+import com.rental.saas.common.utils.TotalCountCache;
+import com.rental.saas.order.booking.BookedDays;
 import com.rental.saas.order.dto.CreateOrderRequest;
 import com.rental.saas.order.entity.Order;
 import com.rental.saas.order.entity.OrderStatusLog;
+import com.rental.saas.order.event.BookingChangePublisher;
 import com.rental.saas.order.mapper.OrderMapper;
 import com.rental.saas.order.mapper.OrderStatusLogMapper;
 import com.rental.saas.order.service.OrderService;
@@ -23,9 +29,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -41,8 +49,14 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
     private final OrderMapper orderMapper;
     private final OrderStatusLogMapper orderStatusLogMapper;
     private final PriceClient pricingClient;
+    private final BookingChangePublisher bookingChangePublisher;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * 游标分页的总数缓存，同一查询条件1分钟内只统计一次
+     */
+    private final TotalCountCache totalCountCache = new TotalCountCache(Duration.ofMinutes(1), 10000);
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Order createOrder(CreateOrderRequest request) {
@@ -109,6 +123,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             
             // 记录状态变更日志
             recordStatusChange(order.getId(), null, OrderStatus.PENDING_PAYMENT, "创建订单", 0L, "系统");
+            bookingChangePublisher.publishBookingChanged(order.getProductId(), order.getId(), null, BookedDays.of(order));
             
             log.info("订单创建成功: orderId={}, orderNo={}", order.getId(), orderNo);
             return order;
@@ -181,10 +196,12 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             }
             
             // 更新订单状态
+            BookedDays bookedDays = BookedDays.of(order);
             OrderStatus newStatus = OrderStatus.CANCELLED;
             order.setOrderStatus(newStatus.getCode());
             order.setCancelTime(LocalDateTime.now());
             orderMapper.updateById(order);
+            bookingChangePublisher.publishBookingChanged(order.getProductId(), order.getId(), bookedDays, null);
             
             // 记录状态变更日志
             recordStatusChange(id, currentStatus, newStatus, "用户取消订单", operatorId, operatorName);
@@ -209,6 +226,35 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
 
     @Override
     public IPage<Order> getOrdersByTenantId(Long tenantId, Integer current, Integer size, String orderNo, Integer status) {
+        LambdaQueryWrapper<Order> queryWrapper = tenantOrderWrapper(tenantId, orderNo, status);
+        queryWrapper.orderByDesc(Order::getCreateTime);
+        
+        Page<Order> page = new Page<>(current, size);
+        return orderMapper.selectPage(page, queryWrapper);
+    }
+
+    @Override
+    public PageResponse<Order> getOrdersByTenantIdByCursor(Long tenantId, String cursor, Integer size, String orderNo,
+                                                           Integer status, boolean withTotal) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        LambdaQueryWrapper<Order> queryWrapper = tenantOrderWrapper(tenantId, orderNo, status);
+        CursorPagination.apply(queryWrapper, Order::getCreateTime, Order::getId, pageCursor, size);
+        List<Order> orders = orderMapper.selectList(queryWrapper);
+
+        Long total = null;
+        if (withTotal) {
+            String key = tenantId + ":" + orderNo + ":" + status;
+            total = totalCountCache.get(key, () -> orderMapper.selectCount(tenantOrderWrapper(tenantId, orderNo, status)));
+        }
+        return CursorPagination.toResponse(orders, size,
+                order -> new PageCursor(order.getCreateTime(), order.getId()),
+                order -> order, pageCursor == null, total);
+    }
+
+    /**
+     * 租户订单列表的筛选条件
+     */
+    private LambdaQueryWrapper<Order> tenantOrderWrapper(Long tenantId, String orderNo, Integer status) {
         LambdaQueryWrapper<Order> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(Order::getTenantId, tenantId);
         queryWrapper.eq(Order::getDeleted, 0);
@@ -220,11 +266,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         if (status != null) {
             queryWrapper.eq(Order::getOrderStatus, status);
         }
-        
-        queryWrapper.orderByDesc(Order::getCreateTime);
-        
-        Page<Order> page = new Page<>(current, size);
-        return orderMapper.selectPage(page, queryWrapper);
+        return queryWrapper;
     }
 
     @Override
@@ -323,11 +365,13 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             throw new BusinessException("当前订单状态不支持确认取车");
         }
         
-        // 更新订单状态
+        // 更新订单状态，提前取车时占用提前到实际取车日期
+        BookedDays bookedDays = BookedDays.of(order);
         OrderStatus newStatus = OrderStatus.PICKED_UP;
         order.setOrderStatus(newStatus.getCode());
         order.setActualPickupTime(LocalDateTime.now());
         orderMapper.updateById(order);
+        bookingChangePublisher.publishBookingChanged(order.getProductId(), order.getId(), bookedDays, BookedDays.of(order));
         
         // 记录状态变更日志
         recordStatusChange(id, currentStatus, newStatus, "确认取车", operatorId, operatorName);
@@ -351,11 +395,13 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             throw new BusinessException("当前订单状态不支持确认还车");
         }
         
-        // 更新订单状态
+        // 更新订单状态，提前还车时释放剩余日期的占用
+        BookedDays bookedDays = BookedDays.of(order);
         OrderStatus newStatus = OrderStatus.COMPLETED;
         order.setOrderStatus(newStatus.getCode());
         order.setActualReturnTime(LocalDateTime.now());
         orderMapper.updateById(order);
+        bookingChangePublisher.publishBookingChanged(order.getProductId(), order.getId(), bookedDays, BookedDays.of(order));
         
         // 记录状态变更日志
         recordStatusChange(id, currentStatus, newStatus, "确认还车", operatorId, operatorName);
@@ -450,4 +496,23 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         }
         return 0.0;
     }
+    
+    @Override
+    public List<Order> listActiveOrdersByProducts(Collection<Long> productIds, LocalDate startDate, LocalDate endDate) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // 取车日期早于结束日期、还车日期不早于开始日期的未取消订单，占用区间由调用方按订单状态计算
+        LambdaQueryWrapper<Order> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(Order::getId, Order::getProductId, Order::getOrderStatus, Order::getStartTime,
+                Order::getEndTime, Order::getActualPickupTime, Order::getActualReturnTime);
+        queryWrapper.in(Order::getProductId, productIds);
+        queryWrapper.ne(Order::getOrderStatus, OrderStatus.CANCELLED.getCode());
+        queryWrapper.lt(Order::getStartTime, endDate.atStartOfDay());
+        queryWrapper.ge(Order::getEndTime, startDate.atStartOfDay());
+        queryWrapper.eq(Order::getDeleted, 0);
+        
+        return orderMapper.selectList(queryWrapper);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,2 @@
+-- 按商品和取还车时间查询订单占用，定价服务加载商品库存索引时使用
+CREATE INDEX idx_product_time_range ON rental_order (product_id, start_time, end_time);
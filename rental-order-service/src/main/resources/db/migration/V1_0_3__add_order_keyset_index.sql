@@ -0,0 +1,2 @@
+-- 租户订单列表游标分页按 (create_time, id) 倒序，复合索引使翻页只扫描当前页记录
+CREATE INDEX idx_tenant_create_id ON rental_order (tenant_id, deleted, create_time, id);
@@ -0,0 +1,187 @@
+package com.rental.saas.pricing.codec;
+
+import com.rental.api.pricing.entity.Quote;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 报价二进制格式 V1
+ * 字段按固定顺序写入，不写字段名；头部是非空字段位图，空字段不占空间。
+ * 字段只能在末尾追加（旧实例读取时忽略末尾不认识的字段），删除或调整顺序需要新增版本。
+ */
+public class BinaryQuoteCodecV1 implements QuoteCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int TENANT_ID = 1 << 1;
+    private static final int PRODUCT_ID = 1 << 2;
+    private static final int PRODUCT_NAME = 1 << 3;
+    private static final int MODEL_ID = 1 << 4;
+    private static final int MODEL_NAME = 1 << 5;
+    private static final int STORE_ID = 1 << 6;
+    private static final int STORE_NAME = 1 << 7;
+    private static final int DAILY_RATE = 1 << 8;
+    private static final int PICKUP_FEE = 1 << 9;
+    private static final int RETURN_FEE = 1 << 10;
+    private static final int STORE_FEE = 1 << 11;
+    private static final int BASE_PROTECTION_PRICE = 1 << 12;
+    private static final int TOTAL_PRICE = 1 << 13;
+    private static final int DELIVERY_TYPE = 1 << 14;
+    private static final int DAMAGE_DEPOSIT = 1 << 15;
+    private static final int VIOLATION_DEPOSIT = 1 << 16;
+    private static final int RENTAL_DAYS = 1 << 17;
+    private static final int RENTAL_PRICE = 1 << 18;
+    private static final int DAILY_PRICES = 1 << 19;
+
+    @Override
+    public byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public void encode(Quote quote, BinaryWriter writer) {
+        int mask = 0;
+        mask |= quote.getId() != null ? ID : 0;
+        mask |= quote.getTenantId() != null ? TENANT_ID : 0;
+        mask |= quote.getProductId() != null ? PRODUCT_ID : 0;
+        mask |= quote.getProductName() != null ? PRODUCT_NAME : 0;
+        mask |= quote.getModelId() != null ? MODEL_ID : 0;
+        mask |= quote.getModelName() != null ? MODEL_NAME : 0;
+        mask |= quote.getStoreId() != null ? STORE_ID : 0;
+        mask |= quote.getStoreName() != null ? STORE_NAME : 0;
+        mask |= quote.getDailyRate() != null ? DAILY_RATE : 0;
+        mask |= quote.getPickupFee() != null ? PICKUP_FEE : 0;
+        mask |= quote.getReturnFee() != null ? RETURN_FEE : 0;
+        mask |= quote.getStoreFee() != null ? STORE_FEE : 0;
+        mask |= quote.getBaseProtectionPrice() != null ? BASE_PROTECTION_PRICE : 0;
+        mask |= quote.getTotalPrice() != null ? TOTAL_PRICE : 0;
+        mask |= quote.getDeliveryType() != null ? DELIVERY_TYPE : 0;
+        mask |= quote.getDamageDeposit() != null ? DAMAGE_DEPOSIT : 0;
+        mask |= quote.getViolationDeposit() != null ? VIOLATION_DEPOSIT : 0;
+        mask |= quote.getRentalDays() != null ? RENTAL_DAYS : 0;
+        mask |= quote.getRentalPrice() != null ? RENTAL_PRICE : 0;
+        mask |= quote.getDailyPrices() != null ? DAILY_PRICES : 0;
+        writer.writeVarLong(mask);
+
+        writeString(writer, quote.getId());
+        writeLong(writer, quote.getTenantId());
+        writeLong(writer, quote.getProductId());
+        writeString(writer, quote.getProductName());
+        writeLong(writer, quote.getModelId());
+        writeString(writer, quote.getModelName());
+        writeLong(writer, quote.getStoreId());
+        writeString(writer, quote.getStoreName());
+        writeDecimal(writer, quote.getDailyRate());
+        writeDecimal(writer, quote.getPickupFee());
+        writeDecimal(writer, quote.getReturnFee());
+        writeDecimal(writer, quote.getStoreFee());
+        writeDecimal(writer, quote.getBaseProtectionPrice());
+        writeDecimal(writer, quote.getTotalPrice());
+        writeString(writer, quote.getDeliveryType());
+        writeDecimal(writer, quote.getDamageDeposit());
+        writeDecimal(writer, quote.getViolationDeposit());
+        if (quote.getRentalDays() != null) {
+            writer.writeZigZagLong(quote.getRentalDays());
+        }
+        writeDecimal(writer, quote.getRentalPrice());
+        if (quote.getDailyPrices() != null) {
+            writer.writeVarLong(quote.getDailyPrices().size());
+            for (BigDecimal price : quote.getDailyPrices()) {
+                writer.writeDecimal(price);
+            }
+        }
+    }
+
+    @Override
+    public Quote decode(BinaryReader reader) {
+        int mask = (int) reader.readVarLong();
+        Quote quote = new Quote();
+        if ((mask & ID) != 0) {
+            quote.setId(reader.readString());
+        }
+        if ((mask & TENANT_ID) != 0) {
+            quote.setTenantId(reader.readZigZagLong());
+        }
+        if ((mask & PRODUCT_ID) != 0) {
+            quote.setProductId(reader.readZigZagLong());
+        }
+        if ((mask & PRODUCT_NAME) != 0) {
+            quote.setProductName(reader.readString());
+        }
+        if ((mask & MODEL_ID) != 0) {
+            quote.setModelId(reader.readZigZagLong());
+        }
+        if ((mask & MODEL_NAME) != 0) {
+            quote.setModelName(reader.readString());
+        }
+        if ((mask & STORE_ID) != 0) {
+            quote.setStoreId(reader.readZigZagLong());
+        }
+        if ((mask & STORE_NAME) != 0) {
+            quote.setStoreName(reader.readString());
+        }
+        if ((mask & DAILY_RATE) != 0) {
+            quote.setDailyRate(reader.readDecimal());
+        }
+        if ((mask & PICKUP_FEE) != 0) {
+            quote.setPickupFee(reader.readDecimal());
+        }
+        if ((mask & RETURN_FEE) != 0) {
+            quote.setReturnFee(reader.readDecimal());
+        }
+        if ((mask & STORE_FEE) != 0) {
+            quote.setStoreFee(reader.readDecimal());
+        }
+        if ((mask & BASE_PROTECTION_PRICE) != 0) {
+            quote.setBaseProtectionPrice(reader.readDecimal());
+        }
+        if ((mask & TOTAL_PRICE) != 0) {
+            quote.setTotalPrice(reader.readDecimal());
+        }
+        if ((mask & DELIVERY_TYPE) != 0) {
+            quote.setDeliveryType(reader.readString());
+        }
+        if ((mask & DAMAGE_DEPOSIT) != 0) {
+            quote.setDamageDeposit(reader.readDecimal());
+        }
+        if ((mask & VIOLATION_DEPOSIT) != 0) {
+            quote.setViolationDeposit(reader.readDecimal());
+        }
+        if ((mask & RENTAL_DAYS) != 0) {
+            quote.setRentalDays((int) reader.readZigZagLong());
+        }
+        if ((mask & RENTAL_PRICE) != 0) {
+            quote.setRentalPrice(reader.readDecimal());
+        }
+        if ((mask & DAILY_PRICES) != 0) {
+            int size = (int) reader.readVarLong();
+            List<BigDecimal> dailyPrices = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                dailyPrices.add(reader.readDecimal());
+            }
+            quote.setDailyPrices(dailyPrices);
+        }
+        return quote;
+    }
+
+    private static void writeString(BinaryWriter writer, String value) {
+        if (value != null) {
+            writer.writeString(value);
+        }
+    }
+
+    private static void writeLong(BinaryWriter writer, Long value) {
+        if (value != null) {
+            writer.writeZigZagLong(value);
+        }
+    }
+
+    private static void writeDecimal(BinaryWriter writer, BigDecimal value) {
+        if (value != null) {
+            writer.writeDecimal(value);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.rental.saas.pricing.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑二进制输入，与 {@link BinaryWriter} 对应
+ */
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalStateException("报价缓存数据不完整");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("报价缓存数据格式错误");
+    }
+
+    public long readZigZagLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public String readString() {
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        int scale = (int) readZigZagLong();
+        if (readByte() == 0) {
+            return BigDecimal.valueOf(readZigZagLong(), scale);
+        }
+        int length = readLength();
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+    private int readLength() {
+        long length = readVarLong();
+        if (length < 0 || length > buffer.length - position) {
+            throw new IllegalStateException("报价缓存数据不完整");
+        }
+        return (int) length;
+    }
+}
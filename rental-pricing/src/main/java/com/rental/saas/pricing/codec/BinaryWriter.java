@@ -0,0 +1,80 @@
+package com.rental.saas.pricing.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑二进制输出，整数使用变长编码
+ */
+public final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * 无符号变长整数
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 有符号变长整数(ZigZag)
+     */
+    public void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * 小数：精度 + 非标度值，非标度值超出long范围时按补码字节写入
+     */
+    public void writeDecimal(BigDecimal value) {
+        writeZigZagLong(value.scale());
+        if (value.unscaledValue().bitLength() < 63) {
+            writeByte(0);
+            writeZigZagLong(value.unscaledValue().longValue());
+        } else {
+            byte[] bytes = value.unscaledValue().toByteArray();
+            writeByte(1);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
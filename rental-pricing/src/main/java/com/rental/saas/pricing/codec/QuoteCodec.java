@@ -0,0 +1,29 @@
+package com.rental.saas.pricing.codec;
+
+import com.rental.api.pricing.entity.Quote;
+
+/**
+ * 报价缓存编解码器
+ * 每个实现对应一个格式版本，版本号写在缓存值头部，升级格式时新旧版本可同时读取
+ */
+public interface QuoteCodec {
+
+    /**
+     * 格式版本号
+     */
+    byte version();
+
+    /**
+     * 编码报价，不包含头部
+     * @param quote 报价
+     * @param writer 输出
+     */
+    void encode(Quote quote, BinaryWriter writer);
+
+    /**
+     * 解码报价，不包含头部
+     * @param reader 输入
+     * @return 报价
+     */
+    Quote decode(BinaryReader reader);
+}
@@ -0,0 +1,77 @@
+package com.rental.saas.pricing.codec;
+
+import com.rental.api.pricing.entity.Quote;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 报价缓存值序列化器
+ * 报价使用紧凑二进制格式写入：[魔数][版本号][数据]；其他对象以及关闭二进制写入时仍使用JSON。
+ * 读取时按头部识别格式，灰度发布期间新旧实例写入的JSON和二进制数据都能正确读取。
+ */
+public class QuoteRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 二进制格式魔数，JSON数据以'{'或'['开头，不会与之冲突
+     */
+    static final byte MAGIC = (byte) 0xB1;
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+
+    private final QuoteCodec writeCodec;
+
+    private final Map<Byte, QuoteCodec> readCodecs = new HashMap<>();
+
+    /**
+     * @param writeCodec 写入使用的编解码器，为null时写入JSON
+     * @param readCodecs 可读取的编解码器
+     */
+    public QuoteRedisSerializer(QuoteCodec writeCodec, List<QuoteCodec> readCodecs) {
+        this.writeCodec = writeCodec;
+        for (QuoteCodec codec : readCodecs) {
+            this.readCodecs.put(codec.version(), codec);
+        }
+        if (writeCodec != null) {
+            this.readCodecs.put(writeCodec.version(), writeCodec);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeCodec == null || !(value instanceof Quote)) {
+            return jsonSerializer.serialize(value);
+        }
+        BinaryWriter writer = new BinaryWriter(128);
+        writer.writeByte(MAGIC);
+        writer.writeByte(writeCodec.version());
+        writeCodec.encode((Quote) value, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < 2) {
+            throw new SerializationException("报价缓存数据不完整");
+        }
+        QuoteCodec codec = readCodecs.get(bytes[1]);
+        if (codec == null) {
+            throw new SerializationException("不支持的报价缓存格式版本: " + bytes[1]);
+        }
+        try {
+            return codec.decode(new BinaryReader(bytes, 2));
+        } catch (RuntimeException e) {
+            throw new SerializationException("报价缓存数据解析失败", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rental.saas.pricing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 报价计算线程池配置
+ * 门店维度的报价计算并发执行，线程数和队列长度有上限，避免大量门店时压垮下游服务
+ */
+@Configuration
+public class PricingExecutorConfig {
+
+    @Value("${app.pricing.quote-executor.pool-size:32}")
+    private int poolSize;
+
+    @Value("${app.pricing.quote-executor.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${app.pricing.stream.pool-size:16}")
+    private int streamPoolSize;
+
+    @Value("${app.pricing.stream.queue-capacity:64}")
+    private int streamQueueCapacity;
+
+    @Value("${app.pricing.downstream.pool-size:128}")
+    private int downstreamPoolSize;
+
+    @Bean(name = "quoteExecutor", destroyMethod = "shutdown")
+    public ExecutorService quoteExecutor() {
+        // 队列满时由调用线程执行，起到背压作用
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory("quote-worker-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 流式搜索线程池，每个流式请求占用一个线程直到推送结束
+     * 与报价计算线程池分开，避免等待商品查询的流式任务占满报价计算线程；队列满时拒绝新的流式请求
+     */
+    @Bean(name = "quoteStreamExecutor", destroyMethod = "shutdown")
+    public ExecutorService quoteStreamExecutor() {
+        return new ThreadPoolExecutor(streamPoolSize, streamPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(streamQueueCapacity), threadFactory("quote-stream-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 下游调用线程池，调用方按超时时间等待结果，超时后调用在这里继续执行到结束
+     * 不排队，同时进行的调用数由各下游服务的隔离名额限制，线程满时拒绝
+     */
+    @Bean(name = "downstreamExecutor", destroyMethod = "shutdown")
+    public ExecutorService downstreamExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(downstreamPoolSize, downstreamPoolSize, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory("downstream-"), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,24 +1,62 @@
 package com.rental.saas.pricing.config;
 
+import com.rental.saas.common.constant.CommonConstant;
+import com.rental.saas.pricing.codec.BinaryQuoteCodecV1;
+import com.rental.saas.pricing.codec.QuoteCodec;
+import com.rental.saas.pricing.codec.QuoteRedisSerializer;
+import com.rental.saas.pricing.listener.DataChangeListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * Redis配置类
  */
 @Configuration
 public class RedisConfig {
     
+    /**
+     * 报价缓存写入格式：json-JSON，binary-紧凑二进制；两种格式始终都能读取。
+     * 默认JSON，保证滚动发布期间未升级的实例仍能读取新实例写入的缓存
+     */
+    @Value("${app.pricing.quote-codec:json}")
+    private String quoteCodec;
+    
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(quoteRedisSerializer(quoteCodec));
         return template;
     }
-}
\ No newline at end of file
+    
+    /**
+     * 订阅数据变更通知
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       DataChangeListener dataChangeListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(dataChangeListener, new ChannelTopic(CommonConstant.CHANNEL_DATA_CHANGE));
+        return container;
+    }
+    
+    /**
+     * 创建报价缓存值序列化器
+     * @param codec 写入格式
+     * @return 序列化器
+     */
+    public static QuoteRedisSerializer quoteRedisSerializer(String codec) {
+        QuoteCodec binaryCodec = new BinaryQuoteCodecV1();
+        return new QuoteRedisSerializer("json".equalsIgnoreCase(codec) ? null : binaryCodec, List.of(binaryCodec));
+    }
+}
@@ -1,14 +1,30 @@
 package com.rental.saas.pricing.controller;
 
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.common.response.ResponseCode;
 import com.rental.saas.pricing.dto.QuoteRequest;
 import com.rental.saas.pricing.dto.QuoteResponse;
+import com.rental.saas.pricing.dto.QuoteStreamSummary;
 import com.rental.api.pricing.dto.QuoteDetailResponse;
+import com.rental.saas.pricing.metrics.StageTimings;
 import com.rental.saas.pricing.service.PricingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * 定价控制器
@@ -22,18 +38,111 @@ public class PricingController {
     @Autowired
     private PricingService pricingService;
     
+    @Autowired
+    @Qualifier("quoteStreamExecutor")
+    private ExecutorService quoteStreamExecutor;
+    
+    /**
+     * 流式搜索连接超时(毫秒)
+     */
+    @Value("${app.pricing.stream.timeout-ms:30000}")
+    private long streamTimeoutMillis;
+    
+    /**
+     * 是否在响应头 Server-Timing 中返回分阶段耗时
+     */
+    @Value("${app.pricing.metrics.timing-header:false}")
+    private boolean timingHeader;
+    
     @PostMapping("/search")
     @Operation(summary = "搜索报价", description = "根据位置和时间搜索报价")
-    public QuoteResponse searchQuotes(@RequestBody QuoteRequest request) {
+    public QuoteResponse searchQuotes(@RequestBody QuoteRequest request, HttpServletResponse response) {
         log.info("搜索报价请求: date={}, time={}, longitude={}, latitude={}", 
                 request.getDate(), request.getTime(), request.getLongitude(), request.getLatitude());
-        return pricingService.searchQuotes(request);
+        return withServerTiming(response, () -> pricingService.searchQuotes(request));
+    }
+    
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "流式搜索报价", 
+            description = "按门店逐个推送报价(store-quotes事件)，结束时推送汇总(summary事件)，业务异常推送error事件")
+    public SseEmitter searchQuotesStream(@RequestBody QuoteRequest request) {
+        log.info("流式搜索报价请求: date={}, time={}, longitude={}, latitude={}", 
+                request.getDate(), request.getTime(), request.getLongitude(), request.getLatitude());
+        
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        // 客户端断开、超时或出错后不再计算剩余门店
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        
+        try {
+            quoteStreamExecutor.execute(() -> streamQuotes(request, emitter, closed));
+        } catch (RejectedExecutionException e) {
+            log.warn("流式搜索请求过多，已拒绝");
+            throw new BusinessException(ResponseCode.SERVICE_UNAVAILABLE);
+        }
+        return emitter;
     }
     
     @GetMapping("/quote/{id}")
     @Operation(summary = "获取报价详情", description = "根据报价ID获取报价详情")
-    public QuoteDetailResponse getQuoteDetail(@PathVariable String id) {
+    public QuoteDetailResponse getQuoteDetail(@PathVariable String id, HttpServletResponse response) {
         log.info("获取报价详情请求: id={}", id);
-        return pricingService.getQuoteDetail(id);
+        return withServerTiming(response, () -> pricingService.getQuoteDetail(id));
+    }
+    
+    /**
+     * 开启时记录请求的分阶段耗时并写入 Server-Timing 响应头，响应体在返回后才写出，此时仍可设置响应头
+     */
+    private <T> T withServerTiming(HttpServletResponse response, Supplier<T> action) {
+        if (!timingHeader) {
+            return action.get();
+        }
+        StageTimings timings = StageTimings.begin();
+        try {
+            return action.get();
+        } finally {
+            response.setHeader("Server-Timing", timings.toServerTiming());
+            StageTimings.end();
+        }
+    }
+    
+    /**
+     * 执行流式搜索并推送事件
+     * send 在客户端接收缓慢时阻塞，报价计算随之放慢；推送失败视为客户端已断开
+     */
+    private void streamQuotes(QuoteRequest request, SseEmitter emitter, AtomicBoolean closed) {
+        try {
+            QuoteStreamSummary summary = pricingService.streamQuotes(request, storeQuotes -> 
+                    !closed.get() && send(emitter, closed, "store-quotes", storeQuotes));
+            if (send(emitter, closed, "summary", summary)) {
+                emitter.complete();
+            }
+        } catch (BusinessException e) {
+            log.warn("流式搜索业务异常: code={}, message={}", e.getCode(), e.getMessage());
+            if (send(emitter, closed, "error", ApiResponse.error(e.getCode(), e.getMessage()))) {
+                emitter.complete();
+            }
+        } catch (Exception e) {
+            log.error("流式搜索报价失败", e);
+            if (!closed.get()) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+    
+    private static boolean send(SseEmitter emitter, AtomicBoolean closed, String name, Object data) {
+        if (closed.get()) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("流式搜索推送失败，客户端已断开: {}", e.getMessage());
+            closed.set(true);
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
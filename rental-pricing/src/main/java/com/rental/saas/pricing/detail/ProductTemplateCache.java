@@ -0,0 +1,149 @@
+package com.rental.saas.pricing.detail;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rental.api.product.ProductClient;
+import com.rental.api.product.response.CancellationRuleTemplateResponse;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.ServicePolicyTemplateResponse;
+import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
+import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.pricing.downstream.DownstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 商品及模板本地缓存
+ * 报价详情所需的商品、增值服务模板、取消规则模板和服务政策模板按ID缓存，未命中时调用商品服务加载。
+ * 商品服务在数据变更后发布通知，收到后失效对应条目，过期时间兜底。
+ * 缓存的对象由多个请求共享，调用方不能修改。
+ */
+@Component
+public class ProductTemplateCache {
+
+    private final ProductClient productClient;
+
+    private final DownstreamGuard downstreamGuard;
+
+    /**
+     * 门店ID:车型ID -> 商品
+     */
+    private final Cache<String, CarModelProductResponse> products;
+
+    private final Cache<Long, ValueAddedServiceTemplateResponse> vasTemplates;
+
+    private final Cache<Long, CancellationRuleTemplateResponse> cancellationTemplates;
+
+    private final Cache<Long, ServicePolicyTemplateResponse> policyTemplates;
+
+    public ProductTemplateCache(ProductClient productClient,
+                                DownstreamGuard downstreamGuard,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.pricing.template-cache.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${app.pricing.template-cache.max-size:10000}") long maxSize) {
+        this.productClient = productClient;
+        this.downstreamGuard = downstreamGuard;
+        this.products = newCache(meterRegistry, "pricing.detail.products", ttlSeconds, maxSize);
+        this.vasTemplates = newCache(meterRegistry, "pricing.detail.vas-templates", ttlSeconds, maxSize);
+        this.cancellationTemplates = newCache(meterRegistry, "pricing.detail.cancellation-templates", ttlSeconds, maxSize);
+        this.policyTemplates = newCache(meterRegistry, "pricing.detail.policy-templates", ttlSeconds, maxSize);
+    }
+
+    /**
+     * 获取门店的车型商品
+     * @return 商品，不存在时返回null
+     */
+    public CarModelProductResponse getProduct(Long storeId, Long modelId) {
+        return products.get(storeId + ":" + modelId,
+                key -> fetch("getProductByStoreAndModel", () -> productClient.getProductByStoreAndModel(storeId, modelId)));
+    }
+
+    /**
+     * 获取增值服务模板
+     * @return 模板，ID为空或不存在时返回null
+     */
+    public ValueAddedServiceTemplateResponse getVasTemplate(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return vasTemplates.get(id, key -> fetch("getValueAddedServiceTemplateById",
+                () -> productClient.getValueAddedServiceTemplateById(key)));
+    }
+
+    /**
+     * 获取取消规则模板
+     * @return 模板，ID为空或不存在时返回null
+     */
+    public CancellationRuleTemplateResponse getCancellationTemplate(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return cancellationTemplates.get(id, key -> fetch("getCancellationRuleTemplateById",
+                () -> productClient.getCancellationRuleTemplateById(key)));
+    }
+
+    /**
+     * 获取服务政策模板
+     * @return 模板，ID为空或不存在时返回null
+     */
+    public ServicePolicyTemplateResponse getPolicyTemplate(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return policyTemplates.get(id, key -> fetch("getServicePolicyTemplateById",
+                () -> productClient.getServicePolicyTemplateById(key)));
+    }
+
+    /**
+     * 失效全部商品，商品按门店和车型缓存，无法按商品ID定位
+     */
+    public void invalidateProducts() {
+        products.invalidateAll();
+    }
+
+    public void invalidateVasTemplate(Long id) {
+        invalidate(vasTemplates, id);
+    }
+
+    public void invalidateCancellationTemplate(Long id) {
+        invalidate(cancellationTemplates, id);
+    }
+
+    public void invalidatePolicyTemplate(Long id) {
+        invalidate(policyTemplates, id);
+    }
+
+    /**
+     * 失效指定模板，ID未知时整体失效
+     */
+    private static void invalidate(Cache<Long, ?> cache, Long id) {
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    private static <K, V> Cache<K, V> newCache(MeterRegistry meterRegistry, String name, long ttlSeconds, long maxSize) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    /**
+     * 经过下游调用保护调用商品服务，返回null的结果不会被缓存
+     */
+    private <T> T fetch(String method, Supplier<ApiResponse<T>> call) {
+        ApiResponse<T> response = downstreamGuard.call("product", method, call);
+        return response != null ? response.getData() : null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.rental.saas.pricing.detail;
+
+import com.rental.api.pricing.dto.QuoteDetailResponse;
+import com.rental.api.pricing.entity.Quote;
+import com.rental.api.product.response.CancellationRuleTemplateResponse;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.ServicePolicyTemplateResponse;
+import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 报价详情组装器
+ * 商品只查询一次，增值服务、取消规则和服务政策模板按商品关联的模板ID从本地缓存获取
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteDetailAssembler {
+
+    private final ProductTemplateCache productTemplateCache;
+    private final PricingMetrics pricingMetrics;
+
+    /**
+     * 组装报价详情
+     * @param quote 报价信息
+     * @return 报价详情响应
+     */
+    public QuoteDetailResponse assemble(Quote quote) {
+        QuoteDetailResponse response = new QuoteDetailResponse();
+        response.setQuote(quote);
+        response.setVasTemplates(new ArrayList<>());
+
+        CarModelProductResponse product;
+        try {
+            product = productTemplateCache.getProduct(quote.getStoreId(), quote.getModelId());
+        } catch (Exception e) {
+            pricingMetrics.feignError("product", "getProductByStoreAndModel", e);
+            log.error("获取报价商品失败, quoteId={}", quote.getId(), e);
+            return response;
+        }
+        if (product == null) {
+            return response;
+        }
+
+        // 获取增值服务模板列表
+        response.setVasTemplates(getValueAddedServiceTemplates(product));
+
+        // 获取取消规则
+        response.setCancellationPolicy(getCancellationRule(product));
+
+        // 获取服务政策
+        response.setServicePolicy(getServicePolicy(product));
+
+        return response;
+    }
+
+    /**
+     * 获取商品关联的增值服务模板列表（标准、VIP、VVIP），按服务类型排序
+     * @param product 商品信息
+     * @return 增值服务模板列表
+     */
+    private List<ValueAddedServiceTemplateResponse> getValueAddedServiceTemplates(CarModelProductResponse product) {
+        List<ValueAddedServiceTemplateResponse> result = new ArrayList<>();
+
+        Set<Long> templateIds = new LinkedHashSet<>();
+        templateIds.add(product.getVasTemplateId());
+        templateIds.add(product.getVasTemplateIdVip());
+        templateIds.add(product.getVasTemplateIdVvip());
+        templateIds.remove(null);
+
+        for (Long templateId : templateIds) {
+            try {
+                ValueAddedServiceTemplateResponse template = productTemplateCache.getVasTemplate(templateId);
+                if (template != null) {
+                    result.add(toValueAddedServiceTemplateResponse(template));
+                }
+            } catch (Exception e) {
+                pricingMetrics.feignError("product", "getValueAddedServiceTemplateById", e);
+                log.error("获取增值服务模板失败, templateId={}", templateId, e);
+            }
+        }
+
+        result.sort(Comparator.comparing(ValueAddedServiceTemplateResponse::getServiceType,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    private static ValueAddedServiceTemplateResponse toValueAddedServiceTemplateResponse(ValueAddedServiceTemplateResponse template) {
+        ValueAddedServiceTemplateResponse dto = new ValueAddedServiceTemplateResponse();
+        dto.setId(template.getId());
+        dto.setTemplateName(template.getTemplateName());
+        dto.setServiceType(template.getServiceType());
+        dto.setPrice(template.getPrice() / 100); // 转换为元
+        dto.setDeductible(template.getDeductible());
+        dto.setIncludeTireDamage(template.getIncludeTireDamage());
+        dto.setIncludeGlassDamage(template.getIncludeGlassDamage());
+        dto.setThirdPartyCoverage(template.getThirdPartyCoverage());
+        dto.setChargeDepreciation(template.getChargeDepreciation());
+        dto.setDepreciationDeductible(template.getDepreciationDeductible());
+        dto.setDepreciationRate(template.getDepreciationRate());
+        return dto;
+    }
+
+    /**
+     * 获取取消规则
+     * @param product 商品信息
+     * @return 取消规则
+     */
+    private CancellationRuleTemplateResponse getCancellationRule(CarModelProductResponse product) {
+        try {
+            CancellationRuleTemplateResponse template =
+                    productTemplateCache.getCancellationTemplate(product.getCancellationTemplateId());
+            if (template == null) {
+                return null;
+            }
+
+            CancellationRuleTemplateResponse dto = new CancellationRuleTemplateResponse();
+            dto.setId(template.getId());
+            dto.setTemplateName(template.getTemplateName());
+            dto.setWeekdayRule(template.getWeekdayRule());
+            dto.setHolidayRule(template.getHolidayRule());
+            return dto;
+        } catch (Exception e) {
+            pricingMetrics.feignError("product", "getCancellationRuleTemplateById", e);
+            log.error("获取取消规则失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取服务政策
+     * @param product 商品信息
+     * @return 服务政策
+     */
+    private ServicePolicyTemplateResponse getServicePolicy(CarModelProductResponse product) {
+        try {
+            ServicePolicyTemplateResponse template =
+                    productTemplateCache.getPolicyTemplate(product.getServicePolicyTemplateId());
+            if (template == null) {
+                return null;
+            }
+
+            ServicePolicyTemplateResponse dto = new ServicePolicyTemplateResponse();
+            dto.setId(template.getId());
+            dto.setTemplateName(template.getTemplateName());
+            dto.setMileageLimit(template.getMileageLimit());
+            dto.setEarlyPickup(template.getEarlyPickup());
+            dto.setLatePickup(template.getLatePickup());
+            dto.setEarlyReturn(template.getEarlyReturn());
+            dto.setRenewal(template.getRenewal());
+            dto.setForcedRenewal(template.getForcedRenewal());
+            dto.setPickupMaterials(template.getPickupMaterials());
+            dto.setCityRestriction(template.getCityRestriction());
+            dto.setUsageAreaLimit(template.getUsageAreaLimit());
+            dto.setFuelFee(template.getFuelFee());
+            dto.setPersonalBelongingsLoss(template.getPersonalBelongingsLoss());
+            dto.setViolationHandling(template.getViolationHandling());
+            dto.setRoadsideAssistance(template.getRoadsideAssistance());
+            dto.setForcedRecovery(template.getForcedRecovery());
+            dto.setEtcFee(template.getEtcFee());
+            dto.setCleaningFee(template.getCleaningFee());
+            dto.setInvoiceInfo(template.getInvoiceInfo());
+            return dto;
+        } catch (Exception e) {
+            pricingMetrics.feignError("product", "getServicePolicyTemplateById", e);
+            log.error("获取服务政策失败", e);
+            return null;
+        }
+    }
+}
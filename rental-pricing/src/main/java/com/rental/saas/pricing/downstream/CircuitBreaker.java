@@ -0,0 +1,170 @@
+package com.rental.saas.pricing.downstream;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 熔断器
+ * 按最近若干次调用的结果统计失败率，调用数达到下限且失败率达到阈值时熔断；
+ * 熔断期间调用直接失败，熔断时长过后放行少量试探调用，全部成功时恢复，任一失败时重新熔断。
+ * 熔断期间返回的结果(熔断前发出的调用)不计入统计。
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] failures;
+
+    private final int minimumCalls;
+
+    private final int failureRatePercent;
+
+    private final long openNanos;
+
+    private final int halfOpenCalls;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    /**
+     * 窗口内已记录的调用数
+     */
+    private int recorded;
+
+    /**
+     * 窗口内失败的调用数
+     */
+    private int failed;
+
+    /**
+     * 下一次记录的位置
+     */
+    private int next;
+
+    private long openedAt;
+
+    /**
+     * 半开状态下剩余可放行的试探调用数
+     */
+    private int halfOpenPermits;
+
+    /**
+     * 半开状态下已成功的试探调用数
+     */
+    private int halfOpenSuccesses;
+
+    /**
+     * @param windowSize 统计失败率的调用数
+     * @param minimumCalls 开始判断熔断所需的最少调用数
+     * @param failureRatePercent 熔断的失败率(百分比)
+     * @param openNanos 熔断时长(纳秒)
+     * @param halfOpenCalls 半开状态放行的试探调用数
+     * @param clock 时钟(纳秒)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, long openNanos,
+                          int halfOpenCalls, LongSupplier clock) {
+        this.failures = new boolean[Math.max(windowSize, 1)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.failures.length));
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+        this.clock = clock;
+    }
+
+    /**
+     * 申请一次调用
+     * @return 是否放行，熔断中或半开状态试探调用已满时返回false
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                halfOpenSuccesses++;
+                if (halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+            }
+            case OPEN -> {
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (recorded >= minimumCalls && failed * 100L >= (long) failureRatePercent * recorded) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> open();
+            case OPEN -> {
+            }
+        }
+    }
+
+    /**
+     * 已放行的调用未实际执行，归还半开状态的试探名额，不计入统计
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        resetWindow();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        failed = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.rental.saas.pricing.downstream;
+
+/**
+ * 下游调用未执行或未在时限内完成
+ * 原因为 {@link DownstreamGuard#TIMEOUT}、{@link DownstreamGuard#DEADLINE_EXCEEDED}、{@link DownstreamGuard#INTERRUPTED}、
+ * {@link DownstreamGuard#REJECTED} 或 {@link DownstreamGuard#SHORT_CIRCUITED}；
+ * 下游调用本身抛出的异常原样抛出，不包装为此异常
+ */
+public class DownstreamException extends RuntimeException {
+
+    private final String reason;
+
+    public DownstreamException(String client, String method, String reason) {
+        super("下游调用失败: " + client + "." + method + ", reason=" + reason, null, false, false);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
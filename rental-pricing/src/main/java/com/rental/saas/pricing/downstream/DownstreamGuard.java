@@ -0,0 +1,306 @@
+package com.rental.saas.pricing.downstream;
+
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 下游调用保护
+ * 定价服务对基础数据服务、商品服务和订单服务的调用都经过这里，在独立线程池中执行：
+ * <ul>
+ *     <li>超时：每个接口有各自的超时时间，调用方传入截止时间时取两者中较早的，超时后不再等待</li>
+ *     <li>隔离：每个下游服务同时进行的调用数有上限，超出时直接拒绝，慢实例不会占满定价服务的线程</li>
+ *     <li>熔断：每个下游服务按最近调用的失败率(异常和接口超时)熔断，熔断期间直接失败；
+ *     因调用方截止时间而提前结束等待的调用不计入失败率</li>
+ *     <li>对冲：配置了对冲延迟的接口，首次调用超过延迟仍未返回时再发一次，取先成功的结果；只用于幂等的查询接口</li>
+ * </ul>
+ * 配置按 接口 -> 下游服务 -> 默认 的顺序查找，例如
+ * app.pricing.downstream.clients.product.endpoints.getProductsByStores.timeout-ms、
+ * app.pricing.downstream.clients.product.timeout-ms、app.pricing.downstream.timeout-ms
+ */
+@Slf4j
+@Component
+public class DownstreamGuard {
+
+    public static final String SUCCESS = "success";
+
+    public static final String FAILURE = "failure";
+
+    public static final String TIMEOUT = "timeout";
+
+    /**
+     * 接口超时前已到达调用方的截止时间
+     */
+    public static final String DEADLINE_EXCEEDED = "deadline-exceeded";
+
+    /**
+     * 等待结果时线程被中断
+     */
+    public static final String INTERRUPTED = "interrupted";
+
+    /**
+     * 同时进行的调用数已满或线程池已满
+     */
+    public static final String REJECTED = "rejected";
+
+    /**
+     * 熔断中
+     */
+    public static final String SHORT_CIRCUITED = "short-circuited";
+
+    private static final String PREFIX = "app.pricing.downstream.";
+
+    private final ExecutorService executor;
+
+    private final Environment environment;
+
+    private final MeterRegistry meterRegistry;
+
+    private final PricingMetrics pricingMetrics;
+
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public DownstreamGuard(@Qualifier("downstreamExecutor") ExecutorService executor,
+                           Environment environment,
+                           MeterRegistry meterRegistry,
+                           PricingMetrics pricingMetrics) {
+        this.executor = executor;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.pricingMetrics = pricingMetrics;
+    }
+
+    /**
+     * 调用下游接口，按接口超时时间等待
+     * @param client 下游服务：base-data、product、order
+     * @param method 接口方法
+     * @param call 调用
+     * @return 调用结果
+     * @throws DownstreamException 超时、被拒绝或熔断中
+     */
+    public <T> T call(String client, String method, Supplier<T> call) {
+        Endpoint endpoint = endpoint(client, method);
+        return execute(endpoint, endpoint.timeoutNanos, false, call);
+    }
+
+    /**
+     * 调用下游接口，等待时间不超过接口超时时间和调用方的截止时间
+     * @param deadline 截止时间(System.nanoTime)
+     */
+    public <T> T call(String client, String method, long deadline, Supplier<T> call) {
+        Endpoint endpoint = endpoint(client, method);
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos < endpoint.timeoutNanos) {
+            return execute(endpoint, remainingNanos, true, call);
+        }
+        return execute(endpoint, endpoint.timeoutNanos, false, call);
+    }
+
+    /**
+     * 下游服务的熔断器状态
+     */
+    public CircuitBreaker.State state(String client) {
+        return client(client).breaker.state();
+    }
+
+    /**
+     * @param deadlineBound 等待时间是否由调用方的截止时间决定(短于接口超时时间)，此时超时不计入熔断失败率
+     */
+    private <T> T execute(Endpoint endpoint, long timeoutNanos, boolean deadlineBound, Supplier<T> call) {
+        Client client = endpoint.client;
+        if (timeoutNanos <= 0) {
+            throw reject(endpoint, DEADLINE_EXCEEDED);
+        }
+        if (!client.bulkhead.tryAcquire()) {
+            throw reject(endpoint, REJECTED);
+        }
+        if (!client.breaker.tryAcquire()) {
+            client.bulkhead.release();
+            throw reject(endpoint, SHORT_CIRCUITED);
+        }
+
+        Attempts<T> attempts = new Attempts<>(endpoint, call);
+        if (!attempts.launch(false)) {
+            client.breaker.onIgnored();
+            throw reject(endpoint, REJECTED);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result;
+            if (endpoint.hedgeDelayNanos > 0 && endpoint.hedgeDelayNanos < timeoutNanos) {
+                result = awaitWithHedge(endpoint, attempts, timeoutNanos, start);
+            } else {
+                result = attempts.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            client.breaker.onSuccess();
+            pricingMetrics.downstreamCall(endpoint.clientName, endpoint.method, SUCCESS);
+            return result;
+        } catch (TimeoutException e) {
+            String outcome = deadlineBound ? DEADLINE_EXCEEDED : TIMEOUT;
+            if (deadlineBound) {
+                // 下游在接口超时时间内仍可能正常返回，不能据此判断下游故障
+                client.breaker.onIgnored();
+            } else {
+                client.breaker.onFailure();
+            }
+            pricingMetrics.downstreamCall(endpoint.clientName, endpoint.method, outcome);
+            throw new DownstreamException(endpoint.clientName, endpoint.method, outcome);
+        } catch (ExecutionException e) {
+            client.breaker.onFailure();
+            pricingMetrics.downstreamCall(endpoint.clientName, endpoint.method, FAILURE);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 调用结果未知，归还半开状态的试探名额，否则试探名额耗尽后熔断器无法恢复
+            client.breaker.onIgnored();
+            pricingMetrics.downstreamCall(endpoint.clientName, endpoint.method, INTERRUPTED);
+            throw new DownstreamException(endpoint.clientName, endpoint.method, INTERRUPTED);
+        }
+    }
+
+    /**
+     * 等待首次调用，超过对冲延迟仍未返回时再发一次，取先成功的结果
+     */
+    private <T> T awaitWithHedge(Endpoint endpoint, Attempts<T> attempts, long timeoutNanos, long start)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            return attempts.result.get(endpoint.hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (attempts.launch(true)) {
+                pricingMetrics.downstreamHedge(endpoint.clientName, endpoint.method, "sent");
+            }
+        }
+        return attempts.result.get(Math.max(0L, timeoutNanos - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+    }
+
+    private DownstreamException reject(Endpoint endpoint, String reason) {
+        pricingMetrics.downstreamCall(endpoint.clientName, endpoint.method, reason);
+        return new DownstreamException(endpoint.clientName, endpoint.method, reason);
+    }
+
+    private Endpoint endpoint(String client, String method) {
+        return endpoints.computeIfAbsent(client + "." + method, key -> new Endpoint(client(client), client, method,
+                TimeUnit.MILLISECONDS.toNanos(property(client, method, "timeout-ms", 1000L)),
+                TimeUnit.MILLISECONDS.toNanos(property(client, method, "hedge-delay-ms", 0L))));
+    }
+
+    private Client client(String client) {
+        return clients.computeIfAbsent(client, name -> {
+            Client created = new Client(
+                    new Semaphore((int) property(name, null, "max-concurrent", 32L)),
+                    new CircuitBreaker(
+                            (int) property(name, null, "circuit-breaker.window-size", 50L),
+                            (int) property(name, null, "circuit-breaker.minimum-calls", 20L),
+                            (int) property(name, null, "circuit-breaker.failure-rate-threshold", 50L),
+                            TimeUnit.MILLISECONDS.toNanos(property(name, null, "circuit-breaker.open-ms", 5000L)),
+                            (int) property(name, null, "circuit-breaker.half-open-calls", 3L),
+                            System::nanoTime));
+            Gauge.builder("pricing.downstream.circuit.state", created.breaker, breaker -> breaker.state().ordinal())
+                    .description("下游服务熔断器状态：0-关闭，1-熔断，2-半开")
+                    .tag("client", name)
+                    .register(meterRegistry);
+            Gauge.builder("pricing.downstream.bulkhead.available", created.bulkhead, Semaphore::availablePermits)
+                    .description("下游服务剩余可同时进行的调用数")
+                    .tag("client", name)
+                    .register(meterRegistry);
+            return created;
+        });
+    }
+
+    /**
+     * 按 接口 -> 下游服务 -> 默认 的顺序查找配置
+     */
+    private long property(String client, String method, String name, long defaultValue) {
+        Long value = null;
+        if (method != null) {
+            value = environment.getProperty(PREFIX + "clients." + client + ".endpoints." + method + "." + name, Long.class);
+        }
+        if (value == null) {
+            value = environment.getProperty(PREFIX + "clients." + client + "." + name, Long.class);
+        }
+        return value != null ? value : environment.getProperty(PREFIX + name, Long.class, defaultValue);
+    }
+
+    private record Client(Semaphore bulkhead, CircuitBreaker breaker) {
+    }
+
+    private record Endpoint(Client client, String clientName, String method, long timeoutNanos,
+                            long hedgeDelayNanos) {
+    }
+
+    /**
+     * 一次调用的首次调用和对冲调用，先成功的结果生效，进行中的调用全部失败时以最后一次失败结束
+     * 调用方超时放弃后，已发出的调用继续执行到结束，期间占用隔离名额
+     */
+    private final class Attempts<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final Endpoint endpoint;
+
+        private final Supplier<T> call;
+
+        private Attempts(Endpoint endpoint, Supplier<T> call) {
+            this.endpoint = endpoint;
+            this.call = call;
+        }
+
+        /**
+         * 发出一次调用，首次调用的隔离名额由调用方申请
+         * @return 是否已发出
+         */
+        private boolean launch(boolean hedge) {
+            Semaphore bulkhead = endpoint.client.bulkhead;
+            if (hedge && !bulkhead.tryAcquire()) {
+                return false;
+            }
+            running.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        T value = call.get();
+                        running.decrementAndGet();
+                        if (result.complete(value) && hedge) {
+                            pricingMetrics.downstreamHedge(endpoint.clientName, endpoint.method, "won");
+                        }
+                    } catch (Throwable e) {
+                        if (running.decrementAndGet() == 0) {
+                            result.completeExceptionally(e);
+                        }
+                    } finally {
+                        bulkhead.release();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                bulkhead.release();
+                return false;
+            }
+        }
+    }
+}
@@ -18,9 +18,21 @@ public class QuoteRequest {
     @Schema(description = "用车时间")
     private LocalTime time;
     
+    @Schema(description = "还车日期，不计入租期；为空时按租用1天计算，租期最长180天")
+    private LocalDate returnDate;
+    
     @Schema(description = "经度")
     private Double longitude;
     
     @Schema(description = "纬度")
     private Double latitude;
-}
\ No newline at end of file
+    
+    @Schema(description = "排序方式：price-总价，distance-距离，score-综合(总价加距离折算)，默认score")
+    private String sortBy;
+    
+    @Schema(description = "每页报价数，最大100；不传且不带游标时返回全部报价，带游标时默认20")
+    private Integer pageSize;
+    
+    @Schema(description = "分页游标，取上一页响应的nextCursor，第一页不传；翻页时其余参数需与第一页相同")
+    private String cursor;
+}
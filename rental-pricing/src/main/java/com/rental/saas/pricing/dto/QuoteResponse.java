@@ -14,4 +14,10 @@ public class QuoteResponse {
     
     @Schema(description = "报价列表")
     private List<Quote> quotes;
-}
\ No newline at end of file
+    
+    @Schema(description = "报价总数(所有页)")
+    private Integer totalCount;
+    
+    @Schema(description = "下一页游标，没有下一页时为空")
+    private String nextCursor;
+}
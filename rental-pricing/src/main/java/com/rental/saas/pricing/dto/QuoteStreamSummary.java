@@ -0,0 +1,24 @@
+package com.rental.saas.pricing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 流式搜索结束时的汇总
+ */
+@Data
+@Schema(description = "流式搜索汇总")
+public class QuoteStreamSummary {
+    
+    @Schema(description = "输出报价的门店数")
+    private int storeCount;
+    
+    @Schema(description = "报价总数")
+    private int quoteCount;
+    
+    @Schema(description = "是否完整：部分门店商品查询超时或失败时为false")
+    private boolean complete;
+    
+    @Schema(description = "耗时(毫秒)")
+    private long elapsedMillis;
+}
@@ -0,0 +1,23 @@
+package com.rental.saas.pricing.dto;
+
+import com.rental.api.pricing.entity.Quote;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * 流式搜索中一个门店的报价
+ */
+@Data
+@Schema(description = "门店报价")
+public class StoreQuotes {
+    
+    @Schema(description = "门店ID")
+    private Long storeId;
+    
+    @Schema(description = "门店名称")
+    private String storeName;
+    
+    @Schema(description = "报价列表")
+    private List<Quote> quotes;
+}
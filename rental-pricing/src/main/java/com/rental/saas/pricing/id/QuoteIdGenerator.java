@@ -0,0 +1,160 @@
+package com.rental.saas.pricing.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 报价ID生成器
+ * 64位ID：41位毫秒时间戳(自2026-01-01起) + 10位实例号 + 12位序号，按62进制编码为定长11位字符串，
+ * 字符串顺序与生成时间一致。生成过程只做CAS，不使用SecureRandom也不加锁；
+ * 同一毫秒序号用完时借用下一毫秒，时钟回拨时沿用上次的时间戳，保证单实例内ID递增不重复。
+ * ID中的时间戳用于在查询Redis前判断报价是否已过期。
+ */
+@Slf4j
+@Component
+public class QuoteIdGenerator {
+
+    /**
+     * 时间戳起点 2026-01-01T00:00:00Z
+     */
+    static final long EPOCH_MILLIS = 1767225600000L;
+
+    static final int WORKER_BITS = 10;
+
+    static final int SEQUENCE_BITS = 12;
+
+    static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * 编码长度，62^11 > 2^64
+     */
+    static final int ENCODED_LENGTH = 11;
+
+    /**
+     * 按ASCII升序排列，定长编码后字符串顺序与数值顺序一致
+     */
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final long workerId;
+
+    private final LongSupplier clock;
+
+    /**
+     * 上次生成的 时间戳 << SEQUENCE_BITS | 序号
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * @param workerId 实例号(0-1023)，多实例部署时需各不相同；小于0时按本机IP地址推导
+     */
+    @Autowired
+    public QuoteIdGenerator(@Value("${app.pricing.quote-id.worker-id:-1}") int workerId) {
+        this(workerId < 0 ? deriveWorkerId() : workerId, System::currentTimeMillis);
+    }
+
+    QuoteIdGenerator(int workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+        log.info("报价ID生成器实例号: {}", workerId);
+    }
+
+    /**
+     * 生成报价ID
+     * @return 定长11位的62进制ID
+     */
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    long nextLong() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long next = last.updateAndGet(prev -> Math.max(prev + 1, now << SEQUENCE_BITS));
+        long timestamp = next >>> SEQUENCE_BITS;
+        return timestamp << (WORKER_BITS + SEQUENCE_BITS) | workerId << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * 判断报价ID是否已超过有效期
+     * @param id 报价ID
+     * @param ttl 有效期
+     * @return 已过期返回true；不是本生成器格式的ID(如旧的UUID)无法判断，返回false
+     */
+    public boolean isExpired(String id, Duration ttl) {
+        long createdAt = timestampOf(id);
+        return createdAt >= 0 && clock.getAsLong() - createdAt > ttl.toMillis();
+    }
+
+    /**
+     * 解析报价ID中的生成时间
+     * @param id 报价ID
+     * @return 生成时间(毫秒)，格式不正确时返回-1
+     */
+    public static long timestampOf(String id) {
+        if (id == null || id.length() != ENCODED_LENGTH) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int digit = digitOf(id.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            // 超出63位时不是有效ID
+            if (value > (Long.MAX_VALUE - digit) / ALPHABET.length) {
+                return -1;
+            }
+            value = value * ALPHABET.length + digit;
+        }
+        return (value >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        }
+        return new String(chars);
+    }
+
+    private static int digitOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+
+    /**
+     * 取本机IP地址的低10位作为实例号，获取失败时随机选择
+     */
+    private static int deriveWorkerId() {
+        try {
+            byte[] address = InetAddress.getLocalHost().getAddress();
+            int low = (address[address.length - 2] & 0xFF) << 8 | (address[address.length - 1] & 0xFF);
+            return low & MAX_WORKER_ID;
+        } catch (Exception e) {
+            int workerId = ThreadLocalRandom.current().nextInt(MAX_WORKER_ID + 1);
+            log.warn("获取本机地址失败，随机选择报价ID实例号: {}", workerId, e);
+            return workerId;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.rental.saas.pricing.inventory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rental.api.basedata.BaseDataClient;
+import com.rental.api.basedata.response.VehicleResponse;
+import com.rental.api.order.OrderClient;
+import com.rental.api.order.response.BookingResponse;
+import com.rental.api.product.ProductClient;
+import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.pricing.downstream.DownstreamGuard;
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 商品库存索引
+ * 缺失的商品一次批量查询关联车辆、可出租车辆和订单占用后构建库存，报价时按租期逐日判断是否有车，不再逐次查询。
+ * 订单占用变更通知到达时增量更新已缓存商品的占用数；车辆或商品关联车辆变更时失效相关商品，下次报价时重建。
+ * 下游查询失败或超过截止时间时不返回对应商品的库存，报价时视为有车。
+ */
+@Slf4j
+@Component
+public class InventoryIndex {
+
+    /**
+     * 变更计数的分段数，按商品ID取模
+     */
+    private static final int CHANGE_STRIPES = 64;
+
+    private final ProductClient productClient;
+
+    private final BaseDataClient baseDataClient;
+
+    private final OrderClient orderClient;
+
+    private final PricingMetrics pricingMetrics;
+
+    private final DownstreamGuard downstreamGuard;
+
+    private final Cache<Long, ProductInventory> inventories;
+
+    /**
+     * 按商品分段的变更计数，加载期间商品所在分段发生变更时不写入缓存，避免漏掉加载期间的占用变更
+     */
+    private final AtomicLongArray productChanges = new AtomicLongArray(CHANGE_STRIPES);
+
+    /**
+     * 全部失效或车辆变更的计数，加载期间发生时整批不写入缓存
+     */
+    private final AtomicLong globalChanges = new AtomicLong();
+
+    /**
+     * 库存覆盖的天数，超出范围的日期视为有车
+     */
+    @Value("${app.pricing.inventory.horizon-days:90}")
+    private int horizonDays;
+
+    public InventoryIndex(ProductClient productClient,
+                          BaseDataClient baseDataClient,
+                          OrderClient orderClient,
+                          MeterRegistry meterRegistry,
+                          PricingMetrics pricingMetrics,
+                          DownstreamGuard downstreamGuard,
+                          @Value("${app.pricing.inventory.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${app.pricing.inventory.max-size:100000}") long maxSize) {
+        this.productClient = productClient;
+        this.baseDataClient = baseDataClient;
+        this.orderClient = orderClient;
+        this.pricingMetrics = pricingMetrics;
+        this.downstreamGuard = downstreamGuard;
+        this.inventories = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, inventories, "pricing.inventory");
+    }
+
+    /**
+     * 批量获取商品库存
+     * @param productIds 商品ID
+     * @param deadline 截止时间(System.nanoTime)，下游查询不超过该时间
+     * @return 商品ID -> 商品库存，查询失败的商品不在结果中
+     */
+    public Map<Long, ProductInventory> getInventories(Collection<Long> productIds, long deadline) {
+        Map<Long, ProductInventory> result = new HashMap<>();
+        Set<Long> missingIds = new LinkedHashSet<>();
+        for (Long productId : productIds) {
+            ProductInventory inventory = inventories.getIfPresent(productId);
+            if (inventory != null) {
+                result.put(productId, inventory);
+            } else {
+                missingIds.add(productId);
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+        List<Long> missing = new ArrayList<>(missingIds);
+
+        long globalBefore = globalChanges.get();
+        long[] changesBefore = new long[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            changesBefore[i] = productChanges.get(stripe(missing.get(i)));
+        }
+        LocalDate startDate = LocalDate.now();
+        Map<Long, ProductInventory> loaded = load(missing, startDate, deadline);
+        if (loaded == null) {
+            return result;
+        }
+
+        boolean cacheable = globalChanges.get() == globalBefore;
+        for (int i = 0; i < missing.size(); i++) {
+            Long productId = missing.get(i);
+            ProductInventory inventory = loaded.get(productId);
+            result.put(productId, inventory);
+            if (cacheable && productChanges.get(stripe(productId)) == changesBefore[i]) {
+                inventories.put(productId, inventory);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 订单占用发生变更
+     * 通知在订单事务提交后发出，可能晚于包含该订单的加载，按订单去重避免重复计入
+     * @param productId 商品ID
+     * @param orderId 订单ID，旧格式通知中为空
+     * @param fromEpochDay 起始纪元日
+     * @param toEpochDay 结束纪元日(不含)
+     * @param delta 每天占用数的增量
+     */
+    public void applyBooking(Long productId, Long orderId, long fromEpochDay, long toEpochDay, int delta) {
+        productChanges.incrementAndGet(stripe(productId));
+        ProductInventory inventory = inventories.getIfPresent(productId);
+        if (inventory != null) {
+            inventory.apply(orderId, fromEpochDay, toEpochDay, delta);
+        }
+    }
+
+    /**
+     * 失效商品的库存，商品ID为空时全部失效
+     */
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            invalidateAll();
+            return;
+        }
+        productChanges.incrementAndGet(stripe(productId));
+        inventories.invalidate(productId);
+    }
+
+    /**
+     * 车辆发生变更，失效关联该车辆的商品库存，车辆ID为空时全部失效
+     */
+    public void invalidateVehicle(Long vehicleId) {
+        if (vehicleId == null) {
+            invalidateAll();
+            return;
+        }
+        globalChanges.incrementAndGet();
+        inventories.asMap().values().removeIf(inventory -> inventory.containsVehicle(vehicleId));
+    }
+
+    public void invalidateAll() {
+        globalChanges.incrementAndGet();
+        inventories.invalidateAll();
+    }
+
+    /**
+     * 查询商品关联车辆、可出租车辆和订单占用并构建库存
+     * @return 商品ID -> 商品库存，任一查询失败时返回null
+     */
+    private Map<Long, ProductInventory> load(List<Long> productIds, LocalDate startDate, long deadline) {
+        Map<Long, List<Long>> vehicleIdsByProduct = call("product", "getVehicleIdsByProducts", deadline,
+                "查询商品关联车辆失败, productIds=" + productIds,
+                () -> productClient.getVehicleIdsByProducts(productIds));
+        if (vehicleIdsByProduct == null) {
+            return null;
+        }
+
+        Map<Long, ProductInventory> loaded = new HashMap<>();
+        List<Long> trackedIds = new ArrayList<>();
+        Set<Long> vehicleIds = new HashSet<>();
+        for (Long productId : productIds) {
+            List<Long> linked = vehicleIdsByProduct.getOrDefault(productId, List.of());
+            if (linked.isEmpty()) {
+                loaded.put(productId, ProductInventory.UNTRACKED);
+            } else {
+                trackedIds.add(productId);
+                vehicleIds.addAll(linked);
+            }
+        }
+        if (trackedIds.isEmpty()) {
+            return loaded;
+        }
+
+        List<VehicleResponse> vehicles = call("base-data", "getRentableVehiclesByIds", deadline,
+                "查询可出租车辆失败, vehicleIds=" + vehicleIds,
+                () -> baseDataClient.getRentableVehiclesByIds(new ArrayList<>(vehicleIds)));
+        LocalDate endDate = startDate.plusDays(horizonDays);
+        Map<Long, List<BookingResponse>> bookingsByProduct = vehicles == null ? null : call("order",
+                "getBookingsByProducts", deadline, "查询订单占用失败, productIds=" + trackedIds,
+                () -> orderClient.getBookingsByProducts(trackedIds, startDate, endDate));
+        if (bookingsByProduct == null) {
+            return null;
+        }
+
+        Set<Long> rentable = new HashSet<>();
+        for (VehicleResponse vehicle : vehicles) {
+            rentable.add(vehicle.getId());
+        }
+        for (Long productId : trackedIds) {
+            List<Long> linked = vehicleIdsByProduct.get(productId);
+            int capacity = (int) linked.stream().distinct().filter(rentable::contains).count();
+            loaded.put(productId, ProductInventory.build(startDate, horizonDays, linked, capacity,
+                    bookingsByProduct.getOrDefault(productId, List.of())));
+        }
+        return loaded;
+    }
+
+    private <T> T call(String client, String method, long deadline, String errorMessage,
+                       Supplier<ApiResponse<T>> call) {
+        try {
+            ApiResponse<T> response = downstreamGuard.call(client, method, deadline, call);
+            if (response != null && response.getData() != null) {
+                return response.getData();
+            }
+            pricingMetrics.feignError(client, method, "empty");
+            log.warn("{}: 响应为空", errorMessage);
+        } catch (Exception e) {
+            pricingMetrics.feignError(client, method, e);
+            log.error(errorMessage, e);
+        }
+        return null;
+    }
+
+    private static int stripe(Long productId) {
+        return (int) Math.floorMod(productId, (long) CHANGE_STRIPES);
+    }
+}
@@ -0,0 +1,159 @@
+package com.rental.saas.pricing.inventory;
+
+import com.rental.api.order.response.BookingResponse;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 商品库存：商品关联的可出租车辆数，以及覆盖范围内每天被订单占用的车辆数
+ * 判断租期内是否有车只需逐日比较，与租期天数成正比；订单占用变更按日期区间增量更新。
+ * 同时记录每个订单已计入的占用区间，加载时已包含的订单再收到变更通知不会重复计入。
+ * 覆盖范围外的日期无法判断，视为有车。
+ */
+public final class ProductInventory {
+
+    /**
+     * 未关联车辆的商品不跟踪库存，始终视为有车
+     */
+    static final ProductInventory UNTRACKED = new ProductInventory(0L, new long[0], 0, 0);
+
+    /**
+     * 覆盖范围第一天的纪元日
+     */
+    private final long startEpochDay;
+
+    /**
+     * 商品关联的车辆ID，升序
+     */
+    private final long[] vehicleIds;
+
+    /**
+     * 可出租的车辆数
+     */
+    private final int capacity;
+
+    /**
+     * 每天被占用的车辆数，下标为距 startEpochDay 的天数
+     */
+    private final AtomicIntegerArray booked;
+
+    /**
+     * 已计入占用数的订单：订单ID -> [起始纪元日, 结束纪元日(不含)]，访问需持有本对象锁
+     */
+    private final Map<Long, long[]> orderDays = new HashMap<>();
+
+    private ProductInventory(long startEpochDay, long[] vehicleIds, int capacity, int horizonDays) {
+        this.startEpochDay = startEpochDay;
+        this.vehicleIds = vehicleIds;
+        this.capacity = capacity;
+        this.booked = new AtomicIntegerArray(horizonDays);
+    }
+
+    /**
+     * 构建商品库存
+     * @param startDate 覆盖范围第一天
+     * @param horizonDays 覆盖天数
+     * @param vehicleIds 商品关联的车辆ID
+     * @param capacity 可出租的车辆数
+     * @param bookings 商品在覆盖范围内的订单占用
+     * @return 商品库存，未关联车辆时返回 {@link #UNTRACKED}
+     */
+    static ProductInventory build(LocalDate startDate, int horizonDays, Collection<Long> vehicleIds, int capacity,
+                                  Collection<BookingResponse> bookings) {
+        if (vehicleIds.isEmpty()) {
+            return UNTRACKED;
+        }
+        long[] sortedIds = vehicleIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        ProductInventory inventory = new ProductInventory(startDate.toEpochDay(), sortedIds, capacity, horizonDays);
+        for (BookingResponse booking : bookings) {
+            inventory.apply(booking.getOrderId(), booking.getStartDate().toEpochDay(),
+                    booking.getEndDate().toEpochDay(), 1);
+        }
+        return inventory;
+    }
+
+    /**
+     * 租期 [startDate, endDate) 内每天是否都有空闲车辆
+     */
+    public boolean isAvailable(LocalDate startDate, LocalDate endDate) {
+        if (this == UNTRACKED) {
+            return true;
+        }
+        if (capacity <= 0) {
+            return false;
+        }
+        int from = (int) Math.max(startDate.toEpochDay() - startEpochDay, 0L);
+        int to = (int) Math.min(endDate.toEpochDay() - startEpochDay, booked.length());
+        for (int day = from; day < to; day++) {
+            if (booked.get(day) >= capacity) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按日期区间增量更新占用数，超出覆盖范围的部分忽略
+     * @param fromEpochDay 起始纪元日
+     * @param toEpochDay 结束纪元日(不含)
+     * @param delta 每天占用数的增量
+     */
+    void apply(long fromEpochDay, long toEpochDay, int delta) {
+        int from = (int) Math.max(fromEpochDay - startEpochDay, 0L);
+        int to = (int) Math.min(toEpochDay - startEpochDay, booked.length());
+        for (int day = from; day < to; day++) {
+            booked.addAndGet(day, delta);
+        }
+    }
+
+    /**
+     * 按订单更新占用数，同一订单的通知可重复或晚于加载到达：
+     * 增加时订单已按该区间计入则忽略，已按其他区间计入则先撤销旧区间；
+     * 减少时订单未按该区间计入则忽略。
+     * @param orderId 订单ID，为空时无法去重，直接按增量更新
+     * @param fromEpochDay 起始纪元日
+     * @param toEpochDay 结束纪元日(不含)
+     * @param delta 增量，大于0为占用，小于0为释放
+     * @return 是否更新了占用数
+     */
+    synchronized boolean apply(Long orderId, long fromEpochDay, long toEpochDay, int delta) {
+        if (this == UNTRACKED) {
+            return false;
+        }
+        if (orderId == null) {
+            apply(fromEpochDay, toEpochDay, delta);
+            return true;
+        }
+        long[] counted = orderDays.get(orderId);
+        boolean sameDays = counted != null && counted[0] == fromEpochDay && counted[1] == toEpochDay;
+        if (delta > 0) {
+            if (sameDays) {
+                return false;
+            }
+            if (counted != null) {
+                apply(counted[0], counted[1], -1);
+            }
+            orderDays.put(orderId, new long[]{fromEpochDay, toEpochDay});
+            apply(fromEpochDay, toEpochDay, 1);
+            return true;
+        }
+        if (!sameDays) {
+            return false;
+        }
+        orderDays.remove(orderId);
+        apply(fromEpochDay, toEpochDay, -1);
+        return true;
+    }
+
+    /**
+     * 是否关联了该车辆
+     */
+    boolean containsVehicle(long vehicleId) {
+        return Arrays.binarySearch(vehicleIds, vehicleId) >= 0;
+    }
+}
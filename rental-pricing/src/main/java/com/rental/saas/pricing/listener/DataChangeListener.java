@@ -0,0 +1,88 @@
+package com.rental.saas.pricing.listener;
+
+import com.rental.saas.common.constant.CommonConstant;
+import com.rental.saas.pricing.detail.ProductTemplateCache;
+import com.rental.saas.pricing.inventory.InventoryIndex;
+import com.rental.saas.pricing.price.PriceCalendarCache;
+import com.rental.saas.pricing.search.SearchCandidateCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 数据变更通知监听器
+ * 基础数据服务和商品服务在门店、服务范围、车辆、商品、特殊定价、商品关联车辆及模板变更后发布通知，收到后失效对应的本地缓存；
+ * 订单服务在订单占用变更后发布增量，收到后更新商品库存索引
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataChangeListener implements MessageListener {
+
+    private final SearchCandidateCache searchCandidateCache;
+    private final ProductTemplateCache productTemplateCache;
+    private final PriceCalendarCache priceCalendarCache;
+    private final InventoryIndex inventoryIndex;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String change = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("收到数据变更通知: {}", change);
+
+        int separator = change.indexOf(':');
+        String type = separator < 0 ? change : change.substring(0, separator);
+        if (CommonConstant.DATA_CHANGE_BOOKING.equals(type)) {
+            applyBooking(change);
+            return;
+        }
+        Long id = parseId(separator < 0 ? null : change.substring(separator + 1));
+
+        switch (type) {
+            case CommonConstant.DATA_CHANGE_STORE, CommonConstant.DATA_CHANGE_SERVICE_AREA ->
+                    searchCandidateCache.invalidateAll();
+            case CommonConstant.DATA_CHANGE_PRODUCT -> {
+                searchCandidateCache.invalidateAll();
+                productTemplateCache.invalidateProducts();
+                priceCalendarCache.invalidate(id);
+            }
+            case CommonConstant.DATA_CHANGE_SPECIAL_PRICING -> priceCalendarCache.invalidate(id);
+            case CommonConstant.DATA_CHANGE_VEHICLE -> inventoryIndex.invalidateVehicle(id);
+            case CommonConstant.DATA_CHANGE_PRODUCT_VEHICLE -> inventoryIndex.invalidate(id);
+            case CommonConstant.DATA_CHANGE_VAS_TEMPLATE -> productTemplateCache.invalidateVasTemplate(id);
+            case CommonConstant.DATA_CHANGE_CANCELLATION_TEMPLATE -> productTemplateCache.invalidateCancellationTemplate(id);
+            case CommonConstant.DATA_CHANGE_POLICY_TEMPLATE -> productTemplateCache.invalidatePolicyTemplate(id);
+            default -> log.warn("未知的数据变更通知: {}", change);
+        }
+    }
+
+    /**
+     * 订单占用变更，格式为 "booking:商品ID:起始纪元日:结束纪元日(不含):增量:订单ID"，
+     * 兼容不带订单ID的旧格式，格式错误时失效全部库存
+     */
+    private void applyBooking(String change) {
+        String[] parts = change.split(":");
+        try {
+            if (parts.length != 5 && parts.length != 6) {
+                throw new NumberFormatException(change);
+            }
+            Long orderId = parts.length == 6 ? Long.valueOf(parts[5]) : null;
+            inventoryIndex.applyBooking(Long.valueOf(parts[1]), orderId, Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]), Integer.parseInt(parts[4]));
+        } catch (NumberFormatException e) {
+            log.warn("订单占用变更通知格式错误: {}", change);
+            inventoryIndex.invalidateAll();
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
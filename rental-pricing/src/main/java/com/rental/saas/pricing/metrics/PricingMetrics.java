@@ -0,0 +1,198 @@
+package com.rental.saas.pricing.metrics;
+
+import com.rental.saas.pricing.downstream.DownstreamException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 定价链路指标
+ * 报价搜索和报价详情按阶段计时(pricing.stage，标签 operation/stage/outcome)，
+ * 同时记录门店、商品、报价数量分布和下游Feign调用失败次数，通过 /actuator/prometheus 暴露
+ */
+@Component
+public class PricingMetrics {
+
+    public static final String SEARCH = "search";
+
+    public static final String DETAIL = "detail";
+
+    public static final String SUCCESS = "success";
+
+    public static final String FAILURE = "failure";
+
+    /**
+     * 部分下游调用失败或超时，结果不完整
+     */
+    public static final String PARTIAL = "partial";
+
+    private final MeterRegistry meterRegistry;
+
+    public PricingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 开始计时一个阶段
+     * @param operation 操作：search、detail
+     * @param stage 阶段名
+     * @return 阶段计时，结束时调用 {@link Stage#stop(String)}
+     */
+    public Stage start(String operation, String stage) {
+        return new Stage(operation, stage, System.nanoTime());
+    }
+
+    /**
+     * 计时执行一个阶段，正常返回记为success，抛出异常记为failure
+     */
+    public <T> T time(String operation, String stage, Supplier<T> action) {
+        Stage timer = start(operation, stage);
+        String outcome = FAILURE;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            timer.stop(outcome);
+        }
+    }
+
+    /**
+     * 记录位置匹配到的门店数和被营业时间、预定时间规则过滤掉的门店数
+     */
+    public void recordStores(int matched, int valid) {
+        summary("pricing.search.stores", "门店数", "matched").record(matched);
+        summary("pricing.search.stores", "门店数", "filtered").record(matched - valid);
+    }
+
+    /**
+     * 记录一个有效门店的在线商品数
+     */
+    public void recordProductsPerStore(int products) {
+        DistributionSummary.builder("pricing.search.products.per.store")
+                .description("有效门店的在线商品数")
+                .register(meterRegistry)
+                .record(products);
+    }
+
+    /**
+     * 记录因租期内无空闲车辆而不报价的商品数
+     */
+    public void recordSoldOut(int products) {
+        Counter.builder("pricing.search.sold.out")
+                .description("租期内无空闲车辆而不报价的商品数")
+                .register(meterRegistry)
+                .increment(products);
+    }
+
+    /**
+     * 记录一次搜索产生的报价数(所有页)
+     */
+    public void recordQuotes(int quotes) {
+        DistributionSummary.builder("pricing.search.quotes")
+                .description("单次搜索产生的报价数")
+                .register(meterRegistry)
+                .record(quotes);
+    }
+
+    /**
+     * 记录一次下游Feign调用失败
+     * @param client 下游服务：base-data、product、order
+     * @param method 调用的接口方法
+     * @param type 失败类型：exception-抛出异常，empty-返回空结果，timeout/deadline-exceeded/interrupted/rejected/short-circuited-下游调用保护拒绝或超时
+     */
+    public void feignError(String client, String method, String type) {
+        Counter.builder("pricing.feign.errors")
+                .description("定价服务调用下游接口失败次数")
+                .tag("client", client)
+                .tag("method", method)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 记录一次下游Feign调用抛出异常，超时、被拒绝和熔断按 {@link DownstreamException#getReason()} 区分类型
+     */
+    public void feignError(String client, String method, Exception e) {
+        feignError(client, method, e instanceof DownstreamException downstream ? downstream.getReason() : "exception");
+    }
+
+    /**
+     * 记录一次经过下游调用保护的调用结果
+     * @param outcome 结果：success、failure、timeout-接口超时、deadline-exceeded-到达调用方截止时间、interrupted-等待被中断、
+     *                rejected-隔离名额或线程已满、short-circuited-熔断中
+     */
+    public void downstreamCall(String client, String method, String outcome) {
+        Counter.builder("pricing.downstream.calls")
+                .description("定价服务调用下游接口次数")
+                .tag("client", client)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 记录一次对冲调用
+     * @param result sent-已发出对冲调用，won-对冲调用先于首次调用成功返回
+     */
+    public void downstreamHedge(String client, String method, String result) {
+        Counter.builder("pricing.downstream.hedges")
+                .description("定价服务对下游接口发出的对冲调用次数")
+                .tag("client", client)
+                .tag("method", method)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private DistributionSummary summary(String name, String description, String phase) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private void record(String operation, String stage, String outcome, long nanos) {
+        Timer.builder("pricing.stage")
+                .description("定价链路各阶段耗时")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        StageTimings.record(stage, nanos);
+    }
+
+    /**
+     * 进行中的阶段计时
+     */
+    public final class Stage {
+
+        private final String operation;
+
+        private final String stage;
+
+        private final long startNanos;
+
+        private Stage(String operation, String stage, long startNanos) {
+            this.operation = operation;
+            this.stage = stage;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 结束计时
+         * @param outcome 结果：success、failure、partial，或阶段自定义的结果(如缓存 hit/miss)
+         */
+        public void stop(String outcome) {
+            record(operation, stage, outcome, System.nanoTime() - startNanos);
+        }
+    }
+}
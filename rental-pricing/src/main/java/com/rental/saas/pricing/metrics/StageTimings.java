@@ -0,0 +1,52 @@
+package com.rental.saas.pricing.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个请求的分阶段耗时
+ * 绑定到处理请求的线程，{@link PricingMetrics} 记录阶段耗时时同时写入；
+ * 在其他线程(如批量查询商品的工作线程)中记录的阶段不计入。同名阶段多次执行时耗时累加。
+ */
+public final class StageTimings {
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> nanosByStage = new LinkedHashMap<>();
+
+    private StageTimings() {
+    }
+
+    /**
+     * 开始记录当前线程的分阶段耗时，结束时必须调用 {@link #end()}
+     */
+    public static StageTimings begin() {
+        StageTimings timings = new StageTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(String stage, long nanos) {
+        StageTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanosByStage.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * 输出为 Server-Timing 响应头格式，如 {@code candidates;dur=12.3, store-filter;dur=0.2}
+     */
+    public String toServerTiming() {
+        StringJoiner joiner = new StringJoiner(", ");
+        nanosByStage.forEach((stage, nanos) -> joiner.add(String.format(Locale.ROOT, "%s;dur=%.1f",
+                stage, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1))));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.rental.saas.pricing.price;
+
+import java.math.BigDecimal;
+
+/**
+ * 金额，以分为单位
+ * 报价计算全程使用长整型的分，只在写入报价(对外JSON)时转换为元，避免中间计算创建大量BigDecimal。
+ * 加法和乘法溢出时抛出 {@link ArithmeticException}。
+ */
+public record Money(long cents) {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money times(long multiplier) {
+        return ofCents(Math.multiplyExact(cents, multiplier));
+    }
+
+    /**
+     * 平均分摊，按分四舍五入(与 {@link java.math.RoundingMode#HALF_UP} 一致)
+     * @param count 份数，必须大于0
+     * @return 每份金额
+     */
+    public Money divideHalfUp(long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        long quotient = cents / count;
+        long remainder = Math.abs(cents % count);
+        if (remainder >= count - remainder) {
+            quotient += Long.signum(cents);
+        }
+        return ofCents(quotient);
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    /**
+     * 转换为元，保留两位小数
+     */
+    public BigDecimal toYuan() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
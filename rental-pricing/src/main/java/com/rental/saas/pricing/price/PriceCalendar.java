@@ -0,0 +1,130 @@
+package com.rental.saas.pricing.price;
+
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
+import com.rental.saas.common.calendar.DayTypeRule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 商品价格日历
+ * 从起始日期开始按天预先计算日租金(分)，特殊定价覆盖周中/周末价格。
+ * 商品的周中/周末定义在构建时编译为 {@link DayTypeRule}，查询租期时直接按下标取值，超出日历范围的日期按编译后的规则计算。
+ * 定义中的无效内容按宽松规则忽略或修正并记录告警，不影响定义中其余有效的部分。
+ * 构建后不可变，可被多个线程共享。
+ */
+@Slf4j
+public final class PriceCalendar {
+
+    private final long startEpochDay;
+
+    private final int[] dailyCents;
+
+    private final Integer weekdayPrice;
+
+    private final Integer weekendPrice;
+
+    private final String weekdayDefinition;
+
+    private final String weekendDefinition;
+
+    private final DayTypeRule dayTypeRule;
+
+    private PriceCalendar(long startEpochDay, int[] dailyCents, CarModelProductResponse product, DayTypeRule dayTypeRule) {
+        this.startEpochDay = startEpochDay;
+        this.dailyCents = dailyCents;
+        this.weekdayPrice = product.getWeekdayPrice();
+        this.weekendPrice = product.getWeekendPrice();
+        this.weekdayDefinition = product.getWeekdayDefinition();
+        this.weekendDefinition = product.getWeekendDefinition();
+        this.dayTypeRule = dayTypeRule;
+    }
+
+    /**
+     * 构建价格日历
+     * @param product 商品
+     * @param specialPricings 商品在日历范围内的特殊定价
+     * @param startDate 起始日期
+     * @param days 天数
+     * @return 价格日历
+     */
+    public static PriceCalendar build(CarModelProductResponse product, List<SpecialPricingResponse> specialPricings,
+                                      LocalDate startDate, int days) {
+        DayTypeRule dayTypeRule = DayTypeRule.compileLenient(product.getWeekdayDefinition(), product.getWeekendDefinition(),
+                problem -> log.warn("商品周中/周末定义无效，已按宽松规则处理: productId={}, {}", product.getId(), problem));
+        long startEpochDay = startDate.toEpochDay();
+        int weekdayPrice = product.getWeekdayPrice() != null ? product.getWeekdayPrice() : 0;
+        int weekendPrice = product.getWeekendPrice() != null ? product.getWeekendPrice() : weekdayPrice;
+
+        int[] dailyCents = new int[days];
+        for (int i = 0; i < days; i++) {
+            dailyCents[i] = dayTypeRule.isWeekend(startEpochDay + i) ? weekendPrice : weekdayPrice;
+        }
+
+        if (specialPricings != null) {
+            for (SpecialPricingResponse pricing : specialPricings) {
+                if (pricing.getPriceDate() == null || pricing.getPrice() == null) {
+                    continue;
+                }
+                long index = pricing.getPriceDate().toEpochDay() - startEpochDay;
+                if (index >= 0 && index < days) {
+                    dailyCents[(int) index] = pricing.getPrice();
+                }
+            }
+        }
+
+        return new PriceCalendar(startEpochDay, dailyCents, product, dayTypeRule);
+    }
+
+    /**
+     * 日历是否仍与商品的周中/周末价格和周中/周末定义一致，只比较定义原文，不重新解析
+     */
+    public boolean matches(CarModelProductResponse product) {
+        return Objects.equals(weekdayPrice, product.getWeekdayPrice())
+                && Objects.equals(weekendPrice, product.getWeekendPrice())
+                && Objects.equals(weekdayDefinition, product.getWeekdayDefinition())
+                && Objects.equals(weekendDefinition, product.getWeekendDefinition());
+    }
+
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(startEpochDay);
+    }
+
+    /**
+     * 计算租期 [startDate, endDate) 的每日租金
+     * @param startDate 取车日期
+     * @param endDate 还车日期，不计入租期
+     * @return 每日租金(分)
+     */
+    public int[] dailyPrices(LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        int days = (int) (endDate.toEpochDay() - from);
+        if (days <= 0) {
+            throw new IllegalArgumentException("endDate must be after startDate");
+        }
+
+        int[] prices = new int[days];
+        int offset = (int) Math.max(0, Math.min(days, startEpochDay - from));
+        int calendarStart = (int) Math.max(0, from - startEpochDay);
+        int copied = Math.max(0, Math.min(days - offset, dailyCents.length - calendarStart));
+        if (copied > 0) {
+            System.arraycopy(dailyCents, calendarStart, prices, offset, copied);
+        }
+        // 日历范围外的日期按周中/周末规则计算
+        for (int i = 0; i < days; i++) {
+            if (i < offset || i >= offset + copied) {
+                prices[i] = basePrice(from + i);
+            }
+        }
+        return prices;
+    }
+
+    private int basePrice(long epochDay) {
+        int weekday = weekdayPrice != null ? weekdayPrice : 0;
+        int weekend = weekendPrice != null ? weekendPrice : weekday;
+        return dayTypeRule.isWeekend(epochDay) ? weekend : weekday;
+    }
+}
@@ -0,0 +1,143 @@
+package com.rental.saas.pricing.price;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rental.api.product.ProductClient;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
+import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.pricing.downstream.DownstreamGuard;
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 商品价格日历缓存
+ * 缺失或周中/周末价格已变化的商品，一次批量查询特殊定价后重建日历；
+ * 特殊定价或商品变更通知到达时只失效对应商品的日历，下次报价时重建。
+ * 特殊定价查询失败或超过截止时间时，缺失的商品按周中/周末价格生成日历，不写入缓存。
+ */
+@Slf4j
+@Component
+public class PriceCalendarCache {
+
+    private final ProductClient productClient;
+
+    private final PricingMetrics pricingMetrics;
+
+    private final DownstreamGuard downstreamGuard;
+
+    private final Cache<Long, PriceCalendar> calendars;
+
+    /**
+     * 失效计数，加载期间发生失效时不写入缓存，避免旧的特殊定价覆盖失效
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 日历覆盖的天数，超出范围的日期按周中/周末价格计算
+     */
+    @Value("${app.pricing.price-calendar.horizon-days:180}")
+    private int horizonDays;
+
+    public PriceCalendarCache(ProductClient productClient,
+                              MeterRegistry meterRegistry,
+                              PricingMetrics pricingMetrics,
+                              DownstreamGuard downstreamGuard,
+                              @Value("${app.pricing.price-calendar.ttl-seconds:3600}") long ttlSeconds,
+                              @Value("${app.pricing.price-calendar.max-size:100000}") long maxSize) {
+        this.productClient = productClient;
+        this.pricingMetrics = pricingMetrics;
+        this.downstreamGuard = downstreamGuard;
+        this.calendars = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, "pricing.price.calendars");
+    }
+
+    /**
+     * 批量获取商品的价格日历
+     * @param products 商品列表
+     * @param deadline 截止时间(System.nanoTime)，特殊定价查询不超过该时间
+     * @return 商品ID -> 价格日历，包含全部商品
+     */
+    public Map<Long, PriceCalendar> getCalendars(Collection<CarModelProductResponse> products, long deadline) {
+        Map<Long, PriceCalendar> result = new HashMap<>();
+        List<CarModelProductResponse> missing = new ArrayList<>();
+        for (CarModelProductResponse product : products) {
+            PriceCalendar calendar = calendars.getIfPresent(product.getId());
+            if (calendar != null && calendar.matches(product)) {
+                result.put(product.getId(), calendar);
+            } else {
+                missing.add(product);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusDays(horizonDays - 1L);
+        List<Long> productIds = missing.stream().map(CarModelProductResponse::getId).distinct().collect(Collectors.toList());
+        Map<Long, List<SpecialPricingResponse>> pricingsByProduct = null;
+        try {
+            ApiResponse<Map<Long, List<SpecialPricingResponse>>> response =
+                    downstreamGuard.call("product", "getSpecialPricingsByProducts", deadline,
+                            () -> productClient.getSpecialPricingsByProducts(productIds, startDate, endDate));
+            if (response == null || response.getData() == null) {
+                pricingMetrics.feignError("product", "getSpecialPricingsByProducts", "empty");
+                log.warn("查询特殊定价无结果，按周中/周末价格计算, productIds={}", productIds);
+            } else {
+                pricingsByProduct = response.getData();
+            }
+        } catch (Exception e) {
+            pricingMetrics.feignError("product", "getSpecialPricingsByProducts", e);
+            log.error("查询特殊定价失败，按周中/周末价格计算, productIds={}", productIds, e);
+        }
+
+        if (pricingsByProduct == null) {
+            for (CarModelProductResponse product : missing) {
+                result.put(product.getId(), PriceCalendar.build(product, List.of(), startDate, horizonDays));
+            }
+            return result;
+        }
+        boolean cacheable = invalidations.get() == invalidationsBefore;
+        for (CarModelProductResponse product : missing) {
+            PriceCalendar calendar = PriceCalendar.build(product,
+                    pricingsByProduct.getOrDefault(product.getId(), List.of()), startDate, horizonDays);
+            result.put(product.getId(), calendar);
+            if (cacheable) {
+                calendars.put(product.getId(), calendar);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 失效商品的价格日历，商品ID为空时全部失效
+     */
+    public void invalidate(Long productId) {
+        invalidations.incrementAndGet();
+        if (productId == null) {
+            calendars.invalidateAll();
+        } else {
+            calendars.invalidate(productId);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.rental.saas.pricing.price;
+
+import com.rental.api.pricing.entity.Quote;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 报价金额计算
+ * 入参均为分，计算过程只使用 {@link Money}，最后一次性转换为元写入报价
+ */
+public final class QuotePriceCalculator {
+
+    /**
+     * 基本保障价格(分)，这里简化处理，实际应该从商品配置中获取
+     */
+    public static final Money BASE_PROTECTION_PRICE = Money.ofCents(3000);
+
+    private static final BigDecimal BASE_PROTECTION_PRICE_YUAN = BASE_PROTECTION_PRICE.toYuan();
+
+    private QuotePriceCalculator() {
+    }
+
+    /**
+     * 计算报价总价(分)，不包含押金，用于排序；与 {@link #calculate} 写入的总价一致
+     * @param dailyCents 租期内每日租金(分)
+     * @param storeFeeCents 门店手续费(分)
+     * @param pickupFeeCents 取车服务费(分)
+     * @param returnFeeCents 还车服务费(分)
+     * @return 总价(分)
+     */
+    public static long totalCents(int[] dailyCents, long storeFeeCents, long pickupFeeCents, long returnFeeCents) {
+        long total = BASE_PROTECTION_PRICE.cents();
+        for (int cents : dailyCents) {
+            total = Math.addExact(total, cents);
+        }
+        return Math.addExact(Math.addExact(total, storeFeeCents), Math.addExact(pickupFeeCents, returnFeeCents));
+    }
+
+    /**
+     * 计算报价金额并写入报价
+     * @param quote 报价
+     * @param dailyCents 租期内每日租金(分)，至少一天
+     * @param storeFeeCents 门店手续费(分)
+     * @param pickupFeeCents 取车服务费(分)
+     * @param returnFeeCents 还车服务费(分)
+     * @param damageDepositCents 车损押金(分)
+     * @param violationDepositCents 违章押金(分)
+     */
+    public static void calculate(Quote quote, int[] dailyCents, long storeFeeCents, long pickupFeeCents,
+                                 long returnFeeCents, long damageDepositCents, long violationDepositCents) {
+        if (dailyCents.length == 0) {
+            throw new IllegalArgumentException("dailyCents must not be empty");
+        }
+
+        long rentalCents = 0;
+        List<BigDecimal> dailyPrices = new ArrayList<>(dailyCents.length);
+        BigDecimal previous = null;
+        for (int i = 0; i < dailyCents.length; i++) {
+            rentalCents = Math.addExact(rentalCents, dailyCents[i]);
+            // 相邻日期价格相同时复用同一个对象，BigDecimal不可变
+            if (previous == null || dailyCents[i] != dailyCents[i - 1]) {
+                previous = BigDecimal.valueOf(dailyCents[i], 2);
+            }
+            dailyPrices.add(previous);
+        }
+        Money rentalPrice = Money.ofCents(rentalCents);
+        Money storeFee = Money.ofCents(storeFeeCents);
+        Money pickupFee = Money.ofCents(pickupFeeCents);
+        Money returnFee = Money.ofCents(returnFeeCents);
+
+        // 总价格不包含押金，押金只是冻结金额
+        Money totalPrice = rentalPrice
+                .plus(pickupFee)
+                .plus(returnFee)
+                .plus(storeFee)
+                .plus(BASE_PROTECTION_PRICE);
+
+        quote.setRentalDays(dailyCents.length);
+        quote.setRentalPrice(rentalPrice.toYuan());
+        quote.setDailyPrices(dailyPrices);
+        quote.setDailyRate(rentalPrice.divideHalfUp(dailyCents.length).toYuan());
+        quote.setStoreFee(storeFee.toYuan());
+        quote.setBaseProtectionPrice(BASE_PROTECTION_PRICE_YUAN);
+        quote.setPickupFee(pickupFee.toYuan());
+        quote.setReturnFee(returnFee.toYuan());
+        quote.setDamageDeposit(Money.ofCents(damageDepositCents).toYuan());
+        quote.setViolationDeposit(Money.ofCents(violationDepositCents).toYuan());
+        quote.setTotalPrice(totalPrice.toYuan());
+    }
+}
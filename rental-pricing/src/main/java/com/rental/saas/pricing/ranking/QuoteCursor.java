@@ -0,0 +1,47 @@
+package com.rental.saas.pricing.ranking;
+
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ResponseCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 报价分页游标
+ * 记录上一页最后一条报价的排序键，下一页只取排在它之后的报价；游标中带有排序方式，换了排序方式的游标无效
+ */
+public final class QuoteCursor {
+
+    private QuoteCursor() {
+    }
+
+    /**
+     * 生成游标
+     * @param sort 排序方式
+     * @param last 当前页最后一条报价的排序键
+     * @return URL安全的Base64游标
+     */
+    public static String encode(QuoteSort sort, RankKey last) {
+        String raw = sort.getCode() + ":" + last.value() + ":" + last.storeId() + ":" + last.productId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @param cursor 游标
+     * @param sort 本次请求的排序方式
+     * @return 上一页最后一条报价的排序键
+     */
+    public static RankKey decode(String cursor, QuoteSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 4 && parts[0].equals(sort.getCode())) {
+                return new RankKey(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            }
+        } catch (IllegalArgumentException e) {
+            // 格式错误，统一按无效游标处理
+        }
+        throw new BusinessException(ResponseCode.PARAMETER_VALUE_INVALID, "分页游标无效");
+    }
+}
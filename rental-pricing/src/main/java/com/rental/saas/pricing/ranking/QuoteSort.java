@@ -0,0 +1,52 @@
+package com.rental.saas.pricing.ranking;
+
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ResponseCode;
+
+/**
+ * 报价排序方式
+ */
+public enum QuoteSort {
+
+    /**
+     * 按总价从低到高
+     */
+    PRICE("price"),
+
+    /**
+     * 按门店距离从近到远
+     */
+    DISTANCE("distance"),
+
+    /**
+     * 按综合得分从低到高：总价加上按公里折算的距离成本
+     */
+    SCORE("score");
+
+    private final String code;
+
+    QuoteSort(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 解析排序方式，为空时按综合得分排序
+     * @param code 排序方式编码
+     * @return 排序方式
+     */
+    public static QuoteSort from(String code) {
+        if (code == null || code.isBlank()) {
+            return SCORE;
+        }
+        for (QuoteSort sort : values()) {
+            if (sort.code.equalsIgnoreCase(code)) {
+                return sort;
+            }
+        }
+        throw new BusinessException(ResponseCode.PARAMETER_VALUE_INVALID, "不支持的排序方式: " + code);
+    }
+}
@@ -0,0 +1,53 @@
+package com.rental.saas.pricing.ranking;
+
+import java.util.Comparator;
+
+/**
+ * 报价排序键
+ * 先按排序值升序，相同时按门店ID、商品ID升序，保证同一搜索条件下的顺序稳定，可用于游标分页
+ *
+ * @param value     排序值：总价(分)、距离(米)或综合得分(分)
+ * @param storeId   门店ID
+ * @param productId 商品ID
+ */
+public record RankKey(long value, long storeId, long productId) implements Comparable<RankKey> {
+
+    private static final Comparator<RankKey> ORDER = Comparator.comparingLong(RankKey::value)
+            .thenComparingLong(RankKey::storeId)
+            .thenComparingLong(RankKey::productId);
+
+    /**
+     * 计算排序键
+     * @param sort 排序方式
+     * @param totalCents 总价(分)
+     * @param distanceKm 门店距离(公里)，未知时为无穷大
+     * @param distanceCentsPerKm 综合得分中每公里折算的金额(分)
+     * @param storeId 门店ID
+     * @param productId 商品ID
+     * @return 排序键
+     */
+    public static RankKey of(QuoteSort sort, long totalCents, double distanceKm, long distanceCentsPerKm,
+                             long storeId, long productId) {
+        long value = switch (sort) {
+            case PRICE -> totalCents;
+            case DISTANCE -> saturatedRound(distanceKm * 1000);
+            case SCORE -> saturatedAdd(totalCents, saturatedRound(distanceKm * distanceCentsPerKm));
+        };
+        return new RankKey(value, storeId, productId);
+    }
+
+    @Override
+    public int compareTo(RankKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    private static long saturatedRound(double value) {
+        return Double.isInfinite(value) || value >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.round(value);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        // 同号相加结果变号即溢出
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+}
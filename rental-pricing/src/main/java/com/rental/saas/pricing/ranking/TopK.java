@@ -0,0 +1,65 @@
+package com.rental.saas.pricing.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 有界的前K个元素选择
+ * 使用大小为K的最大堆，堆顶是当前第K名，新元素比它小时替换；n个元素耗时O(n log K)，只保留K个元素
+ * 非线程安全
+ *
+ * @param <T> 元素类型
+ */
+public final class TopK<T> {
+
+    private final int k;
+
+    private final Comparator<? super T> comparator;
+
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k 保留的元素个数，必须大于0
+     * @param comparator 排序规则，越小越靠前
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024), comparator.reversed());
+    }
+
+    /**
+     * 加入元素
+     * @return 元素是否进入前K名
+     */
+    public boolean offer(T element) {
+        if (heap.size() < k) {
+            heap.offer(element);
+            return true;
+        }
+        if (comparator.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.offer(element);
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * 按排序规则从小到大返回保留的元素
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+}
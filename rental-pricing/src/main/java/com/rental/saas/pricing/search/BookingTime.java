@@ -0,0 +1,91 @@
+package com.rental.saas.pricing.search;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * 一次搜索的预定时间
+ * 请求开始时取一次当前时间，预定日期和时间按门店所在时区解释；
+ * 各时区的UTC偏移在首次用到时计算并缓存，同一请求内判断多个门店时不再分配对象。
+ * 只在处理请求的线程内使用，非线程安全。
+ */
+public final class BookingTime {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * 缓存偏移的时区数，超出后按需计算
+     */
+    private static final int CACHED_ZONES = 4;
+
+    private final LocalDate date;
+
+    private final LocalTime time;
+
+    /**
+     * 预定时间的秒数(当天)，用于判断营业时间
+     */
+    private final int secondOfDay;
+
+    /**
+     * 按UTC解释预定日期和时间得到的纪元分钟数，减去门店时区偏移即为预定时刻
+     */
+    private final long localEpochMinute;
+
+    /**
+     * 当前时刻的纪元分钟数，不足一分钟向上取整
+     */
+    private final long nowEpochMinute;
+
+    private final ZoneId[] zones = new ZoneId[CACHED_ZONES];
+
+    private final int[] offsetMinutes = new int[CACHED_ZONES];
+
+    private int cachedZones;
+
+    private BookingTime(LocalDate date, LocalTime time, Instant now) {
+        this.date = date;
+        this.time = time;
+        this.secondOfDay = time.toSecondOfDay();
+        this.localEpochMinute = date.toEpochDay() * MINUTES_PER_DAY + secondOfDay / 60;
+        this.nowEpochMinute = Math.floorDiv(now.getEpochSecond() + 59, 60);
+    }
+
+    /**
+     * @param date 预定日期(门店当地日期)
+     * @param time 预定时间(门店当地时间)
+     * @param now 当前时刻
+     */
+    public static BookingTime of(LocalDate date, LocalTime time, Instant now) {
+        return new BookingTime(date, time, now);
+    }
+
+    int secondOfDay() {
+        return secondOfDay;
+    }
+
+    /**
+     * 在指定时区下，预定时刻距当前时刻的分钟数，预定时刻已过时为负数
+     */
+    long minutesUntil(ZoneId zone) {
+        return localEpochMinute - offsetMinutes(zone) - nowEpochMinute;
+    }
+
+    private int offsetMinutes(ZoneId zone) {
+        for (int i = 0; i < cachedZones; i++) {
+            if (zones[i] == zone) {
+                return offsetMinutes[i];
+            }
+        }
+        int offset = zone.getRules().getOffset(LocalDateTime.of(date, time)).getTotalSeconds() / 60;
+        if (cachedZones < CACHED_ZONES) {
+            zones[cachedZones] = zone;
+            offsetMinutes[cachedZones] = offset;
+            cachedZones++;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,18 @@
+package com.rental.saas.pricing.search;
+
+import com.rental.saas.pricing.dto.StoreQuotes;
+
+/**
+ * 流式搜索的报价输出
+ * 输出可以阻塞(如客户端接收缓慢)，报价计算随之放慢，起到背压作用
+ */
+@FunctionalInterface
+public interface QuoteSink {
+
+    /**
+     * 输出一个门店的报价
+     * @param storeQuotes 门店报价，报价已写入缓存
+     * @return 是否继续；客户端已断开时返回false，停止计算剩余门店
+     */
+    boolean emit(StoreQuotes storeQuotes);
+}
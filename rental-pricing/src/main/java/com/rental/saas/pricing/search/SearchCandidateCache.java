@@ -0,0 +1,86 @@
+package com.rental.saas.pricing.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rental.saas.common.geo.GeoHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 搜索候选集缓存
+ * 以(GeoHash网格, 预定日期, 预定时段)为键缓存候选门店和商品，同一网格同一时段内的搜索共用一份候选集，
+ * 报价仍按每次请求的实际位置和时间单独计算。
+ * 过期时间较短，门店、服务范围或商品变更通知到达时整体失效。
+ */
+@Component
+public class SearchCandidateCache {
+
+    private final Cache<String, SearchCandidates> cache;
+
+    /**
+     * GeoHash精度，5位约为4.9公里见方，与5公里的搜索半径相当
+     */
+    @Value("${app.pricing.search-cache.geohash-precision:5}")
+    private int geohashPrecision;
+
+    /**
+     * 预定时段长度(分钟)
+     */
+    @Value("${app.pricing.search-cache.time-bucket-minutes:60}")
+    private int timeBucketMinutes;
+
+    public SearchCandidateCache(MeterRegistry meterRegistry,
+                                @Value("${app.pricing.search-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${app.pricing.search-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pricing.search.candidates");
+    }
+
+    /**
+     * 用户位置所在的网格
+     * @param longitude 经度
+     * @param latitude 纬度
+     * @return GeoHash
+     */
+    public String cellOf(double longitude, double latitude) {
+        return GeoHash.encode(longitude, latitude, geohashPrecision);
+    }
+
+    /**
+     * 生成缓存键
+     * @param cell 网格
+     * @param date 预定日期
+     * @param time 预定时间
+     * @return 缓存键
+     */
+    public String key(String cell, LocalDate date, LocalTime time) {
+        int bucket = time.toSecondOfDay() / (timeBucketMinutes * 60);
+        return cell + ":" + date + ":" + bucket;
+    }
+
+    public SearchCandidates get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, SearchCandidates candidates) {
+        cache.put(key, candidates);
+    }
+
+    /**
+     * 失效全部候选集
+     * 单个门店或商品可能出现在多个网格的候选集中，变更频率远低于搜索频率，直接整体失效
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
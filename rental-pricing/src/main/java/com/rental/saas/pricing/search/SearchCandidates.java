@@ -0,0 +1,42 @@
+package com.rental.saas.pricing.search;
+
+import com.rental.api.basedata.response.ServiceAreaResponse;
+import com.rental.api.basedata.response.StoreResponse;
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.saas.common.geo.FencePolygon;
+
+import java.util.List;
+
+/**
+ * 一个位置网格内的搜索候选集
+ * 包含网格内任意位置可能匹配到的门店、门店的在线商品以及与网格相交的上门服务区域，
+ * 按用户实际位置计算距离和围栏覆盖后即可生成报价，无需再调用基础数据和商品服务。
+ *
+ * @param stores   候选门店，附近门店按到网格中心的距离排在前面，仅被电子围栏覆盖的门店按门店ID排在后面
+ * @param complete 是否完整加载，部分下游调用失败或超时的候选集只用于本次请求，不写入缓存
+ */
+public record SearchCandidates(List<StoreCandidate> stores, boolean complete) {
+
+    /**
+     * 候选门店
+     *
+     * @param store         门店
+     * @param products      门店的在线商品
+     * @param deliveryAreas 与网格相交的上门服务区域
+     * @param bookingWindow 门店的可预定窗口
+     */
+    public record StoreCandidate(StoreResponse store,
+                                 List<CarModelProductResponse> products,
+                                 List<DeliveryArea> deliveryAreas,
+                                 StoreBookingWindow bookingWindow) {
+    }
+
+    /**
+     * 预编译围栏的上门服务区域
+     *
+     * @param area    服务区域
+     * @param polygon 电子围栏
+     */
+    public record DeliveryArea(ServiceAreaResponse area, FencePolygon polygon) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.rental.saas.pricing.search;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 相同键的并发调用合并
+ * 同一个键同一时刻只有第一个调用方执行加载，其余调用方等待并共享它的结果(包括异常)；
+ * 加载结束后移除记录，之后的调用重新执行，结果的缓存由调用方负责
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 执行加载，相同键已有进行中的加载时等待其结果
+     * @param key 键
+     * @param loader 加载逻辑，在第一个调用方的线程中执行
+     * @return 加载结果
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 实际执行加载的次数
+     */
+    public long executionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * 合并到进行中加载的调用次数
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
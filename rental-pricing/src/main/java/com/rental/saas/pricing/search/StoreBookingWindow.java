@@ -0,0 +1,114 @@
+package com.rental.saas.pricing.search;
+
+import com.rental.api.basedata.response.StoreResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 门店可预定窗口
+ * 门店的营业时间、最小提前预定时间和最大提前预定天数在加载候选集时预先换算为整数边界，
+ * 判断时只做整数比较，不分配对象。规则与原逐个门店计算一致：
+ * <ul>
+ *     <li>预定时间在营业开始和结束时间之间(含两端)</li>
+ *     <li>距预定时刻的整小时数不少于最小提前预定时间</li>
+ *     <li>距预定时刻的整天数不超过最大提前预定天数</li>
+ * </ul>
+ * 预定日期和时间按门店所在时区解释，门店未设置时区时使用默认时区。
+ * 营业时间或预定限制缺失的门店不可预定。
+ */
+@Slf4j
+public final class StoreBookingWindow {
+
+    /**
+     * 不可预定的门店
+     */
+    static final StoreBookingWindow CLOSED = new StoreBookingWindow(0, -1, 0L, 0L, ZoneId.of("UTC"));
+
+    /**
+     * 时区ID -> 时区，同一时区的门店共享同一实例，判断时按引用比较
+     */
+    private static final Map<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+
+    private final int openSecond;
+
+    private final int closeSecond;
+
+    /**
+     * 预定时刻距当前的最少分钟数
+     */
+    private final long minAdvanceMinutes;
+
+    /**
+     * 预定时刻距当前的分钟数上限(不含)
+     */
+    private final long maxAdvanceMinutesExclusive;
+
+    private final ZoneId zone;
+
+    private StoreBookingWindow(int openSecond, int closeSecond, long minAdvanceMinutes,
+                               long maxAdvanceMinutesExclusive, ZoneId zone) {
+        this.openSecond = openSecond;
+        this.closeSecond = closeSecond;
+        this.minAdvanceMinutes = minAdvanceMinutes;
+        this.maxAdvanceMinutesExclusive = maxAdvanceMinutesExclusive;
+        this.zone = zone;
+    }
+
+    /**
+     * 编译门店的可预定窗口
+     * @param store 门店
+     * @param defaultZone 门店未设置时区或时区无效时使用的时区
+     * @return 可预定窗口，营业时间或预定限制缺失时返回不可预定
+     */
+    public static StoreBookingWindow compile(StoreResponse store, ZoneId defaultZone) {
+        if (store.getBusinessStartTime() == null || store.getBusinessEndTime() == null
+                || store.getMinAdvanceHours() == null || store.getMaxAdvanceDays() == null) {
+            log.warn("门店营业时间或预定限制缺失，不可预定, storeId={}", store.getId());
+            return CLOSED;
+        }
+        return new StoreBookingWindow(
+                store.getBusinessStartTime().toSecondOfDay(),
+                store.getBusinessEndTime().toSecondOfDay(),
+                store.getMinAdvanceHours() * 60L,
+                (store.getMaxAdvanceDays() + 1L) * BookingTime.MINUTES_PER_DAY,
+                resolveZone(store, defaultZone));
+    }
+
+    /**
+     * 门店在该预定时间是否可预定
+     */
+    public boolean accepts(BookingTime booking) {
+        int second = booking.secondOfDay();
+        if (second < openSecond || second > closeSecond) {
+            return false;
+        }
+        long minutes = booking.minutesUntil(zone);
+        return minutes >= minAdvanceMinutes && minutes < maxAdvanceMinutesExclusive;
+    }
+
+    private static ZoneId resolveZone(StoreResponse store, ZoneId defaultZone) {
+        String zoneId = store.getTimeZone();
+        if (zoneId == null || zoneId.isBlank()) {
+            return intern(defaultZone);
+        }
+        ZoneId zone = ZONES.get(zoneId);
+        if (zone != null) {
+            return zone;
+        }
+        try {
+            return intern(ZoneId.of(zoneId));
+        } catch (DateTimeException e) {
+            log.warn("门店时区无效，使用默认时区, storeId={}, timeZone={}", store.getId(), zoneId);
+            return intern(defaultZone);
+        }
+    }
+
+    private static ZoneId intern(ZoneId zone) {
+        ZoneId existing = ZONES.putIfAbsent(zone.getId(), zone);
+        return existing != null ? existing : zone;
+    }
+}
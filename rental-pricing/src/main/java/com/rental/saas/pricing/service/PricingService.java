@@ -2,9 +2,13 @@ package com.rental.saas.pricing.service;
 
 import com.rental.saas.pricing.dto.QuoteRequest;
 import com.rental.saas.pricing.dto.QuoteResponse;
+import com.rental.saas.pricing.dto.QuoteStreamSummary;
+import com.rental.saas.pricing.search.QuoteSink;
 import com.rental.api.pricing.dto.QuoteDetailResponse;
 import com.rental.api.pricing.entity.Quote;
 
+import java.util.List;
+
 /**
  * 定价服务接口
  */
@@ -17,6 +21,14 @@ public interface PricingService {
      */
     QuoteResponse searchQuotes(QuoteRequest request);
     
+    /**
+     * 流式搜索报价，按门店逐个输出，门店报价在输出前已写入缓存
+     * @param request 报价请求参数
+     * @param sink 门店报价输出
+     * @return 搜索汇总
+     */
+    QuoteStreamSummary streamQuotes(QuoteRequest request, QuoteSink sink);
+    
     /**
      * 获取报价详情
      * @param quoteId 报价ID
@@ -36,6 +48,12 @@ public interface PricingService {
      */
     void saveQuoteToCache(Quote quote);
     
+    /**
+     * 批量保存报价到Redis缓存（管道方式，一次网络往返）
+     * @param quotes 报价列表
+     */
+    void saveQuotesToCache(List<Quote> quotes);
+    
     /**
      * 从Redis缓存获取报价
      * @param quoteId 报价ID
@@ -5,29 +5,73 @@ import com.rental.api.basedata.response.ServiceAreaResponse;
 import com.rental.api.basedata.response.StoreResponse;
 import com.rental.api.product.ProductClient;
 import com.rental.api.product.response.CarModelProductResponse;
-import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
-import com.rental.api.product.response.CancellationRuleTemplateResponse;
-import com.rental.api.product.response.ServicePolicyTemplateResponse;
 import com.rental.saas.common.enums.PickupType;
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.geo.FencePolygon;
+import com.rental.saas.common.geo.GeoHash;
+import com.rental.saas.common.geo.GeoUtil;
 import com.rental.saas.common.response.ApiResponse;
+import com.rental.saas.common.response.ResponseCode;
 import com.rental.saas.pricing.dto.QuoteRequest;
 import com.rental.saas.pricing.dto.QuoteResponse;
+import com.rental.saas.pricing.dto.QuoteStreamSummary;
+import com.rental.saas.pricing.dto.StoreQuotes;
 import com.rental.api.pricing.dto.QuoteDetailResponse;
 import com.rental.api.pricing.entity.Quote;
+import com.rental.saas.pricing.detail.QuoteDetailAssembler;
+import com.rental.saas.pricing.downstream.DownstreamGuard;
+import com.rental.saas.pricing.id.QuoteIdGenerator;
+import com.rental.saas.pricing.inventory.InventoryIndex;
+import com.rental.saas.pricing.inventory.ProductInventory;
+import com.rental.saas.pricing.metrics.PricingMetrics;
+import com.rental.saas.pricing.price.PriceCalendar;
+import com.rental.saas.pricing.price.PriceCalendarCache;
+import com.rental.saas.pricing.price.QuotePriceCalculator;
+import com.rental.saas.pricing.ranking.QuoteCursor;
+import com.rental.saas.pricing.ranking.QuoteSort;
+import com.rental.saas.pricing.ranking.RankKey;
+import com.rental.saas.pricing.ranking.TopK;
+import com.rental.saas.pricing.search.QuoteSink;
+import com.rental.saas.pricing.search.BookingTime;
+import com.rental.saas.pricing.search.SearchCandidateCache;
+import com.rental.saas.pricing.search.SearchCandidates;
+import com.rental.saas.pricing.search.SearchCandidates.DeliveryArea;
+import com.rental.saas.pricing.search.SearchCandidates.StoreCandidate;
+import com.rental.saas.pricing.search.SingleFlight;
+import com.rental.saas.pricing.search.StoreBookingWindow;
 import com.rental.saas.pricing.service.PricingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
-import java.math.BigDecimal;
-import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * 定价服务实现类
@@ -36,16 +80,118 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class PricingServiceImpl implements PricingService {
     
+    /**
+     * 报价缓存键前缀
+     */
+    private static final String QUOTE_KEY_PREFIX = "quote:";
+    
+    /**
+     * 报价缓存时间(分钟)
+     */
+    private static final long QUOTE_TTL_MINUTES = 30;
+    
+    private static final Duration QUOTE_TTL = Duration.ofMinutes(QUOTE_TTL_MINUTES);
+    
+    /**
+     * 附近门店搜索半径(公里)
+     */
+    private static final double NEARBY_RADIUS_KM = 5.0;
+    
+    /**
+     * 不分页时的每页报价数，排序时多保留一条，不能取Integer.MAX_VALUE
+     */
+    private static final int UNPAGED = Integer.MAX_VALUE - 1;
+    
     private final RedisTemplate<String, Object> redisTemplate;
     private final BaseDataClient baseDataClient;
     private final ProductClient productClient;
+    private final ExecutorService quoteExecutor;
+    private final SearchCandidateCache searchCandidateCache;
+    private final QuoteDetailAssembler quoteDetailAssembler;
+    private final PriceCalendarCache priceCalendarCache;
+    private final InventoryIndex inventoryIndex;
+    private final QuoteIdGenerator quoteIdGenerator;
+    private final PricingMetrics pricingMetrics;
+    private final DownstreamGuard downstreamGuard;
+    
+    /**
+     * 搜索候选集加载合并，键与候选集缓存相同
+     */
+    private final SingleFlight<String, SearchCandidates> candidateLoads = new SingleFlight<>();
+    
+    /**
+     * 单次搜索加载候选门店商品的截止时间(毫秒)，超时的门店不返回报价
+     */
+    @Value("${app.pricing.search-timeout-ms:3000}")
+    private long searchTimeoutMillis;
+    
+    /**
+     * 每次批量查询商品和服务范围的门店数
+     */
+    @Value("${app.pricing.store-batch-size:50}")
+    private int storeBatchSize;
+    
+    /**
+     * 综合得分排序时每公里距离折算的金额(分)
+     */
+    @Value("${app.pricing.ranking.distance-cents-per-km:1000}")
+    private long distanceCentsPerKm;
+    
+    /**
+     * 默认每页报价数
+     */
+    @Value("${app.pricing.ranking.default-page-size:20}")
+    private int defaultPageSize;
+    
+    /**
+     * 每页报价数上限
+     */
+    @Value("${app.pricing.ranking.max-page-size:100}")
+    private int maxPageSize;
+    
+    /**
+     * 最长租期(天)，按租期逐日计算租金，不限制时超长租期会为每个商品分配超大数组
+     */
+    @Value("${app.pricing.max-rental-days:180}")
+    private int maxRentalDays;
+    
+    /**
+     * 门店未设置时区时，营业时间和预定时间按该时区解释
+     */
+    private final ZoneId defaultZone;
     
     public PricingServiceImpl(RedisTemplate<String, Object> redisTemplate, 
                               BaseDataClient baseDataClient,
-                              ProductClient productClient) {
+                              ProductClient productClient,
+                              @Qualifier("quoteExecutor") ExecutorService quoteExecutor,
+                              MeterRegistry meterRegistry,
+                              SearchCandidateCache searchCandidateCache,
+                              QuoteDetailAssembler quoteDetailAssembler,
+                              PriceCalendarCache priceCalendarCache,
+                              InventoryIndex inventoryIndex,
+                              QuoteIdGenerator quoteIdGenerator,
+                              PricingMetrics pricingMetrics,
+                              DownstreamGuard downstreamGuard,
+                              @Value("${app.pricing.default-time-zone:Asia/Shanghai}") String defaultTimeZone) {
         this.redisTemplate = redisTemplate;
         this.baseDataClient = baseDataClient;
         this.productClient = productClient;
+        this.quoteExecutor = quoteExecutor;
+        this.searchCandidateCache = searchCandidateCache;
+        this.quoteDetailAssembler = quoteDetailAssembler;
+        this.priceCalendarCache = priceCalendarCache;
+        this.inventoryIndex = inventoryIndex;
+        this.quoteIdGenerator = quoteIdGenerator;
+        this.pricingMetrics = pricingMetrics;
+        this.downstreamGuard = downstreamGuard;
+        this.defaultZone = ZoneId.of(defaultTimeZone);
+        
+        FunctionCounter.builder("pricing.search.candidate.loads", candidateLoads, SingleFlight::executionCount)
+            .description("搜索候选集实际加载次数")
+            .register(meterRegistry);
+        FunctionCounter.builder("pricing.search.coalesced", candidateLoads, SingleFlight::coalescedCount)
+            .description("合并到进行中的候选集加载的搜索请求数")
+            .register(meterRegistry);
     }
     
     /**
@@ -58,24 +204,229 @@ public class PricingServiceImpl implements PricingService {
         log.info("搜索报价: date={}, time={}, longitude={}, latitude={}", 
                 request.getDate(), request.getTime(), request.getLongitude(), request.getLatitude());
         
-        // 1. 位置匹配：按照用户的位置，匹配服务区域取还车都覆盖了这个位置的门店，同时搜索出距离用户位置5公里的门店
-        List<StoreResponse> matchedStores = matchStoresByLocation(request.getLongitude(), request.getLatitude());
+        validateRequest(request, maxRentalDays);
+        QuoteSort sort = QuoteSort.from(request.getSortBy());
+        RankKey after = request.getCursor() != null ? QuoteCursor.decode(request.getCursor(), sort) : null;
+        int pageSize = resolvePageSize(request.getPageSize(), after != null);
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchTimeoutMillis);
+        PricingMetrics.Stage total = pricingMetrics.start(PricingMetrics.SEARCH, "total");
+        String outcome = PricingMetrics.FAILURE;
+        try {
+            // 1. 候选集：取用户位置所在网格的候选门店和商品，同一网格同一时段的搜索共用缓存
+            SearchCandidates candidates = getSearchCandidates(request);
+            
+            // 2. 位置匹配：按照用户的位置，匹配服务区域取还车都覆盖了这个位置的门店，同时匹配出距离用户位置5公里的门店
+            LocationMatch locationMatch = pricingMetrics.time(PricingMetrics.SEARCH, "location-match",
+                () -> matchStoresByLocation(candidates, request.getLongitude(), request.getLatitude()));
+            
+            // 3. 过滤门店：针对门店设置的营业时间、提前预定时间和最大预定天数过滤出有效的门店
+            List<StoreResponse> validStores = pricingMetrics.time(PricingMetrics.SEARCH, "store-filter",
+                () -> filterValidStores(locationMatch, request.getDate(), request.getTime()));
+            pricingMetrics.recordStores(locationMatch.stores.size(), validStores.size());
+            
+            // 4. 计算价格并排序，只保留游标之后的一页(多保留一条用于判断是否还有下一页)
+            TopK<RankedProduct> topK = new TopK<>(pageSize + 1, Comparator.comparing(RankedProduct::key));
+            int totalCount = pricingMetrics.time(PricingMetrics.SEARCH, "ranking",
+                () -> rankProducts(validStores, locationMatch, request, sort, after, topK, deadline));
+            pricingMetrics.recordQuotes(totalCount);
+            List<RankedProduct> ranked = topK.toSortedList();
+            boolean hasMore = ranked.size() > pageSize;
+            List<RankedProduct> page = hasMore ? ranked.subList(0, pageSize) : ranked;
+            
+            // 5. 只为当前页生成报价并保存到Redis缓存
+            List<Quote> quotes = pricingMetrics.time(PricingMetrics.SEARCH, "quote-build", () -> page.stream()
+                .map(rankedProduct -> toQuote(rankedProduct.priced()))
+                .collect(Collectors.toList()));
+            saveQuotesToCache(quotes);
+            
+            QuoteResponse response = new QuoteResponse();
+            response.setQuotes(quotes);
+            response.setTotalCount(totalCount);
+            response.setNextCursor(hasMore ? QuoteCursor.encode(sort, page.get(page.size() - 1).key()) : null);
+            
+            outcome = candidates.complete() ? PricingMetrics.SUCCESS : PricingMetrics.PARTIAL;
+            return response;
+        } finally {
+            total.stop(outcome);
+        }
+    }
+    
+    /**
+     * 流式搜索报价，按门店逐个输出
+     * 候选集缓存命中时按门店顺序依次计算输出；未命中时门店商品按批次并发查询，
+     * 哪一批先返回就先计算输出哪一批门店的报价，不等待最慢的批次
+     * @param request 报价请求参数
+     * @param sink 门店报价输出，返回false时停止计算并取消未完成的查询
+     * @return 搜索汇总
+     */
+    @Override
+    public QuoteStreamSummary streamQuotes(QuoteRequest request, QuoteSink sink) {
+        log.info("流式搜索报价: date={}, time={}, longitude={}, latitude={}", 
+                request.getDate(), request.getTime(), request.getLongitude(), request.getLatitude());
+        
+        validateRequest(request, maxRentalDays);
+        long startTime = System.nanoTime();
+        QuoteStreamSummary summary = new QuoteStreamSummary();
         
-        // 2. 过滤门店：针对门店设置的营业时间、提前预定时间和最大预定天数过滤出有效的门店
-        List<StoreResponse> validStores = filterValidStores(matchedStores, request.getDate(), request.getTime());
+        String cell = searchCandidateCache.cellOf(request.getLongitude(), request.getLatitude());
+        String key = searchCandidateCache.key(cell, request.getDate(), request.getTime());
+        SearchCandidates cached = searchCandidateCache.get(key);
+        if (cached != null) {
+            long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(searchTimeoutMillis);
+            boolean finished = emitStoreQuotes(cached, request, sink, summary, deadline);
+            summary.setComplete(finished && cached.complete());
+        } else {
+            summary.setComplete(streamLoadedCandidates(cell, key, request, sink, summary));
+        }
         
-        // 3. 过滤后的有效门店查询出门店的商品
-        List<Quote> quotes = calculateQuotes(validStores, request);
+        summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        log.info("流式搜索报价结束: stores={}, quotes={}, complete={}, elapsedMs={}",
+                summary.getStoreCount(), summary.getQuoteCount(), summary.isComplete(), summary.getElapsedMillis());
+        return summary;
+    }
+    
+    /**
+     * 加载候选集并逐批输出报价，全部批次成功时写入候选集缓存
+     * @return 是否全部门店都已输出
+     */
+    private boolean streamLoadedCandidates(String cell, String key, QuoteRequest request, QuoteSink sink,
+                                           QuoteStreamSummary summary) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchTimeoutMillis);
+        CellStores cellStores = loadCellStores(cell, deadline);
+        List<ProductBatch> batches = submitProductBatches(cellStores.stores(), deadline);
         
-        // 4. 保存报价到Redis缓存
-        for (Quote quote : quotes) {
-            saveQuoteToCache(quote);
+        // 按完成顺序处理批次，价格日历和库存预热结束(或超过截止时间)后输出
+        BlockingQueue<ProductBatch> completed = new LinkedBlockingQueue<>();
+        for (ProductBatch batch : batches) {
+            batch.warmUp().whenComplete((ignored, e) -> completed.offer(batch));
         }
         
-        QuoteResponse response = new QuoteResponse();
-        response.setQuotes(quotes);
+        Map<Long, List<CarModelProductResponse>> productsByStore = new HashMap<>();
+        List<ProductBatch> pending = new ArrayList<>(batches);
+        boolean stopped = false;
+        try {
+            while (!pending.isEmpty() && !stopped) {
+                ProductBatch batch = completed.poll(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (batch == null) {
+                    log.warn("查询门店商品超时，返回部分结果: timeoutMs={}", searchTimeoutMillis);
+                    break;
+                }
+                pending.remove(batch);
+                stopped = !emitBatch(batch, cellStores, productsByStore, request, sink, summary, deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("流式搜索被中断");
+            stopped = true;
+        }
         
-        return response;
+        // 商品已返回、只是预热未结束的批次照常输出，缺失的价格日历和库存按兜底规则计算
+        Iterator<ProductBatch> iterator = pending.iterator();
+        while (!stopped && iterator.hasNext()) {
+            ProductBatch batch = iterator.next();
+            if (batch.products().isDone()) {
+                iterator.remove();
+                stopped = !emitBatch(batch, cellStores, productsByStore, request, sink, summary, deadline);
+            }
+        }
+        
+        if (!pending.isEmpty()) {
+            batches.forEach(ProductBatch::resultOrCancel);
+            return false;
+        }
+        boolean complete = cellStores.complete()
+            && batches.stream().allMatch(batch -> batch.resultOrCancel() != null);
+        if (complete) {
+            searchCandidateCache.put(key, new SearchCandidates(
+                toStoreCandidates(cellStores, cellStores.stores(), productsByStore), true));
+        }
+        return complete && !stopped;
+    }
+    
+    /**
+     * 输出一批门店的报价，商品查询失败的批次跳过
+     * @return 是否继续，客户端断开时为false
+     */
+    private boolean emitBatch(ProductBatch batch, CellStores cellStores,
+                              Map<Long, List<CarModelProductResponse>> productsByStore,
+                              QuoteRequest request, QuoteSink sink, QuoteStreamSummary summary, long deadline) {
+        Map<Long, List<CarModelProductResponse>> products = batch.resultOrCancel();
+        if (products == null) {
+            log.warn("门店商品查询失败，已跳过, storeIds={}", batch.storeIds());
+            return true;
+        }
+        productsByStore.putAll(products);
+        
+        SearchCandidates batchCandidates = new SearchCandidates(
+            toStoreCandidates(cellStores, batch.stores(), products), false);
+        if (!emitStoreQuotes(batchCandidates, request, sink, summary, deadline)) {
+            log.info("客户端已断开，停止流式搜索");
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * 计算候选门店的报价并按门店输出，每个门店的报价先写入缓存再输出
+     * @param deadline 截止时间(System.nanoTime)，缺失的价格日历和库存的查询不超过该时间
+     * @return 是否继续，输出返回false时为false
+     */
+    private boolean emitStoreQuotes(SearchCandidates candidates, QuoteRequest request, QuoteSink sink,
+                                    QuoteStreamSummary summary, long deadline) {
+        LocationMatch locationMatch = matchStoresByLocation(candidates, request.getLongitude(), request.getLatitude());
+        List<StoreResponse> validStores = filterValidStores(locationMatch, request.getDate(), request.getTime());
+        Map<Long, PriceCalendar> calendars = getCalendars(validStores, locationMatch, deadline);
+        Map<Long, ProductInventory> inventories = getInventories(validStores, locationMatch, deadline);
+        
+        for (StoreResponse store : validStores) {
+            List<Quote> quotes = calculateStoreQuotes(store, locationMatch, calendars, inventories, request);
+            if (quotes.isEmpty()) {
+                continue;
+            }
+            saveQuotesToCache(quotes);
+            
+            StoreQuotes storeQuotes = new StoreQuotes();
+            storeQuotes.setStoreId(store.getId());
+            storeQuotes.setStoreName(store.getStoreName());
+            storeQuotes.setQuotes(quotes);
+            if (!sink.emit(storeQuotes)) {
+                return false;
+            }
+            summary.setStoreCount(summary.getStoreCount() + 1);
+            summary.setQuoteCount(summary.getQuoteCount() + quotes.size());
+        }
+        return true;
+    }
+    
+    /**
+     * 每页报价数：未指定且不带游标时不分页，返回全部报价(兼容未传分页参数的旧客户端)；
+     * 带游标但未指定或不合法时使用默认值，超过上限时取上限
+     */
+    private int resolvePageSize(Integer pageSize, boolean paged) {
+        if (pageSize == null && !paged) {
+            return UNPAGED;
+        }
+        if (pageSize == null || pageSize <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+    
+    /**
+     * 校验报价请求：还车日期须晚于用车日期，租期不超过最长租期
+     */
+    static void validateRequest(QuoteRequest request, int maxRentalDays) {
+        LocalDate returnDate = request.getReturnDate();
+        if (returnDate == null) {
+            return;
+        }
+        if (!returnDate.isAfter(request.getDate())) {
+            throw new BusinessException(ResponseCode.RETURN_TIME_INVALID);
+        }
+        if (ChronoUnit.DAYS.between(request.getDate(), returnDate) > maxRentalDays) {
+            throw new BusinessException(ResponseCode.RETURN_TIME_INVALID, "租期不能超过" + maxRentalDays + "天");
+        }
     }
     
     /**
@@ -87,278 +438,446 @@ public class PricingServiceImpl implements PricingService {
     public QuoteDetailResponse getQuoteDetail(String quoteId) {
         log.info("获取报价详情: quoteId={}", quoteId);
         
+        // 报价ID中带有生成时间，已过缓存有效期的报价不再查询Redis
+        PricingMetrics.Stage cacheRead = pricingMetrics.start(PricingMetrics.DETAIL, "cache-read");
+        if (quoteIdGenerator.isExpired(quoteId, QUOTE_TTL)) {
+            cacheRead.stop("expired");
+            log.info("报价已过期: quoteId={}", quoteId);
+            return null;
+        }
+        
         // 从Redis缓存获取报价
-        Quote quote = getQuoteFromCache(quoteId);
+        Quote quote;
+        try {
+            quote = getQuoteFromCache(quoteId);
+        } catch (RuntimeException e) {
+            cacheRead.stop(PricingMetrics.FAILURE);
+            throw e;
+        }
+        cacheRead.stop(quote != null ? "hit" : "miss");
         if (quote == null) {
             return null;
         }
         
-        QuoteDetailResponse response = new QuoteDetailResponse();
-        response.setQuote(quote);
-        
-        // 获取增值服务模板列表
-        List<ValueAddedServiceTemplateResponse> vasTemplates = getValueAddedServiceTemplates(quote);
-        response.setVasTemplates(vasTemplates);
-        
-        // 获取取消规则
-        CancellationRuleTemplateResponse cancellationPolicy = getCancellationRule(quote);
-        response.setCancellationPolicy(cancellationPolicy);
-        
-        // 获取服务政策
-        ServicePolicyTemplateResponse servicePolicy = getServicePolicy(quote);
-        response.setServicePolicy(servicePolicy);
-        
-        return response;
+        // 商品只查询一次，模板从本地缓存获取
+        return pricingMetrics.time(PricingMetrics.DETAIL, "assemble", () -> quoteDetailAssembler.assemble(quote));
     }
     
     /**
-     * 获取增值服务模板列表
+     * 生成报价ID，定长11位、按生成时间有序
+     * @return 报价ID
+     */
+    @Override
+    public String generateQuoteId() {
+        return quoteIdGenerator.nextId();
+    }
+    
+    /**
+     * 保存报价到Redis缓存
      * @param quote 报价信息
-     * @return 增值服务模板列表
      */
-    private List<ValueAddedServiceTemplateResponse> getValueAddedServiceTemplates(Quote quote) {
-        List<ValueAddedServiceTemplateResponse> result = new ArrayList<>();
+    @Override
+    public void saveQuoteToCache(Quote quote) {
+        String key = QUOTE_KEY_PREFIX + quote.getId();
+        redisTemplate.opsForValue().set(key, quote, QUOTE_TTL_MINUTES, TimeUnit.MINUTES); // 缓存30分钟
+    }
+    
+    /**
+     * 批量保存报价到Redis缓存
+     * 所有SET ... EX命令通过管道一次发送，写入完成后才返回，保证随后的报价详情查询能读到
+     * @param quotes 报价列表
+     */
+    @Override
+    public void saveQuotesToCache(List<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            return;
+        }
         
+        PricingMetrics.Stage cacheWrite = pricingMetrics.start(PricingMetrics.SEARCH, "cache-write");
+        String outcome = PricingMetrics.SUCCESS;
         try {
-            // 获取商品信息
-            ApiResponse<CarModelProductResponse> productResponse = productClient.getProductByStoreAndModel(
-                quote.getStoreId(), quote.getModelId());
-            
-            if (productResponse != null && productResponse.getData() != null) {
-                CarModelProductResponse product = productResponse.getData();
-                
-                // 获取所有增值服务模板
-                ApiResponse<List<ValueAddedServiceTemplateResponse>> templatesResponse = 
-                    productClient.getAllValueAddedServiceTemplates();
-                
-                if (templatesResponse != null && templatesResponse.getData() != null) {
-                    List<ValueAddedServiceTemplateResponse> templates = templatesResponse.getData();
-                    
-                    // 根据商品关联的模板ID过滤
-                    for (ValueAddedServiceTemplateResponse template : templates) {
-                        // 如果商品关联了特定模板ID，则只返回关联的模板
-                        if ((product.getVasTemplateId() != null && product.getVasTemplateId().equals(template.getId())) ||
-                            (product.getVasTemplateIdVip() != null && product.getVasTemplateIdVip().equals(template.getId())) ||
-                            (product.getVasTemplateIdVvip() != null && product.getVasTemplateIdVvip().equals(template.getId()))) {
-
-                            ValueAddedServiceTemplateResponse dto = getValueAddedServiceTemplateResponse(template);
-
-                            result.add(dto);
-                        }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (Quote quote : quotes) {
+                        ops.opsForValue().set(QUOTE_KEY_PREFIX + quote.getId(), quote, QUOTE_TTL_MINUTES, TimeUnit.MINUTES);
                     }
+                    return null;
                 }
-            }
-        } catch (Exception e) {
-            log.error("获取增值服务模板列表失败", e);
+            });
+        } catch (RuntimeException e) {
+            outcome = PricingMetrics.FAILURE;
+            throw e;
+        } finally {
+            cacheWrite.stop(outcome);
+        }
+    }
+    
+    /**
+     * 从Redis缓存获取报价
+     * @param quoteId 报价ID
+     * @return 报价信息
+     */
+    @Override
+    public Quote getQuoteFromCache(String quoteId) {
+        String key = QUOTE_KEY_PREFIX + quoteId;
+        return (Quote) redisTemplate.opsForValue().get(key);
+    }
+    
+    /**
+     * 获取用户位置所在网格的搜索候选集，缓存未命中时从基础数据服务和商品服务加载
+     * @param request 报价请求
+     * @return 搜索候选集
+     */
+    private SearchCandidates getSearchCandidates(QuoteRequest request) {
+        String cell = searchCandidateCache.cellOf(request.getLongitude(), request.getLatitude());
+        String key = searchCandidateCache.key(cell, request.getDate(), request.getTime());
+        
+        PricingMetrics.Stage stage = pricingMetrics.start(PricingMetrics.SEARCH, "candidates");
+        SearchCandidates candidates = searchCandidateCache.get(key);
+        if (candidates != null) {
+            stage.stop("hit");
+            return candidates;
         }
         
-        return result;
+        // 同一网格同一时段的并发搜索只加载一次候选集，报价和报价ID仍按请求各自生成
+        String outcome = PricingMetrics.FAILURE;
+        try {
+            candidates = candidateLoads.execute(key, () -> {
+                // 上一次加载可能刚写入缓存
+                SearchCandidates cached = searchCandidateCache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+                SearchCandidates loaded = loadSearchCandidates(cell);
+                if (loaded.complete()) {
+                    searchCandidateCache.put(key, loaded);
+                }
+                return loaded;
+            });
+            outcome = candidates.complete() ? PricingMetrics.SUCCESS : PricingMetrics.PARTIAL;
+            return candidates;
+        } finally {
+            stage.stop(outcome);
+        }
     }
-
-    @NotNull
-    private static ValueAddedServiceTemplateResponse getValueAddedServiceTemplateResponse(ValueAddedServiceTemplateResponse template) {
-        ValueAddedServiceTemplateResponse dto = new ValueAddedServiceTemplateResponse();
-        dto.setId(template.getId());
-        dto.setTemplateName(template.getTemplateName());
-        dto.setServiceType(template.getServiceType());
-        dto.setPrice(template.getPrice() / 100); // 转换为元
-        dto.setDeductible(template.getDeductible());
-        dto.setIncludeTireDamage(template.getIncludeTireDamage());
-        dto.setIncludeGlassDamage(template.getIncludeGlassDamage());
-        dto.setThirdPartyCoverage(template.getThirdPartyCoverage());
-        dto.setChargeDepreciation(template.getChargeDepreciation());
-        dto.setDepreciationDeductible(template.getDepreciationDeductible());
-        dto.setDepreciationRate(template.getDepreciationRate());
-        return dto;
+    
+    /**
+     * 加载网格的搜索候选集
+     * @param cell 网格
+     * @return 搜索候选集
+     */
+    private SearchCandidates loadSearchCandidates(String cell) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchTimeoutMillis);
+        CellStores cellStores = loadCellStores(cell, deadline);
+        
+        // 查询候选门店的商品
+        Map<Long, List<CarModelProductResponse>> productsByStore = new HashMap<>();
+        boolean productsComplete = loadProducts(cellStores.stores(), productsByStore, deadline);
+        
+        return new SearchCandidates(toStoreCandidates(cellStores, cellStores.stores(), productsByStore),
+            cellStores.complete() && productsComplete);
     }
-
+    
     /**
-     * 获取取消规则
-     * @param quote 报价信息
-     * @return 取消规则
+     * 加载网格的候选门店和上门服务区域
+     * 附近门店按网格中心查询，半径加上网格半对角线，保证网格内任意位置5公里内的门店都在其中；
+     * 上门服务区域取电子围栏与网格相交的，保证网格内任意位置的覆盖围栏都在其中
+     * @param cell 网格
+     * @param deadline 截止时间(System.nanoTime)
+     * @return 候选门店和门店ID -> 上门服务区域
      */
-    private CancellationRuleTemplateResponse getCancellationRule(Quote quote) {
+    private CellStores loadCellStores(String cell, long deadline) {
+        GeoHash.Bounds bounds = GeoHash.bounds(cell);
+        boolean complete = true;
+        
+        // 获取网格内任意位置附近5公里内的门店
+        List<StoreResponse> stores = new ArrayList<>();
+        List<StoreResponse> nearbyStores = callDownstream("nearby-stores", "base-data", "getNearbyStores",
+            "获取附近门店列表失败", deadline, () -> baseDataClient.getNearbyStores(
+                bounds.centerLongitude(), bounds.centerLatitude(), NEARBY_RADIUS_KM + bounds.halfDiagonalKm()));
+        if (nearbyStores != null) {
+            stores.addAll(nearbyStores);
+        } else {
+            complete = false;
+        }
+        
+        // 获取电子围栏与网格相交的上门服务区域，取车和还车区域都相交的门店才可能提供上门取送车
+        Map<Long, List<DeliveryArea>> deliveryAreasByStore = new HashMap<>();
+        List<ServiceAreaResponse> areas = callDownstream("service-areas", "base-data", "getServiceAreasIntersecting",
+            "获取上门服务区域失败", deadline, () -> baseDataClient.getServiceAreasIntersecting(
+                bounds.minLongitude(), bounds.minLatitude(), bounds.maxLongitude(), bounds.maxLatitude()));
+        if (areas == null) {
+            return new CellStores(stores, deliveryAreasByStore, false);
+        }
         try {
-            // 获取商品信息
-            ApiResponse<CarModelProductResponse> productResponse = productClient.getProductByStoreAndModel(
-                quote.getStoreId(), quote.getModelId());
-            
-            if (productResponse != null && productResponse.getData() != null) {
-                CarModelProductResponse product = productResponse.getData();
-                
-                // 如果商品有关联的取消规则模板ID
-                if (product.getCancellationTemplateId() != null) {
-                    ApiResponse<CancellationRuleTemplateResponse> templateResponse = 
-                        productClient.getCancellationRuleTemplateById(product.getCancellationTemplateId());
-                    
-                    if (templateResponse != null && templateResponse.getData() != null) {
-                        CancellationRuleTemplateResponse template = templateResponse.getData();
-                        
-                        CancellationRuleTemplateResponse dto = new CancellationRuleTemplateResponse();
-                        dto.setId(template.getId());
-                        dto.setTemplateName(template.getTemplateName());
-                        dto.setWeekdayRule(template.getWeekdayRule());
-                        dto.setHolidayRule(template.getHolidayRule());
-                        
-                        return dto;
-                    }
+            for (ServiceAreaResponse area : areas) {
+                if (area.getDoorToDoorDelivery() == null || area.getDoorToDoorDelivery() != 1) {
+                    continue;
+                }
+                FencePolygon polygon = FencePolygon.parse(area.getFenceCoordinates());
+                if (polygon != null) {
+                    deliveryAreasByStore.computeIfAbsent(area.getStoreId(), id -> new ArrayList<>())
+                        .add(new DeliveryArea(area, polygon));
                 }
             }
+            deliveryAreasByStore.values().removeIf(storeAreas ->
+                storeAreas.stream().noneMatch(area -> area.area().getAreaType() == 1)
+                    || storeAreas.stream().noneMatch(area -> area.area().getAreaType() == 2));
         } catch (Exception e) {
-            log.error("获取取消规则失败", e);
+            log.error("电子围栏匹配门店失败", e);
+            return new CellStores(stores, new HashMap<>(), false);
         }
         
-        return null;
+        // 补充不在附近范围内、但电子围栏与网格相交的门店
+        Set<Long> nearbyStoreIds = stores.stream().map(StoreResponse::getId).collect(Collectors.toSet());
+        List<Long> fenceOnlyStoreIds = deliveryAreasByStore.keySet().stream()
+            .filter(storeId -> !nearbyStoreIds.contains(storeId))
+            .sorted()
+            .collect(Collectors.toList());
+        
+        if (!fenceOnlyStoreIds.isEmpty()) {
+            List<StoreResponse> fenceStores = callDownstream("fence-stores", "base-data", "getOnlineStoresByIds",
+                "获取电子围栏门店失败", deadline, () -> baseDataClient.getOnlineStoresByIds(fenceOnlyStoreIds));
+            if (fenceStores != null) {
+                stores.addAll(fenceStores);
+            } else {
+                complete = false;
+            }
+        }
+        
+        return new CellStores(stores, deliveryAreasByStore, complete);
     }
     
     /**
-     * 获取服务政策
-     * @param quote 报价信息
-     * @return 服务政策
+     * 组装候选门店，没有在线商品的门店不作为候选
+     * @param cellStores 网格的候选门店和上门服务区域
+     * @param stores 要组装的门店
+     * @param productsByStore 门店ID -> 商品列表
+     * @return 候选门店列表
+     */
+    private List<StoreCandidate> toStoreCandidates(CellStores cellStores, List<StoreResponse> stores,
+                                                   Map<Long, List<CarModelProductResponse>> productsByStore) {
+        List<StoreCandidate> candidates = new ArrayList<>();
+        for (StoreResponse store : stores) {
+            List<CarModelProductResponse> products = productsByStore.get(store.getId());
+            if (products == null || products.isEmpty()) {
+                continue;
+            }
+            candidates.add(new StoreCandidate(store, products,
+                cellStores.deliveryAreasByStore().getOrDefault(store.getId(), List.of()),
+                StoreBookingWindow.compile(store, defaultZone)));
+        }
+        return candidates;
+    }
+    
+    /**
+     * 查询门店的商品
+     * 门店按批次拆分，每批通过批量接口一次查询商品，各批次并发执行，整体受搜索截止时间约束
+     * @param stores 门店列表
+     * @param productsByStore 门店ID -> 商品列表，查询结果写入其中
+     * @param deadline 截止时间(System.nanoTime)
+     * @return 是否全部批次都查询成功，超时或失败的批次被跳过
      */
-    private ServicePolicyTemplateResponse getServicePolicy(Quote quote) {
+    private boolean loadProducts(List<StoreResponse> stores,
+                                 Map<Long, List<CarModelProductResponse>> productsByStore,
+                                 long deadline) {
+        PricingMetrics.Stage stage = pricingMetrics.start(PricingMetrics.SEARCH, "products");
+        List<ProductBatch> batches = submitProductBatches(stores, deadline);
+        
         try {
-            // 获取商品信息
-            ApiResponse<CarModelProductResponse> productResponse = productClient.getProductByStoreAndModel(
-                quote.getStoreId(), quote.getModelId());
-            
-            if (productResponse != null && productResponse.getData() != null) {
-                CarModelProductResponse product = productResponse.getData();
-                
-                // 如果商品有关联的服务政策模板ID
-                if (product.getServicePolicyTemplateId() != null) {
-                    ApiResponse<ServicePolicyTemplateResponse> templateResponse = 
-                        productClient.getServicePolicyTemplateById(product.getServicePolicyTemplateId());
-                    
-                    if (templateResponse != null && templateResponse.getData() != null) {
-                        ServicePolicyTemplateResponse template = templateResponse.getData();
-                        
-                        ServicePolicyTemplateResponse dto = new ServicePolicyTemplateResponse();
-                        dto.setId(template.getId());
-                        dto.setTemplateName(template.getTemplateName());
-                        dto.setMileageLimit(template.getMileageLimit());
-                        dto.setEarlyPickup(template.getEarlyPickup());
-                        dto.setLatePickup(template.getLatePickup());
-                        dto.setEarlyReturn(template.getEarlyReturn());
-                        dto.setRenewal(template.getRenewal());
-                        dto.setForcedRenewal(template.getForcedRenewal());
-                        dto.setPickupMaterials(template.getPickupMaterials());
-                        dto.setCityRestriction(template.getCityRestriction());
-                        dto.setUsageAreaLimit(template.getUsageAreaLimit());
-                        dto.setFuelFee(template.getFuelFee());
-                        dto.setPersonalBelongingsLoss(template.getPersonalBelongingsLoss());
-                        dto.setViolationHandling(template.getViolationHandling());
-                        dto.setRoadsideAssistance(template.getRoadsideAssistance());
-                        dto.setForcedRecovery(template.getForcedRecovery());
-                        dto.setEtcFee(template.getEtcFee());
-                        dto.setCleaningFee(template.getCleaningFee());
-                        dto.setInvoiceInfo(template.getInvoiceInfo());
-                        
-                        return dto;
-                    }
-                }
+            // 预热在商品返回后进行，等待预热结束即等待全部批次；超时时商品已返回的批次仍然保留
+            CompletableFuture.allOf(batches.stream().map(ProductBatch::warmUp).toArray(CompletableFuture[]::new))
+                .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("查询门店商品或预热超时，返回已查询到的商品: timeoutMs={}", searchTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("查询门店商品被中断，返回部分结果");
+        } catch (ExecutionException e) {
+            // loadBatchProducts 和 warmUp 内部已处理异常，这里只做兜底
+            log.error("查询门店商品时发生错误", e);
+        }
+        
+        boolean complete = true;
+        for (ProductBatch batch : batches) {
+            Map<Long, List<CarModelProductResponse>> products = batch.resultOrCancel();
+            if (products != null) {
+                productsByStore.putAll(products);
+            } else {
+                complete = false;
+                log.warn("门店商品查询超时或失败，已跳过, storeIds={}", batch.storeIds());
             }
-        } catch (Exception e) {
-            log.error("获取服务政策失败", e);
         }
         
-        return null;
+        stage.stop(complete ? PricingMetrics.SUCCESS : PricingMetrics.PARTIAL);
+        return complete;
     }
     
     /**
-     * 生成报价ID
-     * @return 报价ID
+     * 按批次提交门店商品查询，每批商品返回后接着预热该批商品的价格日历和库存
+     * 预热不属于商品查询，预热慢或失败不影响已返回的商品，报价时缺失的价格日历和库存按兜底规则计算
+     * @param stores 门店列表
+     * @param deadline 截止时间(System.nanoTime)
+     * @return 各批次的查询
      */
-    @Override
-    public String generateQuoteId() {
-        return UUID.randomUUID().toString().replace("-", "");
+    private List<ProductBatch> submitProductBatches(List<StoreResponse> stores, long deadline) {
+        List<ProductBatch> batches = new ArrayList<>();
+        for (int i = 0; i < stores.size(); i += storeBatchSize) {
+            List<StoreResponse> batchStores = stores.subList(i, Math.min(i + storeBatchSize, stores.size()));
+            List<Long> storeIds = batchStores.stream().map(StoreResponse::getId).collect(Collectors.toList());
+            CompletableFuture<Map<Long, List<CarModelProductResponse>>> products =
+                CompletableFuture.supplyAsync(() -> loadBatchProducts(storeIds, deadline), quoteExecutor);
+            CompletableFuture<Void> warmUp = products.thenAcceptAsync(
+                batchProducts -> warmUp(batchProducts, deadline), quoteExecutor);
+            batches.add(new ProductBatch(batchStores, products, warmUp));
+        }
+        return batches;
     }
     
     /**
-     * 保存报价到Redis缓存
-     * @param quote 报价信息
+     * 查询一批门店的商品，只调用一次批量接口
+     * @param storeIds 门店ID批次
+     * @param deadline 截止时间(System.nanoTime)
+     * @return 门店ID -> 商品列表，失败时返回null
      */
-    @Override
-    public void saveQuoteToCache(Quote quote) {
-        String key = "quote:" + quote.getId();
-        redisTemplate.opsForValue().set(key, quote, 30, TimeUnit.MINUTES); // 缓存30分钟
+    private Map<Long, List<CarModelProductResponse>> loadBatchProducts(List<Long> storeIds, long deadline) {
+        return callDownstream("product-batch", "product",
+            "getProductsByStores", "批量查询门店商品时发生错误, storeIds=" + storeIds, deadline,
+            () -> productClient.getProductsByStores(storeIds));
     }
     
     /**
-     * 从Redis缓存获取报价
-     * @param quoteId 报价ID
-     * @return 报价信息
+     * 预热一批商品的价格日历和库存，同一批商品的特殊定价、关联车辆和订单占用各一次查询
+     * @param products 门店ID -> 商品列表，商品查询失败时为null
+     * @param deadline 截止时间(System.nanoTime)
      */
-    @Override
-    public Quote getQuoteFromCache(String quoteId) {
-        String key = "quote:" + quoteId;
-        return (Quote) redisTemplate.opsForValue().get(key);
+    private void warmUp(Map<Long, List<CarModelProductResponse>> products, long deadline) {
+        if (products == null) {
+            return;
+        }
+        List<CarModelProductResponse> batchProducts = products.values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+        priceCalendarCache.getCalendars(batchProducts, deadline);
+        inventoryIndex.getInventories(batchProducts.stream()
+            .map(CarModelProductResponse::getId)
+            .collect(Collectors.toList()), deadline);
+    }
+    
+    /**
+     * 经过下游调用保护调用下游服务并记录阶段耗时，无结果、异常、超时或熔断时记录错误并返回null
+     * @param stage 阶段名
+     * @param client 下游服务
+     * @param method 调用的方法
+     * @param errorMessage 失败时的日志
+     * @param deadline 截止时间(System.nanoTime)
+     * @param call 调用
+     * @return 响应数据，失败时返回null
+     */
+    private <T> T callDownstream(String stage, String client, String method, String errorMessage,
+                                 long deadline, Supplier<ApiResponse<T>> call) {
+        PricingMetrics.Stage timing = pricingMetrics.start(PricingMetrics.SEARCH, stage);
+        try {
+            ApiResponse<T> response = downstreamGuard.call(client, method, deadline, call);
+            if (response != null && response.getData() != null) {
+                timing.stop(PricingMetrics.SUCCESS);
+                return response.getData();
+            }
+            timing.stop(PricingMetrics.FAILURE);
+            pricingMetrics.feignError(client, method, "empty");
+            log.warn("{}: 响应为空", errorMessage);
+        } catch (Exception e) {
+            timing.stop(PricingMetrics.FAILURE);
+            pricingMetrics.feignError(client, method, e);
+            log.error(errorMessage, e);
+        }
+        return null;
     }
     
     /**
-     * 位置匹配：按照用户的位置，匹配服务区域取还车都覆盖了这个位置的门店，同时搜索出距离用户位置5公里的门店
+     * 位置匹配：按照用户的位置，匹配服务区域取还车都覆盖了这个位置的门店，同时匹配出距离用户位置5公里的门店
+     * 附近门店按距离排在前面，仅被电子围栏覆盖的门店按门店ID排在后面
+     * @param candidates 用户位置所在网格的搜索候选集
      * @param longitude 经度
      * @param latitude 纬度
-     * @return 匹配的门店列表
+     * @return 匹配的门店、各门店电子围栏覆盖该位置的上门服务区域、门店商品以及门店距离
      */
-    private List<StoreResponse> matchStoresByLocation(Double longitude, Double latitude) {
-        List<StoreResponse> result = new ArrayList<>();
+    private LocationMatch matchStoresByLocation(SearchCandidates candidates, double longitude, double latitude) {
+        List<StoreCandidate> nearbyStores = new ArrayList<>();
+        Map<Long, Double> distances = new HashMap<>();
+        List<StoreCandidate> fenceOnlyStores = new ArrayList<>();
+        Map<Long, List<ServiceAreaResponse>> coveringAreasByStore = new HashMap<>();
         
-        try {
-            // 获取附近5公里内的门店
-            ApiResponse<List<StoreResponse>> nearbyStoresResponse = baseDataClient.getNearbyStores(
-                    longitude, latitude, 5.0);
+        for (StoreCandidate candidate : candidates.stores()) {
+            StoreResponse store = candidate.store();
             
-            if (nearbyStoresResponse != null && nearbyStoresResponse.getData() != null) {
-                result.addAll(nearbyStoresResponse.getData());
+            // 取车和还车区域的电子围栏都覆盖该位置时才提供上门取送车
+            List<ServiceAreaResponse> coveringAreas = candidate.deliveryAreas().stream()
+                .filter(area -> area.polygon().contains(longitude, latitude))
+                .map(DeliveryArea::area)
+                .collect(Collectors.toList());
+            boolean pickupCovered = coveringAreas.stream().anyMatch(area -> area.getAreaType() == 1);
+            boolean returnCovered = coveringAreas.stream().anyMatch(area -> area.getAreaType() == 2);
+            boolean fenceCovered = pickupCovered && returnCovered;
+            if (fenceCovered) {
+                coveringAreasByStore.put(store.getId(), coveringAreas);
             }
             
-            // TODO: 实现服务区域匹配逻辑（需要根据坐标判断是否在电子围栏内）
-            // 这里暂时简化处理，只返回附近5公里的门店
-            
-        } catch (Exception e) {
-            log.error("获取附近门店列表失败", e);
+            double distance = distanceKm(store, longitude, latitude);
+            distances.put(store.getId(), distance);
+            if (distance <= NEARBY_RADIUS_KM) {
+                nearbyStores.add(candidate);
+            } else if (fenceCovered) {
+                fenceOnlyStores.add(candidate);
+            }
         }
         
-        return result;
+        nearbyStores.sort(Comparator.comparingDouble(candidate -> distances.get(candidate.store().getId())));
+        fenceOnlyStores.sort(Comparator.comparing(candidate -> candidate.store().getId()));
+        
+        List<StoreResponse> stores = new ArrayList<>(nearbyStores.size() + fenceOnlyStores.size());
+        List<StoreBookingWindow> bookingWindows = new ArrayList<>(nearbyStores.size() + fenceOnlyStores.size());
+        Map<Long, List<CarModelProductResponse>> productsByStore = new HashMap<>();
+        for (List<StoreCandidate> group : List.of(nearbyStores, fenceOnlyStores)) {
+            for (StoreCandidate candidate : group) {
+                stores.add(candidate.store());
+                bookingWindows.add(candidate.bookingWindow());
+                productsByStore.put(candidate.store().getId(), candidate.products());
+            }
+        }
+        
+        return new LocationMatch(stores, bookingWindows, coveringAreasByStore, productsByStore, distances);
+    }
+    
+    /**
+     * 门店到指定位置的距离(公里)，门店没有坐标时返回无穷大
+     */
+    private static double distanceKm(StoreResponse store, double longitude, double latitude) {
+        if (store.getLongitude() == null || store.getLatitude() == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return GeoUtil.distanceKm(latitude, longitude, 
+                store.getLatitude().doubleValue(), store.getLongitude().doubleValue());
     }
     
     /**
      * 过滤门店：针对门店设置的营业时间、提前预定时间和最大预定天数过滤出有效的门店
-     * @param stores 门店列表
+     * 当前时间只取一次，各门店按预编译的可预定窗口判断
+     * @param locationMatch 位置匹配结果
      * @param date 预定日期
      * @param time 预定时间
      * @return 有效门店列表
      */
-    private List<StoreResponse> filterValidStores(List<StoreResponse> stores, LocalDate date, LocalTime time) {
+    private List<StoreResponse> filterValidStores(LocationMatch locationMatch, LocalDate date, LocalTime time) {
+        BookingTime booking = BookingTime.of(date, time, Instant.now());
         List<StoreResponse> validStores = new ArrayList<>();
         
-        for (StoreResponse store : stores) {
-            try {
-                // 检查营业时间
-                if (time.isBefore(store.getBusinessStartTime()) || time.isAfter(store.getBusinessEndTime())) {
-                    continue;
-                }
-                
-                // 检查提前预定时间
-                LocalDateTime now = LocalDateTime.now();
-                LocalDateTime bookingDateTime = LocalDateTime.of(date, time);
-                long hoursBetween = java.time.Duration.between(now, bookingDateTime).toHours();
-                
-                if (hoursBetween < store.getMinAdvanceHours()) {
-                    continue;
-                }
-                
-                // 检查最大预定天数
-                long daysBetween = java.time.Duration.between(now, bookingDateTime).toDays();
-                
-                if (daysBetween > store.getMaxAdvanceDays()) {
-                    continue;
-                }
-                
-                validStores.add(store);
-            } catch (Exception e) {
-                log.error("过滤门店时发生错误, storeId={}", store.getId(), e);
+        for (int i = 0; i < locationMatch.stores.size(); i++) {
+            if (locationMatch.bookingWindows.get(i).accepts(booking)) {
+                validStores.add(locationMatch.stores.get(i));
             }
         }
         
@@ -366,98 +885,155 @@ public class PricingServiceImpl implements PricingService {
     }
     
     /**
-     * 计算报价
+     * 计算有效门店商品的价格并排序，只保留排在游标之后的前K个
+     * 门店和商品均来自搜索候选集，这里只做本地计算，不再调用下游服务；此时只计算金额，不生成报价对象
      * @param stores 有效门店列表
+     * @param locationMatch 位置匹配结果
      * @param request 报价请求
-     * @return 报价列表
+     * @param sort 排序方式
+     * @param after 上一页最后一条报价的排序键，第一页为null
+     * @param topK 排序结果
+     * @param deadline 截止时间(System.nanoTime)，缺失的价格日历和库存的查询不超过该时间
+     * @return 报价总数，不受游标和分页限制
      */
-    private List<Quote> calculateQuotes(List<StoreResponse> stores, QuoteRequest request) {
-        List<Quote> quotes = new ArrayList<>();
-        
+    private int rankProducts(List<StoreResponse> stores, LocationMatch locationMatch, QuoteRequest request,
+                             QuoteSort sort, RankKey after, TopK<RankedProduct> topK, long deadline) {
+        Map<Long, PriceCalendar> calendars = getCalendars(stores, locationMatch, deadline);
+        Map<Long, ProductInventory> inventories = getInventories(stores, locationMatch, deadline);
+        int totalCount = 0;
         for (StoreResponse store : stores) {
-            try {
-                // 查询门店的商品
-                ApiResponse<List<CarModelProductResponse>> productsResponse = 
-                    productClient.getProductsByStore(store.getId());
-                
-                if (productsResponse == null || productsResponse.getData() == null) {
-                    continue;
+            double distance = locationMatch.distancesByStore.getOrDefault(store.getId(), Double.POSITIVE_INFINITY);
+            for (PricedProduct priced : priceStoreProducts(store, locationMatch, calendars, inventories, request)) {
+                totalCount++;
+                RankKey key = RankKey.of(sort, priced.totalCents(), distance, distanceCentsPerKm,
+                    store.getId(), priced.product().getId());
+                if (after == null || key.compareTo(after) > 0) {
+                    topK.offer(new RankedProduct(priced, key));
                 }
-                
-                // 为每个商品计算报价
-                for (CarModelProductResponse product : productsResponse.getData()) {
-                    // 计算价格
-                    Quote quote = calculateQuoteForProduct(store, product, request);
-                    if (quote != null) {
-                        quotes.add(quote);
-                    }
-                }
-            } catch (Exception e) {
-                log.error("计算门店商品报价时发生错误, storeId={}", store.getId(), e);
             }
         }
+        return totalCount;
+    }
+    
+    /**
+     * 获取门店商品的价格日历
+     * 价格日历在加载候选集时已预热，这里通常不会调用商品服务；超过截止时间时按周中/周末价格计算
+     */
+    private Map<Long, PriceCalendar> getCalendars(List<StoreResponse> stores, LocationMatch locationMatch,
+                                                  long deadline) {
+        return priceCalendarCache.getCalendars(stores.stream()
+            .map(store -> locationMatch.productsByStore.get(store.getId()))
+            .filter(Objects::nonNull)
+            .flatMap(List::stream)
+            .collect(Collectors.toList()), deadline);
+    }
+    
+    /**
+     * 获取门店商品的库存
+     * 库存在加载候选集时已预热，这里通常不会调用下游服务；超过截止时间时视为有车
+     */
+    private Map<Long, ProductInventory> getInventories(List<StoreResponse> stores, LocationMatch locationMatch,
+                                                       long deadline) {
+        return inventoryIndex.getInventories(stores.stream()
+            .map(store -> locationMatch.productsByStore.get(store.getId()))
+            .filter(Objects::nonNull)
+            .flatMap(List::stream)
+            .map(CarModelProductResponse::getId)
+            .collect(Collectors.toList()), deadline);
+    }
+    
+    /**
+     * 计算一个门店的报价
+     * @param store 有效门店
+     * @param locationMatch 位置匹配结果
+     * @param calendars 商品ID -> 价格日历
+     * @param inventories 商品ID -> 商品库存
+     * @param request 报价请求
+     * @return 门店商品的报价列表
+     */
+    private List<Quote> calculateStoreQuotes(StoreResponse store, LocationMatch locationMatch,
+                                             Map<Long, PriceCalendar> calendars,
+                                             Map<Long, ProductInventory> inventories, QuoteRequest request) {
+        return priceStoreProducts(store, locationMatch, calendars, inventories, request).stream()
+            .map(this::toQuote)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 计算一个门店商品的价格，租期内无空闲车辆的商品不报价
+     * @param store 有效门店
+     * @param locationMatch 位置匹配结果
+     * @param calendars 商品ID -> 价格日历
+     * @param inventories 商品ID -> 商品库存，库存缺失的商品视为有车
+     * @param request 报价请求
+     * @return 门店商品的价格列表
+     */
+    private List<PricedProduct> priceStoreProducts(StoreResponse store, LocationMatch locationMatch,
+                                                   Map<Long, PriceCalendar> calendars,
+                                                   Map<Long, ProductInventory> inventories, QuoteRequest request) {
+        List<CarModelProductResponse> products = locationMatch.productsByStore.get(store.getId());
+        if (products == null) {
+            return List.of();
+        }
+        List<ServiceAreaResponse> coveringAreas = locationMatch.coveringAreasByStore.get(store.getId());
+        pricingMetrics.recordProductsPerStore(products.size());
         
-        return quotes;
+        // 为每个商品计算价格
+        LocalDate returnDate = request.getReturnDate() != null ? request.getReturnDate() : request.getDate().plusDays(1);
+        List<PricedProduct> pricedProducts = new ArrayList<>(products.size());
+        int soldOut = 0;
+        for (CarModelProductResponse product : products) {
+            ProductInventory inventory = inventories.get(product.getId());
+            if (inventory != null && !inventory.isAvailable(request.getDate(), returnDate)) {
+                soldOut++;
+                continue;
+            }
+            PriceCalendar calendar = calendars.get(product.getId());
+            if (calendar == null) {
+                log.warn("商品价格日历缺失，跳过报价, productId={}", product.getId());
+                continue;
+            }
+            PricedProduct priced = priceProduct(store, product, calendar, coveringAreas, request);
+            if (priced != null) {
+                pricedProducts.add(priced);
+            }
+        }
+        if (soldOut > 0) {
+            pricingMetrics.recordSoldOut(soldOut);
+        }
+        return pricedProducts;
     }
     
     /**
-     * 为商品计算报价
+     * 为商品计算价格
      * @param store 门店
      * @param product 商品
+     * @param calendar 商品价格日历
+     * @param coveringAreas 门店电子围栏覆盖用户位置的上门服务区域，没有时为null
      * @param request 报价请求
-     * @return 报价
+     * @return 商品价格，计算失败时返回null
      */
-    private Quote calculateQuoteForProduct(StoreResponse store, CarModelProductResponse product, QuoteRequest request) {
-        Quote quote = new Quote();
-        quote.setId(generateQuoteId());
-        quote.setProductId(product.getId());
-        quote.setTenantId(product.getTenantId());
-        quote.setProductName(product.getProductName());
-        quote.setModelId(product.getCarModelId());
-        quote.setStoreId(store.getId());
-        quote.setStoreName(store.getStoreName());
-        //quote.setCreatedAt(LocalDateTime.now());
-        
+    private PricedProduct priceProduct(StoreResponse store, CarModelProductResponse product, PriceCalendar calendar,
+                                       List<ServiceAreaResponse> coveringAreas, QuoteRequest request) {
         try {
-            // 判断是否为周末来确定价格
-            DayOfWeek dayOfWeek = request.getDate().getDayOfWeek();
-            boolean isWeekend = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-            
-            // 日租金
-            BigDecimal dailyRate = new BigDecimal(isWeekend ? 
-                product.getWeekendPrice() : product.getWeekdayPrice())
-                .divide(new BigDecimal(100)); // 转换为元
-            
-            quote.setDailyRate(dailyRate);
+            // 租期 [取车日期, 还车日期) 的每日租金，按价格日历计算（周中/周末价格和特殊定价）
+            LocalDate returnDate = request.getReturnDate() != null ? request.getReturnDate() : request.getDate().plusDays(1);
+            int[] dailyCents = calendar.dailyPrices(request.getDate(), returnDate);
             
-            // 门店手续费（从门店信息中获取，转换为元）
-            BigDecimal storeFee = new BigDecimal(store.getServiceFee())
-                .divide(new BigDecimal(100));
-            quote.setStoreFee(storeFee);
-            
-            // 基本保障价格（这里简化处理，实际应该从商品配置中获取）
-            BigDecimal baseProtectionPrice = new BigDecimal("30.00");
-            quote.setBaseProtectionPrice(baseProtectionPrice);
-            
-            // 获取服务范围信息来确定取还方式和费用
-            ApiResponse<List<ServiceAreaResponse>> serviceAreasResponse = 
-                baseDataClient.getServiceAreasByStore(store.getId());
-            
-            BigDecimal pickupFee = BigDecimal.ZERO;
-            BigDecimal returnFee = BigDecimal.ZERO;
+            // 根据覆盖用户位置的服务范围来确定取还方式和费用
+            int pickupFeeCents = 0;
+            int returnFeeCents = 0;
             PickupType deliveryType = PickupType.PICKUP_TYPE_STORE; // 默认为到店自取
             
-            if (serviceAreasResponse != null && serviceAreasResponse.getData() != null) {
-                List<ServiceAreaResponse> serviceAreas = serviceAreasResponse.getData();
-                
+            if (coveringAreas != null) {
                 // 查找取车区域
-                ServiceAreaResponse pickupArea = serviceAreas.stream()
+                ServiceAreaResponse pickupArea = coveringAreas.stream()
                     .filter(area -> area.getAreaType() == 1 && area.getDoorToDoorDelivery() == 1)
                     .findFirst()
                     .orElse(null);
                 
                 // 查找还车区域
-                ServiceAreaResponse returnArea = serviceAreas.stream()
+                ServiceAreaResponse returnArea = coveringAreas.stream()
                     .filter(area -> area.getAreaType() == 2 && area.getDoorToDoorDelivery() == 1)
                     .findFirst()
                     .orElse(null);
@@ -465,41 +1041,156 @@ public class PricingServiceImpl implements PricingService {
                 // 如果找到了上门服务区域，则设置为上门取送车
                 if (pickupArea != null && returnArea != null) {
                     deliveryType = PickupType.PICKUP_TYPE_SEND;
-                    pickupFee = new BigDecimal(pickupArea.getDeliveryFee())
-                        .divide(new BigDecimal(100));
-                    returnFee = new BigDecimal(returnArea.getDeliveryFee())
-                        .divide(new BigDecimal(100));
+                    pickupFeeCents = pickupArea.getDeliveryFee();
+                    returnFeeCents = returnArea.getDeliveryFee();
                 }
             }
             
-            quote.setPickupFee(pickupFee);
-            quote.setReturnFee(returnFee);
-            quote.setDeliveryType(deliveryType.getDescription());
-            
-            // 计算押金信息
-            // 车损押金和违章押金从商品信息中获取，转换为元
-            BigDecimal damageDeposit = new BigDecimal(product.getDamageDeposit())
-                .divide(new BigDecimal(100));
-            BigDecimal violationDeposit = new BigDecimal(product.getViolationDeposit())
-                .divide(new BigDecimal(100));
-            
-            quote.setDamageDeposit(damageDeposit);
-            quote.setViolationDeposit(violationDeposit);
-            
-            // 计算总价格（不包含押金，押金只是冻结金额）
-            BigDecimal totalPrice = dailyRate
-                .add(pickupFee)
-                .add(returnFee)
-                .add(storeFee)
-                .add(baseProtectionPrice);
-            
-            quote.setTotalPrice(totalPrice);
-            
+            // 门店手续费来自门店信息，押金来自商品信息
+            int storeFeeCents = store.getServiceFee();
+            long totalCents = QuotePriceCalculator.totalCents(dailyCents, storeFeeCents, pickupFeeCents, returnFeeCents);
+            return new PricedProduct(store, product, deliveryType, dailyCents, storeFeeCents, pickupFeeCents,
+                returnFeeCents, product.getDamageDeposit(), product.getViolationDeposit(), totalCents);
         } catch (Exception e) {
             log.error("计算商品报价时发生错误, productId={}, storeId={}", product.getId(), store.getId(), e);
             return null;
         }
+    }
+    
+    /**
+     * 生成报价
+     * @param priced 商品价格
+     * @return 报价
+     */
+    private Quote toQuote(PricedProduct priced) {
+        StoreResponse store = priced.store();
+        CarModelProductResponse product = priced.product();
         
+        Quote quote = new Quote();
+        quote.setId(generateQuoteId());
+        quote.setProductId(product.getId());
+        quote.setTenantId(product.getTenantId());
+        quote.setProductName(product.getProductName());
+        quote.setModelId(product.getCarModelId());
+        quote.setStoreId(store.getId());
+        quote.setStoreName(store.getStoreName());
+        quote.setDeliveryType(priced.deliveryType().getDescription());
+        //quote.setCreatedAt(LocalDateTime.now());
+        
+        // 金额全程按分计算，写入报价时转换为元
+        QuotePriceCalculator.calculate(quote, priced.dailyCents(), priced.storeFeeCents(), priced.pickupFeeCents(),
+            priced.returnFeeCents(), priced.damageDepositCents(), priced.violationDepositCents());
         return quote;
     }
-}
\ No newline at end of file
+    
+    /**
+     * 位置匹配结果
+     */
+    private static final class LocationMatch {
+        
+        /**
+         * 匹配的门店
+         */
+        private final List<StoreResponse> stores;
+        
+        /**
+         * 匹配门店的可预定窗口，与门店一一对应
+         */
+        private final List<StoreBookingWindow> bookingWindows;
+        
+        /**
+         * 门店ID -> 电子围栏覆盖用户位置的上门服务区域(取车和还车区域均覆盖的门店才有)
+         */
+        private final Map<Long, List<ServiceAreaResponse>> coveringAreasByStore;
+        
+        /**
+         * 门店ID -> 门店的在线商品
+         */
+        private final Map<Long, List<CarModelProductResponse>> productsByStore;
+        
+        /**
+         * 门店ID -> 门店到用户位置的距离(公里)，门店没有坐标时为无穷大
+         */
+        private final Map<Long, Double> distancesByStore;
+        
+        private LocationMatch(List<StoreResponse> stores,
+                              List<StoreBookingWindow> bookingWindows,
+                              Map<Long, List<ServiceAreaResponse>> coveringAreasByStore,
+                              Map<Long, List<CarModelProductResponse>> productsByStore,
+                              Map<Long, Double> distancesByStore) {
+            this.stores = stores;
+            this.bookingWindows = bookingWindows;
+            this.coveringAreasByStore = coveringAreasByStore;
+            this.productsByStore = productsByStore;
+            this.distancesByStore = distancesByStore;
+        }
+    }
+    
+    /**
+     * 网格的候选门店和上门服务区域
+     *
+     * @param stores               候选门店
+     * @param deliveryAreasByStore 门店ID -> 与网格相交的上门服务区域
+     * @param complete             是否完整加载
+     */
+    private record CellStores(List<StoreResponse> stores,
+                              Map<Long, List<DeliveryArea>> deliveryAreasByStore,
+                              boolean complete) {
+    }
+    
+    /**
+     * 一批门店的商品查询
+     *
+     * @param stores   门店批次
+     * @param products 门店ID -> 商品列表，失败时结果为null
+     * @param warmUp   商品返回后的价格日历和库存预热
+     */
+    private record ProductBatch(List<StoreResponse> stores,
+                                CompletableFuture<Map<Long, List<CarModelProductResponse>>> products,
+                                CompletableFuture<Void> warmUp) {
+        
+        List<Long> storeIds() {
+            return stores.stream().map(StoreResponse::getId).collect(Collectors.toList());
+        }
+        
+        /**
+         * 已完成时返回查询结果，未完成的查询被取消并返回null
+         */
+        Map<Long, List<CarModelProductResponse>> resultOrCancel() {
+            if (products.isDone() && !products.isCompletedExceptionally()) {
+                return products.join();
+            }
+            products.cancel(true);
+            return null;
+        }
+    }
+    
+    /**
+     * 商品价格，金额均为分
+     * 排序只需要总价，报价对象在确定返回后才生成
+     *
+     * @param store                 门店
+     * @param product               商品
+     * @param deliveryType          取还方式
+     * @param dailyCents            租期内每日租金
+     * @param storeFeeCents         门店手续费
+     * @param pickupFeeCents        取车服务费
+     * @param returnFeeCents        还车服务费
+     * @param damageDepositCents    车损押金
+     * @param violationDepositCents 违章押金
+     * @param totalCents            总价，不包含押金
+     */
+    private record PricedProduct(StoreResponse store, CarModelProductResponse product, PickupType deliveryType,
+                                 int[] dailyCents, int storeFeeCents, int pickupFeeCents, int returnFeeCents,
+                                 int damageDepositCents, int violationDepositCents, long totalCents) {
+    }
+    
+    /**
+     * 带排序键的商品价格
+     *
+     * @param priced 商品价格
+     * @param key    排序键
+     */
+    private record RankedProduct(PricedProduct priced, RankKey key) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.rental.saas.pricing.codec;
+
+import com.rental.api.pricing.entity.Quote;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteRedisSerializerTest {
+
+    private final QuoteRedisSerializer binary = new QuoteRedisSerializer(new BinaryQuoteCodecV1(),
+            List.of(new BinaryQuoteCodecV1()));
+
+    private final QuoteRedisSerializer json = new QuoteRedisSerializer(null, List.of(new BinaryQuoteCodecV1()));
+
+    @Test
+    public void testRoundTripAllFields() {
+        Quote quote = quote();
+        byte[] bytes = binary.serialize(quote);
+        assertEquals(QuoteRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(BinaryQuoteCodecV1.VERSION, bytes[1]);
+        assertEquals(quote, binary.deserialize(bytes));
+        // 写入JSON的实例也能读取二进制数据
+        assertEquals(quote, json.deserialize(bytes));
+    }
+
+    @Test
+    public void testRoundTripNullFields() {
+        Quote quote = new Quote();
+        assertEquals(quote, binary.deserialize(binary.serialize(quote)));
+
+        quote.setId("Q1");
+        quote.setTotalPrice(new BigDecimal("0.00"));
+        assertEquals(quote, binary.deserialize(binary.serialize(quote)));
+    }
+
+    @Test
+    public void testDailyPrices() {
+        Quote quote = quote();
+        quote.setDailyPrices(List.of());
+        assertEquals(quote, binary.deserialize(binary.serialize(quote)));
+
+        List<BigDecimal> dailyPrices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dailyPrices.add(BigDecimal.valueOf(19900 + i * 37L, 2));
+        }
+        quote.setDailyPrices(dailyPrices);
+        Quote decoded = (Quote) binary.deserialize(binary.serialize(quote));
+        assertEquals(1000, decoded.getDailyPrices().size());
+        assertEquals(quote, decoded);
+    }
+
+    @Test
+    public void testLargeAndNegativeAmounts() {
+        Quote quote = quote();
+        quote.setTotalPrice(new BigDecimal(Long.MAX_VALUE));
+        quote.setRentalPrice(new BigDecimal(Long.MIN_VALUE));
+        quote.setDamageDeposit(new BigDecimal("123456789012345678901234567890.12"));
+        quote.setViolationDeposit(new BigDecimal("-98765432109876543210.5"));
+        quote.setPickupFee(new BigDecimal("-0.01"));
+        quote.setReturnFee(new BigDecimal("1E+3"));
+        quote.setTenantId(-1L);
+        quote.setProductId(Long.MAX_VALUE);
+        quote.setRentalDays(Integer.MIN_VALUE);
+        quote.setDailyPrices(List.of(new BigDecimal("-150.00"), new BigDecimal("99999999999999999999")));
+        assertEquals(quote, binary.deserialize(binary.serialize(quote)));
+    }
+
+    @Test
+    public void testReadsLegacyJson() {
+        Quote quote = quote();
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(quote);
+
+        assertEquals(quote, binary.deserialize(legacy));
+        assertEquals(quote, json.deserialize(json.serialize(quote)));
+        assertNull(binary.deserialize(new byte[0]));
+    }
+
+    @Test
+    public void testRejectsUnknownVersion() {
+        byte[] bytes = binary.serialize(quote());
+        bytes[1] = 2;
+        assertThrows(SerializationException.class, () -> binary.deserialize(bytes));
+        assertThrows(SerializationException.class, () -> binary.deserialize(new byte[]{QuoteRedisSerializer.MAGIC}));
+    }
+
+    @Test
+    public void testRejectsTruncatedData() {
+        byte[] bytes = binary.serialize(quote());
+        byte[] truncated = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(SerializationException.class, () -> binary.deserialize(truncated));
+    }
+
+    private static Quote quote() {
+        Quote quote = new Quote();
+        quote.setId("Q2026101800001");
+        quote.setTenantId(1001L);
+        quote.setProductId(20001L);
+        quote.setProductName("奔驰C级 周末特惠");
+        quote.setModelId(301L);
+        quote.setModelName("奔驰 C 260 L");
+        quote.setStoreId(4001L);
+        quote.setStoreName("北京朝阳门店");
+        quote.setDailyRate(new BigDecimal("299.00"));
+        quote.setPickupFee(new BigDecimal("30.00"));
+        quote.setReturnFee(new BigDecimal("30.00"));
+        quote.setStoreFee(new BigDecimal("20"));
+        quote.setBaseProtectionPrice(new BigDecimal("50.50"));
+        quote.setTotalPrice(new BigDecimal("1027.50"));
+        quote.setDeliveryType("上门取送车");
+        quote.setDamageDeposit(new BigDecimal("3000.00"));
+        quote.setViolationDeposit(new BigDecimal("2000.00"));
+        quote.setRentalDays(3);
+        quote.setRentalPrice(new BigDecimal("897.00"));
+        quote.setDailyPrices(List.of(new BigDecimal("299.00"), new BigDecimal("299.00"), new BigDecimal("299.00")));
+        return quote;
+    }
+}
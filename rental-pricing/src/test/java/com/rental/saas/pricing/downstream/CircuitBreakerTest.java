@@ -0,0 +1,136 @@
+package com.rental.saas.pricing.downstream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = 5_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, OPEN_NANOS, 2, clock::get);
+
+    @Test
+    public void testStaysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testOpensAtFailureRate() {
+        record(true, false, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        record(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testOldResultsLeaveWindow() {
+        CircuitBreaker slidingBreaker = new CircuitBreaker(4, 4, 50, OPEN_NANOS, 2, clock::get);
+        for (boolean failure : new boolean[]{true, true, true, false, false, false, false, true}) {
+            assertTrue(slidingBreaker.tryAcquire());
+            if (failure) {
+                slidingBreaker.onFailure();
+            } else {
+                slidingBreaker.onSuccess();
+            }
+        }
+        // 累计失败率50%，窗口内最近4次调用只有1次失败
+        assertEquals(CircuitBreaker.State.CLOSED, slidingBreaker.state());
+    }
+
+    @Test
+    public void testHalfOpenClosesAfterSuccessfulProbes() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_NANOS - 1);
+        assertFalse(breaker.tryAcquire());
+
+        clock.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // 恢复后重新统计，之前的失败不计入
+        record(true, true, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testHalfOpenFailureReopens() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_NANOS);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        clock.addAndGet(OPEN_NANOS);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testIgnoredReturnsProbePermit() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_NANOS);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testInterruptedProbesDoNotBlockRecovery() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN_NANOS);
+        // 试探调用全部被中断或因截止时间放弃，结果未知，名额需归还
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.tryAcquire());
+            assertTrue(breaker.tryAcquire());
+            breaker.onIgnored();
+            breaker.onIgnored();
+        }
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testResultsWhileOpenIgnored() {
+        record(true, true, true, true);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            assertTrue(breaker.tryAcquire());
+            if (failure) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.rental.saas.pricing.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteIdGeneratorTest {
+
+    private static final long NOW = QuoteIdGenerator.EPOCH_MILLIS + Duration.ofDays(300).toMillis();
+
+    @Test
+    public void testIdsAreUniqueAndOrdered() {
+        AtomicLong clock = new AtomicLong(NOW);
+        QuoteIdGenerator generator = new QuoteIdGenerator(7, clock::get);
+
+        Set<String> ids = new HashSet<>();
+        String previous = "";
+        // 超过单毫秒序号上限，并模拟时钟回拨
+        for (int i = 0; i < 10000; i++) {
+            if (i == 5000) {
+                clock.addAndGet(-1000);
+            }
+            String id = generator.nextId();
+            assertEquals(QuoteIdGenerator.ENCODED_LENGTH, id.length());
+            assertTrue(id.compareTo(previous) > 0);
+            assertTrue(ids.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    public void testTimestampAndExpiry() {
+        AtomicLong clock = new AtomicLong(NOW);
+        QuoteIdGenerator generator = new QuoteIdGenerator(QuoteIdGenerator.MAX_WORKER_ID, clock::get);
+        String id = generator.nextId();
+
+        assertEquals(NOW, QuoteIdGenerator.timestampOf(id));
+        assertFalse(generator.isExpired(id, Duration.ofMinutes(30)));
+
+        clock.addAndGet(Duration.ofMinutes(31).toMillis());
+        assertTrue(generator.isExpired(id, Duration.ofMinutes(30)));
+
+        // 旧格式ID无法判断，交给Redis查询
+        assertFalse(generator.isExpired("0f8fad5bd9cb469fa16570867728950e", Duration.ofMinutes(30)));
+        assertEquals(-1, QuoteIdGenerator.timestampOf("zzzzzzzzzzz"));
+        assertEquals(-1, QuoteIdGenerator.timestampOf("0000000000-"));
+    }
+}
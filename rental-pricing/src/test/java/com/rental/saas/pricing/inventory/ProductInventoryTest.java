@@ -0,0 +1,135 @@
+package com.rental.saas.pricing.inventory;
+
+import com.rental.api.order.response.BookingResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductInventoryTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+
+    @Test
+    public void testSoldOutWhenAllVehiclesBooked() {
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L, 2L), 2,
+                List.of(booking(3, 6), booking(4, 8)));
+
+        assertTrue(inventory.isAvailable(day(1), day(4)));
+        assertFalse(inventory.isAvailable(day(4), day(5)));
+        assertFalse(inventory.isAvailable(day(2), day(10)));
+        // 还车当天可供下一单取车
+        assertTrue(inventory.isAvailable(day(6), day(9)));
+    }
+
+    @Test
+    public void testApplyBookingDelta() {
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L), 1, List.of());
+        assertTrue(inventory.isAvailable(day(5), day(7)));
+
+        inventory.apply(day(6).toEpochDay(), day(8).toEpochDay(), 1);
+        assertFalse(inventory.isAvailable(day(5), day(7)));
+        assertTrue(inventory.isAvailable(day(8), day(9)));
+
+        inventory.apply(day(6).toEpochDay(), day(8).toEpochDay(), -1);
+        assertTrue(inventory.isAvailable(day(5), day(7)));
+    }
+
+    @Test
+    public void testIgnoresNotificationForOrderAlreadyLoaded() {
+        // 订单提交后先被加载进库存，提交后发出的通知晚到，不应重复计入
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L, 2L), 2,
+                List.of(booking(100L, 3, 6)));
+
+        assertFalse(inventory.apply(100L, day(3).toEpochDay(), day(6).toEpochDay(), 1));
+        assertTrue(inventory.isAvailable(day(3), day(6)));
+
+        assertTrue(inventory.apply(101L, day(4).toEpochDay(), day(5).toEpochDay(), 1));
+        assertFalse(inventory.isAvailable(day(4), day(5)));
+        assertTrue(inventory.isAvailable(day(5), day(6)));
+    }
+
+    @Test
+    public void testIgnoresReleaseForOrderNotLoaded() {
+        // 订单取消后才加载，晚到的取消通知不应再减一
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L), 1,
+                List.of(booking(200L, 3, 6)));
+
+        assertFalse(inventory.apply(100L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+        assertFalse(inventory.isAvailable(day(4), day(5)));
+
+        assertTrue(inventory.apply(200L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+        assertTrue(inventory.isAvailable(day(4), day(5)));
+        assertFalse(inventory.apply(200L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+    }
+
+    @Test
+    public void testOrderDaysChanged() {
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L), 1,
+                List.of(booking(100L, 3, 6)));
+
+        // 提前取车：旧区间减一、新区间加一
+        assertTrue(inventory.apply(100L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+        assertTrue(inventory.apply(100L, day(2).toEpochDay(), day(6).toEpochDay(), 1));
+        assertFalse(inventory.isAvailable(day(2), day(3)));
+        assertTrue(inventory.isAvailable(day(6), day(7)));
+
+        // 加载时已是新区间，两条通知都应忽略
+        ProductInventory reloaded = ProductInventory.build(START, 30, List.of(1L), 1,
+                List.of(booking(100L, 2, 6)));
+        assertFalse(reloaded.apply(100L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+        assertFalse(reloaded.apply(100L, day(2).toEpochDay(), day(6).toEpochDay(), 1));
+        assertFalse(reloaded.isAvailable(day(2), day(3)));
+
+        // 通知乱序时，加一先撤销订单原有的区间
+        ProductInventory reordered = ProductInventory.build(START, 30, List.of(1L), 1,
+                List.of(booking(100L, 3, 6)));
+        assertTrue(reordered.apply(100L, day(3).toEpochDay(), day(8).toEpochDay(), 1));
+        assertFalse(reordered.apply(100L, day(3).toEpochDay(), day(6).toEpochDay(), -1));
+        assertFalse(reordered.isAvailable(day(7), day(8)));
+        assertTrue(reordered.apply(100L, day(3).toEpochDay(), day(8).toEpochDay(), -1));
+        assertTrue(reordered.isAvailable(day(3), day(8)));
+    }
+
+    @Test
+    public void testOutsideHorizonIsAvailable() {
+        ProductInventory inventory = ProductInventory.build(START, 10, List.of(1L), 1, List.of(booking(-5, 40)));
+        assertFalse(inventory.isAvailable(day(0), day(10)));
+        assertTrue(inventory.isAvailable(day(10), day(20)));
+        assertTrue(inventory.isAvailable(day(-3), day(0)));
+    }
+
+    @Test
+    public void testNoRentableVehicles() {
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(1L, 2L), 0, List.of());
+        assertFalse(inventory.isAvailable(day(1), day(2)));
+        assertTrue(inventory.containsVehicle(2L));
+        assertFalse(inventory.containsVehicle(3L));
+    }
+
+    @Test
+    public void testUntrackedWithoutLinkedVehicles() {
+        ProductInventory inventory = ProductInventory.build(START, 30, List.of(), 0, List.of(booking(0, 5)));
+        assertSame(ProductInventory.UNTRACKED, inventory);
+        assertTrue(inventory.isAvailable(day(1), day(3)));
+    }
+
+    private static LocalDate day(int offset) {
+        return START.plusDays(offset);
+    }
+
+    private static BookingResponse booking(int from, int to) {
+        return booking(null, from, to);
+    }
+
+    private static BookingResponse booking(Long orderId, int from, int to) {
+        BookingResponse booking = new BookingResponse();
+        booking.setOrderId(orderId);
+        booking.setProductId(1L);
+        booking.setStartDate(day(from));
+        booking.setEndDate(day(to));
+        return booking;
+    }
+}
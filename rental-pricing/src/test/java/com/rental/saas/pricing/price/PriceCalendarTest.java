@@ -0,0 +1,78 @@
+package com.rental.saas.pricing.price;
+
+import com.rental.api.product.response.CarModelProductResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceCalendarTest {
+
+    /**
+     * 2026-10-19 是周一
+     */
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    public void testWeekendDefinitionAndSpecialPricing() {
+        CarModelProductResponse product = product("5,6");
+        PriceCalendar calendar = PriceCalendar.build(product,
+                List.of(specialPricing(MONDAY.plusDays(2), 999)), MONDAY, 30);
+
+        assertArrayEquals(new int[]{100, 100, 999, 100, 200, 200, 100},
+                calendar.dailyPrices(MONDAY, MONDAY.plusDays(7)));
+        assertTrue(calendar.matches(product));
+    }
+
+    @Test
+    public void testDatesOutsideCalendarUseBasePrices() {
+        PriceCalendar calendar = PriceCalendar.build(product(null), List.of(), MONDAY, 7);
+
+        // 前两天(周六、周日)和最后两天(周六、周日)都在日历范围外
+        assertArrayEquals(new int[]{200, 200, 100, 100, 100, 100, 100, 200, 200},
+                calendar.dailyPrices(MONDAY.minusDays(2), MONDAY.plusDays(7)));
+        assertThrows(IllegalArgumentException.class, () -> calendar.dailyPrices(MONDAY, MONDAY));
+    }
+
+    @Test
+    public void testBasePriceChangeIsDetected() {
+        CarModelProductResponse product = product("6,7");
+        PriceCalendar calendar = PriceCalendar.build(product, List.of(), MONDAY, 7);
+
+        product.setWeekendPrice(300);
+        assertFalse(calendar.matches(product));
+    }
+
+    @Test
+    public void testHolidayOverrides() {
+        // 周三为节假日，周六为调休工作日；日历外的下周三按星期计算
+        CarModelProductResponse product = product("6,7," + MONDAY.plusDays(2));
+        product.setWeekdayDefinition("1-5," + MONDAY.plusDays(5));
+        PriceCalendar calendar = PriceCalendar.build(product, List.of(), MONDAY, 7);
+
+        assertArrayEquals(new int[]{100, 100, 200, 100, 100, 100, 200, 100, 100, 100},
+                calendar.dailyPrices(MONDAY, MONDAY.plusDays(10)));
+
+        product.setWeekdayDefinition("1-5");
+        assertFalse(calendar.matches(product));
+    }
+
+    private static CarModelProductResponse product(String weekendDefinition) {
+        CarModelProductResponse product = new CarModelProductResponse();
+        product.setId(1L);
+        product.setWeekdayPrice(100);
+        product.setWeekendPrice(200);
+        product.setWeekendDefinition(weekendDefinition);
+        return product;
+    }
+
+    private static SpecialPricingResponse specialPricing(LocalDate date, int price) {
+        SpecialPricingResponse pricing = new SpecialPricingResponse();
+        pricing.setPriceDate(date);
+        pricing.setPrice(price);
+        return pricing;
+    }
+}
@@ -0,0 +1,42 @@
+package com.rental.saas.pricing.price;
+
+import com.rental.api.pricing.entity.Quote;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuotePriceCalculatorTest {
+
+    @Test
+    public void testCalculate() {
+        Quote quote = new Quote();
+        QuotePriceCalculator.calculate(quote, new int[]{10000, 10000, 15050}, 1500, 2000, 2500, 300000, 200000);
+
+        assertEquals(3, quote.getRentalDays());
+        assertEquals(new BigDecimal("350.50"), quote.getRentalPrice());
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("100.00"), new BigDecimal("150.50")),
+                quote.getDailyPrices());
+        // 350.50 / 3 = 116.8333...
+        assertEquals(new BigDecimal("116.83"), quote.getDailyRate());
+        assertEquals(new BigDecimal("15.00"), quote.getStoreFee());
+        assertEquals(new BigDecimal("20.00"), quote.getPickupFee());
+        assertEquals(new BigDecimal("25.00"), quote.getReturnFee());
+        assertEquals(new BigDecimal("30.00"), quote.getBaseProtectionPrice());
+        assertEquals(new BigDecimal("3000.00"), quote.getDamageDeposit());
+        assertEquals(new BigDecimal("2000.00"), quote.getViolationDeposit());
+        assertEquals(new BigDecimal("440.50"), quote.getTotalPrice());
+    }
+
+    @Test
+    public void testDivideHalfUp() {
+        assertEquals(3, Money.ofCents(5).divideHalfUp(2).cents());
+        assertEquals(-3, Money.ofCents(-5).divideHalfUp(2).cents());
+        assertEquals(1, Money.ofCents(4).divideHalfUp(3).cents());
+        assertEquals(2, Money.ofCents(5).divideHalfUp(3).cents());
+        assertThrows(IllegalArgumentException.class, () -> Money.ofCents(1).divideHalfUp(0));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+    }
+}
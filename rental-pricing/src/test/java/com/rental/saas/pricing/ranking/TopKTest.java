@@ -0,0 +1,66 @@
+package com.rental.saas.pricing.ranking;
+
+import com.rental.saas.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKTest {
+
+    @Test
+    public void testKeepsSmallestInOrder() {
+        TopK<Integer> topK = new TopK<>(3, Integer::compare);
+        for (int value : new int[]{5, 1, 9, 3, 7, 2, 8}) {
+            topK.offer(value);
+        }
+        assertEquals(List.of(1, 2, 3), topK.toSortedList());
+    }
+
+    @Test
+    public void testCursorPagingVisitsEveryKeyOnce() {
+        Random random = new Random(7);
+        List<RankKey> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // 排序值大量重复，依靠门店ID、商品ID保证顺序稳定
+            keys.add(new RankKey(random.nextInt(20), random.nextInt(10), i));
+        }
+        List<RankKey> expected = new ArrayList<>(keys);
+        Collections.sort(expected);
+
+        List<RankKey> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            RankKey after = cursor != null ? QuoteCursor.decode(cursor, QuoteSort.PRICE) : null;
+            TopK<RankKey> topK = new TopK<>(16, RankKey::compareTo);
+            for (RankKey key : keys) {
+                if (after == null || key.compareTo(after) > 0) {
+                    topK.offer(key);
+                }
+            }
+            List<RankKey> ranked = topK.toSortedList();
+            List<RankKey> page = ranked.subList(0, Math.min(15, ranked.size()));
+            paged.addAll(page);
+            cursor = ranked.size() > 15 ? QuoteCursor.encode(QuoteSort.PRICE, page.get(page.size() - 1)) : null;
+        } while (cursor != null);
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    public void testRankKeyAndInvalidCursor() {
+        assertEquals(12345, RankKey.of(QuoteSort.DISTANCE, 999, 12.345, 1000, 1, 1).value());
+        assertEquals(999 + 12345, RankKey.of(QuoteSort.SCORE, 999, 12.345, 1000, 1, 1).value());
+        assertEquals(Long.MAX_VALUE, RankKey.of(QuoteSort.SCORE, 999, Double.POSITIVE_INFINITY, 1000, 1, 1).value());
+
+        String cursor = QuoteCursor.encode(QuoteSort.PRICE, new RankKey(1, 2, 3));
+        assertEquals(new RankKey(1, 2, 3), QuoteCursor.decode(cursor, QuoteSort.PRICE));
+        assertThrows(BusinessException.class, () -> QuoteCursor.decode(cursor, QuoteSort.DISTANCE));
+        assertThrows(BusinessException.class, () -> QuoteCursor.decode("not a cursor!", QuoteSort.PRICE));
+        assertThrows(BusinessException.class, () -> QuoteSort.from("rating"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.rental.saas.pricing.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", loads::incrementAndGet)));
+            }
+            // 等待全部跟随者进入等待
+            while (singleFlight.coalescedCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, singleFlight.executionCount());
+
+            // 加载结束后重新执行
+            assertEquals(2, singleFlight.execute("key", loads::incrementAndGet));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsNotRemembered() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals(42, singleFlight.execute("key", () -> 42));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.rental.saas.pricing.search;
+
+import com.rental.api.basedata.response.StoreResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreBookingWindowTest {
+
+    private static final ZoneId SHANGHAI = ZoneId.of("Asia/Shanghai");
+
+    private static final Instant NOW = LocalDateTime.of(2026, 3, 2, 9, 30, 20).atZone(SHANGHAI).toInstant();
+
+    @Test
+    public void testMatchesPerStoreDurationRules() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            StoreResponse store = store(LocalTime.of(random.nextInt(12), 30 * random.nextInt(2)),
+                    LocalTime.of(12 + random.nextInt(12), 30 * random.nextInt(2)),
+                    1 + random.nextInt(72), 1 + random.nextInt(30));
+            LocalDate date = LocalDate.of(2026, 3, 2).plusDays(random.nextInt(35) - 1);
+            LocalTime time = LocalTime.of(random.nextInt(24), random.nextInt(60));
+
+            boolean expected = acceptsByDuration(store, date, time);
+            boolean actual = StoreBookingWindow.compile(store, SHANGHAI).accepts(BookingTime.of(date, time, NOW));
+            assertEquals(expected, actual, () -> "store=" + store + ", date=" + date + ", time=" + time);
+        }
+    }
+
+    @Test
+    public void testBusinessHoursInclusive() {
+        StoreBookingWindow window = StoreBookingWindow.compile(store(LocalTime.of(8, 0), LocalTime.of(20, 0), 2, 30), SHANGHAI);
+        LocalDate date = LocalDate.of(2026, 3, 5);
+        assertTrue(window.accepts(BookingTime.of(date, LocalTime.of(8, 0), NOW)));
+        assertTrue(window.accepts(BookingTime.of(date, LocalTime.of(20, 0), NOW)));
+        assertFalse(window.accepts(BookingTime.of(date, LocalTime.of(7, 59), NOW)));
+        assertFalse(window.accepts(BookingTime.of(date, LocalTime.of(20, 1), NOW)));
+    }
+
+    @Test
+    public void testStoreTimeZone() {
+        // 上海 09:30:20，东京 10:30:20；两家门店都要求提前2小时
+        StoreResponse shanghai = store(LocalTime.of(0, 0), LocalTime.of(23, 59), 2, 30);
+        StoreResponse tokyo = store(LocalTime.of(0, 0), LocalTime.of(23, 59), 2, 30);
+        tokyo.setTimeZone("Asia/Tokyo");
+        BookingTime booking = BookingTime.of(LocalDate.of(2026, 3, 2), LocalTime.of(12, 0), NOW);
+
+        assertTrue(StoreBookingWindow.compile(shanghai, SHANGHAI).accepts(booking));
+        assertFalse(StoreBookingWindow.compile(tokyo, SHANGHAI).accepts(booking));
+    }
+
+    @Test
+    public void testInvalidTimeZoneUsesDefault() {
+        StoreResponse store = store(LocalTime.of(0, 0), LocalTime.of(23, 59), 2, 30);
+        store.setTimeZone("Mars/Olympus");
+        BookingTime booking = BookingTime.of(LocalDate.of(2026, 3, 2), LocalTime.of(12, 0), NOW);
+        assertTrue(StoreBookingWindow.compile(store, SHANGHAI).accepts(booking));
+    }
+
+    @Test
+    public void testMissingRulesNeverAccepts() {
+        StoreResponse store = store(LocalTime.of(0, 0), LocalTime.of(23, 59), 2, 30);
+        store.setMaxAdvanceDays(null);
+        BookingTime booking = BookingTime.of(LocalDate.of(2026, 3, 5), LocalTime.of(12, 0), NOW);
+        assertFalse(StoreBookingWindow.compile(store, SHANGHAI).accepts(booking));
+    }
+
+    /**
+     * 原逐个门店的判断方式
+     */
+    private static boolean acceptsByDuration(StoreResponse store, LocalDate date, LocalTime time) {
+        if (time.isBefore(store.getBusinessStartTime()) || time.isAfter(store.getBusinessEndTime())) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, SHANGHAI);
+        Duration duration = Duration.between(now, LocalDateTime.of(date, time));
+        return duration.toHours() >= store.getMinAdvanceHours() && duration.toDays() <= store.getMaxAdvanceDays();
+    }
+
+    private static StoreResponse store(LocalTime start, LocalTime end, int minAdvanceHours, int maxAdvanceDays) {
+        StoreResponse store = new StoreResponse();
+        store.setId(1L);
+        store.setBusinessStartTime(start);
+        store.setBusinessEndTime(end);
+        store.setMinAdvanceHours(minAdvanceHours);
+        store.setMaxAdvanceDays(maxAdvanceDays);
+        return store;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rental.saas.pricing.service.impl;
+
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ResponseCode;
+import com.rental.saas.pricing.dto.QuoteRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingServiceImplTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Test
+    public void testValidRentalAccepted() {
+        PricingServiceImpl.validateRequest(request(null), 180);
+        PricingServiceImpl.validateRequest(request(DATE.plusDays(1)), 180);
+        PricingServiceImpl.validateRequest(request(DATE.plusDays(180)), 180);
+    }
+
+    @Test
+    public void testReturnDateNotAfterDateRejected() {
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> PricingServiceImpl.validateRequest(request(DATE), 180));
+        assertEquals(ResponseCode.RETURN_TIME_INVALID.getCode(), e.getCode());
+    }
+
+    @Test
+    public void testRentalLongerThanMaximumRejected() {
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> PricingServiceImpl.validateRequest(request(DATE.plusDays(181)), 180));
+        assertEquals(ResponseCode.RETURN_TIME_INVALID.getCode(), e.getCode());
+
+        assertThrows(BusinessException.class,
+                () -> PricingServiceImpl.validateRequest(request(LocalDate.of(9999, 12, 31)), 180));
+    }
+
+    private static QuoteRequest request(LocalDate returnDate) {
+        QuoteRequest request = new QuoteRequest();
+        request.setDate(DATE);
+        request.setReturnDate(returnDate);
+        return request;
+    }
+}
@@ -70,13 +70,13 @@ public class CarModelProductRequest {
     private Integer weekendPrice;
 
     /**
-     * 周中定义
+     * 周中定义：逗号分隔的ISO星期(1-7)或星期范围，可加入按周中计价的调休日期，如 "1-5,2026-10-11"
      */
     @Schema(description = "周中定义", example = "1,2,3,4,5")
     private String weekdayDefinition;
 
     /**
-     * 周末定义
+     * 周末定义：逗号分隔的ISO星期(1-7)或星期范围，可加入按周末计价的节假日日期或日期范围，如 "6,7,2026-10-01~2026-10-07"
      */
     @Schema(description = "周末定义", example = "6,7")
     private String weekendDefinition;
@@ -0,0 +1,72 @@
+package com.rental.saas.product.event;
+
+import com.rental.saas.common.constant.CommonConstant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据变更通知发布者
+ * 商品、特殊定价、商品关联车辆和模板变更后通过Redis发布，定价服务据此失效搜索候选集和报价详情使用的本地缓存。
+ * 通知只是尽力而为，发布失败时依赖订阅方缓存的过期时间兜底。
+ *
+ * @author Rental SaaS Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataChangePublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 商品发生变更
+     */
+    public void publishProductChanged(Long productId) {
+        publish(CommonConstant.DATA_CHANGE_PRODUCT, productId);
+    }
+
+    /**
+     * 商品的特殊定价发生变更，通知中携带商品ID
+     */
+    public void publishSpecialPricingChanged(Long productId) {
+        publish(CommonConstant.DATA_CHANGE_SPECIAL_PRICING, productId);
+    }
+
+    /**
+     * 商品关联的车辆发生变更，通知中携带商品ID
+     */
+    public void publishProductVehiclesChanged(Long productId) {
+        publish(CommonConstant.DATA_CHANGE_PRODUCT_VEHICLE, productId);
+    }
+
+    /**
+     * 增值服务模板发生变更
+     */
+    public void publishVasTemplateChanged(Long templateId) {
+        publish(CommonConstant.DATA_CHANGE_VAS_TEMPLATE, templateId);
+    }
+
+    /**
+     * 取消规则模板发生变更
+     */
+    public void publishCancellationTemplateChanged(Long templateId) {
+        publish(CommonConstant.DATA_CHANGE_CANCELLATION_TEMPLATE, templateId);
+    }
+
+    /**
+     * 服务政策模板发生变更
+     */
+    public void publishPolicyTemplateChanged(Long templateId) {
+        publish(CommonConstant.DATA_CHANGE_POLICY_TEMPLATE, templateId);
+    }
+
+    private void publish(String type, Long id) {
+        try {
+            stringRedisTemplate.convertAndSend(CommonConstant.CHANNEL_DATA_CHANGE, type + ":" + id);
+        } catch (Exception e) {
+            log.warn("发布数据变更通知失败, type={}, id={}", type, id, e);
+        }
+    }
+}
@@ -5,23 +5,32 @@ import com.rental.api.product.response.CarModelProductResponse;
 import com.rental.api.product.response.ValueAddedServiceTemplateResponse;
 import com.rental.api.product.response.CancellationRuleTemplateResponse;
 import com.rental.api.product.response.ServicePolicyTemplateResponse;
+import com.rental.api.product.response.SpecialPricingResponse;
 import com.rental.saas.common.response.ApiResponse;
 import com.rental.saas.product.entity.CarModelProduct;
 import com.rental.saas.product.entity.ValueAddedServiceTemplate;
 import com.rental.saas.product.entity.CancellationRuleTemplate;
 import com.rental.saas.product.entity.ServicePolicyTemplate;
+import com.rental.saas.product.entity.ProductVehicleRelation;
+import com.rental.saas.product.entity.SpecialPricing;
 import com.rental.saas.product.service.CarModelProductService;
 import com.rental.saas.product.service.ValueAddedServiceTemplateService;
 import com.rental.saas.product.service.CancellationRuleTemplateService;
 import com.rental.saas.product.service.ServicePolicyTemplateService;
+import com.rental.saas.product.service.ProductVehicleRelationService;
+import com.rental.saas.product.service.SpecialPricingService;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -38,6 +47,12 @@ public class ProductController implements ProductClient {
     
     @Autowired
     private ServicePolicyTemplateService servicePolicyTemplateService;
+    
+    @Autowired
+    private SpecialPricingService specialPricingService;
+    
+    @Autowired
+    private ProductVehicleRelationService productVehicleRelationService;
 
     @Override
     @GetMapping("/api/feign/car-model-products/store/{storeId}")
@@ -54,6 +69,55 @@ public class ProductController implements ProductClient {
         return ApiResponse.success("查询成功", responses);
     }
     
+    @Override
+    @GetMapping("/api/feign/car-model-products/stores")
+    public ApiResponse<Map<Long, List<CarModelProductResponse>>> getProductsByStores(
+            @RequestParam("ids") List<Long> storeIds) {
+        // 一次查询所有门店的上架商品，再按门店分组
+        List<CarModelProduct> products = carModelProductService.getOnlineProductsByStores(storeIds);
+        Map<Long, List<CarModelProductResponse>> responses = products.stream()
+                .collect(Collectors.groupingBy(CarModelProduct::getStoreId, LinkedHashMap::new,
+                        Collectors.mapping(product -> {
+                            CarModelProductResponse response = new CarModelProductResponse();
+                            BeanUtils.copyProperties(product, response);
+                            response.setId(product.getId());
+                            return response;
+                        }, Collectors.toList())));
+        
+        return ApiResponse.success("查询成功", responses);
+    }
+    
+    @Override
+    @GetMapping("/api/feign/special-pricings/products")
+    public ApiResponse<Map<Long, List<SpecialPricingResponse>>> getSpecialPricingsByProducts(
+            @RequestParam("ids") List<Long> productIds,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // 一次查询所有商品在日期范围内的特殊定价，再按商品分组
+        List<SpecialPricing> pricings = specialPricingService.listByProductsInRange(productIds, startDate, endDate);
+        Map<Long, List<SpecialPricingResponse>> responses = pricings.stream()
+                .collect(Collectors.groupingBy(SpecialPricing::getProductId, LinkedHashMap::new,
+                        Collectors.mapping(pricing -> {
+                            SpecialPricingResponse response = new SpecialPricingResponse();
+                            BeanUtils.copyProperties(pricing, response);
+                            return response;
+                        }, Collectors.toList())));
+        
+        return ApiResponse.success("查询成功", responses);
+    }
+    
+    @Override
+    @GetMapping("/api/feign/product-vehicles/products")
+    public ApiResponse<Map<Long, List<Long>>> getVehicleIdsByProducts(@RequestParam("ids") List<Long> productIds) {
+        // 一次查询所有商品关联的车辆，再按商品分组
+        List<ProductVehicleRelation> relations = productVehicleRelationService.listByProducts(productIds);
+        Map<Long, List<Long>> vehicleIds = relations.stream()
+                .collect(Collectors.groupingBy(ProductVehicleRelation::getProductId, LinkedHashMap::new,
+                        Collectors.mapping(ProductVehicleRelation::getVehicleId, Collectors.toList())));
+        
+        return ApiResponse.success("查询成功", vehicleIds);
+    }
+    
     @Override
     @GetMapping("/api/feign/car-model-products/store/{storeId}/model/{modelId}")
     public ApiResponse<CarModelProductResponse> getProductByStoreAndModel(
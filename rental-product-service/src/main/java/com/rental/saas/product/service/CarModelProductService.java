@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.rental.saas.product.entity.CarModelProduct;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -43,6 +44,11 @@ public interface CarModelProductService extends IService<CarModelProduct> {
      */
     List<CarModelProduct> getOnlineProductsByStore(Long storeId);
 
+    /**
+     * 批量获取多个门店的上架商品
+     */
+    List<CarModelProduct> getOnlineProductsByStores(Collection<Long> storeIds);
+
     /**
      * 获取租户所有商品
      */
@@ -3,6 +3,7 @@ package com.rental.saas.product.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.rental.saas.product.entity.ProductVehicleRelation;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,6 +33,11 @@ public interface ProductVehicleRelationService extends IService<ProductVehicleRe
      */
     boolean deleteRelationsByProduct(Long productId);
 
+    /**
+     * 批量获取多个商品关联的车辆
+     */
+    List<ProductVehicleRelation> listByProducts(Collection<Long> productIds);
+
     /**
      * 根据商品ID获取所有关联车辆
      */
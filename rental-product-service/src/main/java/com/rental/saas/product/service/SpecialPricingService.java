@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.rental.saas.product.entity.SpecialPricing;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -54,6 +55,11 @@ public interface SpecialPricingService extends IService<SpecialPricing> {
      */
     SpecialPricing getPricingByProductAndDate(Long productId, LocalDate priceDate, Long tenantId);
 
+    /**
+     * 批量查询多个商品在日期范围内的特殊定价（包含起止日期）
+     */
+    List<SpecialPricing> listByProductsInRange(Collection<Long> productIds, LocalDate startDate, LocalDate endDate);
+
     /**
      * 删除商品的所有特殊定价
      */
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.product.entity.CancellationRuleTemplate;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.CancellationRuleTemplateMapper;
 import com.rental.saas.product.service.CancellationRuleTemplateService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ import java.util.List;
 public class CancellationRuleTemplateServiceImpl extends ServiceImpl<CancellationRuleTemplateMapper, CancellationRuleTemplate> implements CancellationRuleTemplateService {
 
     private final CancellationRuleTemplateMapper cancellationRuleTemplateMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createTemplate(CancellationRuleTemplate template) {
@@ -34,13 +36,21 @@ public class CancellationRuleTemplateServiceImpl extends ServiceImpl<Cancellatio
     @Override
     public boolean updateTemplate(CancellationRuleTemplate template) {
         log.info("更新取消规则模板: ID={}, 名称={}", template.getId(), template.getTemplateName());
-        return updateById(template);
+        boolean updated = updateById(template);
+        if (updated) {
+            dataChangePublisher.publishCancellationTemplateChanged(template.getId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteTemplate(Long id) {
         log.info("删除取消规则模板: ID={}", id);
-        return removeById(id);
+        boolean removed = removeById(id);
+        if (removed) {
+            dataChangePublisher.publishCancellationTemplateChanged(id);
+        }
+        return removed;
     }
 
     @Override
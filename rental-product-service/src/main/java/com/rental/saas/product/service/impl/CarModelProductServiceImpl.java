@@ -4,7 +4,11 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.rental.saas.common.calendar.DayTypeRule;
+import com.rental.saas.common.exception.BusinessException;
+import com.rental.saas.common.response.ResponseCode;
 import com.rental.saas.product.entity.CarModelProduct;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.CarModelProductMapper;
 import com.rental.saas.product.service.CarModelProductService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +30,7 @@ import java.util.List;
 public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMapper, CarModelProduct> implements CarModelProductService {
 
     private final CarModelProductMapper carModelProductMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createProduct(CarModelProduct product) {
@@ -35,20 +41,46 @@ public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMappe
             log.warn("车型商品已存在: 租户ID={}, 门店ID={}, 车型ID={}", product.getTenantId(), product.getStoreId(), product.getCarModelId());
             return false;
         }
+        validateDayTypeDefinitions(product.getWeekdayDefinition(), product.getWeekendDefinition());
         
-        return save(product);
+        boolean saved = save(product);
+        if (saved) {
+            dataChangePublisher.publishProductChanged(product.getId());
+        }
+        return saved;
     }
 
     @Override
     public boolean updateProduct(CarModelProduct product) {
         log.info("更新车型商品: ID={}", product.getId());
-        return updateById(product);
+        if (product.getWeekdayDefinition() != null || product.getWeekendDefinition() != null) {
+            // 只更新其中一个定义时，与另一个已保存的定义一起校验
+            String weekdayDefinition = product.getWeekdayDefinition();
+            String weekendDefinition = product.getWeekendDefinition();
+            if (weekdayDefinition == null || weekendDefinition == null) {
+                CarModelProduct existing = getById(product.getId());
+                if (existing != null) {
+                    weekdayDefinition = weekdayDefinition != null ? weekdayDefinition : existing.getWeekdayDefinition();
+                    weekendDefinition = weekendDefinition != null ? weekendDefinition : existing.getWeekendDefinition();
+                }
+            }
+            validateDayTypeDefinitions(weekdayDefinition, weekendDefinition);
+        }
+        boolean updated = updateById(product);
+        if (updated) {
+            dataChangePublisher.publishProductChanged(product.getId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteProduct(Long id) {
         log.info("删除车型商品: ID={}", id);
-        return removeById(id);
+        boolean removed = removeById(id);
+        if (removed) {
+            dataChangePublisher.publishProductChanged(id);
+        }
+        return removed;
     }
 
     @Override
@@ -88,6 +120,23 @@ public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMappe
         return list(wrapper);
     }
 
+    @Override
+    public List<CarModelProduct> getOnlineProductsByStores(Collection<Long> storeIds) {
+        log.info("批量获取门店上架商品: storeCount={}", storeIds.size());
+        
+        if (storeIds.isEmpty()) {
+            return List.of();
+        }
+        
+        LambdaQueryWrapper<CarModelProduct> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(CarModelProduct::getDeleted, 0)
+               .in(CarModelProduct::getStoreId, storeIds)
+               .eq(CarModelProduct::getOnlineStatus, 1)
+               .orderByDesc(CarModelProduct::getCreatedTime);
+        
+        return list(wrapper);
+    }
+
     @Override
     public List<CarModelProduct> getProductsByTenant(Long tenantId) {
         log.info("获取租户所有商品: tenantId={}", tenantId);
@@ -109,7 +158,11 @@ public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMappe
                .eq(CarModelProduct::getDeleted, 0)
                .set(CarModelProduct::getOnlineStatus, 1);
         
-        return update(wrapper);
+        boolean updated = update(wrapper);
+        if (updated) {
+            dataChangePublisher.publishProductChanged(id);
+        }
+        return updated;
     }
 
     @Override
@@ -121,7 +174,11 @@ public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMappe
                .eq(CarModelProduct::getDeleted, 0)
                .set(CarModelProduct::getOnlineStatus, 0);
         
-        return update(wrapper);
+        boolean updated = update(wrapper);
+        if (updated) {
+            dataChangePublisher.publishProductChanged(id);
+        }
+        return updated;
     }
     
     /**
@@ -136,4 +193,16 @@ public class CarModelProductServiceImpl extends ServiceImpl<CarModelProductMappe
         
         return count(wrapper) > 0;
     }
+    
+    /**
+     * 校验周中/周末定义，格式见 {@link DayTypeRule}
+     */
+    private void validateDayTypeDefinitions(String weekdayDefinition, String weekendDefinition) {
+        try {
+            DayTypeRule.compile(weekdayDefinition, weekendDefinition);
+        } catch (IllegalArgumentException e) {
+            log.warn("周中/周末定义无效: 周中={}, 周末={}, 原因={}", weekdayDefinition, weekendDefinition, e.getMessage());
+            throw new BusinessException(ResponseCode.PARAMETER_VALUE_INVALID, e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package com.rental.saas.product.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.product.entity.ProductVehicleRelation;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.ProductVehicleRelationMapper;
 import com.rental.saas.product.service.ProductVehicleRelationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,6 +24,7 @@ import java.util.List;
 public class ProductVehicleRelationServiceImpl extends ServiceImpl<ProductVehicleRelationMapper, ProductVehicleRelation> implements ProductVehicleRelationService {
 
     private final ProductVehicleRelationMapper productVehicleRelationMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createRelation(ProductVehicleRelation relation) {
@@ -33,19 +36,31 @@ public class ProductVehicleRelationServiceImpl extends ServiceImpl<ProductVehicl
             return false;
         }
         
-        return save(relation);
+        boolean saved = save(relation);
+        dataChangePublisher.publishProductVehiclesChanged(relation.getProductId());
+        return saved;
     }
 
     @Override
     public boolean batchCreateRelations(List<ProductVehicleRelation> relations) {
         log.info("批量创建商品车辆关联: 数量={}", relations.size());
-        return saveBatch(relations);
+        boolean saved = saveBatch(relations);
+        relations.stream()
+                .map(ProductVehicleRelation::getProductId)
+                .distinct()
+                .forEach(dataChangePublisher::publishProductVehiclesChanged);
+        return saved;
     }
 
     @Override
     public boolean deleteRelation(Long id) {
         log.info("删除商品车辆关联: ID={}", id);
-        return removeById(id);
+        ProductVehicleRelation relation = getById(id);
+        boolean removed = removeById(id);
+        if (relation != null) {
+            dataChangePublisher.publishProductVehiclesChanged(relation.getProductId());
+        }
+        return removed;
     }
 
     @Override
@@ -56,7 +71,23 @@ public class ProductVehicleRelationServiceImpl extends ServiceImpl<ProductVehicl
         wrapper.eq(ProductVehicleRelation::getProductId, productId)
                .eq(ProductVehicleRelation::getDeleted, 0);
         
-        return remove(wrapper);
+        boolean removed = remove(wrapper);
+        dataChangePublisher.publishProductVehiclesChanged(productId);
+        return removed;
+    }
+
+    @Override
+    public List<ProductVehicleRelation> listByProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        
+        LambdaQueryWrapper<ProductVehicleRelation> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(ProductVehicleRelation::getProductId, ProductVehicleRelation::getVehicleId)
+               .in(ProductVehicleRelation::getProductId, productIds)
+               .eq(ProductVehicleRelation::getDeleted, 0);
+        
+        return list(wrapper);
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.product.entity.ServicePolicyTemplate;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.ServicePolicyTemplateMapper;
 import com.rental.saas.product.service.ServicePolicyTemplateService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ import java.util.List;
 public class ServicePolicyTemplateServiceImpl extends ServiceImpl<ServicePolicyTemplateMapper, ServicePolicyTemplate> implements ServicePolicyTemplateService {
 
     private final ServicePolicyTemplateMapper servicePolicyTemplateMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createTemplate(ServicePolicyTemplate template) {
@@ -34,13 +36,21 @@ public class ServicePolicyTemplateServiceImpl extends ServiceImpl<ServicePolicyT
     @Override
     public boolean updateTemplate(ServicePolicyTemplate template) {
         log.info("更新服务政策模板: ID={}, 名称={}", template.getId(), template.getTemplateName());
-        return updateById(template);
+        boolean updated = updateById(template);
+        if (updated) {
+            dataChangePublisher.publishPolicyTemplateChanged(template.getId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteTemplate(Long id) {
         log.info("删除服务政策模板: ID={}", id);
-        return removeById(id);
+        boolean removed = removeById(id);
+        if (removed) {
+            dataChangePublisher.publishPolicyTemplateChanged(id);
+        }
+        return removed;
     }
 
     @Override
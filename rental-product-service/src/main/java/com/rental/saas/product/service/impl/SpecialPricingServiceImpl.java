@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.product.entity.SpecialPricing;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.SpecialPricingMapper;
 import com.rental.saas.product.service.SpecialPricingService;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +26,7 @@ import java.util.List;
 public class SpecialPricingServiceImpl extends ServiceImpl<SpecialPricingMapper, SpecialPricing> implements SpecialPricingService {
 
     private final SpecialPricingMapper specialPricingMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createPricing(SpecialPricing pricing) {
@@ -35,25 +38,46 @@ public class SpecialPricingServiceImpl extends ServiceImpl<SpecialPricingMapper,
             return false;
         }
         
-        return save(pricing);
+        boolean saved = save(pricing);
+        if (saved) {
+            dataChangePublisher.publishSpecialPricingChanged(pricing.getProductId());
+        }
+        return saved;
     }
 
     @Override
     public boolean batchCreatePricing(List<SpecialPricing> pricings) {
         log.info("批量创建特殊定价: 数量={}", pricings.size());
-        return saveBatch(pricings);
+        boolean saved = saveBatch(pricings);
+        if (saved) {
+            pricings.stream()
+                    .map(SpecialPricing::getProductId)
+                    .distinct()
+                    .forEach(dataChangePublisher::publishSpecialPricingChanged);
+        }
+        return saved;
     }
 
     @Override
     public boolean updatePricing(SpecialPricing pricing) {
         log.info("更新特殊定价: ID={}", pricing.getId());
-        return updateById(pricing);
+        SpecialPricing existing = getById(pricing.getId());
+        boolean updated = updateById(pricing);
+        if (updated && existing != null) {
+            dataChangePublisher.publishSpecialPricingChanged(existing.getProductId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deletePricing(Long id) {
         log.info("删除特殊定价: ID={}", id);
-        return removeById(id);
+        SpecialPricing existing = getById(id);
+        boolean removed = removeById(id);
+        if (removed && existing != null) {
+            dataChangePublisher.publishSpecialPricingChanged(existing.getProductId());
+        }
+        return removed;
     }
 
     @Override
@@ -105,6 +129,22 @@ public class SpecialPricingServiceImpl extends ServiceImpl<SpecialPricingMapper,
         return getOne(wrapper);
     }
 
+    @Override
+    public List<SpecialPricing> listByProductsInRange(Collection<Long> productIds, LocalDate startDate, LocalDate endDate) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        
+        LambdaQueryWrapper<SpecialPricing> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SpecialPricing::getDeleted, 0)
+               .in(SpecialPricing::getProductId, productIds)
+               .ge(SpecialPricing::getPriceDate, startDate)
+               .le(SpecialPricing::getPriceDate, endDate)
+               .orderByAsc(SpecialPricing::getPriceDate);
+        
+        return list(wrapper);
+    }
+
     @Override
     public boolean deletePricingsByProduct(Long productId, Long tenantId) {
         log.info("删除商品的所有特殊定价: 商品ID={}, tenantId={}", productId, tenantId);
@@ -114,6 +154,10 @@ public class SpecialPricingServiceImpl extends ServiceImpl<SpecialPricingMapper,
                .eq(SpecialPricing::getProductId, productId)
                .eq(SpecialPricing::getDeleted, 0);
         
-        return remove(wrapper);
+        boolean removed = remove(wrapper);
+        if (removed) {
+            dataChangePublisher.publishSpecialPricingChanged(productId);
+        }
+        return removed;
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.rental.saas.product.entity.ValueAddedServiceTemplate;
+import com.rental.saas.product.event.DataChangePublisher;
 import com.rental.saas.product.mapper.ValueAddedServiceTemplateMapper;
 import com.rental.saas.product.service.ValueAddedServiceTemplateService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ import java.util.List;
 public class ValueAddedServiceTemplateServiceImpl extends ServiceImpl<ValueAddedServiceTemplateMapper, ValueAddedServiceTemplate> implements ValueAddedServiceTemplateService {
 
     private final ValueAddedServiceTemplateMapper valueAddedServiceTemplateMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public boolean createTemplate(ValueAddedServiceTemplate template) {
@@ -34,13 +36,21 @@ public class ValueAddedServiceTemplateServiceImpl extends ServiceImpl<ValueAdded
     @Override
     public boolean updateTemplate(ValueAddedServiceTemplate template) {
         log.info("更新增值服务模板: ID={}, 名称={}", template.getId(), template.getTemplateName());
-        return updateById(template);
+        boolean updated = updateById(template);
+        if (updated) {
+            dataChangePublisher.publishVasTemplateChanged(template.getId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteTemplate(Long id) {
         log.info("删除增值服务模板: ID={}", id);
-        return removeById(id);
+        boolean removed = removeById(id);
+        if (removed) {
+            dataChangePublisher.publishVasTemplateChanged(id);
+        }
+        return removed;
     }
 
     @Override
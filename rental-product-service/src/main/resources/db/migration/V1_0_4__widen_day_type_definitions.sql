@@ -0,0 +1,4 @@
+-- 周中/周末定义支持节假日和调休日期，放宽长度
+ALTER TABLE `car_model_product`
+MODIFY COLUMN `weekday_definition` VARCHAR(500) NOT NULL DEFAULT '1,2,3,4,5' COMMENT '周中定义(星期及调休日期)',
+MODIFY COLUMN `weekend_definition` VARCHAR(500) NOT NULL DEFAULT '6,7' COMMENT '周末定义(星期及节假日日期)';
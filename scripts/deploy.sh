@@ -60,8 +60,11 @@ if [ "$MODULE_NAME" == "all" ]; then
                 exit 1
             fi
             
-            # 获取生成的JAR文件名
-            JAR_FILE=$(find target -name "*.jar" | head -n 1)
+            # 获取生成的JAR文件名，使用exec分类器的模块(rental-pricing)取可执行jar
+            JAR_FILE=$(find target -maxdepth 1 -name "*-exec.jar" | head -n 1)
+            if [ -z "$JAR_FILE" ]; then
+                JAR_FILE=$(find target -maxdepth 1 -name "*.jar" | head -n 1)
+            fi
             if [ -z "$JAR_FILE" ]; then
                 echo "未找到模块 $module 生成的JAR文件"
                 exit 1
@@ -201,8 +204,11 @@ if [ "$PROJECT_TYPE" == "backend" ]; then
         exit 1
     fi
     
-    # 获取生成的JAR文件名
-    JAR_FILE=$(find target -name "*.jar" | head -n 1)
+    # 获取生成的JAR文件名，使用exec分类器的模块(rental-pricing)取可执行jar
+    JAR_FILE=$(find target -maxdepth 1 -name "*-exec.jar" | head -n 1)
+    if [ -z "$JAR_FILE" ]; then
+        JAR_FILE=$(find target -maxdepth 1 -name "*.jar" | head -n 1)
+    fi
     if [ -z "$JAR_FILE" ]; then
         echo "未找到生成的JAR文件"
         exit 1